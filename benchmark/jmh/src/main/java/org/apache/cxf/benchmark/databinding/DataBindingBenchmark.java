@@ -0,0 +1,121 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.benchmark.databinding;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.apache.cxf.aegis.AegisContext;
+import org.apache.cxf.aegis.AegisReader;
+import org.apache.cxf.aegis.AegisWriter;
+import org.apache.cxf.aegis.type.AegisType;
+import org.apache.cxf.benchmark.model.Order;
+import org.apache.cxf.databinding.DataReader;
+import org.apache.cxf.databinding.DataWriter;
+import org.apache.cxf.jaxb.JAXBDataBinding;
+import org.apache.cxf.staxutils.StaxUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Write-then-read round trips of the same bean through the JAXB and Aegis
+ * {@link DataWriter}/{@link DataReader} (resp. {@link AegisWriter}/{@link AegisReader})
+ * implementations over StAX.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DataBindingBenchmark {
+    private static final QName ORDER_QNAME = new QName(Order.NS, "order");
+
+    @Param({"1", "100" })
+    int items;
+
+    Order order;
+    DataWriter<XMLStreamWriter> jaxbWriter;
+    DataReader<XMLStreamReader> jaxbReader;
+    AegisWriter<XMLStreamWriter> aegisWriter;
+    AegisReader<XMLStreamReader> aegisReader;
+    AegisType aegisType;
+
+    @Setup
+    public void setUp() throws Exception {
+        order = Order.create(42L, items);
+
+        JAXBDataBinding jaxb = new JAXBDataBinding(Order.class);
+        jaxbWriter = jaxb.createWriter(XMLStreamWriter.class);
+        jaxbReader = jaxb.createReader(XMLStreamReader.class);
+
+        AegisContext aegis = new AegisContext();
+        aegis.setRootClasses(Collections.singleton(Order.class));
+        aegis.initialize();
+        aegisType = aegis.getTypeMapping().getType(Order.class);
+        aegisWriter = aegis.createXMLStreamWriter();
+        aegisReader = aegis.createXMLStreamReader();
+    }
+
+    @Benchmark
+    public Object jaxbRoundTrip() throws Exception {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        XMLStreamWriter writer = StaxUtils.createXMLStreamWriter(bos);
+        jaxbWriter.write(order, writer);
+        writer.flush();
+        StaxUtils.close(writer);
+
+        XMLStreamReader reader = StaxUtils.createXMLStreamReader(new ByteArrayInputStream(bos.toByteArray()));
+        reader.nextTag();
+        Object result = jaxbReader.read(ORDER_QNAME, reader, Order.class);
+        StaxUtils.close(reader);
+        return result;
+    }
+
+    @Benchmark
+    public Object aegisRoundTrip() throws Exception {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        XMLStreamWriter writer = StaxUtils.createXMLStreamWriter(bos);
+        aegisWriter.write(order, ORDER_QNAME, false, writer, aegisType);
+        writer.flush();
+        StaxUtils.close(writer);
+
+        XMLStreamReader reader = StaxUtils.createXMLStreamReader(new ByteArrayInputStream(bos.toByteArray()));
+        reader.nextTag();
+        Object result = aegisReader.read(reader, aegisType);
+        StaxUtils.close(reader);
+        return result;
+    }
+}
@@ -0,0 +1,111 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.benchmark.hc5;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import com.sun.net.httpserver.HttpServer;
+
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.apache.cxf.Bus;
+import org.apache.cxf.BusFactory;
+import org.apache.cxf.jaxrs.client.WebClient;
+import org.apache.cxf.transport.http.asyncclient.hc5.AsyncHTTPConduitFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Echo round trips through the HttpClient 5 based {@code AsyncHTTPConduit} against a
+ * plain JDK HTTP server, so the request and response bodies pass through the shared
+ * input and output buffers of the conduit. The server runs with TCP_NODELAY so Nagle's
+ * algorithm does not dominate the small payload round trips.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dsun.net.httpserver.nodelay=true")
+@State(Scope.Benchmark)
+public class AsyncHTTPConduitBenchmark {
+    @Param({"1024", "65536", "10485760" })
+    int payloadSize;
+
+    @Param({"false", "true" })
+    boolean directBuffers;
+
+    Bus bus;
+    HttpServer server;
+    WebClient client;
+    byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/echo", exchange -> {
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            exchange.getResponseHeaders().add("Content-Type", MediaType.APPLICATION_OCTET_STREAM);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        bus = BusFactory.newInstance().createBus();
+        bus.setProperty(AsyncHTTPConduitFactory.USE_POLICY, "ALWAYS");
+        bus.setProperty(AsyncHTTPConduitFactory.DIRECT_BUFFERS, directBuffers);
+        BusFactory.setThreadDefaultBus(bus);
+
+        client = WebClient.create("http://localhost:" + server.getAddress().getPort() + "/echo")
+            .type(MediaType.APPLICATION_OCTET_STREAM)
+            .accept(MediaType.APPLICATION_OCTET_STREAM);
+        payload = new byte[payloadSize];
+        ThreadLocalRandom.current().nextBytes(payload);
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+        bus.shutdown(true);
+        server.stop(0);
+    }
+
+    @Benchmark
+    public void echo(Blackhole bh) {
+        try (Response response = client.post(payload)) {
+            bh.consume(response.readEntity(byte[].class));
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.benchmark.hc5;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.cxf.transport.http.asyncclient.hc5.SharedInputBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Hands a response body from a simulated I/O reactor thread to the reading thread
+ * through a {@link SharedInputBuffer}, isolating the buffer hand-off from any socket
+ * and HTTP processing.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SharedInputBufferBenchmark {
+    private static final int BUFFER_SIZE = 16 * 1024;
+    private static final int CHUNK_SIZE = 8 * 1024;
+
+    @Param({"65536", "10485760" })
+    int payloadSize;
+
+    @Param({"false", "true" })
+    boolean direct;
+
+    ExecutorService reactor;
+    ByteBuffer chunk;
+    byte[] readBuffer;
+
+    @Setup
+    public void setUp() {
+        reactor = Executors.newSingleThreadExecutor();
+        chunk = direct ? ByteBuffer.allocateDirect(CHUNK_SIZE) : ByteBuffer.allocate(CHUNK_SIZE);
+        readBuffer = new byte[CHUNK_SIZE];
+    }
+
+    @TearDown
+    public void tearDown() {
+        reactor.shutdownNow();
+    }
+
+    @Benchmark
+    public long transfer() throws Exception {
+        final SharedInputBuffer buffer = new SharedInputBuffer(BUFFER_SIZE, direct);
+        Future<?> producer = reactor.submit(() -> {
+            int remaining = payloadSize;
+            while (remaining > 0) {
+                chunk.clear().limit(Math.min(CHUNK_SIZE, remaining));
+                remaining -= chunk.remaining();
+                buffer.consumeContent(chunk, remaining == 0);
+            }
+            return null;
+        });
+        long total = 0;
+        try {
+            int n;
+            while ((n = buffer.read(readBuffer, 0, readBuffer.length)) != -1) {
+                total += n;
+            }
+        } catch (IOException ex) {
+            producer.cancel(true);
+            throw ex;
+        } finally {
+            buffer.shutdown();
+        }
+        producer.get();
+        return total;
+    }
+}
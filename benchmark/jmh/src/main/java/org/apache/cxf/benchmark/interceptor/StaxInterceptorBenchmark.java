@@ -0,0 +1,149 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.benchmark.interceptor;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.apache.cxf.bus.managers.PhaseManagerImpl;
+import org.apache.cxf.interceptor.StaxInInterceptor;
+import org.apache.cxf.interceptor.StaxOutInterceptor;
+import org.apache.cxf.message.Exchange;
+import org.apache.cxf.message.ExchangeImpl;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.message.MessageImpl;
+import org.apache.cxf.phase.PhaseInterceptorChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Drives {@link StaxInInterceptor} and {@link StaxOutInterceptor} over SOAP-sized
+ * payloads, including the cost of pulling/pushing every event through the
+ * created reader or writer.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class StaxInterceptorBenchmark {
+    private static final String SOAP_NS = "http://schemas.xmlsoap.org/soap/envelope/";
+    private static final String ORDER_NS = "http://cxf.apache.org/benchmark";
+
+    @Param({"1", "100" })
+    int items;
+
+    byte[] payload;
+    StaxInInterceptor staxIn;
+    StaxOutInterceptor staxOut;
+    PhaseInterceptorChain inChain;
+    PhaseInterceptorChain outChain;
+
+    @Setup
+    public void setUp() {
+        StringBuilder sb = new StringBuilder(256 + items * 128);
+        sb.append("<soap:Envelope xmlns:soap=\"").append(SOAP_NS).append("\"><soap:Body>")
+            .append("<o:order xmlns:o=\"").append(ORDER_NS).append("\">");
+        for (int i = 0; i < items; i++) {
+            sb.append("<o:item id=\"").append(i).append("\"><o:name>item-").append(i)
+                .append("</o:name><o:quantity>").append(i % 7).append("</o:quantity></o:item>");
+        }
+        sb.append("</o:order></soap:Body></soap:Envelope>");
+        payload = sb.toString().getBytes(StandardCharsets.UTF_8);
+
+        staxIn = new StaxInInterceptor();
+        staxOut = new StaxOutInterceptor();
+        PhaseManagerImpl phaseManager = new PhaseManagerImpl();
+        inChain = new PhaseInterceptorChain(phaseManager.getInPhases());
+        outChain = new PhaseInterceptorChain(phaseManager.getOutPhases());
+    }
+
+    @Benchmark
+    public void staxIn(Blackhole bh) throws Exception {
+        Message message = newMessage(inChain);
+        message.put(Message.CONTENT_TYPE, "text/xml; charset=UTF-8");
+        message.put(Message.ENCODING, StandardCharsets.UTF_8.name());
+        message.setContent(InputStream.class, new ByteArrayInputStream(payload));
+        staxIn.handleMessage(message);
+
+        XMLStreamReader reader = message.getContent(XMLStreamReader.class);
+        while (reader.hasNext()) {
+            if (reader.next() == XMLStreamConstants.CHARACTERS) {
+                bh.consume(reader.getText());
+            }
+        }
+        reader.close();
+    }
+
+    @Benchmark
+    public int staxOut() throws Exception {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(payload.length);
+        Message message = newMessage(outChain);
+        message.setContent(OutputStream.class, bos);
+        staxOut.handleMessage(message);
+
+        XMLStreamWriter writer = message.getContent(XMLStreamWriter.class);
+        writer.writeStartElement("soap", "Envelope", SOAP_NS);
+        writer.writeNamespace("soap", SOAP_NS);
+        writer.writeStartElement("soap", "Body", SOAP_NS);
+        writer.writeStartElement("o", "order", ORDER_NS);
+        writer.writeNamespace("o", ORDER_NS);
+        for (int i = 0; i < items; i++) {
+            writer.writeStartElement("o", "item", ORDER_NS);
+            writer.writeAttribute("id", Integer.toString(i));
+            writer.writeStartElement("o", "name", ORDER_NS);
+            writer.writeCharacters("item-" + i);
+            writer.writeEndElement();
+            writer.writeStartElement("o", "quantity", ORDER_NS);
+            writer.writeCharacters(Integer.toString(i % 7));
+            writer.writeEndElement();
+            writer.writeEndElement();
+        }
+        StaxOutInterceptor.ENDING.handleMessage(message);
+        return bos.size();
+    }
+
+    private static Message newMessage(PhaseInterceptorChain chain) {
+        Message message = new MessageImpl();
+        Exchange exchange = new ExchangeImpl();
+        message.setExchange(exchange);
+        message.setInterceptorChain(chain);
+        return message;
+    }
+}
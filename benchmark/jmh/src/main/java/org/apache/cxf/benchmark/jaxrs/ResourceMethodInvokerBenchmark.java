@@ -0,0 +1,165 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.benchmark.jaxrs;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MultivaluedMap;
+import org.apache.cxf.Bus;
+import org.apache.cxf.BusFactory;
+import org.apache.cxf.endpoint.Endpoint;
+import org.apache.cxf.endpoint.Server;
+import org.apache.cxf.jaxrs.JAXRSInvoker;
+import org.apache.cxf.jaxrs.JAXRSServerFactoryBean;
+import org.apache.cxf.jaxrs.JAXRSServiceImpl;
+import org.apache.cxf.jaxrs.impl.MetadataMap;
+import org.apache.cxf.jaxrs.model.ClassResourceInfo;
+import org.apache.cxf.jaxrs.model.OperationResourceInfo;
+import org.apache.cxf.jaxrs.utils.JAXRSUtils;
+import org.apache.cxf.message.Exchange;
+import org.apache.cxf.message.ExchangeImpl;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.message.MessageImpl;
+import org.apache.cxf.service.Service;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the JAX-RS parameter injection and resource method invocation for a method with
+ * path, query and header parameters, with the default reflective invocation and with the
+ * method handle invokers enabled by {@link JAXRSUtils#METHOD_HANDLE_INVOKERS}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResourceMethodInvokerBenchmark {
+    Bus bus;
+    Server reflectiveServer;
+    Server methodHandleServer;
+    Message reflective;
+    Message methodHandle;
+    OrderResource resource = new OrderResource();
+    JAXRSInvoker invoker = new JAXRSInvoker();
+
+    public enum Status {
+        OPEN, CLOSED
+    }
+
+    @Path("/orders")
+    public static class OrderResource {
+        @GET
+        @Path("/{id}")
+        public String getOrder(@PathParam("id") long id,
+                               @QueryParam("limit") int limit,
+                               @QueryParam("status") Status status,
+                               @HeaderParam("X-Tenant") String tenant) {
+            return tenant;
+        }
+    }
+
+    @Setup
+    public void setUp() throws Exception {
+        bus = BusFactory.newInstance().createBus();
+        reflectiveServer = createServer("local://reflective", false);
+        methodHandleServer = createServer("local://methodhandle", true);
+        reflective = createMessage(reflectiveServer);
+        methodHandle = createMessage(methodHandleServer);
+    }
+
+    @TearDown
+    public void tearDown() {
+        reflectiveServer.destroy();
+        methodHandleServer.destroy();
+        bus.shutdown(true);
+    }
+
+    private Server createServer(String address, boolean methodHandles) {
+        JAXRSServerFactoryBean bean = new JAXRSServerFactoryBean();
+        bean.setBus(bus);
+        bean.setAddress(address);
+        bean.setStart(false);
+        bean.setResourceClasses(OrderResource.class);
+        if (methodHandles) {
+            bean.setProperties(Collections.singletonMap(JAXRSUtils.METHOD_HANDLE_INVOKERS, "true"));
+        }
+        return bean.create();
+    }
+
+    private static Message createMessage(Server server) {
+        Endpoint endpoint = server.getEndpoint();
+        ClassResourceInfo cri = ((JAXRSServiceImpl)endpoint.getService())
+            .getClassResourceInfos().get(0);
+        OperationResourceInfo ori = cri.getMethodDispatcher().getOperationResourceInfos().iterator().next();
+
+        Message m = new MessageImpl();
+        m.put(Message.HTTP_REQUEST_METHOD, HttpMethod.GET);
+        m.put(Message.REQUEST_URI, "/orders/42");
+        m.put(Message.QUERY_STRING, "limit=10&status=OPEN");
+        Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        headers.put("X-Tenant", Collections.singletonList("acme"));
+        m.put(Message.PROTOCOL_HEADERS, headers);
+        Exchange exchange = new ExchangeImpl();
+        exchange.put(Endpoint.class, endpoint);
+        exchange.put(Service.class, endpoint.getService());
+        exchange.put(OperationResourceInfo.class, ori);
+        exchange.setInMessage(m);
+        m.setExchange(exchange);
+        return m;
+    }
+
+    @Benchmark
+    public Object reflective() throws Exception {
+        return invoke(reflective);
+    }
+
+    @Benchmark
+    public Object methodHandle() throws Exception {
+        return invoke(methodHandle);
+    }
+
+    private Object invoke(Message m) throws Exception {
+        Exchange exchange = m.getExchange();
+        MultivaluedMap<String, String> values = new MetadataMap<>();
+        values.putSingle("id", "42");
+        List<Object> params = JAXRSUtils.processParameters(exchange.get(OperationResourceInfo.class), values, m);
+        return invoker.invoke(exchange, params, resource);
+    }
+}
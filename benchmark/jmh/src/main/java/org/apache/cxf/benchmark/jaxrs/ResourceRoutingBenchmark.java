@@ -0,0 +1,175 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.benchmark.jaxrs;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import org.apache.cxf.Bus;
+import org.apache.cxf.BusFactory;
+import org.apache.cxf.endpoint.Endpoint;
+import org.apache.cxf.endpoint.EndpointImpl;
+import org.apache.cxf.jaxrs.JAXRSBindingFactory;
+import org.apache.cxf.jaxrs.JAXRSServiceImpl;
+import org.apache.cxf.jaxrs.impl.MetadataMap;
+import org.apache.cxf.jaxrs.model.ClassResourceInfo;
+import org.apache.cxf.jaxrs.model.MethodDispatcher;
+import org.apache.cxf.jaxrs.model.OperationResourceInfo;
+import org.apache.cxf.jaxrs.model.URITemplate;
+import org.apache.cxf.jaxrs.utils.JAXRSUtils;
+import org.apache.cxf.message.Exchange;
+import org.apache.cxf.message.ExchangeImpl;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.message.MessageImpl;
+import org.apache.cxf.service.Service;
+import org.apache.cxf.service.model.BindingInfo;
+import org.apache.cxf.service.model.EndpointInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the JAX-RS root resource and resource method selection with the routing index
+ * against matching every URI template in turn. The application has {@code resources} root
+ * resources with {@code operations} resource methods each, a quarter of them bound to paths
+ * starting with a template variable so some candidates always have to be evaluated.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResourceRoutingBenchmark {
+    private static final String[] HTTP_METHODS = {
+        HttpMethod.GET, HttpMethod.PUT, HttpMethod.POST, HttpMethod.DELETE
+    };
+    private static final List<MediaType> ACCEPT = Collections.singletonList(MediaType.WILDCARD_TYPE);
+
+    @Param({"4", "20" })
+    int resources;
+
+    @Param({"20" })
+    int operations;
+
+    Bus bus;
+    List<ClassResourceInfo> cris;
+    String[] paths;
+    String[] methods;
+    Message indexed;
+    Message linear;
+    int next;
+
+    public static class Resource {
+        public String handle(String id) {
+            return id;
+        }
+    }
+
+    @Setup
+    public void setUp() throws Exception {
+        bus = BusFactory.newInstance().createBus();
+        Method handle = Resource.class.getMethod("handle", String.class);
+        cris = new ArrayList<>(resources);
+        List<String[]> requests = new ArrayList<>();
+        for (int i = 0; i < resources; i++) {
+            ClassResourceInfo cri = new ClassResourceInfo(Resource.class, Resource.class, true, false, bus);
+            cri.setURITemplate(URITemplate.createTemplate("/api/service" + i));
+            MethodDispatcher md = new MethodDispatcher();
+            for (int j = 0; j < operations; j++) {
+                String httpMethod = HTTP_METHODS[j % HTTP_METHODS.length];
+                String path = j % 4 == 3 ? "/{tenant}/reports" + j : "/items" + j + "/{id}";
+                OperationResourceInfo ori = new OperationResourceInfo(handle, cri,
+                    URITemplate.createTemplate(path), httpMethod, null, null, Collections.emptyList(), false);
+                md.bind(ori, handle);
+                requests.add(new String[] {
+                    "/api/service" + i + (j % 4 == 3 ? "/acme/reports" + j : "/items" + j + "/42"), httpMethod
+                });
+            }
+            cri.setMethodDispatcher(md);
+            cris.add(cri);
+        }
+        Collections.shuffle(requests, new Random(42));
+        paths = new String[requests.size()];
+        methods = new String[requests.size()];
+        for (int i = 0; i < paths.length; i++) {
+            paths[i] = requests.get(i)[0];
+            methods[i] = requests.get(i)[1];
+        }
+
+        JAXRSServiceImpl service = new JAXRSServiceImpl(cris);
+        service.getClassResourceInfoIndex();
+        EndpointInfo ei = new EndpointInfo();
+        ei.setBinding(new BindingInfo(null, JAXRSBindingFactory.JAXRS_BINDING_ID));
+        Endpoint endpoint = new EndpointImpl(bus, service, ei);
+        indexed = createMessage(service, endpoint);
+        linear = createMessage(service, endpoint);
+        linear.put(JAXRSUtils.ROUTING_INDEX, false);
+    }
+
+    @TearDown
+    public void tearDown() {
+        bus.shutdown(true);
+    }
+
+    private static Message createMessage(Service service, Endpoint endpoint) {
+        Message m = new MessageImpl();
+        Exchange exchange = new ExchangeImpl();
+        exchange.put(Service.class, service);
+        exchange.put(Endpoint.class, endpoint);
+        exchange.setInMessage(m);
+        m.setExchange(exchange);
+        return m;
+    }
+
+    @Benchmark
+    public OperationResourceInfo indexed() {
+        return route(indexed);
+    }
+
+    @Benchmark
+    public OperationResourceInfo linear() {
+        return route(linear);
+    }
+
+    private OperationResourceInfo route(Message m) {
+        int i = next++ % paths.length;
+        Map<ClassResourceInfo, MultivaluedMap<String, String>> matched =
+            JAXRSUtils.selectResourceClass(cris, paths[i], m);
+        return JAXRSUtils.findTargetMethod(matched, m, methods[i], new MetadataMap<String, String>(),
+                                           MediaType.WILDCARD, ACCEPT, true, false);
+    }
+}
@@ -0,0 +1,144 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.benchmark.json;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.cxf.jaxrs.json.basic.JsonMapObject;
+import org.apache.cxf.jaxrs.json.basic.JsonMapObjectReaderWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link JsonMapObjectReaderWriter} reading and writing a JWT claims sized document
+ * and a document of about 1MB made of an array of user records.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonMapObjectReaderWriterBenchmark {
+    @Param({"token", "1mb" })
+    String document;
+
+    JsonMapObjectReaderWriter readerWriter = new JsonMapObjectReaderWriter();
+    Map<String, Object> map;
+    String json;
+    byte[] jsonBytes;
+    ByteArrayOutputStream out;
+
+    @Setup
+    public void setUp() {
+        map = "token".equals(document) ? createClaims() : createLargeDocument(1024 * 1024);
+        json = readerWriter.toJson(map);
+        jsonBytes = json.getBytes(StandardCharsets.UTF_8);
+        out = new ByteArrayOutputStream(jsonBytes.length);
+    }
+
+    private static Map<String, Object> createClaims() {
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("iss", "https://idp.example.com/realms/acme");
+        claims.put("sub", "3f1c2a9e-6b1d-4a8e-9f57-0c2d7e1b4a10");
+        claims.put("aud", Arrays.asList("orders-api", "billing-api"));
+        claims.put("exp", 1767225600L);
+        claims.put("iat", 1767222000L);
+        claims.put("nbf", 1767222000L);
+        claims.put("jti", "b7a4e6f2-1c3d-4e5f-8a9b-0c1d2e3f4a5b");
+        claims.put("azp", "web-client");
+        claims.put("scope", "openid profile email orders:read orders:write");
+        claims.put("email_verified", Boolean.TRUE);
+        claims.put("name", "Jane Doe");
+        claims.put("email", "jane.doe@example.com");
+        Map<String, Object> realmAccess = new LinkedHashMap<>();
+        realmAccess.put("roles", Arrays.asList("user", "manager", "offline_access"));
+        claims.put("realm_access", realmAccess);
+        return claims;
+    }
+
+    private static Map<String, Object> createLargeDocument(int size) {
+        List<Object> users = new ArrayList<>();
+        int length = 0;
+        for (int i = 0; length < size; i++) {
+            Map<String, Object> user = new LinkedHashMap<>();
+            user.put("id", (long)i);
+            user.put("name", "user" + i);
+            user.put("email", "user" + i + "@example.com");
+            user.put("active", i % 2 == 0);
+            user.put("score", i * 0.5d);
+            user.put("tags", Arrays.asList("tag" + i % 7, "tag" + i % 11));
+            users.add(user);
+            length += 130;
+        }
+        Map<String, Object> doc = new LinkedHashMap<>();
+        doc.put("users", users);
+        return doc;
+    }
+
+    @Benchmark
+    public Map<String, Object> readString() {
+        return readerWriter.fromJson(json);
+    }
+
+    @Benchmark
+    public Map<String, Object> readBytes() {
+        return readerWriter.fromJson(jsonBytes);
+    }
+
+    @Benchmark
+    public Map<String, Object> readStream() throws IOException {
+        return readerWriter.fromJson(new ByteArrayInputStream(jsonBytes));
+    }
+
+    @Benchmark
+    public JsonMapObject readJsonMapObject() {
+        return readerWriter.fromJsonToJsonObject(json);
+    }
+
+    @Benchmark
+    public String writeString() {
+        return readerWriter.toJson(map);
+    }
+
+    @Benchmark
+    public int writeStream() {
+        out.reset();
+        readerWriter.toJson(map, out);
+        return out.size();
+    }
+}
@@ -0,0 +1,131 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.benchmark.local;
+
+import java.util.concurrent.TimeUnit;
+
+import jakarta.ws.rs.core.MediaType;
+import org.apache.cxf.Bus;
+import org.apache.cxf.BusFactory;
+import org.apache.cxf.benchmark.model.Order;
+import org.apache.cxf.benchmark.model.OrderService;
+import org.apache.cxf.benchmark.model.OrderServiceImpl;
+import org.apache.cxf.endpoint.Server;
+import org.apache.cxf.frontend.ClientProxy;
+import org.apache.cxf.jaxrs.JAXRSServerFactoryBean;
+import org.apache.cxf.jaxrs.client.WebClient;
+import org.apache.cxf.jaxrs.lifecycle.SingletonResourceProvider;
+import org.apache.cxf.jaxws.JaxWsProxyFactoryBean;
+import org.apache.cxf.jaxws.JaxWsServerFactoryBean;
+import org.apache.cxf.transport.local.LocalConduit;
+import org.apache.cxf.transport.local.LocalTransportFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Full client and server round trips over the {@link LocalTransportFactory}, so the
+ * complete SOAP and JAX-RS interceptor chains, databinding and transport plumbing
+ * are measured without any socket I/O.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LocalTransportBenchmark {
+    private static final String SOAP_ADDRESS = "local://benchmark/soap";
+    private static final String REST_ADDRESS = "local://benchmark/rest";
+
+    @Param({"1", "100" })
+    int items;
+
+    Bus bus;
+    Server soapServer;
+    Server restServer;
+    OrderService soapClient;
+    WebClient restClient;
+    Order order;
+
+    @Setup
+    public void setUp() {
+        bus = BusFactory.newInstance().createBus();
+        BusFactory.setDefaultBus(bus);
+        OrderServiceImpl impl = new OrderServiceImpl();
+
+        JaxWsServerFactoryBean soapFactory = new JaxWsServerFactoryBean();
+        soapFactory.setBus(bus);
+        soapFactory.setTransportId(LocalTransportFactory.TRANSPORT_ID);
+        soapFactory.setAddress(SOAP_ADDRESS);
+        soapFactory.setServiceBean(impl);
+        soapServer = soapFactory.create();
+
+        JaxWsProxyFactoryBean proxyFactory = new JaxWsProxyFactoryBean();
+        proxyFactory.setBus(bus);
+        proxyFactory.setAddress(SOAP_ADDRESS);
+        proxyFactory.setServiceClass(OrderService.class);
+        soapClient = proxyFactory.create(OrderService.class);
+        ClientProxy.getClient(soapClient).getRequestContext().put(LocalConduit.DIRECT_DISPATCH, Boolean.TRUE);
+
+        JAXRSServerFactoryBean restFactory = new JAXRSServerFactoryBean();
+        restFactory.setBus(bus);
+        restFactory.setTransportId(LocalTransportFactory.TRANSPORT_ID);
+        restFactory.setAddress(REST_ADDRESS);
+        restFactory.setResourceClasses(OrderServiceImpl.class);
+        restFactory.setResourceProvider(OrderServiceImpl.class, new SingletonResourceProvider(impl, true));
+        restServer = restFactory.create();
+
+        restClient = WebClient.create(REST_ADDRESS)
+            .type(MediaType.APPLICATION_XML)
+            .accept(MediaType.APPLICATION_XML);
+        WebClient.getConfig(restClient).getRequestContext().put(LocalConduit.DIRECT_DISPATCH, Boolean.TRUE);
+
+        order = Order.create(42L, items);
+    }
+
+    @TearDown
+    public void tearDown() {
+        restClient.close();
+        restServer.destroy();
+        soapServer.destroy();
+        bus.shutdown(true);
+    }
+
+    @Benchmark
+    public Order soapEcho() {
+        return soapClient.echo(order);
+    }
+
+    @Benchmark
+    public Order restPost() {
+        restClient.replacePath("/orders/42");
+        return restClient.post(order, Order.class);
+    }
+}
@@ -0,0 +1,79 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.benchmark.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import jakarta.xml.bind.annotation.XmlType;
+
+@XmlRootElement(name = "order", namespace = Order.NS)
+@XmlType(name = "order", namespace = Order.NS)
+@XmlAccessorType(XmlAccessType.PROPERTY)
+public class Order {
+    public static final String NS = "http://cxf.apache.org/benchmark";
+
+    private long id;
+    private String customer;
+    private List<OrderItem> items = new ArrayList<>();
+
+    public Order() {
+    }
+
+    public Order(long id, String customer) {
+        this.id = id;
+        this.customer = customer;
+    }
+
+    public static Order create(long id, int itemCount) {
+        Order order = new Order(id, "customer-" + id);
+        for (int i = 0; i < itemCount; i++) {
+            order.getItems().add(new OrderItem("item-" + i, i % 7 + 1, 9.99 * (i + 1)));
+        }
+        return order;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public String getCustomer() {
+        return customer;
+    }
+
+    public void setCustomer(String customer) {
+        this.customer = customer;
+    }
+
+    public List<OrderItem> getItems() {
+        return items;
+    }
+
+    public void setItems(List<OrderItem> items) {
+        this.items = items;
+    }
+}
@@ -0,0 +1,125 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.benchmark.phase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.cxf.bus.managers.PhaseManagerImpl;
+import org.apache.cxf.interceptor.Interceptor;
+import org.apache.cxf.message.Exchange;
+import org.apache.cxf.message.ExchangeImpl;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.message.MessageImpl;
+import org.apache.cxf.phase.AbstractPhaseInterceptor;
+import org.apache.cxf.phase.Phase;
+import org.apache.cxf.phase.PhaseChainCache;
+import org.apache.cxf.phase.PhaseInterceptorChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the per-request cost of obtaining an interceptor chain from the
+ * {@link PhaseChainCache} and driving a message through it.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PhaseInterceptorChainBenchmark {
+
+    @Param({"10", "40" })
+    int interceptors;
+
+    SortedSet<Phase> phases;
+    List<Interceptor<? extends Message>> busInterceptors;
+    List<Interceptor<? extends Message>> endpointInterceptors;
+    PhaseChainCache cache;
+    PhaseInterceptorChain chain;
+
+    @Setup
+    public void setUp() {
+        phases = new PhaseManagerImpl().getInPhases();
+        List<Phase> phaseList = new ArrayList<>(phases);
+        busInterceptors = new ArrayList<>();
+        endpointInterceptors = new ArrayList<>();
+        for (int i = 0; i < interceptors; i++) {
+            Phase phase = phaseList.get(i % phaseList.size());
+            NoOpInterceptor interceptor = new NoOpInterceptor("noop-" + i, phase.getName());
+            if (i % 2 == 0) {
+                busInterceptors.add(interceptor);
+            } else {
+                endpointInterceptors.add(interceptor);
+            }
+        }
+        cache = new PhaseChainCache();
+        chain = cache.get(phases, busInterceptors, endpointInterceptors);
+    }
+
+    @Benchmark
+    public PhaseInterceptorChain chainCacheGet() {
+        return cache.get(phases, busInterceptors, endpointInterceptors);
+    }
+
+    @Benchmark
+    public boolean doInterceptCachedChain() {
+        chain.reset();
+        return chain.doIntercept(newMessage());
+    }
+
+    @Benchmark
+    public boolean chainCacheGetAndIntercept() {
+        PhaseInterceptorChain c = cache.get(phases, busInterceptors, endpointInterceptors);
+        Message message = newMessage();
+        message.setInterceptorChain(c);
+        return c.doIntercept(message);
+    }
+
+    private static Message newMessage() {
+        Message message = new MessageImpl();
+        Exchange exchange = new ExchangeImpl();
+        message.setExchange(exchange);
+        exchange.setInMessage(message);
+        return message;
+    }
+
+    static final class NoOpInterceptor extends AbstractPhaseInterceptor<Message> {
+        NoOpInterceptor(String id, String phase) {
+            super(id, phase);
+        }
+
+        public void handleMessage(Message message) {
+            message.put(getId(), Boolean.TRUE);
+        }
+    }
+}
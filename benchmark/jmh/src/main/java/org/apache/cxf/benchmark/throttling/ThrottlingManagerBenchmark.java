@@ -0,0 +1,129 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.benchmark.throttling;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.cxf.message.Exchange;
+import org.apache.cxf.message.ExchangeImpl;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.message.MessageImpl;
+import org.apache.cxf.phase.Phase;
+import org.apache.cxf.throttling.SimpleThrottlingManager;
+import org.apache.cxf.throttling.ThrottleResponse;
+import org.apache.cxf.throttling.TokenBucketThrottlingManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the throttling decision under contention. {@code clients} controls how many
+ * distinct keys the threads spread over: with a single client every thread hits the same
+ * bucket, which is where {@code stripes} matters. The rate is high enough that requests are
+ * mostly granted so the CAS path rather than the rejection path is measured.
+ * The thread count can be changed with {@code -t}, e.g. {@code -t 64}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(Threads.MAX)
+public class ThrottlingManagerBenchmark {
+    private static final String API_KEY = "X-API-Key";
+
+    @State(Scope.Benchmark)
+    public static class Managers {
+        @Param({"1", "1024" })
+        int clients;
+
+        @Param({"1", "16" })
+        int stripes;
+
+        TokenBucketThrottlingManager tokenBucket;
+        SimpleThrottlingManager simple;
+        String[] keys;
+
+        @Setup
+        public void setUp() {
+            tokenBucket = new TokenBucketThrottlingManager(1.0E9, 1_000_000);
+            tokenBucket.setStripes(stripes);
+            tokenBucket.setClientKeyHeader(API_KEY);
+            simple = new SimpleThrottlingManager();
+            simple.setThreshold(Integer.MAX_VALUE);
+            keys = new String[clients];
+            for (int i = 0; i < clients; i++) {
+                keys[i] = "client-" + i;
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Requests {
+        Message[] messages;
+        int next;
+
+        @Setup
+        public void setUp(Managers managers) {
+            messages = new Message[256];
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < messages.length; i++) {
+                Message m = new MessageImpl();
+                m.setExchange(new ExchangeImpl());
+                Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+                headers.put(API_KEY,
+                    Collections.singletonList(managers.keys[random.nextInt(managers.keys.length)]));
+                m.put(Message.PROTOCOL_HEADERS, headers);
+                messages[i] = m;
+            }
+        }
+
+        Message next() {
+            Message m = messages[next++ & (messages.length - 1)];
+            // the managers decide once per exchange
+            Exchange ex = m.getExchange();
+            ex.clear();
+            return m;
+        }
+    }
+
+    @Benchmark
+    public ThrottleResponse tokenBucket(Managers managers, Requests requests) {
+        return managers.tokenBucket.getThrottleResponse(Phase.PRE_STREAM, requests.next());
+    }
+
+    @Benchmark
+    public ThrottleResponse simpleCounter(Managers managers, Requests requests) {
+        return managers.simple.getThrottleResponse(Phase.PRE_STREAM, requests.next());
+    }
+}
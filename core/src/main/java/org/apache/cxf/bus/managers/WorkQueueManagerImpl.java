@@ -37,6 +37,7 @@ import org.apache.cxf.configuration.ConfiguredBeanLocator;
 import org.apache.cxf.management.InstrumentationManager;
 import org.apache.cxf.workqueue.AutomaticWorkQueue;
 import org.apache.cxf.workqueue.AutomaticWorkQueueImpl;
+import org.apache.cxf.workqueue.VirtualThreadWorkQueueImpl;
 import org.apache.cxf.workqueue.WorkQueueManager;
 
 @NoJSR250Annotations(unlessNull = "bus")
@@ -45,6 +46,16 @@ public class WorkQueueManagerImpl implements WorkQueueManager {
     public static final String DEFAULT_QUEUE_NAME = "default";
     public static final String DEFAULT_WORKQUEUE_BEAN_NAME = "cxf.default.workqueue";
 
+    /**
+     * Bus property prefix used to select the implementation of a named queue that
+     * has not been configured explicitly, e.g. setting
+     * {@code org.apache.cxf.workqueue.default.type} to {@code virtual} makes the
+     * default queue run its work items on virtual threads.
+     */
+    public static final String QUEUE_TYPE_PROPERTY_PREFIX = "org.apache.cxf.workqueue.";
+    public static final String QUEUE_TYPE_PROPERTY_SUFFIX = ".type";
+    public static final String VIRTUAL_QUEUE_TYPE = "virtual";
+
     private static final Logger LOG =
         LogUtils.getL7dLogger(WorkQueueManagerImpl.class);
 
@@ -167,7 +178,17 @@ public class WorkQueueManagerImpl implements WorkQueueManager {
     }
 
     public AutomaticWorkQueue getNamedWorkQueue(String name) {
-        return namedQueues.get(name);
+        AutomaticWorkQueue q = namedQueues.get(name);
+        if (q == null && name != null && isVirtualQueue(name)) {
+            synchronized (this) {
+                q = namedQueues.get(name);
+                if (q == null) {
+                    q = new VirtualThreadWorkQueueImpl(name);
+                    addNamedWorkQueue(name, q);
+                }
+            }
+        }
+        return q;
     }
     public final void addNamedWorkQueue(String name, AutomaticWorkQueue q) {
         namedQueues.put(name, q);
@@ -197,11 +218,20 @@ public class WorkQueueManagerImpl implements WorkQueueManager {
     }
 
     private AutomaticWorkQueue createAutomaticWorkQueue() {
-        AutomaticWorkQueue q = new AutomaticWorkQueueImpl(DEFAULT_QUEUE_NAME);
+        AutomaticWorkQueue q = isVirtualQueue(DEFAULT_QUEUE_NAME)
+            ? new VirtualThreadWorkQueueImpl(DEFAULT_QUEUE_NAME)
+            : new AutomaticWorkQueueImpl(DEFAULT_QUEUE_NAME);
         addNamedWorkQueue(DEFAULT_QUEUE_NAME, q);
         return q;
     }
 
+    private boolean isVirtualQueue(String name) {
+        if (bus == null) {
+            return false;
+        }
+        Object type = bus.getProperty(QUEUE_TYPE_PROPERTY_PREFIX + name + QUEUE_TYPE_PROPERTY_SUFFIX);
+        return type != null && VIRTUAL_QUEUE_TYPE.equalsIgnoreCase(type.toString().trim());
+    }
 
     class WQLifecycleListener implements BusLifeCycleListener {
         public void initComplete() {
@@ -23,6 +23,7 @@ import org.w3c.dom.Element;
 import org.apache.cxf.configuration.spring.SimpleBeanDefinitionParser;
 import org.apache.cxf.feature.FastInfosetFeature;
 import org.apache.cxf.workqueue.AutomaticWorkQueueImpl;
+import org.apache.cxf.workqueue.VirtualThreadWorkQueueImpl;
 import org.springframework.beans.factory.support.BeanDefinitionBuilder;
 import org.springframework.beans.factory.xml.NamespaceHandlerSupport;
 import org.springframework.beans.factory.xml.ParserContext;
@@ -52,6 +53,21 @@ public class NamespaceHandler extends NamespaceHandlerSupport {
                     }
 
                 }
+
+                @Override
+                protected Class<?> getBeanClass(Element e) {
+                    if ("virtual".equals(e.getAttribute("type"))) {
+                        return VirtualThreadWorkQueueImpl.class;
+                    }
+                    return super.getBeanClass(e);
+                }
+
+                @Override
+                protected void mapAttribute(BeanDefinitionBuilder bean, Element e, String name, String val) {
+                    if (!"type".equals(name)) {
+                        super.mapAttribute(bean, e, name, val);
+                    }
+                }
             });
     }
 }
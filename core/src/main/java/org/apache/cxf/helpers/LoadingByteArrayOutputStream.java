@@ -26,9 +26,11 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.channels.WritableByteChannel;
 import java.nio.file.Files;
 
+import org.apache.cxf.io.ChannelTransferable;
 import org.apache.cxf.io.Transferable;
 
 /**
@@ -52,7 +54,8 @@ public class LoadingByteArrayOutputStream extends ByteArrayOutputStream {
         super(i);
     }
 
-    private static class LoadedByteArrayInputStream extends ByteArrayInputStream implements Transferable {
+    private static class LoadedByteArrayInputStream extends ByteArrayInputStream
+        implements Transferable, ChannelTransferable {
         LoadedByteArrayInputStream(byte[] buf, int length) {
             super(buf, 0, length);
         }
@@ -60,6 +63,32 @@ public class LoadingByteArrayOutputStream extends ByteArrayOutputStream {
             return IOUtils.newStringFromBytes(buf, 0, count);
         }
 
+        @Override
+        public long remaining() {
+            return count - pos;
+        }
+
+        @Override
+        public boolean isInMemory() {
+            return true;
+        }
+
+        @Override
+        public long transferTo(WritableByteChannel target) throws IOException {
+            ByteBuffer bb = ByteBuffer.wrap(buf, pos, count - pos);
+            int start = pos;
+            while (bb.hasRemaining()) {
+                target.write(bb);
+            }
+            pos = count;
+            return count - start;
+        }
+
+        @Override
+        public FileChannel openFileChannel() {
+            return null;
+        }
+
         @Override
         public void transferTo(File file) throws IOException {
             try (OutputStream out = Files.newOutputStream(file.toPath());
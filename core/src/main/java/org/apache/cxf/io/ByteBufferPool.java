@@ -0,0 +1,205 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.io;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.cxf.common.util.SystemPropertyAction;
+
+/**
+ * A pool of fixed size direct {@link ByteBuffer} segments used by the pooled in-memory
+ * stage of {@link CachedOutputStream} and {@link CachedWriter}.  The pool never allocates
+ * more direct memory than its maximum size, the segments in use and the idle ones together.
+ * Once that much is handed out, the pool falls back to heap segments which are not kept
+ * when released, so the direct segments are allocated once and reused from then on.
+ * <p>
+ * The occupancy counters can be used to size the pool: a high miss count means the pool
+ * is too small for the load, while a steadily growing number of segments in use usually
+ * means cached streams are not being closed.
+ */
+public final class ByteBufferPool {
+    public static final int DEFAULT_SEGMENT_SIZE = 8 * 1024;
+    public static final long DEFAULT_MAX_POOLED_SIZE = 32L * 1024 * 1024;
+
+    private static volatile ByteBufferPool defaultPool;
+
+    private final int segmentSize;
+    private final int maxPooledSegments;
+    private final Queue<ByteBuffer> free = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger direct = new AtomicInteger();
+    private final AtomicInteger pooled = new AtomicInteger();
+    private final AtomicInteger inUse = new AtomicInteger();
+    private final AtomicLong allocated = new AtomicLong();
+    private final AtomicLong heapAllocated = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * @param segmentSize the size in bytes of the segments
+     * @param maxPooledSize the maximum number of bytes of direct memory allocated by the pool
+     */
+    public ByteBufferPool(int segmentSize, long maxPooledSize) {
+        if (segmentSize <= 0) {
+            throw new IllegalArgumentException("Segment size must be positive: " + segmentSize);
+        }
+        this.segmentSize = segmentSize;
+        this.maxPooledSegments = (int)Math.min(Integer.MAX_VALUE, Math.max(0L, maxPooledSize / segmentSize));
+    }
+
+    /**
+     * Returns the pool shared by all cached streams, sized with the
+     * {@link CachedConstants#POOL_SEGMENT_SIZE_SYS_PROP} and
+     * {@link CachedConstants#POOL_MAX_SIZE_SYS_PROP} system properties.
+     */
+    public static ByteBufferPool getDefault() {
+        ByteBufferPool pool = defaultPool;
+        if (pool == null) {
+            synchronized (ByteBufferPool.class) {
+                pool = defaultPool;
+                if (pool == null) {
+                    int size = SystemPropertyAction.getInteger(CachedConstants.POOL_SEGMENT_SIZE_SYS_PROP,
+                                                               DEFAULT_SEGMENT_SIZE);
+                    long max = Long.parseLong(SystemPropertyAction.getProperty(CachedConstants.POOL_MAX_SIZE_SYS_PROP,
+                                                                    Long.toString(DEFAULT_MAX_POOLED_SIZE)));
+                    pool = new ByteBufferPool(size, max);
+                    defaultPool = pool;
+                }
+            }
+        }
+        return pool;
+    }
+
+    /**
+     * Replaces the shared pool, mostly useful for tests and embedding applications
+     * that want to size the pool programmatically.
+     */
+    public static void setDefault(ByteBufferPool pool) {
+        defaultPool = pool;
+    }
+
+    /**
+     * @return a cleared segment, either taken from the pool, freshly allocated or, once the
+     *         pool has allocated its maximum size of direct memory, a heap segment
+     */
+    public ByteBuffer acquire() {
+        ByteBuffer buffer = free.poll();
+        if (buffer != null) {
+            pooled.decrementAndGet();
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+            if (direct.incrementAndGet() <= maxPooledSegments) {
+                allocated.incrementAndGet();
+                buffer = ByteBuffer.allocateDirect(segmentSize);
+            } else {
+                direct.decrementAndGet();
+                heapAllocated.incrementAndGet();
+                buffer = ByteBuffer.allocate(segmentSize);
+            }
+        }
+        inUse.incrementAndGet();
+        return buffer;
+    }
+
+    /**
+     * Hands a segment obtained from {@link #acquire()} back to the pool.  The segment
+     * must not be used by the caller afterwards.
+     */
+    public void release(ByteBuffer buffer) {
+        if (buffer == null || buffer.capacity() != segmentSize) {
+            return;
+        }
+        inUse.decrementAndGet();
+        if (buffer.isDirect()) {
+            // every direct segment fits, the pool never allocates more than it can hold
+            pooled.incrementAndGet();
+            buffer.clear();
+            free.offer(buffer);
+        }
+    }
+
+    public int getSegmentSize() {
+        return segmentSize;
+    }
+
+    public int getMaxPooledSegments() {
+        return maxPooledSegments;
+    }
+
+    /**
+     * @return the number of idle segments currently held by the pool
+     */
+    public int getPooledSegments() {
+        return pooled.get();
+    }
+
+    /**
+     * @return the number of segments handed out and not released yet
+     */
+    public int getSegmentsInUse() {
+        return inUse.get();
+    }
+
+    public long getPooledBytes() {
+        return (long)pooled.get() * segmentSize;
+    }
+
+    public long getBytesInUse() {
+        return (long)inUse.get() * segmentSize;
+    }
+
+    /**
+     * @return the total number of direct segments allocated since the pool was created
+     */
+    public long getAllocatedSegments() {
+        return allocated.get();
+    }
+
+    /**
+     * @return the total number of heap segments handed out since the pool was created because
+     *         all of its direct segments were in use
+     */
+    public long getHeapAllocatedSegments() {
+        return heapAllocated.get();
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public String toString() {
+        return new StringBuilder("ByteBufferPool [segment size: ").append(segmentSize)
+            .append(", pooled: ").append(getPooledSegments())
+            .append('/').append(maxPooledSegments)
+            .append(", in use: ").append(getSegmentsInUse())
+            .append(", hits: ").append(getHitCount())
+            .append(", misses: ").append(getMissCount())
+            .append(", heap: ").append(getHeapAllocatedSegments())
+            .append(']').toString();
+    }
+}
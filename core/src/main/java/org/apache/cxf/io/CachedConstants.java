@@ -71,6 +71,35 @@ public final class CachedConstants {
     public static final String CIPHER_TRANSFORMATION_BUS_PROP =
         "bus.io.CachedOutputStream.CipherTransformation";
 
+    /**
+     * Set to true to keep the in-memory content in pooled direct buffer segments (see
+     * {@link ByteBufferPool}) instead of a growing heap array. Disabled by default.
+     */
+    public static final String POOLED_BUFFERS_SYS_PROP =
+        "org.apache.cxf.io.CachedOutputStream.PooledBuffers";
+
+    /**
+     * Set to true to keep the in-memory content in pooled direct buffer segments (see
+     * {@link ByteBufferPool}) instead of a growing heap array. Disabled by default.
+     */
+    public static final String POOLED_BUFFERS_BUS_PROP =
+        "bus.io.CachedOutputStream.PooledBuffers";
+
+    /**
+     * The size in bytes of the direct buffer segments of the shared {@link ByteBufferPool}.
+     * The default value is 8K.
+     */
+    public static final String POOL_SEGMENT_SIZE_SYS_PROP =
+        "org.apache.cxf.io.ByteBufferPool.SegmentSize";
+
+    /**
+     * The maximum number of bytes of direct memory allocated by the shared {@link ByteBufferPool},
+     * heap segments are used beyond.
+     * The default value is 32M.
+     */
+    public static final String POOL_MAX_SIZE_SYS_PROP =
+        "org.apache.cxf.io.ByteBufferPool.MaxSize";
+
     private CachedConstants() {
         // complete
     }
@@ -30,8 +30,11 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.Reader;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.security.GeneralSecurityException;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -54,6 +57,7 @@ public class CachedOutputStream extends OutputStream {
     private static long defaultMaxSize;
     private static String defaultCipherTransformation;
     private static boolean thresholdSysPropSet;
+    private static boolean defaultPooledBuffers;
 
     static {
         String s = SystemPropertyAction.getPropertyOrNull(CachedConstants.OUTPUT_DIRECTORY_SYS_PROP);
@@ -71,6 +75,8 @@ public class CachedOutputStream extends OutputStream {
         setDefaultThreshold(-1);
         setDefaultMaxSize(-1);
         setDefaultCipherTransformation(null);
+        setDefaultPooledBuffers(
+            Boolean.parseBoolean(SystemPropertyAction.getProperty(CachedConstants.POOLED_BUFFERS_SYS_PROP, "false")));
     }
 
     protected boolean outputLocked;
@@ -80,6 +86,8 @@ public class CachedOutputStream extends OutputStream {
     private long maxSize = defaultMaxSize;
     private File outputDir = DEFAULT_TEMP_DIR;
     private String cipherTransformation = defaultCipherTransformation;
+    private boolean pooledBuffers = defaultPooledBuffers;
+    private boolean outputClosed;
 
     private long totalLength;
 
@@ -100,9 +108,9 @@ public class CachedOutputStream extends OutputStream {
 
     public CachedOutputStream(long threshold) {
         this.threshold = threshold;
-        currentStream = new LoadingByteArrayOutputStream(2048);
         inmem = true;
         readBusProperties();
+        currentStream = pooledBuffers ? new PooledByteBufferOutputStream() : new LoadingByteArrayOutputStream(2048);
     }
 
     private void readBusProperties() {
@@ -127,6 +135,10 @@ public class CachedOutputStream extends OutputStream {
                     outputDir = f;
                 }
             }
+            v = getBusProperty(b, CachedConstants.POOLED_BUFFERS_BUS_PROP, null);
+            if (v != null) {
+                pooledBuffers = Boolean.parseBoolean(v);
+            }
         }
     }
 
@@ -224,6 +236,7 @@ public class CachedOutputStream extends OutputStream {
         if (ciphers != null) {
             ciphers.clean();
         }
+        outputClosed = true;
         if (!maybeDeleteTempFile(currentStream)) {
             postClose();
         }
@@ -266,6 +279,9 @@ public class CachedOutputStream extends OutputStream {
                     if (copyOldContent && byteOut.size() > 0) {
                         byteOut.writeTo(out);
                     }
+                    if (byteOut instanceof PooledByteBufferOutputStream) {
+                        ((PooledByteBufferOutputStream)byteOut).release();
+                    }
                 } else {
                     throw new IOException("Unknown format of currentStream");
                 }
@@ -481,6 +497,9 @@ public class CachedOutputStream extends OutputStream {
             bout.writeTo(currentStream);
             inmem = false;
             streamList.add(currentStream);
+            if (bout instanceof PooledByteBufferOutputStream) {
+                ((PooledByteBufferOutputStream)bout).release();
+            }
         } catch (Exception ex) {
             //Could be IOException or SecurityException or other issues.
             //Don't care what, just keep it in memory.
@@ -503,6 +522,11 @@ public class CachedOutputStream extends OutputStream {
         if (inmem) {
             if (currentStream instanceof LoadingByteArrayOutputStream) {
                 return ((LoadingByteArrayOutputStream) currentStream).createInputStream();
+            } else if (currentStream instanceof PooledByteBufferOutputStream) {
+                PooledByteBufferOutputStream pout = (PooledByteBufferOutputStream) currentStream;
+                InputStream in = new PooledBufferInputStream(pout);
+                streamList.add(in);
+                return in;
             } else if (currentStream instanceof ByteArrayOutputStream) {
                 return new ByteArrayInputStream(((ByteArrayOutputStream) currentStream).toByteArray());
             } else {
@@ -572,6 +596,26 @@ public class CachedOutputStream extends OutputStream {
         this.maxSize = maxSize;
     }
 
+    /**
+     * Selects whether the in-memory content is kept in pooled direct buffer segments.
+     * Only takes effect while nothing has been written yet. The segments are shared with
+     * every open input stream. Like a temp file they remain readable after close() and go
+     * back to the pool once the last input stream is closed, or right away when the cache
+     * is reset.
+     */
+    public void setPooledBuffers(boolean pooledBuffers) {
+        this.pooledBuffers = pooledBuffers;
+        if (inmem && totalLength == 0 && !outputLocked
+            && pooledBuffers != (currentStream instanceof PooledByteBufferOutputStream)) {
+            currentStream = pooledBuffers
+                ? new PooledByteBufferOutputStream() : new LoadingByteArrayOutputStream(2048);
+        }
+    }
+
+    public boolean isPooledBuffers() {
+        return pooledBuffers;
+    }
+
     public void setCipherTransformation(String cipherTransformation) {
         this.cipherTransformation = cipherTransformation;
     }
@@ -606,6 +650,10 @@ public class CachedOutputStream extends OutputStream {
         return thresholdSysPropSet;
     }
 
+    public static void setDefaultPooledBuffers(boolean b) {
+        defaultPooledBuffers = b;
+    }
+
     public static void setDefaultCipherTransformation(String n) {
         if (n == null) {
             n = SystemPropertyAction.getPropertyOrNull(CachedConstants.CIPHER_TRANSFORMATION_SYS_PROP);
@@ -652,7 +700,35 @@ public class CachedOutputStream extends OutputStream {
         return in;
     }
 
-    private class TransferableFileInputStream extends FileInputStream implements Transferable {
+    private class PooledBufferInputStream extends PooledByteBufferOutputStream.SegmentInputStream {
+        private boolean closed;
+
+        PooledBufferInputStream(PooledByteBufferOutputStream out) {
+            super(out);
+        }
+
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                super.close();
+                maybeReleaseSegments(this);
+            }
+        }
+    }
+
+    /**
+     * Hands the pooled segments back once the cache is closed and its last input stream
+     * is closed, the same way the temp file is deleted.
+     */
+    private void maybeReleaseSegments(InputStream in) {
+        streamList.remove(in);
+        if (outputClosed && inmem && streamList.isEmpty() && currentStream instanceof PooledByteBufferOutputStream) {
+            ((PooledByteBufferOutputStream)currentStream).release();
+        }
+    }
+
+    private class TransferableFileInputStream extends FileInputStream
+        implements Transferable, ChannelTransferable {
         private boolean closed;
         private File sourceFile;
 
@@ -669,6 +745,52 @@ public class CachedOutputStream extends OutputStream {
             closed = true;
         }
 
+        @Override
+        public long remaining() throws IOException {
+            FileChannel channel = getChannel();
+            return Math.max(0L, channel.size() - channel.position());
+        }
+
+        @Override
+        public boolean isInMemory() {
+            return false;
+        }
+
+        @Override
+        public long transferTo(WritableByteChannel target) throws IOException {
+            if (closed) {
+                throw new IOException("Stream closed");
+            }
+            FileChannel channel = getChannel();
+            long position = channel.position();
+            long size = channel.size();
+            long start = position;
+            while (position < size) {
+                long n = channel.transferTo(position, size - position, target);
+                if (n <= 0) {
+                    break;
+                }
+                position += n;
+            }
+            channel.position(position);
+            return position - start;
+        }
+
+        @Override
+        public FileChannel openFileChannel() throws IOException {
+            if (closed) {
+                throw new IOException("Stream closed");
+            }
+            FileChannel channel = FileChannel.open(sourceFile.toPath(), StandardOpenOption.READ);
+            try {
+                channel.position(getChannel().position());
+            } catch (IOException ex) {
+                channel.close();
+                throw ex;
+            }
+            return channel;
+        }
+
         @Override
         public void transferTo(File destinationFile) throws IOException {
             if (closed) {
@@ -32,12 +32,14 @@ import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.io.Writer;
+import java.nio.CharBuffer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.security.GeneralSecurityException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 
 import javax.crypto.CipherInputStream;
 import javax.crypto.CipherOutputStream;
@@ -55,6 +57,7 @@ public class CachedWriter extends Writer {
     private static int defaultThreshold;
     private static long defaultMaxSize;
     private static String defaultCipherTransformation;
+    private static boolean defaultPooledBuffers;
 
     static {
 
@@ -77,6 +80,8 @@ public class CachedWriter extends Writer {
         setDefaultThreshold(-1);
         setDefaultMaxSize(-1);
         setDefaultCipherTransformation(null);
+        setDefaultPooledBuffers(
+            Boolean.parseBoolean(SystemPropertyAction.getProperty(CachedConstants.POOLED_BUFFERS_SYS_PROP, "false")));
     }
 
     protected boolean outputLocked;
@@ -87,6 +92,8 @@ public class CachedWriter extends Writer {
     private long maxSize = defaultMaxSize;
     private File outputDir = DEFAULT_TEMP_DIR;
     private String cipherTransformation = defaultCipherTransformation;
+    private boolean pooledBuffers = defaultPooledBuffers;
+    private boolean outputClosed;
 
     private long totalLength;
 
@@ -106,11 +113,208 @@ public class CachedWriter extends Writer {
         LoadingCharArrayWriter() {
             super(1024);
         }
+        LoadingCharArrayWriter(int initialSize) {
+            super(initialSize);
+        }
         public char[] rawCharArray() {
             return super.buf;
         }
     }
 
+    /**
+     * Keeps the characters in char views of pooled direct buffer segments instead of
+     * a growing char[].  rawCharArray() returns a copy sized to the content.  Readers
+     * hold their own reference to the segments, so release() only gives them back to
+     * the pool once the last open reader is closed as well.
+     */
+    static class PooledCharArrayWriter extends LoadingCharArrayWriter {
+        private final ByteBufferPool pool;
+        private final List<CharBuffer> views = new ArrayList<>();
+        private PooledSegments segments;
+        private CharBuffer current;
+        private int size;
+
+        PooledCharArrayWriter(ByteBufferPool pool) {
+            super(0);
+            this.pool = pool;
+        }
+
+        private CharBuffer nextSegment() {
+            if (segments == null) {
+                segments = new PooledSegments(pool);
+            }
+            current = segments.add().asCharBuffer();
+            views.add(current);
+            return current;
+        }
+
+        @Override
+        public void write(int c) {
+            CharBuffer buffer = current;
+            if (buffer == null || !buffer.hasRemaining()) {
+                buffer = nextSegment();
+            }
+            buffer.put((char)c);
+            size++;
+        }
+
+        @Override
+        public void write(char[] c, int off, int len) {
+            Objects.checkFromIndexSize(off, len, c.length);
+            while (len > 0) {
+                CharBuffer buffer = current;
+                if (buffer == null || !buffer.hasRemaining()) {
+                    buffer = nextSegment();
+                }
+                int n = Math.min(len, buffer.remaining());
+                buffer.put(c, off, n);
+                off += n;
+                len -= n;
+                size += n;
+            }
+        }
+
+        @Override
+        public void write(String str, int off, int len) {
+            Objects.checkFromIndexSize(off, len, str.length());
+            while (len > 0) {
+                CharBuffer buffer = current;
+                if (buffer == null || !buffer.hasRemaining()) {
+                    buffer = nextSegment();
+                }
+                int n = Math.min(len, buffer.remaining());
+                buffer.put(str, off, off + n);
+                off += n;
+                len -= n;
+                size += n;
+            }
+        }
+
+        @Override
+        public void writeTo(Writer out) throws IOException {
+            if (size == 0) {
+                return;
+            }
+            char[] chunk = new char[Math.min(size, 4096)];
+            for (CharBuffer view : views) {
+                CharBuffer v = view.duplicate().flip();
+                while (v.hasRemaining()) {
+                    int n = Math.min(chunk.length, v.remaining());
+                    v.get(chunk, 0, n);
+                    out.write(chunk, 0, n);
+                }
+            }
+        }
+
+        @Override
+        public char[] toCharArray() {
+            char[] chars = new char[size];
+            int pos = 0;
+            for (CharBuffer view : views) {
+                CharBuffer v = view.duplicate().flip();
+                int n = v.remaining();
+                v.get(chars, pos, n);
+                pos += n;
+            }
+            return chars;
+        }
+
+        @Override
+        public char[] rawCharArray() {
+            return toCharArray();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void reset() {
+            release();
+        }
+
+        @Override
+        public String toString() {
+            return new String(toCharArray());
+        }
+
+        void release() {
+            if (segments != null) {
+                segments.release();
+                segments = null;
+            }
+            views.clear();
+            current = null;
+            size = 0;
+        }
+
+        Reader createReader() {
+            return new SegmentReader();
+        }
+
+        void onReaderClose(Reader reader) throws IOException {
+            // overridden by CachedWriter to track outstanding readers
+        }
+
+        /**
+         * Reads a snapshot of the views while holding a reference to the segments behind them.
+         */
+        private final class SegmentReader extends Reader {
+            private final CharBuffer[] snapshot = new CharBuffer[views.size()];
+            private final PooledSegments shared = segments != null ? segments.retain() : null;
+            private int index;
+            private boolean closed;
+
+            SegmentReader() {
+                for (int i = 0; i < snapshot.length; i++) {
+                    snapshot[i] = views.get(i).duplicate().flip();
+                }
+            }
+
+            private CharBuffer currentView() {
+                while (index < snapshot.length && !snapshot[index].hasRemaining()) {
+                    index++;
+                }
+                return index < snapshot.length ? snapshot[index] : null;
+            }
+
+            @Override
+            public int read(char[] cbuf, int off, int len) {
+                Objects.checkFromIndexSize(off, len, cbuf.length);
+                if (len == 0) {
+                    return 0;
+                }
+                CharBuffer view = currentView();
+                if (view == null) {
+                    return -1;
+                }
+                int total = 0;
+                while (view != null && len > 0) {
+                    int n = Math.min(len, view.remaining());
+                    view.get(cbuf, off, n);
+                    off += n;
+                    len -= n;
+                    total += n;
+                    view = len > 0 ? currentView() : view;
+                }
+                return total;
+            }
+
+            @Override
+            public void close() throws IOException {
+                if (!closed) {
+                    closed = true;
+                    index = snapshot.length;
+                    if (shared != null) {
+                        shared.release();
+                    }
+                    onReaderClose(this);
+                }
+            }
+        }
+    }
+
 
     public CachedWriter() {
         this(defaultThreshold);
@@ -120,9 +324,9 @@ public class CachedWriter extends Writer {
 
     public CachedWriter(long threshold) {
         this.threshold = threshold;
-        currentStream = new LoadingCharArrayWriter();
         inmem = true;
         readBusProperties();
+        currentStream = pooledBuffers ? createPooledWriter() : new LoadingCharArrayWriter();
     }
 
     private void readBusProperties() {
@@ -147,9 +351,26 @@ public class CachedWriter extends Writer {
                     outputDir = f;
                 }
             }
+            v = getBusProperty(b, CachedConstants.POOLED_BUFFERS_BUS_PROP, null);
+            if (v != null) {
+                pooledBuffers = Boolean.parseBoolean(v);
+            }
         }
     }
 
+    private PooledCharArrayWriter createPooledWriter() {
+        return new PooledCharArrayWriter(ByteBufferPool.getDefault()) {
+            @Override
+            void onReaderClose(Reader reader) {
+                // like a temp file the segments stay readable after close() until the last reader is closed
+                streamList.remove(reader);
+                if (outputClosed && inmem && streamList.isEmpty() && currentStream == this) {
+                    release();
+                }
+            }
+        };
+    }
+
     private static String getBusProperty(Bus b, String key, String dflt) {
         String v = (String)b.getProperty(key);
         return v != null ? v : dflt;
@@ -246,6 +467,7 @@ public class CachedWriter extends Writer {
         }
         doClose();
         currentStream.close();
+        outputClosed = true;
         maybeDeleteTempFile(currentStream);
         if (ciphers != null) {
             ciphers.clean();
@@ -290,6 +512,9 @@ public class CachedWriter extends Writer {
                     if (copyOldContent && byteOut.size() > 0) {
                         byteOut.writeTo(out);
                     }
+                    if (byteOut instanceof PooledCharArrayWriter) {
+                        ((PooledCharArrayWriter)byteOut).release();
+                    }
                 } else {
                     throw new IOException("Unknown format of currentStream");
                 }
@@ -478,6 +703,9 @@ public class CachedWriter extends Writer {
             bout.writeTo(currentStream);
             inmem = false;
             streamList.add(currentStream);
+            if (bout instanceof PooledCharArrayWriter) {
+                ((PooledCharArrayWriter)bout).release();
+            }
         } catch (Exception ex) {
             //Could be IOException or SecurityException or other issues.
             //Don't care what, just keep it in memory.
@@ -498,7 +726,11 @@ public class CachedWriter extends Writer {
     public Reader getReader() throws IOException {
         flush();
         if (inmem) {
-            if (currentStream instanceof LoadingCharArrayWriter) {
+            if (currentStream instanceof PooledCharArrayWriter) {
+                Reader reader = ((PooledCharArrayWriter)currentStream).createReader();
+                streamList.add(reader);
+                return reader;
+            } else if (currentStream instanceof LoadingCharArrayWriter) {
                 LoadingCharArrayWriter lcaw = (LoadingCharArrayWriter)currentStream;
                 return new CharArrayReader(lcaw.rawCharArray(), 0, lcaw.size());
             }
@@ -572,6 +804,19 @@ public class CachedWriter extends Writer {
         this.maxSize = maxSize;
     }
 
+    /**
+     * Selects whether the in-memory content is kept in pooled direct buffer segments.
+     * Only takes effect while nothing has been written yet. The segments remain readable
+     * after close() and go back to the pool once the last reader is closed.
+     */
+    public void setPooledBuffers(boolean pooledBuffers) {
+        this.pooledBuffers = pooledBuffers;
+        if (inmem && totalLength == 0 && !outputLocked
+            && pooledBuffers != (currentStream instanceof PooledCharArrayWriter)) {
+            currentStream = pooledBuffers ? createPooledWriter() : new LoadingCharArrayWriter();
+        }
+    }
+
     public void setCipherTransformation(String cipherTransformation) {
         this.cipherTransformation = cipherTransformation;
     }
@@ -603,6 +848,10 @@ public class CachedWriter extends Writer {
 
     }
 
+    public static void setDefaultPooledBuffers(boolean b) {
+        defaultPooledBuffers = b;
+    }
+
     public static void setDefaultCipherTransformation(String n) {
         if (n == null) {
             n = SystemPropertyAction.getPropertyOrNull(CachedConstants.CIPHER_TRANSFORMATION_SYS_PROP);
@@ -0,0 +1,59 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.io;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Implemented by the InputStreams of cached content (see {@link CachedOutputStream}) that
+ * already hold their data in a file or in memory buffers.  Transports use it to hand the
+ * unread content to the network layer directly, e.g. with {@link FileChannel#transferTo}
+ * or a sendfile capable container API, instead of copying it through a transfer buffer.
+ */
+public interface ChannelTransferable {
+
+    /**
+     * @return the number of bytes that have not been read yet
+     */
+    long remaining() throws IOException;
+
+    /**
+     * @return true if the content is held in memory, false if it is backed by a file
+     */
+    boolean isInMemory();
+
+    /**
+     * Writes the unread content to the channel.  The content counts as read afterwards.
+     *
+     * @return the number of bytes written
+     */
+    long transferTo(WritableByteChannel target) throws IOException;
+
+    /**
+     * Opens a new read only channel on the backing file, positioned at the first unread
+     * byte.  The channel stays usable after this stream has been closed and must be closed
+     * by the caller.  Reading from the returned channel does not advance this stream.
+     *
+     * @return the channel, or null if the content is held in memory
+     */
+    FileChannel openFileChannel() throws IOException;
+}
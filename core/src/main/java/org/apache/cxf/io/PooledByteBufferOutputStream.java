@@ -0,0 +1,345 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A {@link ByteArrayOutputStream} that keeps its content in a list of direct buffer
+ * segments taken from a {@link ByteBufferPool} instead of a single heap array, so growing
+ * the stream never copies what has already been written.  It is a ByteArrayOutputStream
+ * only to remain usable wherever {@link CachedOutputStream} expects one; the inherited
+ * {@code buf} array is never used.
+ * <p>
+ * The segments stay attached to the stream until {@link #release()} or {@link #reset()}
+ * is called. Input streams created with {@link #createInputStream()} read the segments
+ * directly and keep them out of the pool until they are closed, even if the stream has
+ * been released in the meantime.
+ */
+public class PooledByteBufferOutputStream extends ByteArrayOutputStream {
+    private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+
+    private final ByteBufferPool pool;
+    private PooledSegments segments;
+    private ByteBuffer current;
+
+    public PooledByteBufferOutputStream() {
+        this(ByteBufferPool.getDefault());
+    }
+
+    public PooledByteBufferOutputStream(ByteBufferPool pool) {
+        super(0);
+        this.pool = pool;
+    }
+
+    private ByteBuffer nextSegment() {
+        if (segments == null) {
+            segments = new PooledSegments(pool);
+        }
+        current = segments.add();
+        return current;
+    }
+
+    private List<ByteBuffer> buffers() {
+        return segments == null ? Collections.emptyList() : segments.buffers();
+    }
+
+    @Override
+    public void write(int b) {
+        ByteBuffer buffer = current;
+        if (buffer == null || !buffer.hasRemaining()) {
+            buffer = nextSegment();
+        }
+        buffer.put((byte)b);
+        count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        Objects.checkFromIndexSize(off, len, b.length);
+        while (len > 0) {
+            ByteBuffer buffer = current;
+            if (buffer == null || !buffer.hasRemaining()) {
+                buffer = nextSegment();
+            }
+            int n = Math.min(len, buffer.remaining());
+            buffer.put(b, off, n);
+            off += n;
+            len -= n;
+            count += n;
+        }
+    }
+
+    @Override
+    public void writeBytes(byte[] b) {
+        write(b, 0, b.length);
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+        if (count == 0) {
+            return;
+        }
+        byte[] chunk = new byte[Math.min(count, pool.getSegmentSize())];
+        for (ByteBuffer segment : buffers()) {
+            ByteBuffer view = segment.duplicate().flip();
+            while (view.hasRemaining()) {
+                int n = Math.min(chunk.length, view.remaining());
+                view.get(chunk, 0, n);
+                out.write(chunk, 0, n);
+            }
+        }
+    }
+
+    @Override
+    public byte[] toByteArray() {
+        byte[] bytes = new byte[count];
+        int pos = 0;
+        for (ByteBuffer segment : buffers()) {
+            ByteBuffer view = segment.duplicate().flip();
+            int n = view.remaining();
+            view.get(bytes, pos, n);
+            pos += n;
+        }
+        return bytes;
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Discards the content and hands the segments back to the pool.
+     */
+    @Override
+    public void reset() {
+        release();
+    }
+
+    /**
+     * Hands the segments back to the pool, or leaves that to the last open input stream
+     * created with {@link #createInputStream()}.  The stream is empty afterwards and may
+     * be written to again.
+     */
+    public void release() {
+        if (segments != null) {
+            segments.release();
+            segments = null;
+        }
+        current = null;
+        count = 0;
+    }
+
+    @Override
+    public String toString() {
+        return new String(toByteArray(), Charset.defaultCharset());
+    }
+
+    @Override
+    public String toString(String charsetName) throws UnsupportedEncodingException {
+        return new String(toByteArray(), charsetName);
+    }
+
+    @Override
+    public String toString(Charset charset) {
+        return new String(toByteArray(), charset);
+    }
+
+    /**
+     * Creates an InputStream reading the current content directly from the segments.
+     * The segments are not returned to the pool before the InputStream is closed.
+     */
+    public InputStream createInputStream() {
+        return new SegmentInputStream(this);
+    }
+
+    /**
+     * Reads a snapshot of the segments of a {@link PooledByteBufferOutputStream}.
+     */
+    static class SegmentInputStream extends InputStream implements Transferable, ChannelTransferable {
+        private final ByteBuffer[] views;
+        private PooledSegments segments;
+        private int index;
+        private long remaining;
+        private long mark;
+
+        SegmentInputStream(PooledByteBufferOutputStream out) {
+            segments = out.segments == null ? null : out.segments.retain();
+            List<ByteBuffer> buffers = out.buffers();
+            int count = out.count;
+            views = new ByteBuffer[buffers.size()];
+            for (int i = 0; i < views.length; i++) {
+                views[i] = buffers.get(i).duplicate().flip();
+            }
+            remaining = count;
+            mark = count;
+        }
+
+        /**
+         * Drops the reference to the segments, they return to the pool once the
+         * writing stream and every other reader have released them as well.
+         */
+        @Override
+        public void close() throws IOException {
+            PooledSegments s = segments;
+            segments = null;
+            if (s != null) {
+                Arrays.fill(views, EMPTY);
+                index = views.length;
+                remaining = 0;
+                s.release();
+            }
+        }
+
+        private ByteBuffer currentView() {
+            while (index < views.length && !views[index].hasRemaining()) {
+                index++;
+            }
+            return index < views.length ? views[index] : null;
+        }
+
+        @Override
+        public int read() {
+            ByteBuffer view = currentView();
+            if (view == null) {
+                return -1;
+            }
+            remaining--;
+            return view.get() & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            Objects.checkFromIndexSize(off, len, b.length);
+            if (len == 0) {
+                return 0;
+            }
+            int total = 0;
+            ByteBuffer view = currentView();
+            if (view == null) {
+                return -1;
+            }
+            while (view != null && len > 0) {
+                int n = Math.min(len, view.remaining());
+                view.get(b, off, n);
+                off += n;
+                len -= n;
+                total += n;
+                view = len > 0 ? currentView() : view;
+            }
+            remaining -= total;
+            return total;
+        }
+
+        @Override
+        public long skip(long n) {
+            long skipped = 0;
+            ByteBuffer view = currentView();
+            while (view != null && skipped < n) {
+                int step = (int)Math.min(n - skipped, view.remaining());
+                view.position(view.position() + step);
+                skipped += step;
+                view = currentView();
+            }
+            remaining -= skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return (int)Math.min(Integer.MAX_VALUE, remaining);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return true;
+        }
+
+        @Override
+        public synchronized void mark(int readlimit) {
+            mark = remaining;
+        }
+
+        @Override
+        public synchronized void reset() {
+            long toSkip = 0;
+            for (ByteBuffer view : views) {
+                toSkip += view.limit();
+                view.position(0);
+            }
+            index = 0;
+            remaining = toSkip;
+            skip(toSkip - mark);
+        }
+
+        @Override
+        public long remaining() {
+            return remaining;
+        }
+
+        @Override
+        public boolean isInMemory() {
+            return true;
+        }
+
+        @Override
+        public long transferTo(WritableByteChannel target) throws IOException {
+            long total = 0;
+            ByteBuffer view = currentView();
+            while (view != null) {
+                while (view.hasRemaining()) {
+                    total += target.write(view);
+                }
+                view = currentView();
+            }
+            remaining -= total;
+            return total;
+        }
+
+        @Override
+        public FileChannel openFileChannel() {
+            return null;
+        }
+
+        @Override
+        public void transferTo(File destinationFile) throws IOException {
+            try (FileChannel channel = FileChannel.open(destinationFile.toPath(), StandardOpenOption.CREATE,
+                                                        StandardOpenOption.WRITE,
+                                                        StandardOpenOption.TRUNCATE_EXISTING)) {
+                transferTo(channel);
+            }
+        }
+    }
+}
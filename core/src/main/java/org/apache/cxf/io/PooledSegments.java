@@ -0,0 +1,93 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.io;
+
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The segments of a pooled in-memory cache, shared between the stream writing them and
+ * the readers created for them.  The writer and every open reader each hold a reference;
+ * the segments go back to the {@link ByteBufferPool} only when the last one is released,
+ * so a segment is never handed to another stream while it can still be read.  Segments
+ * that are never released, like those of a cache closed and never read, go back to the
+ * pool once the cache is garbage collected.
+ */
+final class PooledSegments {
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private final Segments segments;
+    private final Cleaner.Cleanable cleanable;
+    private int references = 1;
+
+    PooledSegments(ByteBufferPool pool) {
+        segments = new Segments(pool);
+        cleanable = CLEANER.register(this, segments);
+    }
+
+    /**
+     * Takes a new segment from the pool and appends it.  Only called by the writer.
+     */
+    ByteBuffer add() {
+        ByteBuffer buffer = segments.pool.acquire();
+        segments.buffers.add(buffer);
+        return buffer;
+    }
+
+    List<ByteBuffer> buffers() {
+        return segments.buffers;
+    }
+
+    synchronized PooledSegments retain() {
+        if (references <= 0) {
+            throw new IllegalStateException("Segments already released");
+        }
+        references++;
+        return this;
+    }
+
+    synchronized void release() {
+        if (references > 0 && --references == 0) {
+            cleanable.clean();
+        }
+    }
+
+    /**
+     * Hands the segments back to the pool, it must not reference the PooledSegments.
+     */
+    private static final class Segments implements Runnable {
+        private final ByteBufferPool pool;
+        private final List<ByteBuffer> buffers = new ArrayList<>();
+
+        Segments(ByteBufferPool pool) {
+            this.pool = pool;
+        }
+
+        @Override
+        public void run() {
+            for (ByteBuffer buffer : buffers) {
+                pool.release(buffer);
+            }
+            buffers.clear();
+        }
+    }
+}
@@ -61,6 +61,11 @@ import org.apache.cxf.transport.MessageObserver;
  * has an ID. PhaseInterceptors can supply a Collection of IDs which they
  * should run before or after, supplying fine grained ordering.
  * <p>
+ * Chains created by {@link #cloneChain()} share the ordered interceptor list
+ * with the chain they were cloned from and only copy it the first time either
+ * of them is modified, so a per-request clone that does not add or remove
+ * interceptors costs no more than its execution state.
+ * <p>
  *
  */
 public class PhaseInterceptorChain implements InterceptorChain {
@@ -84,6 +89,11 @@ public class PhaseInterceptorChain implements InterceptorChain {
     // Note no hasBefores[] is needed because implementation adds subsequent
     // interceptors to the end of the list by default.
     private boolean[] hasAfters;
+    // shared indicates that heads, tails, hasAfters and the InterceptorHolders
+    // they refer to are also referenced by another chain (typically the
+    // template held by the PhaseChainCache) and must be copied before this
+    // chain is modified.
+    private boolean shared;
 
 
     private State state;
@@ -109,30 +119,13 @@ public class PhaseInterceptorChain implements InterceptorChain {
         nameMap = src.nameMap;
         phases = src.phases;
 
-        int length = phases.length;
-        hasAfters = new boolean[length];
-        System.arraycopy(src.hasAfters, 0, hasAfters, 0, length);
-
-        heads = new InterceptorHolder[length];
-        tails = new InterceptorHolder[length];
-
-        InterceptorHolder last = null;
-        for (int x = 0; x < length; x++) {
-            InterceptorHolder ih = src.heads[x];
-            while (ih != null
-                && ih.phaseIdx == x) {
-                InterceptorHolder ih2 = new InterceptorHolder(ih);
-                ih2.prev = last;
-                if (last != null) {
-                    last.next = ih2;
-                }
-                if (heads[x] == null) {
-                    heads[x] = ih2;
-                }
-                tails[x] = ih2;
-                last = ih2;
-                ih = ih.next;
-            }
+        //copied lazily on the first modification of either chain
+        heads = src.heads;
+        tails = src.tails;
+        hasAfters = src.hasAfters;
+        shared = true;
+        if (!src.shared) {
+            src.shared = true;
         }
     }
 
@@ -209,6 +202,75 @@ public class PhaseInterceptorChain implements InterceptorChain {
         }
     }
 
+    /**
+     * Gives this chain its own copy of the interceptor list if it is still
+     * shared with the chain it was cloned from.  An iterator that is walking
+     * the chain is moved over to the copied holders.
+     */
+    private void copyOnWrite() {
+        if (!shared) {
+            return;
+        }
+        int length = phases.length;
+        boolean[] newHasAfters = new boolean[length];
+        System.arraycopy(hasAfters, 0, newHasAfters, 0, length);
+
+        InterceptorHolder[] newHeads = new InterceptorHolder[length];
+        InterceptorHolder[] newTails = new InterceptorHolder[length];
+        InterceptorHolder itPrev = null;
+        InterceptorHolder itFirst = null;
+
+        InterceptorHolder last = null;
+        for (int x = 0; x < length; x++) {
+            InterceptorHolder ih = heads[x];
+            while (ih != null
+                && ih.phaseIdx == x) {
+                InterceptorHolder ih2 = new InterceptorHolder(ih);
+                ih2.prev = last;
+                if (last != null) {
+                    last.next = ih2;
+                }
+                if (newHeads[x] == null) {
+                    newHeads[x] = ih2;
+                }
+                newTails[x] = ih2;
+                last = ih2;
+                if (iterator != null) {
+                    if (ih == iterator.prev) {
+                        itPrev = ih2;
+                    }
+                    if (ih == iterator.first) {
+                        itFirst = ih2;
+                    }
+                }
+                ih = ih.next;
+            }
+        }
+        heads = newHeads;
+        tails = newTails;
+        hasAfters = newHasAfters;
+        shared = false;
+        if (iterator != null) {
+            iterator.heads = newHeads;
+            iterator.prev = itPrev;
+            iterator.first = itFirst;
+        }
+    }
+
+    private boolean containsInterceptor(int phase, String id) {
+        InterceptorHolder ih = heads[phase];
+        if (ih != null) {
+            InterceptorHolder end = tails[phase].next;
+            while (ih != end) {
+                if (ih.interceptor.getId().equals(id)) {
+                    return true;
+                }
+                ih = ih.next;
+            }
+        }
+        return false;
+    }
+
     public void add(Collection<Interceptor<? extends Message>> newhandlers) {
         add(newhandlers, false);
     }
@@ -507,6 +569,12 @@ public class PhaseInterceptorChain implements InterceptorChain {
     }
 
     public void remove(Interceptor<? extends Message> i) {
+        if (shared) {
+            if (!contains(i)) {
+                return;
+            }
+            copyOnWrite();
+        }
         PhaseInterceptorIterator it = new PhaseInterceptorIterator(heads);
         while (it.hasNext()) {
             InterceptorHolder holder = it.nextInterceptorHolder();
@@ -517,6 +585,16 @@ public class PhaseInterceptorChain implements InterceptorChain {
         }
     }
 
+    private boolean contains(Interceptor<? extends Message> i) {
+        PhaseInterceptorIterator it = new PhaseInterceptorIterator(heads);
+        while (it.hasNext()) {
+            if (it.next() == i) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public synchronized void abort() {
         this.state = InterceptorChain.State.ABORTED;
     }
@@ -557,6 +635,13 @@ public class PhaseInterceptorChain implements InterceptorChain {
     }
 
     private void insertInterceptor(int phase, PhaseInterceptor<? extends Message> interc, boolean force) {
+        if (shared) {
+            if (!force && containsInterceptor(phase, interc.getId())) {
+                // interceptor is already in chain, no need to copy
+                return;
+            }
+            copyOnWrite();
+        }
         InterceptorHolder ih = new InterceptorHolder(interc, phase);
         if (heads[phase] == null) {
             // no interceptors yet in this phase
@@ -0,0 +1,217 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.transport.common.gzip;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Locale;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.Deflater;
+
+import org.apache.cxf.common.classloader.ClassLoaderUtils;
+import org.apache.cxf.common.logging.LogUtils;
+
+/**
+ * The content encodings the {@link GZIPOutInterceptor} can produce. gzip is always
+ * available, Brotli needs <code>com.aayushatharva.brotli4j:brotli4j</code> and Zstandard
+ * <code>com.github.luben:zstd-jni</code> on the class path, together with their native
+ * library for the platform. The compression level follows the {@link Deflater} scale
+ * (-1 for the default of the encoding) and is capped at the best level of the encoding.
+ */
+public enum CompressionEncoding {
+    GZIP("gzip") {
+        @Override
+        public boolean isAvailable() {
+            return true;
+        }
+
+        @Override
+        public OutputStream compress(OutputStream out, int level) throws IOException {
+            return new PooledGZIPOutputStream(out, level);
+        }
+    },
+    BROTLI("br") {
+        @Override
+        public boolean isAvailable() {
+            return Brotli.STREAM != null;
+        }
+
+        @Override
+        public OutputStream compress(OutputStream out, int level) throws IOException {
+            int quality = level < 0 ? Brotli.DEFAULT_QUALITY : Math.min(level, Brotli.MAX_QUALITY);
+            try {
+                Object params = Brotli.PARAMETERS.newInstance();
+                Brotli.SET_QUALITY.invoke(params, quality);
+                return (OutputStream)Brotli.STREAM.newInstance(out, params);
+            } catch (ReflectiveOperationException ex) {
+                throw toIOException(ex);
+            }
+        }
+    },
+    ZSTD("zstd") {
+        @Override
+        public boolean isAvailable() {
+            return Zstd.STREAM != null;
+        }
+
+        @Override
+        public OutputStream compress(OutputStream out, int level) throws IOException {
+            int zstdLevel = level < 0 ? Zstd.DEFAULT_LEVEL : Math.min(level, Zstd.MAX_LEVEL);
+            try {
+                return (OutputStream)Zstd.STREAM.newInstance(out, zstdLevel);
+            } catch (ReflectiveOperationException ex) {
+                throw toIOException(ex);
+            }
+        }
+    };
+
+    private static final Logger LOG = LogUtils.getL7dLogger(CompressionEncoding.class);
+
+    private final String encoding;
+
+    CompressionEncoding(String encoding) {
+        this.encoding = encoding;
+    }
+
+    /**
+     * The value of the Content-Encoding header.
+     */
+    public String getEncoding() {
+        return encoding;
+    }
+
+    /**
+     * Whether the library producing this encoding can be used.
+     */
+    public abstract boolean isAvailable();
+
+    /**
+     * Wraps the stream into one compressing what is written to it, closing the returned
+     * stream completes the compressed data and closes the wrapped one.
+     */
+    public abstract OutputStream compress(OutputStream out, int level) throws IOException;
+
+    /**
+     * Returns the encoding for a Content-Encoding or Accept-Encoding token, or null if it
+     * is not one of ours. x-gzip is treated as gzip.
+     */
+    public static CompressionEncoding fromEncoding(String value) {
+        if (value == null) {
+            return null;
+        }
+        String token = value.trim().toLowerCase(Locale.ENGLISH);
+        if ("x-gzip".equals(token)) {
+            return GZIP;
+        }
+        for (CompressionEncoding e : values()) {
+            if (e.encoding.equals(token)) {
+                return e;
+            }
+        }
+        return null;
+    }
+
+    private static IOException toIOException(ReflectiveOperationException ex) {
+        Throwable cause = ex instanceof InvocationTargetException ? ex.getCause() : ex;
+        return cause instanceof IOException ? (IOException)cause : new IOException(cause);
+    }
+
+    private static Constructor<?> probe(String name, Constructor<?> ctor, Object... args) {
+        if (ctor == null) {
+            return null;
+        }
+        try {
+            // make sure the native library loads before offering the encoding
+            Object[] ctorArgs = new Object[args.length + 1];
+            ctorArgs[0] = new ByteArrayOutputStream();
+            System.arraycopy(args, 0, ctorArgs, 1, args.length);
+            ((OutputStream)ctor.newInstance(ctorArgs)).close();
+            return ctor;
+        } catch (Throwable t) {
+            LOG.log(Level.FINE, "The " + name + " content encoding is not available", t);
+            return null;
+        }
+    }
+
+    private static final class Brotli {
+        static final int DEFAULT_QUALITY = 4;
+        static final int MAX_QUALITY = 11;
+        static final Constructor<?> PARAMETERS;
+        static final Method SET_QUALITY;
+        static final Constructor<?> STREAM;
+
+        static {
+            Constructor<?> params = null;
+            Method setQuality = null;
+            Constructor<?> stream = null;
+            try {
+                Class<?> loader = ClassLoaderUtils.loadClass("com.aayushatharva.brotli4j.Brotli4jLoader",
+                                                             CompressionEncoding.class);
+                if (Boolean.TRUE.equals(loader.getMethod("isAvailable").invoke(null))) {
+                    Class<?> paramsClass = ClassLoaderUtils.loadClass(
+                        "com.aayushatharva.brotli4j.encoder.Encoder$Parameters", CompressionEncoding.class);
+                    params = paramsClass.getConstructor();
+                    setQuality = paramsClass.getMethod("setQuality", int.class);
+                    stream = ClassLoaderUtils.loadClass(
+                        "com.aayushatharva.brotli4j.encoder.BrotliOutputStream", CompressionEncoding.class)
+                        .getConstructor(OutputStream.class, paramsClass);
+                    stream = probe("br", stream, params.newInstance());
+                }
+            } catch (Throwable t) {
+                LOG.log(Level.FINE, "The br content encoding is not available", t);
+                stream = null;
+            }
+            PARAMETERS = params;
+            SET_QUALITY = setQuality;
+            STREAM = stream;
+        }
+
+        private Brotli() {
+        }
+    }
+
+    private static final class Zstd {
+        static final int DEFAULT_LEVEL = 3;
+        static final int MAX_LEVEL = 22;
+        static final Constructor<?> STREAM;
+
+        static {
+            Constructor<?> stream = null;
+            try {
+                stream = ClassLoaderUtils.loadClass("com.github.luben.zstd.ZstdOutputStream",
+                                                    CompressionEncoding.class)
+                    .getConstructor(OutputStream.class, int.class);
+                stream = probe("zstd", stream, DEFAULT_LEVEL);
+            } catch (Throwable t) {
+                LOG.log(Level.FINE, "The zstd content encoding is not available", t);
+                stream = null;
+            }
+            STREAM = stream;
+        }
+
+        private Zstd() {
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.transport.common.gzip;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.apache.cxf.common.util.SystemPropertyAction;
+
+/**
+ * Bounded pool of the raw (no zlib wrapper) {@link Deflater} and {@link Inflater}
+ * instances used by the gzip streams. A deflater holds a few hundred kilobytes of
+ * native memory which is only released by {@link Deflater#end()} or the cleaner,
+ * creating one per message makes the native allocator the bottleneck under load.
+ * Instances are reset on release, the ones which do not fit in the pool are ended.
+ */
+public final class DeflaterPool {
+    /**
+     * System property giving the number of idle instances kept per compression level,
+     * twice the number of processors by default.
+     */
+    public static final String MAX_POOLED_PROPERTY = "org.apache.cxf.transport.common.gzip.maxPooled";
+
+    private static final DeflaterPool INSTANCE =
+        new DeflaterPool(SystemPropertyAction.getInteger(MAX_POOLED_PROPERTY,
+                                                         2 * Runtime.getRuntime().availableProcessors()));
+
+    // one queue per level, from Deflater.DEFAULT_COMPRESSION (-1) to Deflater.BEST_COMPRESSION (9)
+    private final BlockingQueue<Deflater>[] deflaters;
+    private final BlockingQueue<Inflater> inflaters;
+
+    @SuppressWarnings("unchecked")
+    public DeflaterPool(int maxPooled) {
+        int size = Math.max(1, maxPooled);
+        deflaters = new BlockingQueue[Deflater.BEST_COMPRESSION + 2];
+        for (int i = 0; i < deflaters.length; i++) {
+            deflaters[i] = new ArrayBlockingQueue<>(size);
+        }
+        inflaters = new ArrayBlockingQueue<>(size);
+    }
+
+    public static DeflaterPool getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns a raw deflater for the level, which is clamped to the range supported by
+     * {@link Deflater}.
+     */
+    public Deflater acquireDeflater(int level) {
+        Deflater deflater = deflaters[index(level)].poll();
+        return deflater != null ? deflater : new Deflater(toLevel(index(level)), true);
+    }
+
+    /**
+     * Hands a deflater obtained from {@link #acquireDeflater(int)} with the same level back,
+     * it must not be used afterwards.
+     */
+    public void releaseDeflater(Deflater deflater, int level) {
+        deflater.reset();
+        if (!deflaters[index(level)].offer(deflater)) {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Returns a raw inflater.
+     */
+    public Inflater acquireInflater() {
+        Inflater inflater = inflaters.poll();
+        return inflater != null ? inflater : new Inflater(true);
+    }
+
+    /**
+     * Hands an inflater obtained from {@link #acquireInflater()} back, it must not be used
+     * afterwards.
+     */
+    public void releaseInflater(Inflater inflater) {
+        inflater.reset();
+        if (!inflaters.offer(inflater)) {
+            inflater.end();
+        }
+    }
+
+    int getPooledDeflaters(int level) {
+        return deflaters[index(level)].size();
+    }
+
+    int getPooledInflaters() {
+        return inflaters.size();
+    }
+
+    private static int index(int level) {
+        if (level < Deflater.NO_COMPRESSION) {
+            return 0;
+        }
+        return Math.min(level, Deflater.BEST_COMPRESSION) + 1;
+    }
+
+    private static int toLevel(int index) {
+        return index - 1;
+    }
+}
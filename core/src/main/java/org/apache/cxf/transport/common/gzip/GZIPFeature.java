@@ -19,6 +19,7 @@
 package org.apache.cxf.transport.common.gzip;
 
 import java.util.List;
+import java.util.Map;
 
 import org.apache.cxf.Bus;
 import org.apache.cxf.annotations.Provider;
@@ -77,6 +78,30 @@ public class GZIPFeature extends DelegatingFeature<GZIPFeature.Portable> {
         return delegate.getForce();
     }
 
+    public void setCompressionLevel(int level) {
+        delegate.setCompressionLevel(level);
+    }
+
+    public int getCompressionLevel() {
+        return delegate.getCompressionLevel();
+    }
+
+    public void setContentTypeCompressionLevels(Map<String, Integer> levels) {
+        delegate.setContentTypeCompressionLevels(levels);
+    }
+
+    public Map<String, Integer> getContentTypeCompressionLevels() {
+        return delegate.getContentTypeCompressionLevels();
+    }
+
+    public void setEncodings(List<String> encodings) {
+        delegate.setEncodings(encodings);
+    }
+
+    public List<String> getEncodings() {
+        return delegate.getEncodings();
+    }
+
     public static class Portable implements AbstractPortableFeature {
         private static final GZIPInInterceptor IN = new GZIPInInterceptor();
         private static final GZIPOutInterceptor OUT = new GZIPOutInterceptor();
@@ -91,17 +116,33 @@ public class GZIPFeature extends DelegatingFeature<GZIPFeature.Portable> {
          */
         boolean force;
 
+        /**
+         * The compression level, global and per content type, and the encodings
+         * to pass to the outgoing interceptor.
+         */
+        Integer compressionLevel;
+        Map<String, Integer> contentTypeCompressionLevels;
+        List<String> encodings;
+
 
         @Override
         public void doInitializeProvider(InterceptorProvider provider, Bus bus) {
             provider.getInInterceptors().add(IN);
-            if (threshold == -1 && !force) {
+            if (threshold == -1 && !force && compressionLevel == null
+                && contentTypeCompressionLevels == null && encodings == null) {
                 provider.getOutInterceptors().add(OUT);
                 provider.getOutFaultInterceptors().add(OUT);
             } else {
                 GZIPOutInterceptor out = new GZIPOutInterceptor();
                 out.setThreshold(threshold);
                 out.setForce(force);
+                if (compressionLevel != null) {
+                    out.setCompressionLevel(compressionLevel);
+                }
+                out.setContentTypeCompressionLevels(contentTypeCompressionLevels);
+                if (encodings != null) {
+                    out.setEncodings(encodings);
+                }
                 remove(provider.getOutInterceptors());
                 remove(provider.getOutFaultInterceptors());
                 provider.getOutInterceptors().add(out);
@@ -142,5 +183,41 @@ public class GZIPFeature extends DelegatingFeature<GZIPFeature.Portable> {
         public boolean getForce() {
             return force;
         }
+
+        /**
+         * Set the compression level of the outgoing messages, from 1 (best speed)
+         * to 9 (best compression), -1 being the default of the encoding.
+         */
+        public void setCompressionLevel(int level) {
+            compressionLevel = level;
+        }
+
+        public int getCompressionLevel() {
+            return compressionLevel != null ? compressionLevel : OUT.getCompressionLevel();
+        }
+
+        /**
+         * Set compression levels per content type, see
+         * {@link GZIPOutInterceptor#setContentTypeCompressionLevels(Map)}.
+         */
+        public void setContentTypeCompressionLevels(Map<String, Integer> levels) {
+            contentTypeCompressionLevels = levels;
+        }
+
+        public Map<String, Integer> getContentTypeCompressionLevels() {
+            return contentTypeCompressionLevels;
+        }
+
+        /**
+         * Set the content encodings offered in order of preference, see
+         * {@link GZIPOutInterceptor#setEncodings(List)}.
+         */
+        public void setEncodings(List<String> encodings) {
+            this.encodings = encodings;
+        }
+
+        public List<String> getEncodings() {
+            return encodings != null ? encodings : OUT.getEncodings();
+        }
     }
 }
@@ -24,7 +24,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.ResourceBundle;
 import java.util.logging.Logger;
-import java.util.zip.GZIPInputStream;
 
 import org.apache.cxf.common.i18n.BundleUtils;
 import org.apache.cxf.common.logging.LogUtils;
@@ -88,7 +87,7 @@ public class GZIPInInterceptor extends AbstractPhaseInterceptor<Message> {
                     }
 
                     // wrap an unzipping stream around the original one
-                    GZIPInputStream zipInput = new GZIPInputStream(is);
+                    PooledGZIPInputStream zipInput = new PooledGZIPInputStream(is);
                     message.setContent(InputStream.class, zipInput);
 
                     // remove content encoding header as we've now dealt with it
@@ -21,7 +21,9 @@ package org.apache.cxf.transport.common.gzip;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.ResourceBundle;
 import java.util.Set;
@@ -30,7 +32,7 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.zip.GZIPOutputStream;
+import java.util.zip.Deflater;
 
 import org.apache.cxf.common.i18n.BundleUtils;
 import org.apache.cxf.common.logging.LogUtils;
@@ -58,6 +60,11 @@ import org.apache.cxf.phase.Phase;
  * not be compressed. To force compression of all messages, set the threshold to
  * 0. This class was originally based on one of the CXF samples
  * (configuration_interceptor).
+ * <p>
+ * Responses are encoded with the first of the {@link #setEncodings encodings} which is
+ * {@link CompressionEncoding#isAvailable() available} and explicitly accepted by the
+ * client, falling back to gzip. The compression level can be set globally and per
+ * content type, the compressors are pooled.
  */
 public class GZIPOutInterceptor extends AbstractPhaseInterceptor<Message> {
 
@@ -103,6 +110,12 @@ public class GZIPOutInterceptor extends AbstractPhaseInterceptor<Message> {
 
     public static final String SOAP_JMS_CONTENTENCODING = "SOAPJMS_contentEncoding";
 
+    /**
+     * The encodings preferred over gzip by default, when the client accepts them and their
+     * library is present.
+     */
+    public static final List<String> DEFAULT_ENCODINGS = Arrays.asList("zstd", "br", "gzip");
+
     private static final ResourceBundle BUNDLE = BundleUtils.getBundle(GZIPOutInterceptor.class);
     private static final Logger LOG = LogUtils.getL7dLogger(GZIPOutInterceptor.class);
 
@@ -114,7 +127,10 @@ public class GZIPOutInterceptor extends AbstractPhaseInterceptor<Message> {
     private int threshold = 1024;
     private boolean force;
     private Set<String> supportedPayloadContentTypes;
-    
+    private int compressionLevel = Deflater.DEFAULT_COMPRESSION;
+    private Map<String, Integer> contentTypeCompressionLevels;
+    private List<CompressionEncoding> offeredEncodings = toEncodings(DEFAULT_ENCODINGS);
+
     public GZIPOutInterceptor() {
         super(Phase.PREPARE_SEND);
         addAfter(MessageSenderInterceptor.class.getName());
@@ -150,7 +166,8 @@ public class GZIPOutInterceptor extends AbstractPhaseInterceptor<Message> {
                 = new GZipThresholdOutputStream(threshold,
                                                 os,
                                                 use == UseGzip.FORCE,
-                                                message);
+                                                message,
+                                                this);
             message.setContent(OutputStream.class, cs);
         }
     }
@@ -241,8 +258,22 @@ public class GZIPOutInterceptor extends AbstractPhaseInterceptor<Message> {
                                           || (nonZeros.contains("*") && !zeros.contains("gzip"));
                     boolean xGzipEnabled = nonZeros.contains("x-gzip")
                                            || (nonZeros.contains("*") && !zeros.contains("x-gzip"));
+                    // the other encodings are only used when the client names them
+                    CompressionEncoding preferred = null;
+                    for (CompressionEncoding e : offeredEncodings) {
+                        if (e != CompressionEncoding.GZIP && nonZeros.contains(e.getEncoding())
+                            && e.isAvailable()) {
+                            preferred = e;
+                            break;
+                        } else if (e == CompressionEncoding.GZIP && (gzipEnabled || xGzipEnabled)) {
+                            break;
+                        }
+                    }
 
-                    if (identityEnabled && !gzipEnabled && !xGzipEnabled) {
+                    if (preferred != null) {
+                        permitted = identityEnabled ? UseGzip.YES : UseGzip.FORCE;
+                        message.put(GZIP_ENCODING_KEY, preferred.getEncoding());
+                    } else if (identityEnabled && !gzipEnabled && !xGzipEnabled) {
                         permitted = UseGzip.NO;
                     } else if (identityEnabled && gzipEnabled) {
                         permitted = UseGzip.YES;
@@ -272,14 +303,62 @@ public class GZIPOutInterceptor extends AbstractPhaseInterceptor<Message> {
         return permitted;
     }
 
+    /**
+     * Returns the compression level for the content type, the level configured for the
+     * content type without parameters, then for its wildcard subtype (<code>text/*</code>),
+     * and the {@link #setCompressionLevel(int) global} one otherwise.
+     */
+    public int getCompressionLevel(String contentType) {
+        if (contentTypeCompressionLevels != null && contentType != null) {
+            String type = contentType;
+            int idx = type.indexOf(';');
+            if (idx >= 0) {
+                type = type.substring(0, idx);
+            }
+            type = type.trim().toLowerCase(Locale.ENGLISH);
+            Integer level = contentTypeCompressionLevels.get(type);
+            if (level == null) {
+                idx = type.indexOf('/');
+                if (idx >= 0) {
+                    level = contentTypeCompressionLevels.get(type.substring(0, idx + 1) + '*');
+                }
+            }
+            if (level != null) {
+                return level;
+            }
+        }
+        return compressionLevel;
+    }
+
+    private static List<CompressionEncoding> toEncodings(List<String> names) {
+        List<CompressionEncoding> result = new ArrayList<>(names.size() + 1);
+        for (String name : names) {
+            CompressionEncoding e = CompressionEncoding.fromEncoding(name);
+            if (e == null) {
+                throw new IllegalArgumentException("Unsupported content encoding: " + name);
+            }
+            if (!result.contains(e)) {
+                result.add(e);
+            }
+        }
+        if (!result.contains(CompressionEncoding.GZIP)) {
+            result.add(CompressionEncoding.GZIP);
+        }
+        return result;
+    }
+
     static class GZipThresholdOutputStream extends AbstractThresholdOutputStream {
         Message message;
+        GZIPOutInterceptor interceptor;
+        boolean force;
 
         GZipThresholdOutputStream(int t, OutputStream orig,
-                                         boolean force, Message msg) {
+                                         boolean force, Message msg, GZIPOutInterceptor interceptor) {
             super(t);
             super.wrappedStream = orig;
             message = msg;
+            this.interceptor = interceptor;
+            this.force = force;
             if (force) {
                 setupGZip();
             }
@@ -297,21 +376,55 @@ public class GZIPOutInterceptor extends AbstractPhaseInterceptor<Message> {
 
         @Override
         public void thresholdReached() throws IOException {
+            if (isAlreadyEncoded(message)) {
+                LOG.fine("Message content is already encoded, not compressing.");
+                return;
+            }
+            int level = interceptor.getCompressionLevel((String)message.get(Message.CONTENT_TYPE));
+            // a client refusing the identity encoding still gets an encoded, if stored, content
+            if (level == Deflater.NO_COMPRESSION && !force) {
+                LOG.fine("Compression is disabled for the content type, not compressing.");
+                return;
+            }
             LOG.fine("Compressing message.");
             // Set the Content-Encoding HTTP header
             String enc = (String)message.get(GZIP_ENCODING_KEY);
+            CompressionEncoding encoding = CompressionEncoding.fromEncoding(enc);
+            if (encoding == null) {
+                encoding = CompressionEncoding.GZIP;
+            }
             addHeader(message, "Content-Encoding", enc);
             // if this is a response message, add the Vary header
             if (!Boolean.TRUE.equals(message.get(Message.REQUESTOR_ROLE))) {
                 addHeader(message, "Vary", "Accept-Encoding");
             }
 
-            // gzip the result
-            GZIPOutputStream zipOutput = new GZIPOutputStream(wrappedStream);
-            wrappedStream = zipOutput;
+            // compress the result
+            wrappedStream = encoding.compress(wrappedStream, level);
         }
     }
 
+    /**
+     * Whether the outgoing message carries a Content-Encoding already, like a precompressed
+     * document written by the endpoint itself.
+     */
+    private static boolean isAlreadyEncoded(Message message) {
+        Map<String, List<String>> headers = CastUtils.cast((Map<?, ?>)message.get(Message.PROTOCOL_HEADERS));
+        if (headers == null) {
+            return false;
+        }
+        List<String> encoding = HttpHeaderHelper.getHeader(headers, HttpHeaderHelper.CONTENT_ENCODING);
+        if (encoding == null) {
+            return false;
+        }
+        for (String enc : encoding) {
+            if (!"identity".equalsIgnoreCase(enc.trim())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Adds a value to a header. If the given header name is not currently
      * set in the message, an entry is created with the given single value.
@@ -343,4 +456,53 @@ public class GZIPOutInterceptor extends AbstractPhaseInterceptor<Message> {
         this.supportedPayloadContentTypes = supportedPayloadContentTypes;
     }
 
+    /**
+     * Sets the compression level, from {@link Deflater#BEST_SPEED} to
+     * {@link Deflater#BEST_COMPRESSION}, or {@link Deflater#DEFAULT_COMPRESSION}.
+     */
+    public void setCompressionLevel(int compressionLevel) {
+        this.compressionLevel = compressionLevel;
+    }
+
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+
+    /**
+     * Sets compression levels per content type, keyed by the media type without parameters
+     * such as <code>application/json</code> or by a wildcard subtype such as <code>text/*</code>.
+     * A level of {@link Deflater#NO_COMPRESSION} sends the content of the type uncompressed,
+     * which suits the types that are compressed already, unless the client refuses the identity
+     * encoding, the content is then encoded without compressing it.
+     */
+    public void setContentTypeCompressionLevels(Map<String, Integer> levels) {
+        if (levels == null) {
+            contentTypeCompressionLevels = null;
+        } else {
+            contentTypeCompressionLevels = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            contentTypeCompressionLevels.putAll(levels);
+        }
+    }
+
+    public Map<String, Integer> getContentTypeCompressionLevels() {
+        return contentTypeCompressionLevels;
+    }
+
+    /**
+     * Sets the content encodings offered to the clients, in order of preference. Only
+     * <code>gzip</code>, <code>br</code> and <code>zstd</code> are supported and gzip is
+     * always offered, as the last resort if it is not listed.
+     */
+    public void setEncodings(List<String> encodings) {
+        offeredEncodings = toEncodings(encodings);
+    }
+
+    public List<String> getEncodings() {
+        List<String> names = new ArrayList<>(offeredEncodings.size());
+        for (CompressionEncoding e : offeredEncodings) {
+            names.add(e.getEncoding());
+        }
+        return names;
+    }
+
 }
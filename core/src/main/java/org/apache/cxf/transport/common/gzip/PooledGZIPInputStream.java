@@ -0,0 +1,202 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.transport.common.gzip;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.Deflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+/**
+ * Reads the gzip format, including concatenated members, like
+ * {@link java.util.zip.GZIPInputStream} but with an {@link java.util.zip.Inflater}
+ * borrowed from a {@link DeflaterPool}, which gets it back when the stream is closed.
+ */
+public class PooledGZIPInputStream extends InflaterInputStream {
+    private static final int GZIP_MAGIC = 0x8b1f;
+    private static final int FHCRC = 2;
+    private static final int FEXTRA = 4;
+    private static final int FNAME = 8;
+    private static final int FCOMMENT = 16;
+    // size of a trailer followed by the smallest header
+    private static final int TRAILER_AND_HEADER = 26;
+
+    private final DeflaterPool pool;
+    private final CRC32 crc = new CRC32();
+    private boolean eos;
+    private boolean closed;
+
+    public PooledGZIPInputStream(InputStream in) throws IOException {
+        this(in, DeflaterPool.getInstance());
+    }
+
+    public PooledGZIPInputStream(InputStream in, DeflaterPool pool) throws IOException {
+        super(in, pool.acquireInflater(), 8192);
+        this.pool = pool;
+        try {
+            readHeader(in);
+        } catch (IOException ex) {
+            closed = true;
+            pool.releaseInflater(inf);
+            throw ex;
+        }
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        if (eos) {
+            return -1;
+        }
+        int n = super.read(b, off, len);
+        if (n == -1) {
+            if (readTrailer()) {
+                eos = true;
+            } else {
+                return this.read(b, off, len);
+            }
+        } else {
+            crc.update(b, off, n);
+        }
+        return n;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            eos = true;
+            pool.releaseInflater(inf);
+            in.close();
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    private int readHeader(InputStream stream) throws IOException {
+        CheckedInputStream cin = new CheckedInputStream(stream, crc);
+        crc.reset();
+        if (readUShort(cin) != GZIP_MAGIC) {
+            throw new ZipException("Not in GZIP format");
+        }
+        if (readUByte(cin) != Deflater.DEFLATED) {
+            throw new ZipException("Unsupported compression method");
+        }
+        int flags = readUByte(cin);
+        // modification time, extra flags and operating system
+        skipBytes(cin, 6);
+        int n = 10;
+        if ((flags & FEXTRA) == FEXTRA) {
+            int extra = readUShort(cin);
+            skipBytes(cin, extra);
+            n += extra + 2;
+        }
+        if ((flags & FNAME) == FNAME) {
+            n += skipString(cin);
+        }
+        if ((flags & FCOMMENT) == FCOMMENT) {
+            n += skipString(cin);
+        }
+        if ((flags & FHCRC) == FHCRC) {
+            int v = (int)crc.getValue() & 0xffff;
+            if (readUShort(cin) != v) {
+                throw new ZipException("Corrupt GZIP header");
+            }
+            n += 2;
+        }
+        crc.reset();
+        return n;
+    }
+
+    private boolean readTrailer() throws IOException {
+        InputStream stream = this.in;
+        int n = inf.getRemaining();
+        if (n > 0) {
+            // the trailer, and maybe the next member, was read into the inflater buffer already
+            stream = new SequenceInputStream(new ByteArrayInputStream(buf, len - n, n),
+                new FilterInputStream(stream) {
+                    public void close() throws IOException {
+                    }
+                });
+        }
+        if (readUInt(stream) != crc.getValue()
+            || readUInt(stream) != (inf.getBytesWritten() & 0xffffffffL)) {
+            throw new ZipException("Corrupt GZIP trailer");
+        }
+        if (this.in.available() > 0 || n > TRAILER_AND_HEADER) {
+            int m = 8;
+            try {
+                m += readHeader(stream);
+            } catch (IOException ex) {
+                // trailing garbage after the last member is ignored
+                return true;
+            }
+            inf.reset();
+            if (n > m) {
+                inf.setInput(buf, len - n + m, n - m);
+            }
+            return false;
+        }
+        return true;
+    }
+
+    private static long readUInt(InputStream in) throws IOException {
+        long s = readUShort(in);
+        return ((long)readUShort(in) << 16) | s;
+    }
+
+    private static int readUShort(InputStream in) throws IOException {
+        int b = readUByte(in);
+        return (readUByte(in) << 8) | b;
+    }
+
+    private static int readUByte(InputStream in) throws IOException {
+        int b = in.read();
+        if (b == -1) {
+            throw new EOFException();
+        }
+        return b;
+    }
+
+    private static void skipBytes(InputStream in, int n) throws IOException {
+        for (int i = 0; i < n; i++) {
+            readUByte(in);
+        }
+    }
+
+    private static int skipString(InputStream in) throws IOException {
+        int n = 1;
+        while (readUByte(in) != 0) {
+            n++;
+        }
+        return n;
+    }
+}
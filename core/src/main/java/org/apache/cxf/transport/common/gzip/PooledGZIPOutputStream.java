@@ -0,0 +1,125 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.transport.common.gzip;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Writes the gzip format like {@link java.util.zip.GZIPOutputStream} but with a
+ * {@link Deflater} borrowed from a {@link DeflaterPool}, which gets it back when
+ * the stream is closed.
+ */
+public class PooledGZIPOutputStream extends DeflaterOutputStream {
+    private static final int GZIP_MAGIC = 0x8b1f;
+    private static final int OS_UNKNOWN = 0xff;
+
+    private final DeflaterPool pool;
+    private final int level;
+    private final CRC32 crc = new CRC32();
+    private boolean finished;
+    private boolean closed;
+
+    public PooledGZIPOutputStream(OutputStream out) throws IOException {
+        this(out, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    public PooledGZIPOutputStream(OutputStream out, int level) throws IOException {
+        this(out, level, DeflaterPool.getInstance());
+    }
+
+    public PooledGZIPOutputStream(OutputStream out, int level, DeflaterPool pool) throws IOException {
+        super(out, pool.acquireDeflater(level), 8192);
+        this.pool = pool;
+        this.level = level;
+        try {
+            writeHeader();
+        } catch (IOException ex) {
+            closed = true;
+            pool.releaseDeflater(def, level);
+            throw ex;
+        }
+    }
+
+    @Override
+    public synchronized void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        super.write(b, off, len);
+        crc.update(b, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        super.flush();
+    }
+
+    @Override
+    public void finish() throws IOException {
+        ensureOpen();
+        if (!finished) {
+            super.finish();
+            writeTrailer();
+            finished = true;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            try {
+                finish();
+            } finally {
+                closed = true;
+                pool.releaseDeflater(def, level);
+                out.close();
+            }
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    private void writeHeader() throws IOException {
+        out.write(new byte[] {
+            (byte)GZIP_MAGIC, (byte)(GZIP_MAGIC >> 8), Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte)OS_UNKNOWN
+        });
+    }
+
+    private void writeTrailer() throws IOException {
+        byte[] trailer = new byte[8];
+        writeInt((int)crc.getValue(), trailer, 0);
+        writeInt((int)def.getBytesRead(), trailer, 4);
+        out.write(trailer);
+    }
+
+    private static void writeInt(int i, byte[] buf, int offset) {
+        buf[offset] = (byte)i;
+        buf[offset + 1] = (byte)(i >> 8);
+        buf[offset + 2] = (byte)(i >> 16);
+        buf[offset + 3] = (byte)(i >> 24);
+    }
+}
@@ -0,0 +1,87 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.transport.common.gzip;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.zip.Deflater;
+
+/**
+ * A generated document, such as a WSDL or an OpenAPI description, kept in serialized
+ * form together with its gzip encoding so that repeated requests for it are answered
+ * from memory. The gzip encoding is produced once, at the best compression level, the
+ * first time a client accepting it asks for the document.
+ */
+public final class PrecompressedContent {
+    private final byte[] content;
+    private volatile byte[] gzipContent;
+
+    public PrecompressedContent(byte[] content) {
+        this.content = content;
+    }
+
+    public byte[] getContent() {
+        return content;
+    }
+
+    public byte[] getGzipContent() {
+        byte[] gzip = gzipContent;
+        if (gzip == null) {
+            ByteArrayOutputStream bos = new ByteArrayOutputStream(content.length / 4 + 32);
+            try (OutputStream os = new PooledGZIPOutputStream(bos, Deflater.BEST_COMPRESSION)) {
+                os.write(content);
+            } catch (IOException ex) {
+                // not happening with a byte array stream
+                throw new UncheckedIOException(ex);
+            }
+            gzip = bos.toByteArray();
+            gzipContent = gzip;
+        }
+        return gzip;
+    }
+
+    /**
+     * Whether the Accept-Encoding header values explicitly allow gzip, or x-gzip, with a
+     * non zero quality.
+     */
+    public static boolean isGzipAccepted(List<String> acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String headerLine : acceptEncoding) {
+            for (String enc : GZIPOutInterceptor.ENCODINGS.split(headerLine.trim())) {
+                Matcher m = GZIPOutInterceptor.ZERO_Q.matcher(enc);
+                if (m.find()) {
+                    continue;
+                }
+                int idx = enc.indexOf(';');
+                if (CompressionEncoding.fromEncoding(idx >= 0 ? enc.substring(0, idx) : enc)
+                    == CompressionEncoding.GZIP) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
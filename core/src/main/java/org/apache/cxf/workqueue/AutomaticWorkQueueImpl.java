@@ -223,7 +223,7 @@ public class AutomaticWorkQueueImpl implements AutomaticWorkQueue {
         }
         return executor;
     }
-    private AWQThreadFactory createThreadFactory(final String nm) {
+    AWQThreadFactory createThreadFactory(final String nm) {
         ThreadGroup group;
         try {
             //Try and find the highest level ThreadGroup that we're allowed to use.
@@ -401,12 +401,12 @@ public class AutomaticWorkQueueImpl implements AutomaticWorkQueue {
                 .append(']').toString();
     }
 
-    public void execute(final Runnable command) {
+    static Runnable wrapWithContextClassLoader(final Runnable command) {
         //Grab the context classloader of this thread.   We'll make sure we use that
         //on the thread the runnable actually runs on.
 
         final ClassLoader loader = Thread.currentThread().getContextClassLoader();
-        Runnable r = new Runnable() {
+        return new Runnable() {
             public void run() {
                 ClassLoaderHolder orig = ClassLoaderUtils.setThreadContextClassloader(loader);
                 try {
@@ -418,6 +418,10 @@ public class AutomaticWorkQueueImpl implements AutomaticWorkQueue {
                 }
             }
         };
+    }
+
+    public void execute(final Runnable command) {
+        Runnable r = wrapWithContextClassLoader(command);
         //The ThreadPoolExecutor in the JDK doesn't expand the number
         //of threads until the queue is full.   However, we would
         //prefer the number of threads to expand immediately and
@@ -0,0 +1,356 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.workqueue;
+
+import java.beans.PropertyChangeEvent;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Dictionary;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.cxf.common.injection.NoJSR250Annotations;
+import org.apache.cxf.common.logging.LogUtils;
+
+/**
+ * An {@link AutomaticWorkQueue} that runs every work item on its own virtual
+ * thread instead of a pool of platform threads.  Virtual threads are cheap to
+ * block, so there is no need to oversize the queue for blocking workloads; the
+ * number of work items running at the same time is capped with a semaphore
+ * sized by the high water mark.  Items submitted while all permits are taken
+ * wait in a queue bounded by the queue size, as with the pooled implementation.
+ * <p>
+ * On a JVM without virtual threads the queue falls back to creating a new
+ * daemon platform thread per running item, still limited by the high water mark.
+ */
+@NoJSR250Annotations
+public class VirtualThreadWorkQueueImpl extends AutomaticWorkQueueImpl {
+    public static final int DEFAULT_MAX_CONCURRENCY = 256;
+
+    private static final Logger LOG = LogUtils.getL7dLogger(VirtualThreadWorkQueueImpl.class);
+
+    private final AtomicInteger threads = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger largest = new AtomicInteger();
+    private final BlockingQueue<Runnable> pending = new LinkedBlockingQueue<>();
+    private final ResizableSemaphore permits;
+    private final ResizableSemaphore queueSlots;
+    private volatile ThreadFactory factory;
+    private volatile boolean shutdown;
+
+    public VirtualThreadWorkQueueImpl() {
+        this("default");
+    }
+    public VirtualThreadWorkQueueImpl(String name) {
+        this(DEFAULT_MAX_QUEUE_SIZE, DEFAULT_MAX_CONCURRENCY, name);
+    }
+    public VirtualThreadWorkQueueImpl(int mqs, int maxConcurrency, String name) {
+        super(mqs, 0, maxConcurrency, 0, 0L, name);
+        permits = new ResizableSemaphore(highWaterMark);
+        queueSlots = new ResizableSemaphore(maxQueueSize);
+        if (!isVirtualThreadsSupported()) {
+            LOG.log(Level.WARNING, "VIRTUAL_THREADS_UNAVAILABLE_MSG", name);
+        }
+        factory = newThreadFactory(name);
+    }
+
+    /**
+     * @return true if work items run on virtual threads, false if the JVM does
+     * not support them and platform threads are used instead
+     */
+    public static boolean isVirtualThreadsSupported() {
+        return VirtualThreads.BUILDER != null;
+    }
+
+    private ThreadFactory newThreadFactory(String n) {
+        ThreadFactory f = VirtualThreads.createFactory(n);
+        return f == null ? createThreadFactory(n) : f;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (shutdown) {
+            throw new RejectedExecutionException("Work queue " + name + " is shut down");
+        }
+        Runnable r = wrapWithContextClassLoader(command);
+        if (permits.tryAcquire()) {
+            startWorker(r);
+        } else if (queueSlots.tryAcquire()) {
+            pending.add(r);
+            drainIfIdle();
+        } else {
+            throw new RejectedExecutionException("Work queue " + name + " is full");
+        }
+    }
+
+    @Override
+    public void execute(Runnable work, long timeout) {
+        try {
+            execute(work);
+        } catch (RejectedExecutionException ree) {
+            try {
+                if (shutdown || !queueSlots.tryAcquire(timeout, TimeUnit.MILLISECONDS)) {
+                    throw ree;
+                }
+                pending.add(wrapWithContextClassLoader(work));
+                drainIfIdle();
+            } catch (InterruptedException ie) {
+                throw ree;
+            }
+        }
+    }
+
+    // a permit may have been released between the failed tryAcquire and the offer
+    private void drainIfIdle() {
+        while (!pending.isEmpty() && permits.tryAcquire()) {
+            Runnable next = nextPending();
+            if (next == null) {
+                permits.release();
+            } else {
+                startWorker(next);
+                return;
+            }
+        }
+    }
+
+    private Runnable nextPending() {
+        Runnable next = pending.poll();
+        if (next != null) {
+            queueSlots.release();
+        }
+        return next;
+    }
+
+    private void startWorker(Runnable first) {
+        Thread t;
+        try {
+            t = factory.newThread(new Worker(first));
+        } catch (RuntimeException | Error e) {
+            permits.release();
+            throw e;
+        }
+        if (t == null) {
+            permits.release();
+            throw new RejectedExecutionException("Could not create thread for work queue " + name);
+        }
+        int count = threads.incrementAndGet();
+        largest.accumulateAndGet(count, Math::max);
+        t.start();
+    }
+
+    private final class Worker implements Runnable {
+        private Runnable task;
+
+        Worker(Runnable first) {
+            task = first;
+        }
+
+        public void run() {
+            try {
+                while (task != null) {
+                    active.incrementAndGet();
+                    try {
+                        task.run();
+                    } catch (RuntimeException ex) {
+                        LOG.log(Level.WARNING, "Work item failed in work queue " + name, ex);
+                    } finally {
+                        active.decrementAndGet();
+                    }
+                    task = nextPending();
+                }
+            } finally {
+                threads.decrementAndGet();
+                permits.release();
+                drainIfIdle();
+            }
+        }
+    }
+
+    @Override
+    public void shutdown(boolean processRemainingWorkItems) {
+        shutdown = true;
+        if (!processRemainingWorkItems) {
+            List<Runnable> dropped = new ArrayList<>();
+            pending.drainTo(dropped);
+            queueSlots.release(dropped.size());
+        }
+        if (watchDog != null) {
+            watchDog.shutdown();
+        }
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public long getSize() {
+        return pending.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return pending.isEmpty();
+    }
+
+    @Override
+    public boolean isFull() {
+        return queueSlots.availablePermits() <= 0;
+    }
+
+    @Override
+    public int getHighWaterMark() {
+        return highWaterMark == Integer.MAX_VALUE ? -1 : highWaterMark;
+    }
+
+    @Override
+    public void setHighWaterMark(int hwm) {
+        int newHwm = hwm < 0 ? Integer.MAX_VALUE : hwm;
+        int old = highWaterMark;
+        highWaterMark = newHwm;
+        notifyChangeListeners(new PropertyChangeEvent(this, "highWaterMark", old, hwm));
+        permits.resize(old, newHwm);
+        drainIfIdle();
+    }
+
+    @Override
+    public void setQueueSize(int size) {
+        int old = maxQueueSize;
+        // negative sizes select the default, as in the constructor
+        super.setQueueSize(size < 0 ? DEFAULT_MAX_QUEUE_SIZE : size);
+        queueSlots.resize(old, maxQueueSize);
+    }
+
+    /**
+     * Applies the high water mark and the queue size, the other settings do not apply
+     * to virtual threads.
+     */
+    @Override
+    public void update(Dictionary<String, String> config) {
+        String s = config.get("highWaterMark");
+        if (s != null) {
+            setHighWaterMark(Integer.parseInt(s));
+        }
+        s = config.get("queueSize");
+        if (s != null) {
+            setQueueSize(Integer.parseInt(s));
+        }
+    }
+
+    @Override
+    public void setName(String s) {
+        super.setName(s);
+        factory = newThreadFactory(s);
+    }
+
+    @Override
+    public int getLowWaterMark() {
+        return 0;
+    }
+
+    @Override
+    public void setLowWaterMark(int lwm) {
+        //nothing to keep alive, virtual threads are created per work item
+    }
+
+    @Override
+    public int getLargestPoolSize() {
+        return largest.get();
+    }
+
+    @Override
+    public int getPoolSize() {
+        return threads.get();
+    }
+
+    @Override
+    public int getActiveCount() {
+        return active.get();
+    }
+
+    static final class ResizableSemaphore extends Semaphore {
+        private static final long serialVersionUID = 7587146622469567187L;
+
+        ResizableSemaphore(int permits) {
+            super(permits);
+        }
+
+        synchronized void resize(int oldPermits, int newPermits) {
+            if (newPermits > oldPermits) {
+                release(newPermits - oldPermits);
+            } else if (newPermits < oldPermits) {
+                reducePermits(oldPermits - newPermits);
+            }
+        }
+    }
+
+    /**
+     * Looks up Thread.ofVirtual() reflectively so CXF still builds and runs
+     * on Java releases without virtual threads.
+     */
+    static final class VirtualThreads {
+        static final Method BUILDER;
+        static final Method NAME;
+        static final Method FACTORY;
+
+        static {
+            Method builder = null;
+            Method nameMethod = null;
+            Method factoryMethod = null;
+            try {
+                builder = Thread.class.getMethod("ofVirtual");
+                Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+                nameMethod = builderClass.getMethod("name", String.class, Long.TYPE);
+                factoryMethod = builderClass.getMethod("factory");
+            } catch (ReflectiveOperationException | LinkageError e) {
+                builder = null;
+            }
+            BUILDER = builder;
+            NAME = nameMethod;
+            FACTORY = factoryMethod;
+        }
+
+        private VirtualThreads() {
+        }
+
+        static ThreadFactory createFactory(String name) {
+            if (BUILDER == null) {
+                return null;
+            }
+            try {
+                Object builder = BUILDER.invoke(null);
+                builder = NAME.invoke(builder, name + "-vworkqueue-", 1L);
+                return (ThreadFactory)FACTORY.invoke(builder);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                LOG.log(Level.FINE, "Could not create virtual thread factory", e);
+                return null;
+            }
+        }
+    }
+}
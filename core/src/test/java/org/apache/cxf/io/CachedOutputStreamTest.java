@@ -22,6 +22,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 
 import org.apache.cxf.attachment.AttachmentUtil;
@@ -30,6 +32,8 @@ import org.apache.cxf.message.MessageImpl;
 
 import org.junit.Test;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
@@ -95,6 +99,40 @@ public class CachedOutputStreamTest extends CachedStreamTestBase {
         return readPartiallyFromStream((InputStream)cache, len);
     }
 
+    @Test
+    public void testTransferToChannel() throws Exception {
+        CachedOutputStream cos = new CachedOutputStream(16);
+        byte[] bytes = "Hello World, this content is file backed".getBytes(StandardCharsets.UTF_8);
+        cos.write(bytes);
+        try (InputStream in = cos.getInputStream()) {
+            assertTrue(in instanceof ChannelTransferable);
+            ChannelTransferable content = (ChannelTransferable)in;
+            assertFalse(content.isInMemory());
+            assertEquals('H', in.read());
+            assertEquals(bytes.length - 1, content.remaining());
+            try (FileChannel channel = content.openFileChannel()) {
+                assertEquals(1, channel.position());
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            assertEquals(bytes.length - 1, content.transferTo(Channels.newChannel(out)));
+            assertEquals(new String(bytes, 1, bytes.length - 1, StandardCharsets.UTF_8), out.toString("UTF-8"));
+            assertEquals(-1, in.read());
+        }
+        cos.close();
+
+        cos = new CachedOutputStream();
+        cos.write(bytes);
+        try (InputStream in = cos.getInputStream()) {
+            ChannelTransferable content = (ChannelTransferable)in;
+            assertTrue(content.isInMemory());
+            assertNull(content.openFileChannel());
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            assertEquals(bytes.length, content.transferTo(Channels.newChannel(out)));
+            assertArrayEquals(bytes, out.toByteArray());
+        }
+        cos.close();
+    }
+
     @Test
     public void testUseSysPropsWithAttachmentDeserializer() throws Exception {
         String old = System.getProperty(CachedConstants.THRESHOLD_SYS_PROP);
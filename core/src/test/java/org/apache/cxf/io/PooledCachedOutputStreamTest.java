@@ -0,0 +1,227 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.apache.cxf.helpers.IOUtils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs the CachedOutputStream tests with pooled direct buffers.
+ */
+public class PooledCachedOutputStreamTest extends CachedOutputStreamTest {
+    private ByteBufferPool pool;
+
+    @Before
+    public void setUpPool() {
+        pool = new ByteBufferPool(16, 1024);
+        ByteBufferPool.setDefault(pool);
+    }
+
+    @After
+    public void tearDownPool() {
+        ByteBufferPool.setDefault(null);
+    }
+
+    @Override
+    protected Object createCache() {
+        CachedOutputStream cos = new CachedOutputStream();
+        cos.setPooledBuffers(true);
+        return cos;
+    }
+
+    @Override
+    protected Object createCache(long threshold, String transformation) {
+        CachedOutputStream cos = (CachedOutputStream)createCache();
+        cos.setThreshold(threshold);
+        cos.setCipherTransformation(transformation);
+        return cos;
+    }
+
+    private static byte[] content(int size) {
+        byte[] bytes = new byte[size];
+        for (int i = 0; i < size; i++) {
+            bytes[i] = (byte)i;
+        }
+        return bytes;
+    }
+
+    @Test
+    public void testSegmentsReturnedWhenLastInputClosed() throws Exception {
+        CachedOutputStream cos = (CachedOutputStream)createCache(1024);
+        byte[] bytes = content(100);
+        cos.write(bytes);
+        assertTrue(cos.getOut() instanceof PooledByteBufferOutputStream);
+        assertEquals(7, pool.getSegmentsInUse());
+        assertArrayEquals(bytes, cos.getBytes());
+
+        cos.close();
+        // the closed content can still be read, from the segments
+        assertEquals(7, pool.getSegmentsInUse());
+        InputStream in = cos.getInputStream();
+        assertEquals(100, in.available());
+        assertArrayEquals(bytes, IOUtils.readBytesFromStream(in));
+        assertEquals(0, pool.getSegmentsInUse());
+        assertEquals(7, pool.getPooledSegments());
+
+        CachedOutputStream cos2 = (CachedOutputStream)createCache(1024);
+        cos2.write(bytes);
+        assertEquals(7, pool.getHitCount());
+        cos2.close();
+    }
+
+    @Test
+    public void testOpenInputKeepsSegments() throws Exception {
+        CachedOutputStream cos = (CachedOutputStream)createCache(1024);
+        byte[] bytes = content(100);
+        cos.write(bytes);
+        InputStream in = cos.getInputStream();
+        cos.close();
+        assertEquals(7, pool.getSegmentsInUse());
+
+        // the segments must not be handed out again while the input is still open
+        CachedOutputStream cos2 = (CachedOutputStream)createCache(1024);
+        cos2.write(content(100), 0, 100);
+        assertEquals(0, pool.getHitCount());
+        assertEquals(14, pool.getSegmentsInUse());
+
+        assertArrayEquals(bytes, IOUtils.readBytesFromStream(in));
+        assertEquals(7, pool.getSegmentsInUse());
+        cos2.close();
+        assertEquals(7, pool.getSegmentsInUse());
+        IOUtils.readBytesFromStream(cos2.getInputStream());
+        assertEquals(0, pool.getSegmentsInUse());
+    }
+
+    @Test
+    public void testDirectMemoryCap() throws Exception {
+        ByteBufferPool.setDefault(new ByteBufferPool(16, 64));
+        CachedOutputStream cos = (CachedOutputStream)createCache(1024);
+        byte[] bytes = content(100);
+        cos.write(bytes);
+        ByteBufferPool capped = ByteBufferPool.getDefault();
+        assertEquals(4, capped.getAllocatedSegments());
+        assertEquals(3, capped.getHeapAllocatedSegments());
+        assertArrayEquals(bytes, IOUtils.readBytesFromStream(cos.getInputStream()));
+        cos.resetOut(new ByteArrayOutputStream(), false);
+        // only the direct segments are kept
+        assertEquals(0, capped.getSegmentsInUse());
+        assertEquals(4, capped.getPooledSegments());
+    }
+
+    @Test
+    public void testOpenInputKeepsSegmentsAfterResetOut() throws Exception {
+        CachedOutputStream cos = (CachedOutputStream)createCache(1024);
+        byte[] bytes = content(40);
+        cos.write(bytes);
+        InputStream in = cos.getInputStream();
+        cos.resetOut(new ByteArrayOutputStream(), false);
+        assertEquals(3, pool.getSegmentsInUse());
+        assertArrayEquals(bytes, IOUtils.readBytesFromStream(in));
+        assertEquals(0, pool.getSegmentsInUse());
+    }
+
+    @Test
+    public void testInputAfterFirstInputClosed() throws Exception {
+        CachedOutputStream cos = (CachedOutputStream)createCache(1024);
+        byte[] bytes = content(100);
+        cos.write(bytes);
+        assertArrayEquals(bytes, IOUtils.readBytesFromStream(cos.getInputStream()));
+        assertEquals(7, pool.getSegmentsInUse());
+        assertArrayEquals(bytes, IOUtils.readBytesFromStream(cos.getInputStream()));
+        cos.close();
+        assertEquals(7, pool.getSegmentsInUse());
+        assertArrayEquals(bytes, IOUtils.readBytesFromStream(cos.getInputStream()));
+        assertEquals(0, pool.getSegmentsInUse());
+    }
+
+    @Test
+    public void testSpillToFile() throws Exception {
+        CachedOutputStream cos = (CachedOutputStream)createCache(64);
+        byte[] bytes = content(3000);
+        cos.write(bytes, 0, 50);
+        assertEquals(4, pool.getSegmentsInUse());
+        cos.write(bytes, 50, 950);
+        cos.flush();
+        File tmp = cos.getTempFile();
+        assertNotNull(tmp);
+        assertEquals(1000, tmp.length());
+        assertEquals(0, pool.getSegmentsInUse());
+
+        cos.write(bytes, 1000, 2000);
+        InputStream in = cos.getInputStream();
+        cos.close();
+        assertEquals(3000, tmp.length());
+        assertArrayEquals(bytes, IOUtils.readBytesFromStream(in));
+        assertFalse(tmp.exists());
+    }
+
+    @Test
+    public void testResetOutReleasesSegments() throws Exception {
+        CachedOutputStream cos = (CachedOutputStream)createCache(1024);
+        byte[] bytes = content(40);
+        cos.write(bytes);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        cos.resetOut(out, true);
+        assertArrayEquals(bytes, out.toByteArray());
+        assertEquals(0, pool.getSegmentsInUse());
+    }
+
+    @Test
+    public void testTransferAndMark() throws Exception {
+        CachedOutputStream cos = (CachedOutputStream)createCache(1024);
+        byte[] bytes = content(50);
+        cos.write(bytes);
+        InputStream in = cos.getInputStream();
+        cos.close();
+        assertEquals(0, in.read());
+        in.mark(100);
+        assertEquals(20, in.skip(20));
+        assertEquals(21, in.read());
+        in.reset();
+        assertEquals(1, in.read());
+
+        File f = Files.createTempFile("pooled", ".tmp").toFile();
+        try {
+            ((Transferable)in).transferTo(f);
+            assertArrayEquals(Arrays.copyOfRange(bytes, 2, 50), Files.readAllBytes(f.toPath()));
+            assertEquals(-1, in.read());
+        } finally {
+            in.close();
+            f.delete();
+        }
+        assertNull(cos.getTempFile());
+    }
+}
@@ -0,0 +1,119 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.io;
+
+import java.io.File;
+import java.io.Reader;
+
+import org.apache.cxf.helpers.IOUtils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * Runs the CachedWriter tests with pooled direct buffers.
+ */
+public class PooledCachedWriterTest extends CachedWriterTest {
+    private ByteBufferPool pool;
+
+    @Before
+    public void setUpPool() {
+        pool = new ByteBufferPool(16, 1024);
+        ByteBufferPool.setDefault(pool);
+    }
+
+    @After
+    public void tearDownPool() {
+        ByteBufferPool.setDefault(null);
+    }
+
+    @Override
+    protected Object createCache() {
+        CachedWriter cw = new CachedWriter();
+        cw.setPooledBuffers(true);
+        return cw;
+    }
+
+    @Override
+    protected Object createCache(long threshold, String transformation) {
+        CachedWriter cw = (CachedWriter)createCache();
+        cw.setThreshold(threshold);
+        cw.setCipherTransformation(transformation);
+        return cw;
+    }
+
+    @Test
+    public void testSegmentsReturnedWhenLastReaderClosed() throws Exception {
+        CachedWriter cw = (CachedWriter)createCache(1024);
+        String text = "The quick brown fox jumps over the lazy dog";
+        cw.write(text);
+        assertEquals(6, pool.getSegmentsInUse());
+        StringBuilder sb = new StringBuilder();
+        cw.writeCacheTo(sb, 9);
+        assertEquals("The quick", sb.toString());
+
+        cw.close();
+        // the closed content can still be read, from the segments
+        assertEquals(6, pool.getSegmentsInUse());
+        Reader reader = cw.getReader();
+        assertEquals(text, IOUtils.toString(reader));
+        reader.close();
+        assertEquals(0, pool.getSegmentsInUse());
+    }
+
+    @Test
+    public void testOpenReaderKeepsSegments() throws Exception {
+        CachedWriter cw = (CachedWriter)createCache(1024);
+        String text = "The quick brown fox jumps over the lazy dog";
+        cw.write(text);
+        Reader first = cw.getReader();
+        assertEquals(text, IOUtils.toString(first));
+        first.close();
+        assertEquals(6, pool.getSegmentsInUse());
+
+        Reader reader = cw.getReader();
+        cw.close();
+        assertEquals(6, pool.getSegmentsInUse());
+        assertEquals(text, IOUtils.toString(reader));
+        reader.close();
+        assertEquals(0, pool.getSegmentsInUse());
+    }
+
+    @Test
+    public void testSpillToFile() throws Exception {
+        CachedWriter cw = (CachedWriter)createCache(20);
+        cw.write("0123456789");
+        cw.write("\u00e9\u00e8 the rest of the content goes to the file");
+        cw.flush();
+        File tmp = cw.getTempFile();
+        assertNotNull(tmp);
+        assertEquals(0, pool.getSegmentsInUse());
+        Reader reader = cw.getReader();
+        cw.close();
+        assertEquals("0123456789\u00e9\u00e8 the rest of the content goes to the file", IOUtils.toString(reader));
+        reader.close();
+        assertFalse(tmp.exists());
+    }
+}
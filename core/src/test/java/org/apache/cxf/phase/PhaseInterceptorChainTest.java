@@ -41,6 +41,7 @@ import org.junit.Test;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isA;
@@ -341,6 +342,56 @@ public class PhaseInterceptorChainTest {
         verifyPhaseInterceptorInvocations(p2, false, false);
     }
 
+    @Test
+    public void testInsertionInClonedChain() throws Exception {
+        final CountingPhaseInterceptor p2 = new CountingPhaseInterceptor("phase2", "p2");
+        AbstractPhaseInterceptor<Message> p1 = new AbstractPhaseInterceptor<Message>("p1", "phase1") {
+            public void handleMessage(Message m) {
+                m.getInterceptorChain().add(p2);
+            }
+        };
+        CountingPhaseInterceptor p3 = new CountingPhaseInterceptor("phase3", "p3");
+        chain.add(p1);
+        chain.add(p3);
+
+        PhaseInterceptorChain clone = chain.cloneChain();
+        when(message.getInterceptorChain()).thenReturn(clone);
+        assertTrue(clone.doIntercept(message));
+        assertEquals(1, p2.invoked);
+        assertEquals(1, p3.invoked);
+
+        Iterator<Interceptor<? extends Message>> it = chain.iterator();
+        assertSame(p1, it.next());
+        assertSame(p3, it.next());
+        assertFalse(it.hasNext());
+    }
+
+    @Test
+    public void testModifyClonedChain() throws Exception {
+        CountingPhaseInterceptor p1 = new CountingPhaseInterceptor("phase1", "p1");
+        CountingPhaseInterceptor p2 = new CountingPhaseInterceptor("phase2", "p2");
+        CountingPhaseInterceptor p3 = new CountingPhaseInterceptor("phase3", "p3");
+        chain.add(p1);
+        chain.add(p2);
+
+        PhaseInterceptorChain clone = chain.cloneChain();
+        // duplicates and unknown interceptors must not affect either chain
+        clone.add(p2);
+        clone.remove(p3);
+        clone.remove(p1);
+        chain.add(p3);
+
+        Iterator<Interceptor<? extends Message>> it = clone.iterator();
+        assertSame(p2, it.next());
+        assertFalse(it.hasNext());
+
+        it = chain.iterator();
+        assertSame(p1, it.next());
+        assertSame(p2, it.next());
+        assertSame(p3, it.next());
+        assertFalse(it.hasNext());
+    }
+
     @Test
     public void testWrappedInvocation() throws Exception {
         CountingPhaseInterceptor p1 = new CountingPhaseInterceptor("phase1",
@@ -22,12 +22,17 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
 
+import org.apache.cxf.helpers.CastUtils;
 import org.apache.cxf.helpers.HttpHeaderHelper;
+import org.apache.cxf.helpers.IOUtils;
 import org.apache.cxf.interceptor.Fault;
 import org.apache.cxf.interceptor.InterceptorChain;
 import org.apache.cxf.message.Exchange;
@@ -40,7 +45,9 @@ import org.junit.Test;
 
 import static org.apache.cxf.transport.common.gzip.GZIPOutInterceptor.UseGzip.FORCE;
 import static org.apache.cxf.transport.common.gzip.GZIPOutInterceptor.UseGzip.YES;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.mockito.Mockito.mock;
 
@@ -109,6 +116,98 @@ public class GZIPAcceptEncodingTest {
         singleTest("gzip; q=0.00", null, null);
     }
 
+    @Test
+    public void testAcceptZstd() throws Exception {
+        // zstd-jni is not a dependency of core, so the client gets gzip
+        singleTest("zstd, br, gzip", YES, CompressionEncoding.ZSTD.isAvailable() ? "zstd" : "gzip");
+    }
+
+    @Test
+    public void testPreferGzip() throws Exception {
+        interceptor.setEncodings(Arrays.asList("gzip", "zstd"));
+        singleTest("zstd, gzip", YES, "gzip");
+    }
+
+    @Test
+    public void testStarDoesNotSelectOtherEncodings() throws Exception {
+        interceptor.setEncodings(Arrays.asList("zstd", "br"));
+        assertEquals(Arrays.asList("zstd", "br", "gzip"), interceptor.getEncodings());
+        singleTest("*", YES, "gzip");
+    }
+
+    @Test
+    public void testContentTypeCompressionLevels() throws Exception {
+        interceptor.setCompressionLevel(Deflater.BEST_SPEED);
+        Map<String, Integer> levels = new TreeMap<>();
+        levels.put("application/json", Deflater.BEST_COMPRESSION);
+        levels.put("image/*", Deflater.NO_COMPRESSION);
+        interceptor.setContentTypeCompressionLevels(levels);
+
+        assertEquals(Deflater.BEST_COMPRESSION, interceptor.getCompressionLevel("application/json; charset=UTF-8"));
+        assertEquals(Deflater.BEST_COMPRESSION, interceptor.getCompressionLevel("Application/JSON"));
+        assertEquals(Deflater.NO_COMPRESSION, interceptor.getCompressionLevel("image/png"));
+        assertEquals(Deflater.BEST_SPEED, interceptor.getCompressionLevel("text/xml"));
+        assertEquals(Deflater.BEST_SPEED, interceptor.getCompressionLevel(null));
+    }
+
+    @Test
+    public void testUncompressedContentType() throws Exception {
+        interceptor.setThreshold(0);
+        interceptor.setContentTypeCompressionLevels(Collections.singletonMap("image/*", Deflater.NO_COMPRESSION));
+        setAcceptEncoding("gzip");
+        interceptor.handleMessage(outMessage);
+        outMessage.put(Message.CONTENT_TYPE, "image/png");
+
+        byte[] data = new byte[2048];
+        OutputStream os = outMessage.getContent(OutputStream.class);
+        os.write(data);
+        os.close();
+        ByteArrayOutputStream original =
+            (ByteArrayOutputStream)outMessage.get(GZIPOutInterceptor.ORIGINAL_OUTPUT_STREAM_KEY);
+        assertEquals(data.length, original.size());
+        assertNull(outMessage.get(Message.PROTOCOL_HEADERS));
+    }
+
+    @Test
+    public void testUncompressedContentTypeForced() throws Exception {
+        interceptor.setThreshold(0);
+        interceptor.setContentTypeCompressionLevels(Collections.singletonMap("image/*", Deflater.NO_COMPRESSION));
+        setAcceptEncoding("gzip, identity; q=0");
+        interceptor.handleMessage(outMessage);
+        outMessage.put(Message.CONTENT_TYPE, "image/png");
+
+        byte[] data = new byte[2048];
+        OutputStream os = outMessage.getContent(OutputStream.class);
+        os.write(data);
+        os.close();
+        ByteArrayOutputStream original =
+            (ByteArrayOutputStream)outMessage.get(GZIPOutInterceptor.ORIGINAL_OUTPUT_STREAM_KEY);
+        Map<String, List<String>> headers = CastUtils.cast((Map<?, ?>)outMessage.get(Message.PROTOCOL_HEADERS));
+        assertEquals(Collections.singletonList("gzip"),
+                     HttpHeaderHelper.getHeader(headers, HttpHeaderHelper.CONTENT_ENCODING));
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(original.toByteArray()))) {
+            assertArrayEquals(data, IOUtils.readBytesFromStream(in));
+        }
+    }
+
+    @Test
+    public void testAlreadyEncodedContent() throws Exception {
+        interceptor.setThreshold(0);
+        setAcceptEncoding("gzip");
+        interceptor.handleMessage(outMessage);
+        Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        headers.put("Content-Encoding", Collections.singletonList("gzip"));
+        outMessage.put(Message.PROTOCOL_HEADERS, headers);
+
+        byte[] data = new PrecompressedContent(new byte[2048]).getGzipContent();
+        OutputStream os = outMessage.getContent(OutputStream.class);
+        os.write(data);
+        os.close();
+        ByteArrayOutputStream original =
+            (ByteArrayOutputStream)outMessage.get(GZIPOutInterceptor.ORIGINAL_OUTPUT_STREAM_KEY);
+        assertArrayEquals(data, original.toByteArray());
+    }
+
     @Test(expected = Fault.class)
     public void testNoValidEncodings() throws Exception {
         setAcceptEncoding("*;q=0, deflate;q=0.5");
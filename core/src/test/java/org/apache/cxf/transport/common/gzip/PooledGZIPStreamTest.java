@@ -0,0 +1,177 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.transport.common.gzip;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.cxf.helpers.IOUtils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class PooledGZIPStreamTest {
+
+    @Test
+    public void testRoundTripWithJdkStreams() throws Exception {
+        for (int size : new int[] {0, 1, 1024, 100_000}) {
+            byte[] data = data(size);
+
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            try (OutputStream os = new PooledGZIPOutputStream(bos)) {
+                os.write(data);
+            }
+            try (InputStream is = new GZIPInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+                assertArrayEquals(data, IOUtils.readBytesFromStream(is));
+            }
+
+            bos = new ByteArrayOutputStream();
+            try (OutputStream os = new GZIPOutputStream(bos)) {
+                os.write(data);
+            }
+            try (InputStream is = new PooledGZIPInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+                assertArrayEquals(data, IOUtils.readBytesFromStream(is));
+            }
+        }
+    }
+
+    @Test
+    public void testConcatenatedMembers() throws Exception {
+        byte[] first = data(5000);
+        byte[] second = data(70_000);
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (OutputStream os = new PooledGZIPOutputStream(new NonClosingStream(bos))) {
+            os.write(first);
+        }
+        try (OutputStream os = new PooledGZIPOutputStream(bos, Deflater.BEST_SPEED)) {
+            os.write(second);
+        }
+        byte[] expected = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, expected, first.length, second.length);
+        try (InputStream is = new PooledGZIPInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+            assertArrayEquals(expected, IOUtils.readBytesFromStream(is));
+        }
+    }
+
+    @Test
+    public void testInstancesAreReused() throws Exception {
+        DeflaterPool pool = new DeflaterPool(2);
+        for (int i = 0; i < 5; i++) {
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            try (OutputStream os = new PooledGZIPOutputStream(bos, 6, pool)) {
+                os.write(data(2048));
+            }
+            try (InputStream is = new PooledGZIPInputStream(new ByteArrayInputStream(bos.toByteArray()), pool)) {
+                assertEquals(2048, IOUtils.readBytesFromStream(is).length);
+            }
+            assertEquals(1, pool.getPooledDeflaters(6));
+            assertEquals(1, pool.getPooledInflaters());
+        }
+        assertEquals(0, pool.getPooledDeflaters(Deflater.DEFAULT_COMPRESSION));
+    }
+
+    @Test
+    public void testWriteAfterClose() throws Exception {
+        OutputStream os = new PooledGZIPOutputStream(new ByteArrayOutputStream());
+        os.close();
+        // closing twice must not hand the deflater back twice
+        os.close();
+        try {
+            os.write(1);
+            fail("the deflater went back to the pool");
+        } catch (IOException ex) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testCorruptTrailer() throws Exception {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (OutputStream os = new PooledGZIPOutputStream(bos)) {
+            os.write(data(100));
+        }
+        byte[] gzip = bos.toByteArray();
+        gzip[gzip.length - 8] ^= 1;
+        try (InputStream is = new PooledGZIPInputStream(new ByteArrayInputStream(gzip))) {
+            IOUtils.readBytesFromStream(is);
+            fail("the CRC is wrong");
+        } catch (IOException ex) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testPrecompressedContent() throws Exception {
+        byte[] data = data(10_000);
+        PrecompressedContent content = new PrecompressedContent(data);
+        byte[] gzip = content.getGzipContent();
+        assertTrue(gzip == content.getGzipContent());
+        try (InputStream is = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            assertArrayEquals(data, IOUtils.readBytesFromStream(is));
+        }
+
+        assertTrue(PrecompressedContent.isGzipAccepted(Collections.singletonList("br, gzip;q=0.8")));
+        assertTrue(PrecompressedContent.isGzipAccepted(Collections.singletonList("x-gzip")));
+        assertFalse(PrecompressedContent.isGzipAccepted(Collections.singletonList("gzip;q=0, deflate")));
+        assertFalse(PrecompressedContent.isGzipAccepted(null));
+    }
+
+    private static byte[] data(int size) {
+        // compressible but not trivially
+        byte[] data = new byte[size];
+        Random random = new Random(size);
+        for (int i = 0; i < size; i++) {
+            data[i] = (byte)('a' + random.nextInt(8));
+        }
+        return data;
+    }
+
+    private static final class NonClosingStream extends OutputStream {
+        private final OutputStream out;
+
+        NonClosingStream(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+    }
+}
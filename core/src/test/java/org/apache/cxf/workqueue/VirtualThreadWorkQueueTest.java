@@ -0,0 +1,267 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.workqueue;
+
+import java.util.Dictionary;
+import java.util.Hashtable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.cxf.Bus;
+import org.apache.cxf.bus.extension.ExtensionManagerBus;
+import org.apache.cxf.bus.managers.WorkQueueManagerImpl;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class VirtualThreadWorkQueueTest {
+
+    VirtualThreadWorkQueueImpl workqueue;
+
+    @After
+    public void tearDown() throws Exception {
+        if (workqueue != null) {
+            workqueue.shutdown(false);
+            workqueue = null;
+        }
+    }
+
+    @Test
+    public void testRunsWorkItems() throws Exception {
+        workqueue = new VirtualThreadWorkQueueImpl("vtest");
+        final CountDownLatch done = new CountDownLatch(100);
+        final AtomicReference<String> threadName = new AtomicReference<>();
+        for (int i = 0; i < 100; i++) {
+            workqueue.execute(() -> {
+                threadName.set(Thread.currentThread().getName());
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        if (VirtualThreadWorkQueueImpl.isVirtualThreadsSupported()) {
+            assertTrue(threadName.get(), threadName.get().startsWith("vtest-vworkqueue-"));
+        }
+    }
+
+    @Test
+    public void testConcurrencyLimit() throws Exception {
+        workqueue = new VirtualThreadWorkQueueImpl(50, 3, "vtest");
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch started = new CountDownLatch(3);
+        final CountDownLatch done = new CountDownLatch(20);
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        for (int i = 0; i < 20; i++) {
+            workqueue.execute(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    running.decrementAndGet();
+                    done.countDown();
+                }
+            });
+        }
+        assertEquals(17, workqueue.getSize());
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        assertEquals(3, workqueue.getPoolSize());
+        assertEquals(3, workqueue.getActiveCount());
+        release.countDown();
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(3, maxRunning.get());
+        assertTrue(workqueue.isEmpty());
+        assertEquals(3, workqueue.getLargestPoolSize());
+    }
+
+    @Test
+    public void testQueueFull() throws Exception {
+        workqueue = new VirtualThreadWorkQueueImpl(1, 1, "vtest");
+        final CountDownLatch release = new CountDownLatch(1);
+        Runnable blocker = () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        workqueue.execute(blocker);
+        workqueue.execute(blocker);
+        assertTrue(workqueue.isFull());
+        try {
+            workqueue.execute(blocker);
+            fail("Expected RejectedExecutionException");
+        } catch (RejectedExecutionException ex) {
+            // expected
+        }
+        release.countDown();
+    }
+
+    @Test
+    public void testIncreaseQueueSize() throws Exception {
+        workqueue = new VirtualThreadWorkQueueImpl(1, 1, "vtest");
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(3);
+        Runnable blocker = () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                done.countDown();
+            }
+        };
+        workqueue.execute(blocker);
+        workqueue.execute(blocker);
+        assertTrue(workqueue.isFull());
+        workqueue.setQueueSize(2);
+        assertFalse(workqueue.isFull());
+        workqueue.execute(blocker);
+        assertEquals(2, workqueue.getSize());
+        release.countDown();
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertTrue(workqueue.isEmpty());
+        assertFalse(workqueue.isFull());
+    }
+
+    @Test
+    public void testNegativeQueueSize() throws Exception {
+        workqueue = new VirtualThreadWorkQueueImpl(1, 1, "vtest");
+        workqueue.setQueueSize(-1);
+        assertEquals(AutomaticWorkQueueImpl.DEFAULT_MAX_QUEUE_SIZE, workqueue.getMaxSize());
+        assertFalse(workqueue.isFull());
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(3);
+        Runnable blocker = () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                done.countDown();
+            }
+        };
+        for (int i = 0; i < 3; i++) {
+            workqueue.execute(blocker);
+        }
+        assertEquals(2, workqueue.getSize());
+        release.countDown();
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testUpdate() throws Exception {
+        workqueue = new VirtualThreadWorkQueueImpl(1, 1, "vtest");
+        Dictionary<String, String> config = new Hashtable<>();
+        config.put("highWaterMark", "2");
+        config.put("queueSize", "2");
+        workqueue.update(config);
+        assertEquals(2, workqueue.getHighWaterMark());
+        assertEquals(2, workqueue.getMaxSize());
+
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch started = new CountDownLatch(2);
+        Runnable blocker = () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        for (int i = 0; i < 4; i++) {
+            workqueue.execute(blocker);
+        }
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        assertEquals(2, workqueue.getSize());
+        assertTrue(workqueue.isFull());
+        try {
+            workqueue.execute(blocker);
+            fail("Expected RejectedExecutionException");
+        } catch (RejectedExecutionException ex) {
+            // expected
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void testIncreaseHighWaterMark() throws Exception {
+        workqueue = new VirtualThreadWorkQueueImpl(10, 1, "vtest");
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch started = new CountDownLatch(2);
+        for (int i = 0; i < 2; i++) {
+            workqueue.execute(() -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        assertFalse(started.await(100, TimeUnit.MILLISECONDS));
+        workqueue.setHighWaterMark(2);
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        release.countDown();
+    }
+
+    @Test
+    public void testShutdown() {
+        workqueue = new VirtualThreadWorkQueueImpl("vtest");
+        assertFalse(workqueue.isShutdown());
+        workqueue.shutdown(true);
+        assertTrue(workqueue.isShutdown());
+        try {
+            workqueue.execute(() -> { });
+            fail("Expected RejectedExecutionException");
+        } catch (RejectedExecutionException ex) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testSelectedByBusProperty() {
+        Bus bus = new ExtensionManagerBus();
+        try {
+            bus.setProperty("org.apache.cxf.workqueue.vqueue.type", "virtual");
+            WorkQueueManager manager = bus.getExtension(WorkQueueManager.class);
+            AutomaticWorkQueue q = manager.getNamedWorkQueue("vqueue");
+            assertTrue(q instanceof VirtualThreadWorkQueueImpl);
+            assertEquals("vqueue", q.getName());
+            assertNull(manager.getNamedWorkQueue("other"));
+            assertFalse(manager.getAutomaticWorkQueue() instanceof VirtualThreadWorkQueueImpl);
+            assertTrue(manager instanceof WorkQueueManagerImpl);
+        } finally {
+            bus.shutdown(true);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.clustering;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+import org.apache.cxf.endpoint.Endpoint;
+
+/**
+ * Base class of the strategies choosing between the alternates by their load, as tracked
+ * in a {@link TargetStatistics} per address. Used with the LoadDistributorFeature the
+ * requests are spread on every call, with the CircuitBreakerTargetSelector the choice is
+ * made among the addresses with a closed circuit.
+ */
+public abstract class AbstractLoadAwareStrategy extends AbstractStaticFailoverStrategy
+    implements LoadAwareFailoverStrategy {
+
+    private final Map<String, TargetStatistics> statistics = new ConcurrentHashMap<>();
+    private long failurePenalty = TimeUnit.SECONDS.toNanos(1);
+    private long decayTime = TimeUnit.SECONDS.toNanos(10);
+
+    @Override
+    public void requestStarted(String address) {
+        getStatistics(address).requestStarted();
+    }
+
+    @Override
+    public void requestCompleted(String address, long latency, boolean failed) {
+        long sample = failed ? Math.max(latency, failurePenalty) : latency;
+        getStatistics(address).requestCompleted(sample, failed, decayTime);
+    }
+
+    /**
+     * Get the statistics of an address.
+     *
+     * @param address the target address
+     * @return the statistics, created on first use
+     */
+    public TargetStatistics getStatistics(String address) {
+        return statistics.computeIfAbsent(address, a -> new TargetStatistics());
+    }
+
+    /**
+     * The latency in milliseconds a failed request is accounted for at least,
+     * so failing replicas are avoided even when they fail fast.
+     *
+     * @param penalty the latency in milliseconds
+     */
+    public void setFailurePenalty(long penalty) {
+        this.failurePenalty = TimeUnit.MILLISECONDS.toNanos(penalty);
+    }
+
+    public long getFailurePenalty() {
+        return TimeUnit.NANOSECONDS.toMillis(failurePenalty);
+    }
+
+    /**
+     * The time in milliseconds over which latency samples lose their weight.
+     *
+     * @param decay the time in milliseconds
+     */
+    public void setDecayTime(long decay) {
+        this.decayTime = TimeUnit.MILLISECONDS.toNanos(decay);
+    }
+
+    public long getDecayTime() {
+        return TimeUnit.NANOSECONDS.toMillis(decayTime);
+    }
+
+    /**
+     * Get next alternate endpoint.
+     *
+     * @param alternates non-empty List of alternate endpoints
+     * @return the least loaded alternate, removed from the list
+     */
+    @Override
+    protected <T> T getNextAlternate(List<T> alternates) {
+        return alternates.remove(selectIndex(alternates));
+    }
+
+    /**
+     * Select the alternate to use.
+     *
+     * @param alternates non-empty List of alternate addresses or endpoints
+     * @return the index of the selected alternate
+     */
+    protected abstract int selectIndex(List<?> alternates);
+
+    protected TargetStatistics getAlternateStatistics(Object alternate) {
+        if (alternate instanceof Endpoint) {
+            return getStatistics(((Endpoint)alternate).getEndpointInfo().getAddress());
+        }
+        return getStatistics((String)alternate);
+    }
+
+    /**
+     * Every request is distributed, so the selection is only logged on FINE.
+     */
+    @Override
+    protected Level getLogLevel() {
+        return Level.FINE;
+    }
+}
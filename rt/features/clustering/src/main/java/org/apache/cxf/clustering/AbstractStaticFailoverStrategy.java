@@ -23,6 +23,9 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -44,6 +47,8 @@ public abstract class AbstractStaticFailoverStrategy implements FailoverStrategy
 
     private List<String> alternateAddresses;
     private long delayBetweenRetries;
+    private AddressHealthMonitor healthMonitor;
+    private final Set<String> monitoredAddresses = ConcurrentHashMap.newKeySet();
 
     public void setDelayBetweenRetries(long delay) {
         this.delayBetweenRetries = delay;
@@ -55,6 +60,30 @@ public abstract class AbstractStaticFailoverStrategy implements FailoverStrategy
 
     public void setAlternateAddresses(List<String> alternateAddresses) {
         this.alternateAddresses = alternateAddresses;
+        if (healthMonitor != null && alternateAddresses != null) {
+            alternateAddresses.forEach(this::monitor);
+        }
+    }
+
+    /**
+     * Set the monitor probing the alternates in the background, the addresses it reports
+     * down are skipped as long as any other alternate is available.
+     *
+     * @param monitor the health monitor, may be shared between strategies
+     */
+    public void setHealthMonitor(AddressHealthMonitor monitor) {
+        if (healthMonitor != null) {
+            monitoredAddresses.forEach(healthMonitor::unregister);
+            monitoredAddresses.clear();
+        }
+        this.healthMonitor = monitor;
+        if (monitor != null && alternateAddresses != null) {
+            alternateAddresses.forEach(this::monitor);
+        }
+    }
+
+    public AddressHealthMonitor getHealthMonitor() {
+        return healthMonitor;
     }
 
     /**
@@ -78,7 +107,8 @@ public abstract class AbstractStaticFailoverStrategy implements FailoverStrategy
     public String selectAlternateAddress(List<String> alternates) {
         String selected = null;
         if (alternates != null && !alternates.isEmpty()) {
-            selected = getNextAlternate(alternates);
+            selected = healthMonitor != null
+                ? getNextAvailable(alternates, a -> a) : getNextAlternate(alternates);
         }
         if (selected != null) {
             Level level = getLogLevel();
@@ -112,7 +142,9 @@ public abstract class AbstractStaticFailoverStrategy implements FailoverStrategy
     public Endpoint selectAlternateEndpoint(List<Endpoint> alternates) {
         Endpoint selected = null;
         if (alternates != null && !alternates.isEmpty()) {
-            selected = getNextAlternate(alternates);
+            selected = healthMonitor != null
+                ? getNextAvailable(alternates, e -> e.getEndpointInfo().getAddress())
+                : getNextAlternate(alternates);
         } 
         if (selected != null) {
             Level level = getLogLevel();
@@ -175,6 +207,67 @@ public abstract class AbstractStaticFailoverStrategy implements FailoverStrategy
         return alternates;
     }
 
+    /**
+     * Get the next alternate among the available ones. The alternates consumed by the
+     * strategy are removed from the given List, those skipped as unavailable are kept
+     * there as a last resort.
+     */
+    private <T> T getNextAvailable(List<T> alternates, Function<T, String> toAddress) {
+        List<T> available = skipUnavailable(alternates, toAddress);
+        if (available == alternates) {
+            return getNextAlternate(alternates);
+        }
+        List<T> consumed = new ArrayList<>(available);
+        T selected = getNextAlternate(available);
+        consumed.removeAll(available);
+        for (T alternate : consumed) {
+            alternates.remove(alternate);
+        }
+        return selected;
+    }
+
+    /**
+     * Filter out the alternates the health monitor reports down, unless all of them are.
+     *
+     * @param alternates non-empty List of alternates, left unchanged
+     * @param toAddress maps an alternate to its address
+     * @return the available alternates, or the given List if all or none are available
+     */
+    protected <T> List<T> skipUnavailable(List<T> alternates, Function<T, String> toAddress) {
+        List<T> available = new ArrayList<>(alternates.size());
+        for (T alternate : alternates) {
+            String address = toAddress.apply(alternate);
+            monitor(address);
+            if (healthMonitor.isAvailable(address)) {
+                available.add(alternate);
+            } else if (LOG.isLoggable(Level.FINE)) {
+                LOG.log(Level.FINE, "SKIPPING_UNAVAILABLE_ADDRESS", address);
+            }
+        }
+        return available.isEmpty() ? alternates : available;
+    }
+
+    /**
+     * Stop the health monitoring of the alternates, called once the client or the bus is
+     * shut down. The alternates are registered again if the strategy is used later on.
+     */
+    public void stopHealthMonitoring() {
+        AddressHealthMonitor monitor = healthMonitor;
+        if (monitor != null) {
+            for (String address : monitoredAddresses) {
+                if (monitoredAddresses.remove(address)) {
+                    monitor.unregister(address);
+                }
+            }
+        }
+    }
+
+    private void monitor(String address) {
+        if (address != null && monitoredAddresses.add(address)) {
+            healthMonitor.register(address);
+        }
+    }
+
     /**
      * Get next alternate endpoint.
      *
@@ -0,0 +1,255 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.clustering;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.cxf.common.logging.LogUtils;
+
+/**
+ * Probes target addresses in the background and keeps track of which are up, so that the
+ * failover strategies can skip dead addresses without a failed call. Every address is
+ * probed once per monitor however many strategies or client proxies registered it, and
+ * all monitors share a small scheduler. Probes are spread with a random jitter so many
+ * clients started at once do not probe in lock step.
+ * <p>
+ * Addresses are considered up until {@code failureThreshold} consecutive probes failed and
+ * down until {@code successThreshold} consecutive probes succeeded.
+ */
+public class AddressHealthMonitor {
+    private static final Logger LOG = LogUtils.getL7dLogger(AddressHealthMonitor.class);
+    private static final int SCHEDULER_THREADS =
+        Math.min(8, Math.max(2, Runtime.getRuntime().availableProcessors() / 2));
+    private static volatile ScheduledExecutorService sharedScheduler;
+
+    private final Map<String, Target> targets = new ConcurrentHashMap<>();
+    private HealthCheck healthCheck = new HttpHealthCheck();
+    private long interval = 10000L;
+    private double jitter = 0.2;
+    private int failureThreshold = 1;
+    private int successThreshold = 1;
+
+    /**
+     * Start probing an address, every registration must be matched by {@link #unregister(String)}.
+     *
+     * @param address the target address
+     */
+    public void register(String address) {
+        Target target = targets.compute(address, (a, t) -> {
+            Target result = t == null ? new Target(a) : t;
+            result.references++;
+            return result;
+        });
+        synchronized (target) {
+            if (target.future == null && target.references > 0) {
+                target.future = getScheduler().schedule(() -> probe(target),
+                    ThreadLocalRandom.current().nextLong(Math.max(1, interval)), TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Stop probing an address once no registration is left.
+     *
+     * @param address the target address
+     */
+    public void unregister(String address) {
+        Target target = targets.computeIfPresent(address, (a, t) -> {
+            if (--t.references > 0) {
+                return t;
+            }
+            synchronized (t) {
+                if (t.future != null) {
+                    t.future.cancel(false);
+                    t.future = null;
+                }
+            }
+            return null;
+        });
+        if (target == null) {
+            healthCheck.release(address);
+        }
+    }
+
+    /**
+     * @param address the target address
+     * @return false if the address is known to be down, true otherwise
+     */
+    public boolean isAvailable(String address) {
+        Target target = targets.get(address);
+        return target == null || target.up;
+    }
+
+    public void markDown(String address) {
+        Target target = targets.get(address);
+        if (target != null) {
+            setUp(target, false);
+        }
+    }
+
+    public void markUp(String address) {
+        Target target = targets.get(address);
+        if (target != null) {
+            setUp(target, true);
+        }
+    }
+
+    void probe(Target target) {
+        boolean healthy;
+        try {
+            healthy = healthCheck.check(target.address);
+        } catch (Exception ex) {
+            if (LOG.isLoggable(Level.FINE)) {
+                LOG.log(Level.FINE, "HEALTH_CHECK_FAILED", new Object[] {target.address, ex});
+            }
+            healthy = false;
+        }
+        if (healthy) {
+            target.failures = 0;
+            if (!target.up && ++target.successes >= successThreshold) {
+                setUp(target, true);
+            }
+        } else {
+            target.successes = 0;
+            if (target.up && ++target.failures >= failureThreshold) {
+                setUp(target, false);
+            }
+        }
+        synchronized (target) {
+            if (target.future != null) {
+                target.future = getScheduler().schedule(() -> probe(target), nextDelay(),
+                                                        TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private void setUp(Target target, boolean up) {
+        if (target.up != up) {
+            target.up = up;
+            target.failures = 0;
+            target.successes = 0;
+            LOG.log(Level.INFO, up ? "ADDRESS_UP" : "ADDRESS_DOWN", target.address);
+        }
+    }
+
+    private long nextDelay() {
+        double factor = 1 + jitter * (2 * ThreadLocalRandom.current().nextDouble() - 1);
+        return Math.max(1, (long)(interval * factor));
+    }
+
+    private static ScheduledExecutorService getScheduler() {
+        ScheduledExecutorService scheduler = sharedScheduler;
+        if (scheduler == null) {
+            synchronized (AddressHealthMonitor.class) {
+                scheduler = sharedScheduler;
+                if (scheduler == null) {
+                    ScheduledThreadPoolExecutor executor =
+                        new ScheduledThreadPoolExecutor(SCHEDULER_THREADS, new HealthCheckThreadFactory());
+                    executor.setRemoveOnCancelPolicy(true);
+                    scheduler = executor;
+                    sharedScheduler = scheduler;
+                }
+            }
+        }
+        return scheduler;
+    }
+
+    public HealthCheck getHealthCheck() {
+        return healthCheck;
+    }
+
+    public void setHealthCheck(HealthCheck healthCheck) {
+        this.healthCheck = healthCheck;
+    }
+
+    public long getInterval() {
+        return interval;
+    }
+
+    /**
+     * The time in milliseconds between two probes of an address
+     */
+    public void setInterval(long interval) {
+        this.interval = interval;
+    }
+
+    public double getJitter() {
+        return jitter;
+    }
+
+    /**
+     * The fraction of the interval by which the probes are randomly shifted, between 0 and 1
+     */
+    public void setJitter(double jitter) {
+        this.jitter = jitter;
+    }
+
+    public int getFailureThreshold() {
+        return failureThreshold;
+    }
+
+    public void setFailureThreshold(int failureThreshold) {
+        this.failureThreshold = failureThreshold;
+    }
+
+    public int getSuccessThreshold() {
+        return successThreshold;
+    }
+
+    public void setSuccessThreshold(int successThreshold) {
+        this.successThreshold = successThreshold;
+    }
+
+    static final class Target {
+        final String address;
+        volatile boolean up = true;
+        // only updated by the probe of the address, never run concurrently
+        int failures;
+        int successes;
+        // guarded by the map entry
+        int references;
+        // guarded by this
+        ScheduledFuture<?> future;
+
+        Target(String address) {
+            this.address = address;
+        }
+    }
+
+    private static final class HealthCheckThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread t = new Thread(r, "cxf-failover-health-check-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }
+    }
+}
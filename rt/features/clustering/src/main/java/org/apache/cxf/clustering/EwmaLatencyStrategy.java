@@ -0,0 +1,32 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.clustering;
+
+/**
+ * Load aware strategy preferring the fastest replicas: two random alternates are compared
+ * by their moving average latency weighted by the requests they already have outstanding.
+ * Alternates without samples yet cost nothing so new replicas are tried quickly.
+ */
+public class EwmaLatencyStrategy extends PowerOfTwoChoicesStrategy {
+
+    @Override
+    protected double getCost(TargetStatistics stats) {
+        return stats.getLatency() * (stats.getOutstanding() + 1);
+    }
+}
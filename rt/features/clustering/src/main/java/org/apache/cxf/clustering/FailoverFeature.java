@@ -98,6 +98,7 @@ public class FailoverFeature extends DelegatingFeature<FailoverFeature.Portable>
                 Endpoint endpoint = csHolder.getConduitSelector().getEndpoint();
                 ConduitSelector conduitSelector = initTargetSelector(endpoint);
                 csHolder.setConduitSelector(conduitSelector);
+                stopHealthMonitoringOnShutdown(conduitSelector, bus);
             }
         }
 
@@ -105,6 +106,13 @@ public class FailoverFeature extends DelegatingFeature<FailoverFeature.Portable>
         public void initialize(Client client, Bus bus) {
             ConduitSelector selector = initTargetSelector(client.getConduitSelector().getEndpoint());
             client.setConduitSelector(selector);
+            stopHealthMonitoringOnShutdown(selector, bus);
+        }
+
+        private void stopHealthMonitoringOnShutdown(ConduitSelector selector, Bus bus) {
+            if (selector instanceof FailoverTargetSelector) {
+                ((FailoverTargetSelector)selector).stopHealthMonitoringOnShutdown(bus);
+            }
         }
 
         protected ConduitSelector initTargetSelector(Endpoint endpoint) {
@@ -25,6 +25,9 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.apache.cxf.Bus;
+import org.apache.cxf.buslifecycle.BusLifeCycleListener;
+import org.apache.cxf.buslifecycle.BusLifeCycleManager;
 import org.apache.cxf.common.logging.LogUtils;
 import org.apache.cxf.common.util.PropertyUtils;
 import org.apache.cxf.endpoint.AbstractConduitSelector;
@@ -36,6 +39,7 @@ import org.apache.cxf.message.Exchange;
 import org.apache.cxf.message.Message;
 import org.apache.cxf.service.model.BindingOperationInfo;
 import org.apache.cxf.transport.Conduit;
+import org.apache.cxf.transport.http.HTTPConduit;
 
 
 /**
@@ -50,11 +54,15 @@ public class FailoverTargetSelector extends AbstractConduitSelector {
     private static final Logger LOG = LogUtils.getL7dLogger(FailoverTargetSelector.class);
     private static final String COMPLETE_IF_SERVICE_NOT_AVAIL_PROPERTY =
         "org.apache.cxf.transport.complete_if_service_not_available";
+    private static final String REQUEST_STARTED =
+        "org.apache.cxf.clustering.FailoverTargetSelector.REQUEST_STARTED";
 
     protected FailoverStrategy failoverStrategy;
     private ConcurrentHashMap<String, InvocationContext> inProgress = new ConcurrentHashMap<>();
     private boolean supportNotAvailableErrorsOnly = true;
     private String clientBootstrapAddress;
+    private BusLifeCycleManager busLifeCycleManager;
+    private BusLifeCycleListener busLifeCycleListener;
 
     /**
      * Normal constructor.
@@ -137,6 +145,81 @@ public class FailoverTargetSelector extends AbstractConduitSelector {
         return getSelectedConduit(message);
     }
 
+    @Override
+    protected Conduit getSelectedConduit(Message message) {
+        Conduit c = super.getSelectedConduit(message);
+        FailoverStrategy strategy = failoverStrategy;
+        Exchange exchange = message.getExchange();
+        if (c instanceof HTTPConduit && strategy instanceof AbstractStaticFailoverStrategy) {
+            AddressHealthMonitor monitor = ((AbstractStaticFailoverStrategy)strategy).getHealthMonitor();
+            if (monitor != null && monitor.getHealthCheck() instanceof HttpHealthCheck) {
+                // probe the alternates with the TLS, authorization and proxy settings of the client
+                ((HttpHealthCheck)monitor.getHealthCheck()).configureFrom((HTTPConduit)c,
+                                                                          exchange != null ? exchange.getBus() : null);
+            }
+        }
+        if (strategy instanceof LoadAwareFailoverStrategy && exchange != null
+            && !exchange.containsKey(REQUEST_STARTED)) {
+            String address = getEndpoint().getEndpointInfo().getAddress();
+            exchange.put(REQUEST_STARTED, new RequestStarted(address, System.nanoTime()));
+            ((LoadAwareFailoverStrategy)strategy).requestStarted(address);
+        }
+        return c;
+    }
+
+    @Override
+    public void close() {
+        super.close();
+        stopHealthMonitoring();
+        synchronized (this) {
+            if (busLifeCycleManager != null) {
+                busLifeCycleManager.unregisterLifeCycleListener(busLifeCycleListener);
+                busLifeCycleManager = null;
+                busLifeCycleListener = null;
+            }
+        }
+    }
+
+    /**
+     * Stop the health monitoring of the strategy once the bus is shut down, the client
+     * stops it when destroyed.
+     *
+     * @param bus the bus of the client
+     */
+    public synchronized void stopHealthMonitoringOnShutdown(Bus bus) {
+        if (busLifeCycleManager == null && bus != null) {
+            BusLifeCycleManager manager = bus.getExtension(BusLifeCycleManager.class);
+            if (manager != null) {
+                busLifeCycleListener = new ShutdownListener();
+                busLifeCycleManager = manager;
+                manager.registerLifeCycleListener(busLifeCycleListener);
+            }
+        }
+    }
+
+    private void stopHealthMonitoring() {
+        FailoverStrategy strategy = failoverStrategy;
+        if (strategy instanceof AbstractStaticFailoverStrategy) {
+            ((AbstractStaticFailoverStrategy)strategy).stopHealthMonitoring();
+        }
+    }
+
+    /**
+     * Reports the completion of the request of the exchange to a load aware strategy.
+     *
+     * @param exchange the completed exchange
+     * @param ex the failure, if any
+     */
+    protected void onRequestCompleted(Exchange exchange, Exception ex) {
+        RequestStarted started = (RequestStarted)exchange.remove(REQUEST_STARTED);
+        FailoverStrategy strategy = failoverStrategy;
+        if (started != null && strategy instanceof LoadAwareFailoverStrategy) {
+            ((LoadAwareFailoverStrategy)strategy).requestCompleted(started.address,
+                                                                   System.nanoTime() - started.time,
+                                                                   ex != null);
+        }
+    }
+
     protected InvocationContext getInvocationContext(String key) {
         if (key != null) {
             return inProgress.get(key);
@@ -153,12 +236,14 @@ public class FailoverTargetSelector extends AbstractConduitSelector {
         String key = String.valueOf(System.identityHashCode(exchange));
         InvocationContext invocation = getInvocationContext(key);
         if (invocation == null) {
+            onRequestCompleted(exchange, getExceptionIfPresent(exchange));
             super.complete(exchange);
             return;
         }
 
         boolean failover = false;
         final Exception ex = getExceptionIfPresent(exchange);
+        onRequestCompleted(exchange, ex);
         if (requiresFailover(exchange, ex)) {
             onFailure(invocation, ex);
             Conduit old = (Conduit)exchange.getOutMessage().remove(Conduit.class.getName());
@@ -305,9 +390,12 @@ public class FailoverTargetSelector extends AbstractConduitSelector {
 
     private Exception getExceptionIfPresent(Exchange exchange) {
         Message outMessage = exchange.getOutMessage();
-        Exception ex = outMessage.get(Exception.class);
-        if (ex == null) {
-            ex = outMessage.getContent(Exception.class);
+        Exception ex = null;
+        if (outMessage != null) {
+            ex = outMessage.get(Exception.class);
+            if (ex == null) {
+                ex = outMessage.getContent(Exception.class);
+            }
         }
         return ex != null ? ex : exchange.get(Exception.class);
     }
@@ -441,6 +529,31 @@ public class FailoverTargetSelector extends AbstractConduitSelector {
         return String.valueOf(System.identityHashCode(e));
     }
 
+    private final class ShutdownListener implements BusLifeCycleListener {
+        @Override
+        public void initComplete() {
+        }
+
+        @Override
+        public void preShutdown() {
+        }
+
+        @Override
+        public void postShutdown() {
+            stopHealthMonitoring();
+        }
+    }
+
+    private static final class RequestStarted {
+        final String address;
+        final long time;
+
+        RequestStarted(String address, long time) {
+            this.address = address;
+            this.time = time;
+        }
+    }
+
     /**
      * Records the context of an invocation.
      */
@@ -0,0 +1,303 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.clustering;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.cxf.Bus;
+import org.apache.cxf.BusFactory;
+import org.apache.cxf.configuration.jsse.TLSClientParameters;
+import org.apache.cxf.configuration.security.AuthorizationPolicy;
+import org.apache.cxf.configuration.security.ProxyAuthorizationPolicy;
+import org.apache.cxf.helpers.IOUtils;
+import org.apache.cxf.message.Exchange;
+import org.apache.cxf.message.ExchangeImpl;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.message.MessageImpl;
+import org.apache.cxf.service.model.EndpointInfo;
+import org.apache.cxf.transport.Conduit;
+import org.apache.cxf.transport.ConduitInitiator;
+import org.apache.cxf.transport.ConduitInitiatorManager;
+import org.apache.cxf.transport.http.HTTPConduit;
+import org.apache.cxf.transport.http.auth.HttpAuthSupplier;
+import org.apache.cxf.transports.http.configuration.HTTPClientPolicy;
+import org.apache.cxf.ws.addressing.EndpointReferenceUtils;
+
+/**
+ * Health check issuing an HTTP request to the address, optionally with a path or query
+ * appended, e.g. {@code ?wsdl} to fetch the WSDL of a SOAP endpoint. The address is
+ * healthy if it answers with a status below {@code maxHealthyStatus}; by default any
+ * response but a server error counts as healthy.
+ * <p>
+ * The probes are sent through an {@link HTTPConduit} per address, so the http-conf
+ * configuration of the bus applies to them. The client policy, TLS parameters and
+ * authorization set on the check, or else copied from the conduit of the client by
+ * {@link #configureFrom(HTTPConduit, Bus)}, are applied on top.
+ */
+public class HttpHealthCheck implements HealthCheck {
+    private final Map<String, HTTPConduit> conduits = new ConcurrentHashMap<>();
+    private volatile boolean configured;
+    private Bus bus;
+    private HTTPClientPolicy client;
+    private TLSClientParameters tlsClientParameters;
+    private AuthorizationPolicy authorization;
+    private ProxyAuthorizationPolicy proxyAuthorization;
+    private HttpAuthSupplier authSupplier;
+    private HttpAuthSupplier proxyAuthSupplier;
+    private String path;
+    private String method = "GET";
+    private int timeout = 2000;
+    private int maxHealthyStatus = 499;
+
+    @Override
+    public boolean check(String address) throws Exception {
+        HTTPConduit conduit = getConduit(address);
+        Message message = new MessageImpl();
+        Exchange exchange = new ExchangeImpl();
+        exchange.setOutMessage(message);
+        exchange.setSynchronous(true);
+        exchange.put(Bus.class, getBus());
+        message.setExchange(exchange);
+        message.put(Message.ENDPOINT_ADDRESS, path == null ? address : address + path);
+        message.put(Message.HTTP_REQUEST_METHOD, method);
+        message.put(Message.CONNECTION_TIMEOUT, timeout);
+        message.put(Message.RECEIVE_TIMEOUT, timeout);
+        // report the error statuses rather than failing, they are judged below
+        message.put(HTTPConduit.NO_IO_EXCEPTIONS, Boolean.TRUE);
+
+        conduit.prepare(message);
+        message.getContent(OutputStream.class).close();
+
+        Message response = exchange.getInMessage();
+        if (response != null) {
+            // drain the body so the connection can be kept alive for the next probe
+            InputStream in = response.getContent(InputStream.class);
+            if (in != null) {
+                try (InputStream is = in) {
+                    IOUtils.consume(is);
+                }
+            }
+        }
+        Integer status = (Integer)exchange.get(Message.RESPONSE_CODE);
+        return status != null && status >= 0 && status <= maxHealthyStatus;
+    }
+
+    @Override
+    public void release(String address) {
+        HTTPConduit conduit = conduits.remove(address);
+        if (conduit != null) {
+            conduit.close();
+        }
+    }
+
+    /**
+     * Probe with the configuration of the conduit of a client, unless the check was
+     * configured already. Only the settings not set on the check itself are copied.
+     *
+     * @param conduit the conduit of the client
+     * @param clientBus the bus of the client
+     */
+    public void configureFrom(HTTPConduit conduit, Bus clientBus) {
+        if (configured) {
+            return;
+        }
+        synchronized (this) {
+            if (configured) {
+                return;
+            }
+            if (bus == null) {
+                bus = clientBus;
+            }
+            if (client == null) {
+                client = conduit.getClient();
+            }
+            if (tlsClientParameters == null) {
+                tlsClientParameters = conduit.getTlsClientParameters();
+            }
+            if (authorization == null) {
+                authorization = conduit.getAuthorization();
+            }
+            if (proxyAuthorization == null) {
+                proxyAuthorization = conduit.getProxyAuthorization();
+            }
+            if (authSupplier == null) {
+                authSupplier = conduit.getAuthSupplier();
+            }
+            if (proxyAuthSupplier == null) {
+                proxyAuthSupplier = conduit.getProxyAuthSupplier();
+            }
+            configured = true;
+        }
+        // the conduits created so far miss the configuration of the client
+        conduits.keySet().forEach(this::release);
+    }
+
+    protected HTTPConduit getConduit(String address) throws IOException {
+        HTTPConduit conduit = conduits.get(address);
+        if (conduit == null) {
+            conduit = createConduit(address);
+            HTTPConduit existing = conduits.putIfAbsent(address, conduit);
+            if (existing != null) {
+                conduit.close();
+                conduit = existing;
+            }
+        }
+        return conduit;
+    }
+
+    protected HTTPConduit createConduit(String address) throws IOException {
+        Bus b = getBus();
+        ConduitInitiator ci = b.getExtension(ConduitInitiatorManager.class).getConduitInitiatorForUri(address);
+        if (ci == null) {
+            throw new IOException("No conduit initiator for " + address);
+        }
+        EndpointInfo ei = new EndpointInfo();
+        ei.setAddress(address);
+        Conduit c = ci.getConduit(ei, EndpointReferenceUtils.getEndpointReference(address), b);
+        if (!(c instanceof HTTPConduit)) {
+            c.close();
+            throw new IOException("Not an HTTP address: " + address);
+        }
+        HTTPConduit conduit = (HTTPConduit)c;
+        synchronized (this) {
+            if (client != null) {
+                conduit.setClient(client);
+            }
+            if (tlsClientParameters != null) {
+                conduit.setTlsClientParameters(tlsClientParameters);
+            }
+            if (authorization != null) {
+                conduit.setAuthorization(authorization);
+            }
+            if (proxyAuthorization != null) {
+                conduit.setProxyAuthorization(proxyAuthorization);
+            }
+            if (authSupplier != null) {
+                conduit.setAuthSupplier(authSupplier);
+            }
+            if (proxyAuthSupplier != null) {
+                conduit.setProxyAuthSupplier(proxyAuthSupplier);
+            }
+        }
+        conduit.setMessageObserver(m -> m.getExchange().setInMessage(m));
+        return conduit;
+    }
+
+    public Bus getBus() {
+        Bus b = bus;
+        return b != null ? b : BusFactory.getDefaultBus();
+    }
+
+    public void setBus(Bus bus) {
+        this.bus = bus;
+    }
+
+    public HTTPClientPolicy getClient() {
+        return client;
+    }
+
+    /**
+     * The client policy of the probes, the timeouts are overridden by {@code timeout}
+     */
+    public void setClient(HTTPClientPolicy client) {
+        this.client = client;
+    }
+
+    public TLSClientParameters getTlsClientParameters() {
+        return tlsClientParameters;
+    }
+
+    public void setTlsClientParameters(TLSClientParameters tlsClientParameters) {
+        this.tlsClientParameters = tlsClientParameters;
+    }
+
+    public AuthorizationPolicy getAuthorization() {
+        return authorization;
+    }
+
+    public void setAuthorization(AuthorizationPolicy authorization) {
+        this.authorization = authorization;
+    }
+
+    public ProxyAuthorizationPolicy getProxyAuthorization() {
+        return proxyAuthorization;
+    }
+
+    public void setProxyAuthorization(ProxyAuthorizationPolicy proxyAuthorization) {
+        this.proxyAuthorization = proxyAuthorization;
+    }
+
+    public HttpAuthSupplier getAuthSupplier() {
+        return authSupplier;
+    }
+
+    public void setAuthSupplier(HttpAuthSupplier authSupplier) {
+        this.authSupplier = authSupplier;
+    }
+
+    public HttpAuthSupplier getProxyAuthSupplier() {
+        return proxyAuthSupplier;
+    }
+
+    public void setProxyAuthSupplier(HttpAuthSupplier proxyAuthSupplier) {
+        this.proxyAuthSupplier = proxyAuthSupplier;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * A path or query appended to the address, e.g. {@code ?wsdl}
+     */
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public void setMethod(String method) {
+        this.method = method;
+    }
+
+    public int getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * The connect and receive timeout of the probes in milliseconds
+     */
+    public void setTimeout(int timeout) {
+        this.timeout = timeout;
+    }
+
+    public int getMaxHealthyStatus() {
+        return maxHealthyStatus;
+    }
+
+    public void setMaxHealthyStatus(int maxHealthyStatus) {
+        this.maxHealthyStatus = maxHealthyStatus;
+    }
+}
@@ -0,0 +1,47 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.clustering;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Load aware strategy selecting the alternate with the fewest outstanding requests.
+ * Ties are broken randomly so idle alternates are not always chosen in the same order.
+ */
+public class LeastOutstandingStrategy extends AbstractLoadAwareStrategy {
+
+    @Override
+    protected int selectIndex(List<?> alternates) {
+        int selected = 0;
+        int least = Integer.MAX_VALUE;
+        int ties = 0;
+        for (int i = 0; i < alternates.size(); i++) {
+            int outstanding = getAlternateStatistics(alternates.get(i)).getOutstanding();
+            if (outstanding < least) {
+                least = outstanding;
+                selected = i;
+                ties = 1;
+            } else if (outstanding == least && ThreadLocalRandom.current().nextInt(++ties) == 0) {
+                selected = i;
+            }
+        }
+        return selected;
+    }
+}
@@ -0,0 +1,43 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.clustering;
+
+/**
+ * Implemented by strategies choosing targets by their load. The target selectors report
+ * every request sent to an address and its completion so the strategy can track the
+ * outstanding requests and the latency of each address.
+ */
+public interface LoadAwareFailoverStrategy extends FailoverStrategy {
+
+    /**
+     * A request is about to be sent to the address.
+     *
+     * @param address the target address
+     */
+    void requestStarted(String address);
+
+    /**
+     * A request started with {@link #requestStarted(String)} completed.
+     *
+     * @param address the target address
+     * @param latency the time in nanoseconds the request took
+     * @param failed true if the request failed
+     */
+    void requestCompleted(String address, long latency, boolean failed);
+}
@@ -18,6 +18,7 @@
  */
 package org.apache.cxf.clustering;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Logger;
 
@@ -201,6 +202,11 @@ public class LoadDistributorTargetSelector extends FailoverTargetSelector {
 
         Endpoint distributionTarget = null;
         if ((alternateAddresses != null) && !alternateAddresses.isEmpty()) {
+            if (getStrategy() instanceof LoadAwareFailoverStrategy) {
+                // load aware strategies choose among all the addresses on every request
+                // rather than walking through the cached list
+                alternateAddresses = new ArrayList<>(alternateAddresses);
+            }
             String alternateAddress =
                 getStrategy().selectAlternateAddress(alternateAddresses);
             if (alternateAddress != null) {
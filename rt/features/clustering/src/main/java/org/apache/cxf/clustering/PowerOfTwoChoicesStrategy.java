@@ -0,0 +1,57 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.clustering;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Load aware strategy picking two alternates at random and selecting the one with the
+ * lower cost, the outstanding requests by default. Unlike always picking the least
+ * loaded alternate this does not make concurrent clients herd onto the same replica.
+ */
+public class PowerOfTwoChoicesStrategy extends AbstractLoadAwareStrategy {
+
+    @Override
+    protected int selectIndex(List<?> alternates) {
+        int size = alternates.size();
+        if (size == 1) {
+            return 0;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+        double firstCost = getCost(getAlternateStatistics(alternates.get(first)));
+        double secondCost = getCost(getAlternateStatistics(alternates.get(second)));
+        return secondCost < firstCost ? second : first;
+    }
+
+    /**
+     * Get the cost of sending a request to an alternate.
+     *
+     * @param stats the statistics of the alternate
+     * @return the cost, lower is better
+     */
+    protected double getCost(TargetStatistics stats) {
+        return stats.getOutstanding();
+    }
+}
@@ -0,0 +1,86 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.clustering;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Load statistics of a single target address: the requests currently outstanding and
+ * a peak sensitive, time decayed moving average of the latency. A sample above the
+ * average replaces it, lower samples decay it with a weight depending on the time
+ * since the previous sample, so a slow replica is avoided immediately and recovers
+ * gradually.
+ */
+public class TargetStatistics {
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicLong ewma = new AtomicLong(Double.doubleToRawLongBits(0.0));
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private volatile long lastSample = System.nanoTime();
+
+    public void requestStarted() {
+        outstanding.incrementAndGet();
+        requests.increment();
+    }
+
+    /**
+     * @param sample the latency in nanoseconds to account for
+     * @param failed true if the request failed
+     * @param decayTime the time in nanoseconds over which older samples lose their weight
+     */
+    public void requestCompleted(long sample, boolean failed, long decayTime) {
+        outstanding.decrementAndGet();
+        if (failed) {
+            failures.increment();
+        }
+        long now = System.nanoTime();
+        long elapsed = Math.max(0, now - lastSample);
+        lastSample = now;
+        double weight = Math.exp(-(double)elapsed / decayTime);
+        while (true) {
+            long bits = ewma.get();
+            double current = Double.longBitsToDouble(bits);
+            double updated = sample > current ? sample : current * weight + sample * (1 - weight);
+            if (ewma.compareAndSet(bits, Double.doubleToRawLongBits(updated))) {
+                return;
+            }
+        }
+    }
+
+    public int getOutstanding() {
+        return outstanding.get();
+    }
+
+    /**
+     * @return the average latency in nanoseconds, 0 until a request completed
+     */
+    public double getLatency() {
+        return Double.longBitsToDouble(ewma.get());
+    }
+
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    public long getFailureCount() {
+        return failures.sum();
+    }
+}
@@ -0,0 +1,214 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.clustering;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import com.sun.net.httpserver.HttpServer;
+
+import org.apache.cxf.Bus;
+import org.apache.cxf.BusFactory;
+import org.apache.cxf.configuration.security.AuthorizationPolicy;
+import org.apache.cxf.service.model.EndpointInfo;
+import org.apache.cxf.transport.ConduitInitiatorManager;
+import org.apache.cxf.transport.http.HTTPConduit;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class AddressHealthMonitorTest {
+    private static final String A = "http://localhost:9001/a";
+    private static final String B = "http://localhost:9002/b";
+
+    @Test
+    public void testProbesMarkAddressesDownAndUp() throws Exception {
+        AtomicInteger probesOfA = new AtomicInteger();
+        List<String> down = new ArrayList<>(Arrays.asList(B));
+        AddressHealthMonitor monitor = new AddressHealthMonitor();
+        monitor.setInterval(10);
+        monitor.setHealthCheck(address -> {
+            if (A.equals(address)) {
+                probesOfA.incrementAndGet();
+            }
+            synchronized (down) {
+                return !down.contains(address);
+            }
+        });
+        monitor.register(A);
+        monitor.register(B);
+        monitor.register(B);
+        waitFor(() -> !monitor.isAvailable(B));
+        assertTrue(monitor.isAvailable(A));
+
+        synchronized (down) {
+            down.clear();
+        }
+        waitFor(() -> monitor.isAvailable(B));
+
+        monitor.unregister(A);
+        int probes = probesOfA.get();
+        Thread.sleep(100);
+        assertTrue(probesOfA.get() <= probes + 1);
+        // unknown addresses are assumed to be up
+        assertTrue(monitor.isAvailable("http://localhost:9003/c"));
+        monitor.unregister(B);
+        monitor.unregister(B);
+    }
+
+    @Test
+    public void testUnregisterReleasesHealthCheck() {
+        Set<String> released = ConcurrentHashMap.newKeySet();
+        AddressHealthMonitor monitor = new AddressHealthMonitor();
+        monitor.setInterval(3600000L);
+        monitor.setHealthCheck(new HealthCheck() {
+            @Override
+            public boolean check(String address) {
+                return true;
+            }
+
+            @Override
+            public void release(String address) {
+                released.add(address);
+            }
+        });
+        SequentialStrategy strategy = new SequentialStrategy();
+        strategy.setHealthMonitor(monitor);
+        strategy.setAlternateAddresses(Arrays.asList(A, B));
+        monitor.register(A);
+
+        strategy.stopHealthMonitoring();
+        assertEquals(Arrays.asList(B), new ArrayList<>(released));
+        monitor.unregister(A);
+        assertEquals(2, released.size());
+
+        // the alternates are monitored again once the strategy is used
+        released.clear();
+        strategy.selectAlternateAddress(new ArrayList<>(Arrays.asList(A, B)));
+        strategy.stopHealthMonitoring();
+        assertEquals(2, released.size());
+    }
+
+    @Test
+    public void testStrategySkipsDeadAddresses() {
+        AddressHealthMonitor monitor = new AddressHealthMonitor();
+        monitor.setInterval(3600000L);
+        SequentialStrategy strategy = new SequentialStrategy();
+        strategy.setHealthMonitor(monitor);
+        strategy.setAlternateAddresses(Arrays.asList(A, B));
+
+        monitor.markDown(A);
+        assertFalse(monitor.isAvailable(A));
+        List<String> alternates = new ArrayList<>(Arrays.asList(A, B));
+        assertEquals(B, strategy.selectAlternateAddress(alternates));
+        // the unavailable alternate is skipped but left for a later retry
+        assertEquals(Arrays.asList(A), alternates);
+        assertEquals(A, strategy.selectAlternateAddress(alternates));
+        assertTrue(alternates.isEmpty());
+
+        // with every alternate down the strategy still tries them
+        monitor.markDown(B);
+        assertEquals(A, strategy.selectAlternateAddress(new ArrayList<>(Arrays.asList(A, B))));
+
+        monitor.markUp(A);
+        monitor.markUp(B);
+        assertEquals(A, strategy.selectAlternateAddress(new ArrayList<>(Arrays.asList(A, B))));
+        strategy.setHealthMonitor(null);
+    }
+
+    @Test
+    public void testHttpHealthCheck() throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/up", exchange -> {
+            byte[] body = "<definitions/>".getBytes();
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.createContext("/down", exchange -> {
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+        });
+        String credentials = "Basic " + Base64.getEncoder().encodeToString("user:password".getBytes());
+        server.createContext("/secure", exchange -> {
+            boolean authorized = credentials.equals(exchange.getRequestHeaders().getFirst("Authorization"));
+            exchange.sendResponseHeaders(authorized ? 200 : 401, -1);
+            exchange.close();
+        });
+        server.start();
+        String base = "http://localhost:" + server.getAddress().getPort();
+        Bus bus = BusFactory.newInstance().createBus();
+        try {
+            HttpHealthCheck check = new HttpHealthCheck();
+            check.setBus(bus);
+            check.setPath("?wsdl");
+            assertTrue(check.check(base + "/up"));
+            assertFalse(check.check(base + "/down"));
+
+            // the probes are sent with the authorization of the client conduit
+            check = new HttpHealthCheck();
+            check.setBus(bus);
+            check.setMaxHealthyStatus(399);
+            assertFalse(check.check(base + "/secure"));
+            EndpointInfo ei = new EndpointInfo();
+            ei.setAddress(base + "/secure");
+            HTTPConduit conduit = (HTTPConduit)bus.getExtension(ConduitInitiatorManager.class)
+                .getConduitInitiatorForUri(ei.getAddress()).getConduit(ei, bus);
+            AuthorizationPolicy authorization = new AuthorizationPolicy();
+            authorization.setUserName("user");
+            authorization.setPassword("password");
+            conduit.setAuthorization(authorization);
+            check.configureFrom(conduit, bus);
+            conduit.close();
+            assertTrue(check.check(base + "/secure"));
+            check.release(base + "/secure");
+        } finally {
+            server.stop(0);
+        }
+        try {
+            HttpHealthCheck check = new HttpHealthCheck();
+            check.setBus(bus);
+            check.check(base + "/up");
+            fail("the server is stopped");
+        } catch (IOException ex) {
+            // expected
+        } finally {
+            bus.shutdown(true);
+        }
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        for (int i = 0; i < 500 && !condition.getAsBoolean(); i++) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
@@ -0,0 +1,106 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.clustering;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LoadAwareStrategyTest {
+    private static final String A = "http://localhost:9001/a";
+    private static final String B = "http://localhost:9002/b";
+    private static final String C = "http://localhost:9003/c";
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    public void testLeastOutstanding() {
+        LeastOutstandingStrategy strategy = new LeastOutstandingStrategy();
+        strategy.requestStarted(A);
+        strategy.requestStarted(A);
+        strategy.requestStarted(C);
+        List<String> alternates = addresses();
+        assertEquals(B, strategy.selectAlternateAddress(alternates));
+        assertEquals(Arrays.asList(A, C), alternates);
+
+        strategy.requestStarted(B);
+        strategy.requestStarted(B);
+        strategy.requestCompleted(A, MS, false);
+        strategy.requestCompleted(A, MS, false);
+        assertEquals(A, strategy.selectAlternateAddress(addresses()));
+        assertEquals(0, strategy.getStatistics(A).getOutstanding());
+        assertEquals(2, strategy.getStatistics(A).getRequestCount());
+    }
+
+    @Test
+    public void testPowerOfTwoChoicesAvoidsTheBusiest() {
+        PowerOfTwoChoicesStrategy strategy = new PowerOfTwoChoicesStrategy();
+        for (int i = 0; i < 10; i++) {
+            strategy.requestStarted(A);
+        }
+        strategy.requestStarted(B);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(!A.equals(strategy.selectAlternateAddress(addresses())));
+        }
+        List<String> two = new ArrayList<>(Arrays.asList(A, B));
+        assertEquals(B, strategy.selectAlternateAddress(two));
+    }
+
+    @Test
+    public void testEwmaPrefersTheFastest() {
+        EwmaLatencyStrategy strategy = new EwmaLatencyStrategy();
+        for (String address : addresses()) {
+            strategy.requestStarted(address);
+        }
+        strategy.requestCompleted(A, 100 * MS, false);
+        strategy.requestCompleted(B, 5 * MS, false);
+        strategy.requestCompleted(C, 50 * MS, false);
+        assertEquals(100 * MS, strategy.getStatistics(A).getLatency(), 1);
+        for (int i = 0; i < 50; i++) {
+            List<String> two = new ArrayList<>(Arrays.asList(A, B));
+            assertEquals(B, strategy.selectAlternateAddress(two));
+        }
+        for (int i = 0; i < 50; i++) {
+            assertTrue(!A.equals(strategy.selectAlternateAddress(addresses())));
+        }
+    }
+
+    @Test
+    public void testFailuresArePenalized() {
+        EwmaLatencyStrategy strategy = new EwmaLatencyStrategy();
+        strategy.setFailurePenalty(500);
+        strategy.requestStarted(A);
+        strategy.requestCompleted(A, MS, true);
+        strategy.requestStarted(B);
+        strategy.requestCompleted(B, 20 * MS, false);
+        assertEquals(500 * MS, strategy.getStatistics(A).getLatency(), 1);
+        assertEquals(1, strategy.getStatistics(A).getFailureCount());
+        List<String> two = new ArrayList<>(Arrays.asList(A, B));
+        assertEquals(B, strategy.selectAlternateAddress(two));
+    }
+
+    private static List<String> addresses() {
+        return new ArrayList<>(Arrays.asList(A, B, C));
+    }
+}
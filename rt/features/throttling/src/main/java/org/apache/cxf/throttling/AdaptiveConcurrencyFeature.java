@@ -0,0 +1,118 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.throttling;
+
+import org.apache.cxf.Bus;
+import org.apache.cxf.feature.AbstractPortableFeature;
+import org.apache.cxf.feature.DelegatingFeature;
+import org.apache.cxf.interceptor.InterceptorProvider;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.phase.Phase;
+
+/**
+ * Limits the requests in flight on every endpoint with a limit that adapts to the observed
+ * latency, see {@link AdaptiveConcurrencyLimit}. Requests over the limit are rejected with
+ * a 503 before they are unmarshalled so a brown out does not build up queues in the work
+ * queue or in the services called downstream.
+ */
+public class AdaptiveConcurrencyFeature extends DelegatingFeature<AdaptiveConcurrencyFeature.Portable> {
+    public AdaptiveConcurrencyFeature() {
+        super(new Portable());
+    }
+
+    public AdaptiveConcurrencyFeature(AdaptiveConcurrencyManager manager) {
+        super(new Portable(manager));
+    }
+
+    public AdaptiveConcurrencyManager getManager() {
+        return delegate.getManager();
+    }
+
+    public void setInitialLimit(int initialLimit) {
+        delegate.getManager().setInitialLimit(initialLimit);
+    }
+
+    public void setMinLimit(int minLimit) {
+        delegate.getManager().setMinLimit(minLimit);
+    }
+
+    public void setMaxLimit(int maxLimit) {
+        delegate.getManager().setMaxLimit(maxLimit);
+    }
+
+    public void setSmoothing(double smoothing) {
+        delegate.getManager().setSmoothing(smoothing);
+    }
+
+    public void setRttTolerance(double rttTolerance) {
+        delegate.getManager().setRttTolerance(rttTolerance);
+    }
+
+    public void setWindowTime(long windowTime) {
+        delegate.getManager().setWindowTime(windowTime);
+    }
+
+    public void setWindowSamples(int windowSamples) {
+        delegate.getManager().setWindowSamples(windowSamples);
+    }
+
+    public static class Portable implements AbstractPortableFeature {
+        final AdaptiveConcurrencyManager manager;
+
+        public Portable() {
+            this(new AdaptiveConcurrencyManager());
+        }
+
+        public Portable(AdaptiveConcurrencyManager manager) {
+            this.manager = manager;
+        }
+
+        public AdaptiveConcurrencyManager getManager() {
+            return manager;
+        }
+
+        @Override
+        public void doInitializeProvider(InterceptorProvider provider, Bus bus) {
+            for (String p : manager.getDecisionPhases()) {
+                provider.getInInterceptors().add(new AdmissionInterceptor(p, manager));
+            }
+            provider.getInInterceptors().add(new AdaptiveConcurrencyReleaseInterceptor(Phase.INVOKE, manager));
+            AdaptiveConcurrencyReleaseInterceptor release =
+                new AdaptiveConcurrencyReleaseInterceptor(Phase.PREPARE_SEND_ENDING, manager);
+            provider.getOutInterceptors().add(release);
+            provider.getOutFaultInterceptors().add(release);
+            provider.getOutInterceptors().add(new ThrottlingResponseInterceptor());
+            provider.getOutFaultInterceptors().add(new ThrottlingResponseInterceptor());
+        }
+    }
+
+    /**
+     * Releases the permit if the in chain fails and no fault is sent, e.g. for one way requests
+     */
+    static class AdmissionInterceptor extends ThrottlingInterceptor {
+        AdmissionInterceptor(String phase, AdaptiveConcurrencyManager manager) {
+            super(phase, manager);
+        }
+
+        @Override
+        public void handleFault(Message message) {
+            ((AdaptiveConcurrencyManager)manager).release(message);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.throttling;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limit of a single endpoint that adapts to the observed latency, following
+ * the gradient approach: the average latency of a short window is compared with a long term
+ * average, the limit shrinks when requests start queueing (the short term latency grows)
+ * and grows by roughly the square root of the limit while the latency stays flat.
+ * <p>
+ * Samples are accumulated in {@link LongAdder}s, the limit is recalculated by whichever
+ * thread closes a window. The limit is not changed while the endpoint uses less than half
+ * of it, so a lightly loaded endpoint does not inflate its limit.
+ */
+public class AdaptiveConcurrencyLimit {
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private final LongAdder rttSum = new LongAdder();
+    private final LongAdder rttCount = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final AtomicLong nextUpdate;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double rttTolerance;
+    private final long windowNanos;
+    private final int windowSamples;
+    private final double longRttDecay;
+
+    private volatile int limit;
+    private volatile double estimatedLimit;
+    private volatile long shortRtt;
+    private volatile double longRtt;
+
+    AdaptiveConcurrencyLimit(AdaptiveConcurrencyManager config, long now) {
+        minLimit = config.getMinLimit();
+        maxLimit = config.getMaxLimit();
+        smoothing = config.getSmoothing();
+        rttTolerance = config.getRttTolerance();
+        windowNanos = TimeUnit.MILLISECONDS.toNanos(config.getWindowTime());
+        windowSamples = config.getWindowSamples();
+        longRttDecay = 2.0 / (config.getLongWindow() + 1);
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, config.getInitialLimit()));
+        limit = (int)estimatedLimit;
+        nextUpdate = new AtomicLong(now + windowNanos);
+    }
+
+    /**
+     * @return true if the request may proceed, it must then be completed with {@link #release(long, long)}
+     */
+    public boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit) {
+                rejected.increment();
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+
+        int peak = peakInFlight.get();
+        while (current + 1 > peak && !peakInFlight.compareAndSet(peak, current + 1)) {
+            peak = peakInFlight.get();
+        }
+        return true;
+    }
+
+    /**
+     * Completes an acquired request
+     * @param rtt the latency of the request in nanos
+     * @param now the current {@link System#nanoTime()}
+     */
+    public void release(long rtt, long now) {
+        inFlight.decrementAndGet();
+        rttSum.add(rtt);
+        rttCount.increment();
+        long next = nextUpdate.get();
+        if (now - next >= 0 && rttCount.sum() >= windowSamples
+            && nextUpdate.compareAndSet(next, now + windowNanos)) {
+            // the sums are reset separately so a concurrent sample may land in the wrong window,
+            // which only skews the average slightly
+            long count = rttCount.sumThenReset();
+            long sum = rttSum.sumThenReset();
+            int peak = peakInFlight.getAndSet(inFlight.get());
+            if (count > 0) {
+                update(Math.max(1, sum / count), peak);
+            }
+        }
+    }
+
+    private void update(long rtt, int peak) {
+        double longTerm = longRtt;
+        if (longTerm == 0) {
+            longTerm = rtt;
+        } else {
+            longTerm = longTerm * (1 - longRttDecay) + rtt * longRttDecay;
+        }
+        if (longTerm / rtt > 2) {
+            // recover quickly once a sustained brown out is over
+            longTerm *= 0.95;
+        }
+        longRtt = longTerm;
+        shortRtt = rtt;
+
+        double estimate = estimatedLimit;
+        if (peak < estimate / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longTerm / rtt));
+        double newLimit = estimate * gradient + Math.sqrt(estimate);
+        newLimit = estimate * (1 - smoothing) + newLimit * smoothing;
+        newLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        estimatedLimit = newLimit;
+        limit = (int)newLimit;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * The average latency in nanos of the last window
+     */
+    public long getShortRtt() {
+        return shortRtt;
+    }
+
+    /**
+     * The long term average latency in nanos
+     */
+    public long getLongRtt() {
+        return (long)longRtt;
+    }
+}
@@ -0,0 +1,201 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.throttling;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.cxf.endpoint.Endpoint;
+import org.apache.cxf.message.Exchange;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.message.MessageUtils;
+import org.apache.cxf.phase.Phase;
+
+/**
+ * Sheds requests with a 503 once the number of requests in flight on an endpoint exceeds
+ * its {@link AdaptiveConcurrencyLimit}. The decision is made before the request is
+ * unmarshalled, every admitted request must be completed with {@link #release(Message)},
+ * which the {@link AdaptiveConcurrencyFeature} takes care of.
+ */
+public class AdaptiveConcurrencyManager implements ThrottlingManager {
+    public static final int SERVICE_UNAVAILABLE = 503;
+
+    private static final String LIMIT_KEY = AdaptiveConcurrencyLimit.class.getName();
+    private static final String PERMIT_KEY = AdaptiveConcurrencyManager.class.getName() + ".PERMIT";
+
+    private int initialLimit = 20;
+    private int minLimit = 1;
+    private int maxLimit = 1000;
+    private double smoothing = 0.2;
+    private double rttTolerance = 1.5;
+    private long windowTime = 1000L;
+    private int windowSamples = 10;
+    private int longWindow = 600;
+    private volatile AdaptiveConcurrencyLimit defaultLimit;
+
+    @Override
+    public List<String> getDecisionPhases() {
+        return Collections.singletonList(Phase.PRE_STREAM);
+    }
+
+    @Override
+    public ThrottleResponse getThrottleResponse(String phase, Message m) {
+        Exchange ex = m.getExchange();
+        if (ex == null || MessageUtils.isRequestor(m) || ex.containsKey(PERMIT_KEY)) {
+            return null;
+        }
+        AdaptiveConcurrencyLimit limit = getLimit(ex.getEndpoint());
+        if (limit.tryAcquire()) {
+            ex.put(PERMIT_KEY, new Permit(limit, System.nanoTime()));
+            return null;
+        }
+        return new ThrottleResponse().setResponseCode(SERVICE_UNAVAILABLE, "Service Unavailable");
+    }
+
+    /**
+     * Completes the request of the exchange, calling it more than once is harmless
+     */
+    public void release(Message m) {
+        Exchange ex = m.getExchange();
+        Permit permit = ex == null ? null : (Permit)ex.remove(PERMIT_KEY);
+        if (permit != null) {
+            long now = System.nanoTime();
+            permit.limit.release(now - permit.start, now);
+        }
+    }
+
+    /**
+     * Returns the limit of the endpoint, requests without an endpoint share a single limit
+     */
+    public AdaptiveConcurrencyLimit getLimit(Endpoint ep) {
+        if (ep == null) {
+            AdaptiveConcurrencyLimit l = defaultLimit;
+            if (l == null) {
+                synchronized (this) {
+                    l = defaultLimit;
+                    if (l == null) {
+                        l = new AdaptiveConcurrencyLimit(this, System.nanoTime());
+                        defaultLimit = l;
+                    }
+                }
+            }
+            return l;
+        }
+        Object o = ep.get(LIMIT_KEY);
+        if (o == null) {
+            synchronized (ep) {
+                o = ep.get(LIMIT_KEY);
+                if (o == null) {
+                    o = new AdaptiveConcurrencyLimit(this, System.nanoTime());
+                    ep.put(LIMIT_KEY, o);
+                }
+            }
+        }
+        return (AdaptiveConcurrencyLimit)o;
+    }
+
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    public void setInitialLimit(int initialLimit) {
+        this.initialLimit = initialLimit;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public void setMinLimit(int minLimit) {
+        this.minLimit = minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public void setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+
+    public double getSmoothing() {
+        return smoothing;
+    }
+
+    /**
+     * How much of a recalculated limit is applied at once, between 0 and 1
+     */
+    public void setSmoothing(double smoothing) {
+        this.smoothing = smoothing;
+    }
+
+    public double getRttTolerance() {
+        return rttTolerance;
+    }
+
+    /**
+     * How much the short term latency may exceed the long term average before the limit shrinks
+     */
+    public void setRttTolerance(double rttTolerance) {
+        this.rttTolerance = rttTolerance;
+    }
+
+    public long getWindowTime() {
+        return windowTime;
+    }
+
+    /**
+     * The minimum length in milliseconds of a sampling window
+     */
+    public void setWindowTime(long windowTime) {
+        this.windowTime = windowTime;
+    }
+
+    public int getWindowSamples() {
+        return windowSamples;
+    }
+
+    /**
+     * The minimum number of samples in a sampling window
+     */
+    public void setWindowSamples(int windowSamples) {
+        this.windowSamples = windowSamples;
+    }
+
+    public int getLongWindow() {
+        return longWindow;
+    }
+
+    /**
+     * The number of windows the long term latency is averaged over
+     */
+    public void setLongWindow(int longWindow) {
+        this.longWindow = longWindow;
+    }
+
+    private static final class Permit {
+        final AdaptiveConcurrencyLimit limit;
+        final long start;
+
+        Permit(AdaptiveConcurrencyLimit limit, long start) {
+            this.limit = limit;
+            this.start = start;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.throttling;
+
+import java.security.Principal;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.cxf.helpers.CastUtils;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.security.SecurityContext;
+
+/**
+ * Resolves the key identifying the client a request is accounted against, for example
+ * the remote address, the authenticated principal or an API key header.
+ * Returning null means the client could not be identified.
+ */
+public interface ClientKeyResolver {
+
+    /**
+     * Keys requests by the remote address of the underlying servlet request
+     */
+    ClientKeyResolver REMOTE_ADDRESS = ServletRequestHelper::getRemoteAddress;
+
+    /**
+     * Keys requests by the name of the authenticated principal. The decision phase
+     * must run after the authentication interceptors for the principal to be available.
+     */
+    ClientKeyResolver PRINCIPAL = m -> {
+        SecurityContext sc = m.get(SecurityContext.class);
+        Principal p = sc == null ? null : sc.getUserPrincipal();
+        return p == null ? null : p.getName();
+    };
+
+    String resolveKey(Message m);
+
+    /**
+     * Keys requests by the first value of the given protocol header, typically an API key
+     */
+    static ClientKeyResolver header(String name) {
+        return m -> {
+            Map<String, List<String>> headers =
+                CastUtils.cast((Map<?, ?>)m.get(Message.PROTOCOL_HEADERS));
+            if (headers == null) {
+                return null;
+            }
+            List<String> values = headers.get(name);
+            return values == null || values.isEmpty() ? null : values.get(0);
+        };
+    }
+
+    /**
+     * Uses the first resolver that identifies the client, e.g. the API key header
+     * falling back to the remote address
+     */
+    static ClientKeyResolver firstOf(ClientKeyResolver... resolvers) {
+        return m -> {
+            for (ClientKeyResolver r : resolvers) {
+                String key = r.resolveKey(m);
+                if (key != null) {
+                    return key;
+                }
+            }
+            return null;
+        };
+    }
+}
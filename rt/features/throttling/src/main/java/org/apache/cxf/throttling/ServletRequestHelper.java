@@ -0,0 +1,55 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.throttling;
+
+import jakarta.servlet.ServletRequest;
+import org.apache.cxf.common.classloader.ClassLoaderUtils;
+import org.apache.cxf.message.Message;
+
+/**
+ * Reads the remote address without requiring the servlet API to be present.
+ */
+final class ServletRequestHelper {
+    private static final String HTTP_REQUEST = "HTTP.REQUEST";
+    private static final boolean SERVLET_AVAILABLE;
+    static {
+        boolean available = false;
+        try {
+            ClassLoaderUtils.loadClass("jakarta.servlet.ServletRequest", ClientKeyResolver.class);
+            available = true;
+        } catch (ClassNotFoundException e) {
+            //ignore, no servlet transport
+        }
+        SERVLET_AVAILABLE = available;
+    }
+
+    private ServletRequestHelper() {
+    }
+
+    static String getRemoteAddress(Message m) {
+        if (!SERVLET_AVAILABLE) {
+            return null;
+        }
+        Object request = m.get(HTTP_REQUEST);
+        if (request instanceof ServletRequest) {
+            return ((ServletRequest)request).getRemoteAddr();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,404 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.throttling;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.cxf.message.Exchange;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.phase.Phase;
+
+/**
+ * Rate limits requests per client using token buckets. The client is identified by a
+ * {@link ClientKeyResolver} (remote address by default); requests that cannot be attributed
+ * to a client share a single anonymous bucket.
+ * <p>
+ * Each bucket refills at {@code rate} permits per second up to {@code burst} permits. A request
+ * that finds its bucket empty is delayed if the next permit becomes available within
+ * {@code maxDelay} milliseconds and rejected with a 429 and a Retry-After header otherwise.
+ * <p>
+ * Buckets are lock free: the state of a bucket is a single theoretical arrival time that is
+ * advanced with a CAS. For very hot keys the bucket can be split into {@code stripes} cells,
+ * each holding an equal share of the rate and burst (the first cells take one extra permit
+ * each when the burst does not divide evenly); a request only fails once every cell
+ * is exhausted, so the limit is kept while the CAS traffic is spread over the cells.
+ * Buckets that have been full for longer than {@code idleTimeout} are evicted incrementally
+ * on the request path.
+ */
+public class TokenBucketThrottlingManager implements ThrottlingManager {
+    public static final int TOO_MANY_REQUESTS = 429;
+    public static final String ANONYMOUS_CLIENT = "";
+
+    private static final String THROTTLED_KEY = TokenBucketThrottlingManager.class.getName() + ".THROTTLED";
+    private static final int SEGMENTS = 16;
+    // cells are 8 longs (64 bytes) apart so neighbouring cells do not share a cache line
+    private static final int CELL_SPACING = 8;
+
+    private final ConcurrentHashMap<String, Bucket>[] segments;
+    private final AtomicLong nextSweep = new AtomicLong();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder delayed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private int sweepIndex;
+
+    private ClientKeyResolver keyResolver = ClientKeyResolver.REMOTE_ADDRESS;
+    private List<String> decisionPhases = Collections.singletonList(Phase.PRE_STREAM);
+    private double rate = 100;
+    private int burst = -1;
+    private int stripes = 1;
+    private long maxDelay;
+    private long idleTimeout = 60000L;
+    private boolean rateLimitHeaders;
+
+    public TokenBucketThrottlingManager() {
+        @SuppressWarnings("unchecked")
+        ConcurrentHashMap<String, Bucket>[] s = new ConcurrentHashMap[SEGMENTS];
+        for (int i = 0; i < SEGMENTS; i++) {
+            s[i] = new ConcurrentHashMap<>();
+        }
+        segments = s;
+        nextSweep.set(System.nanoTime());
+    }
+
+    public TokenBucketThrottlingManager(double rate, int burst) {
+        this();
+        setRate(rate);
+        setBurst(burst);
+    }
+
+    @Override
+    public List<String> getDecisionPhases() {
+        return decisionPhases;
+    }
+
+    @Override
+    public ThrottleResponse getThrottleResponse(String phase, Message m) {
+        Exchange ex = m.getExchange();
+        if (ex != null) {
+            if (ex.containsKey(THROTTLED_KEY)) {
+                return null;
+            }
+            ex.put(THROTTLED_KEY, Boolean.TRUE);
+        }
+        String key = keyResolver.resolveKey(m);
+        if (key == null) {
+            key = ANONYMOUS_CLIENT;
+        }
+        long now = nanoTime();
+        Bucket bucket = getBucket(key, now);
+        long result = bucket.acquire(now, TimeUnit.MILLISECONDS.toNanos(maxDelay));
+        sweep(now);
+
+        ThrottleResponse rsp = null;
+        if (result < 0) {
+            rejected.increment();
+            long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(-result + 999_999_999L));
+            rsp = new ThrottleResponse().setResponseCode(TOO_MANY_REQUESTS, "Too Many Requests")
+                .addResponseHeader("Retry-After", Long.toString(retryAfter));
+        } else if (result > 0) {
+            delayed.increment();
+            rsp = new ThrottleResponse().setDelay(TimeUnit.NANOSECONDS.toMillis(result + 999_999L));
+        } else {
+            accepted.increment();
+            if (rateLimitHeaders) {
+                rsp = new ThrottleResponse();
+            }
+        }
+        if (rsp != null && rateLimitHeaders) {
+            rsp.addResponseHeader("X-RateLimit-Limit", Integer.toString(bucket.capacity()));
+            rsp.addResponseHeader("X-RateLimit-Remaining", Long.toString(bucket.available(now)));
+        }
+        return rsp;
+    }
+
+    /**
+     * The number of clients currently tracked
+     */
+    public int getClientCount() {
+        int count = 0;
+        for (ConcurrentHashMap<String, Bucket> s : segments) {
+            count += s.size();
+        }
+        return count;
+    }
+
+    public long getAcceptedCount() {
+        return accepted.sum();
+    }
+
+    public long getDelayedCount() {
+        return delayed.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public ClientKeyResolver getKeyResolver() {
+        return keyResolver;
+    }
+
+    /**
+     * Sets how the client of a request is identified, see {@link ClientKeyResolver#REMOTE_ADDRESS},
+     * {@link ClientKeyResolver#PRINCIPAL} and {@link ClientKeyResolver#header(String)}
+     */
+    public void setKeyResolver(ClientKeyResolver keyResolver) {
+        this.keyResolver = keyResolver;
+    }
+
+    /**
+     * Convenience for keying the clients by an API key header
+     */
+    public void setClientKeyHeader(String header) {
+        this.keyResolver = ClientKeyResolver.header(header);
+    }
+
+    /**
+     * Sets the phase the decision is made in. Principal based keys need a phase after
+     * the authentication interceptors.
+     */
+    public void setDecisionPhase(String phase) {
+        this.decisionPhases = Collections.singletonList(phase);
+    }
+
+    public double getRate() {
+        return rate;
+    }
+
+    /**
+     * The permits per second granted to each client
+     */
+    public void setRate(double rate) {
+        if (rate <= 0) {
+            throw new IllegalArgumentException("rate must be positive");
+        }
+        this.rate = rate;
+        clear();
+    }
+
+    public int getBurst() {
+        return burst > 0 ? burst : Math.max(1, (int)Math.ceil(rate));
+    }
+
+    /**
+     * The number of permits a client may use at once, defaults to one second worth of permits
+     */
+    public void setBurst(int burst) {
+        this.burst = burst;
+        clear();
+    }
+
+    public int getStripes() {
+        return stripes;
+    }
+
+    /**
+     * Splits every bucket into the given number of cells to reduce CAS contention on
+     * hot clients. The effective value is capped by the burst.
+     */
+    public void setStripes(int stripes) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("stripes must be at least 1");
+        }
+        this.stripes = stripes;
+        clear();
+    }
+
+    public long getMaxDelay() {
+        return maxDelay;
+    }
+
+    /**
+     * The longest delay in milliseconds applied to a request before it is rejected instead
+     */
+    public void setMaxDelay(long maxDelay) {
+        this.maxDelay = maxDelay;
+    }
+
+    public long getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    /**
+     * How long in milliseconds an idle client is remembered once its bucket has been refilled
+     */
+    public void setIdleTimeout(long idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    public boolean isRateLimitHeaders() {
+        return rateLimitHeaders;
+    }
+
+    /**
+     * Adds X-RateLimit-Limit and X-RateLimit-Remaining headers to every response
+     */
+    public void setRateLimitHeaders(boolean rateLimitHeaders) {
+        this.rateLimitHeaders = rateLimitHeaders;
+    }
+
+    /**
+     * Forgets all the clients
+     */
+    public void clear() {
+        for (ConcurrentHashMap<String, Bucket> s : segments) {
+            s.clear();
+        }
+    }
+
+    long nanoTime() {
+        return System.nanoTime();
+    }
+
+    private Bucket getBucket(String key, long now) {
+        ConcurrentHashMap<String, Bucket> segment = segments[segmentFor(key)];
+        Bucket bucket = segment.get(key);
+        if (bucket == null) {
+            bucket = segment.computeIfAbsent(key, k -> newBucket(now));
+        }
+        return bucket;
+    }
+
+    private Bucket newBucket(long now) {
+        int capacity = getBurst();
+        int cells = Math.min(stripes, capacity);
+        long interval = (long)(TimeUnit.SECONDS.toNanos(1) / rate);
+        return new Bucket(now, cells, Math.max(1, interval) * cells, capacity);
+    }
+
+    private void sweep(long now) {
+        long next = nextSweep.get();
+        if (now - next < 0 || !nextSweep.compareAndSet(next, now + TimeUnit.MILLISECONDS.toNanos(idleTimeout)
+                                                            / SEGMENTS)) {
+            return;
+        }
+        // only the thread winning the CAS gets here so the index is not shared
+        ConcurrentHashMap<String, Bucket> segment = segments[sweepIndex++ & (SEGMENTS - 1)];
+        long idleBefore = now - TimeUnit.MILLISECONDS.toNanos(idleTimeout);
+        segment.values().removeIf(b -> b.isIdle(idleBefore));
+    }
+
+    private static int segmentFor(String key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & (SEGMENTS - 1);
+    }
+
+    /**
+     * Token bucket kept as a generic cell rate algorithm: every cell stores the theoretical
+     * arrival time of its next permit, a permit is granted if that time is no more than
+     * {@code limit} nanos ahead.
+     */
+    static final class Bucket {
+        private final AtomicLongArray cells;
+        private final int count;
+        private final long interval;
+        private final long[] limits;
+        private final int capacity;
+
+        Bucket(long now, int count, long interval, int capacity) {
+            this.count = count;
+            this.interval = interval;
+            this.capacity = capacity;
+            this.limits = new long[count];
+            this.cells = new AtomicLongArray(count * CELL_SPACING);
+            for (int i = 0; i < count; i++) {
+                // spread the remainder so the cells add up to the full capacity
+                int cellCapacity = capacity / count + (i < capacity % count ? 1 : 0);
+                limits[i] = interval * cellCapacity;
+                cells.set(i * CELL_SPACING, now);
+            }
+        }
+
+        int capacity() {
+            return capacity;
+        }
+
+        /**
+         * @return 0 if a permit was granted, the delay in nanos to apply if a permit was reserved
+         *         within maxWait, or the negated nanos until a permit is available if it was refused
+         */
+        long acquire(long now, long maxWait) {
+            int home = count == 1 ? 0 : homeCell();
+            long minWait = Long.MAX_VALUE;
+            for (int i = 0; i < count; i++) {
+                long wait = tryAcquire((home + i) % count, now, 0);
+                if (wait == 0) {
+                    return 0;
+                }
+                minWait = Math.min(minWait, wait);
+            }
+            if (maxWait > 0 && minWait <= maxWait) {
+                long wait = tryAcquire(home, now, maxWait);
+                if (wait <= 0) {
+                    return -wait;
+                }
+                minWait = wait;
+            }
+            return -minWait;
+        }
+
+        /**
+         * @return 0 or the negated reserved delay on success, the positive wait on failure
+         */
+        private long tryAcquire(int cell, long now, long maxWait) {
+            int idx = cell * CELL_SPACING;
+            long limit = limits[cell];
+            while (true) {
+                long tat = cells.get(idx);
+                long next = Math.max(tat, now) + interval;
+                long wait = next - now - limit;
+                if (wait > maxWait) {
+                    return wait;
+                }
+                if (cells.compareAndSet(idx, tat, next)) {
+                    return wait > 0 ? -wait : 0;
+                }
+            }
+        }
+
+        long available(long now) {
+            long total = 0;
+            for (int i = 0; i < count; i++) {
+                long tat = Math.max(cells.get(i * CELL_SPACING), now);
+                total += Math.max(0, (now + limits[i] - tat) / interval);
+            }
+            return total;
+        }
+
+        boolean isIdle(long idleBefore) {
+            for (int i = 0; i < count; i++) {
+                if (cells.get(i * CELL_SPACING) - idleBefore >= 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int homeCell() {
+            long id = Thread.currentThread().getId();
+            return (int)(((id * 0x9E3779B97F4A7C15L) >>> 33) % count);
+        }
+    }
+}
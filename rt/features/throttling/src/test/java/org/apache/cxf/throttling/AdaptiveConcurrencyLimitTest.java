@@ -0,0 +1,131 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.throttling;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.cxf.message.Exchange;
+import org.apache.cxf.message.ExchangeImpl;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.message.MessageImpl;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class AdaptiveConcurrencyLimitTest {
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private AdaptiveConcurrencyManager manager;
+    private long now;
+
+    @Before
+    public void setUp() {
+        manager = new AdaptiveConcurrencyManager();
+        manager.setInitialLimit(20);
+        manager.setWindowTime(100);
+        manager.setWindowSamples(10);
+        manager.setSmoothing(1.0);
+        now = System.nanoTime();
+    }
+
+    @Test
+    public void testRejectsOverLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(manager, now);
+        for (int i = 0; i < 20; i++) {
+            assertTrue(limit.tryAcquire());
+        }
+        assertFalse(limit.tryAcquire());
+        assertEquals(1, limit.getRejectedCount());
+        limit.release(MS, now);
+        assertTrue(limit.tryAcquire());
+    }
+
+    @Test
+    public void testGrowsWhileLatencyIsFlat() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(manager, now);
+        for (int w = 0; w < 5; w++) {
+            runWindow(limit, limit.getLimit(), 10 * MS);
+        }
+        assertTrue(limit.getLimit() > 20);
+    }
+
+    @Test
+    public void testShrinksWhenLatencyGrows() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(manager, now);
+        for (int w = 0; w < 5; w++) {
+            runWindow(limit, limit.getLimit(), 10 * MS);
+        }
+        int grown = limit.getLimit();
+        for (int w = 0; w < 5; w++) {
+            runWindow(limit, limit.getLimit(), 100 * MS);
+        }
+        assertTrue(limit.getLimit() < grown / 2);
+        assertTrue(limit.getShortRtt() > limit.getLongRtt());
+    }
+
+    @Test
+    public void testLightLoadKeepsLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(manager, now);
+        for (int w = 0; w < 5; w++) {
+            runWindow(limit, 2, 10 * MS);
+        }
+        assertEquals(20, limit.getLimit());
+    }
+
+    @Test
+    public void testManagerShedsAndReleases() {
+        manager.setInitialLimit(1);
+        Message first = request();
+        assertNull(manager.getThrottleResponse("pre-stream", first));
+        ThrottleResponse rsp = manager.getThrottleResponse("pre-stream", request());
+        assertEquals(503, rsp.getResponseCode());
+
+        manager.release(first);
+        manager.release(first);
+        assertEquals(0, manager.getLimit(null).getInFlight());
+        assertNull(manager.getThrottleResponse("pre-stream", request()));
+    }
+
+    private void runWindow(AdaptiveConcurrencyLimit limit, int concurrency, long rtt) {
+        now += 100 * MS;
+        for (int r = 0; r < 10; r++) {
+            // the limit may change on the first release of the window
+            int n = Math.min(concurrency, limit.getLimit());
+            for (int i = 0; i < n; i++) {
+                assertTrue(limit.tryAcquire());
+            }
+            for (int i = 0; i < n; i++) {
+                limit.release(rtt, now);
+            }
+        }
+    }
+
+    private static Message request() {
+        Message m = new MessageImpl();
+        Exchange ex = new ExchangeImpl();
+        m.setExchange(ex);
+        ex.setInMessage(m);
+        return m;
+    }
+}
@@ -0,0 +1,172 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.throttling;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.cxf.message.Exchange;
+import org.apache.cxf.message.ExchangeImpl;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.message.MessageImpl;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class TokenBucketThrottlingManagerTest {
+    private long now;
+    private TokenBucketThrottlingManager manager;
+
+    @Before
+    public void setUp() {
+        now = System.nanoTime();
+        manager = new TokenBucketThrottlingManager(10, 5) {
+            @Override
+            long nanoTime() {
+                return now;
+            }
+        };
+        manager.setClientKeyHeader("X-API-Key");
+    }
+
+    @Test
+    public void testBurstThenReject() {
+        for (int i = 0; i < 5; i++) {
+            assertNull(manager.getThrottleResponse("pre-stream", request("a")));
+        }
+        ThrottleResponse rsp = manager.getThrottleResponse("pre-stream", request("a"));
+        assertEquals(429, rsp.getResponseCode());
+        assertEquals("1", rsp.getResponseHeaders().get("Retry-After"));
+        assertEquals(5, manager.getAcceptedCount());
+        assertEquals(1, manager.getRejectedCount());
+
+        // other clients have their own bucket
+        assertNull(manager.getThrottleResponse("pre-stream", request("b")));
+
+        // one permit every 100ms
+        now += TimeUnit.MILLISECONDS.toNanos(100);
+        assertNull(manager.getThrottleResponse("pre-stream", request("a")));
+        assertEquals(429, manager.getThrottleResponse("pre-stream", request("a")).getResponseCode());
+    }
+
+    @Test
+    public void testDelay() {
+        manager.setMaxDelay(250);
+        for (int i = 0; i < 5; i++) {
+            assertNull(manager.getThrottleResponse("pre-stream", request("a")));
+        }
+        assertEquals(100, manager.getThrottleResponse("pre-stream", request("a")).getDelay());
+        assertEquals(200, manager.getThrottleResponse("pre-stream", request("a")).getDelay());
+        assertEquals(429, manager.getThrottleResponse("pre-stream", request("a")).getResponseCode());
+        assertEquals(2, manager.getDelayedCount());
+    }
+
+    @Test
+    public void testStripesKeepTheLimit() {
+        manager.setStripes(4);
+        manager.setBurst(8);
+        int granted = 0;
+        for (int i = 0; i < 20; i++) {
+            if (manager.getThrottleResponse("pre-stream", request("a")) == null) {
+                granted++;
+            }
+        }
+        assertEquals(8, granted);
+    }
+
+    @Test
+    public void testStripesKeepUnevenBurst() {
+        manager.setStripes(4);
+        manager.setBurst(10);
+        manager.setRateLimitHeaders(true);
+        int granted = 0;
+        for (int i = 0; i < 20; i++) {
+            ThrottleResponse rsp = manager.getThrottleResponse("pre-stream", request("a"));
+            if (rsp.getResponseCode() == -1) {
+                granted++;
+                assertEquals("10", rsp.getResponseHeaders().get("X-RateLimit-Limit"));
+            }
+        }
+        assertEquals(10, granted);
+    }
+
+    @Test
+    public void testRateLimitHeaders() {
+        manager.setRateLimitHeaders(true);
+        ThrottleResponse rsp = manager.getThrottleResponse("pre-stream", request("a"));
+        assertEquals(-1, rsp.getResponseCode());
+        assertEquals("5", rsp.getResponseHeaders().get("X-RateLimit-Limit"));
+        assertEquals("4", rsp.getResponseHeaders().get("X-RateLimit-Remaining"));
+    }
+
+    @Test
+    public void testIdleClientsEvicted() {
+        manager.setIdleTimeout(1000);
+        for (int i = 0; i < 100; i++) {
+            manager.getThrottleResponse("pre-stream", request("client" + i));
+        }
+        assertEquals(100, manager.getClientCount());
+        // every request sweeps one segment once the sweep interval passed
+        for (int i = 0; i < 16; i++) {
+            now += TimeUnit.SECONDS.toNanos(2);
+            manager.getThrottleResponse("pre-stream", request("active"));
+        }
+        assertEquals(1, manager.getClientCount());
+    }
+
+    @Test
+    public void testFirstOfFallsBack() {
+        manager.setKeyResolver(ClientKeyResolver.firstOf(ClientKeyResolver.header("X-API-Key"),
+                                                         ClientKeyResolver.PRINCIPAL));
+        for (int i = 0; i < 5; i++) {
+            assertNull(manager.getThrottleResponse("pre-stream", request(null)));
+        }
+        // unidentified clients share the anonymous bucket
+        assertEquals(429, manager.getThrottleResponse("pre-stream", request(null)).getResponseCode());
+    }
+
+    @Test
+    public void testDecidedOncePerExchange() {
+        manager.setBurst(1);
+        Message m = request("a");
+        assertNull(manager.getThrottleResponse("pre-stream", m));
+        assertNull(manager.getThrottleResponse("pre-stream", m));
+        assertEquals(Arrays.asList("pre-stream"), manager.getDecisionPhases());
+    }
+
+    private static Message request(String apiKey) {
+        Message m = new MessageImpl();
+        Exchange ex = new ExchangeImpl();
+        m.setExchange(ex);
+        ex.setInMessage(m);
+        Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        if (apiKey != null) {
+            headers.put("X-API-Key", Collections.singletonList(apiKey));
+        }
+        m.put(Message.PROTOCOL_HEADERS, headers);
+        return m;
+    }
+}
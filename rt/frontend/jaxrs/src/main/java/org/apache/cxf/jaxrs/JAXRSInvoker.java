@@ -21,6 +21,7 @@ package org.apache.cxf.jaxrs;
 
 
 import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.util.Collections;
@@ -53,6 +54,7 @@ import org.apache.cxf.jaxrs.lifecycle.ResourceProvider;
 import org.apache.cxf.jaxrs.model.ClassResourceInfo;
 import org.apache.cxf.jaxrs.model.OperationResourceInfo;
 import org.apache.cxf.jaxrs.model.ProviderInfo;
+import org.apache.cxf.jaxrs.model.ResourceMethodInvoker;
 import org.apache.cxf.jaxrs.model.URITemplate;
 import org.apache.cxf.jaxrs.provider.ServerProviderFactory;
 import org.apache.cxf.jaxrs.utils.ExceptionUtils;
@@ -337,6 +339,23 @@ public class JAXRSInvoker extends AbstractInvoker {
         return methodToInvoke;
     }
 
+    @Override
+    protected Object performInvocation(Exchange exchange, final Object serviceObject, Method m,
+                                       Object[] paramArray) throws Exception {
+        OperationResourceInfo ori = exchange.get(OperationResourceInfo.class);
+        ResourceMethodInvoker invoker = ori == null ? null : ori.getResourceMethodInvoker();
+        if (invoker == null || !invoker.canInvoke(m, serviceObject, paramArray)) {
+            return super.performInvocation(exchange, serviceObject, m, paramArray);
+        }
+        try {
+            return invoker.invoke(serviceObject, paramArray);
+        } catch (Throwable t) {
+            // the target and parameters were checked by canInvoke, the method threw it,
+            // report it the same way Method.invoke does
+            throw new InvocationTargetException(t);
+        }
+    }
+
     private MessageContentsList checkExchangeForResponse(Exchange exchange) {
         Response r = exchange.get(Response.class);
         if (r != null) {
@@ -22,18 +22,28 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
 
 import jakarta.ws.rs.core.Application;
 import org.apache.cxf.Bus;
 import org.apache.cxf.common.classloader.ClassLoaderUtils;
 import org.apache.cxf.common.classloader.ClassLoaderUtils.ClassLoaderHolder;
+import org.apache.cxf.common.logging.LogUtils;
+import org.apache.cxf.common.util.PropertyUtils;
 import org.apache.cxf.endpoint.Endpoint;
 import org.apache.cxf.endpoint.Server;
 import org.apache.cxf.endpoint.ServerImpl;
+import org.apache.cxf.endpoint.ServerLifeCycleListener;
+import org.apache.cxf.endpoint.ServerLifeCycleManager;
 import org.apache.cxf.feature.Feature;
 import org.apache.cxf.helpers.CastUtils;
 import org.apache.cxf.jaxrs.ext.ResourceComparator;
@@ -43,10 +53,14 @@ import org.apache.cxf.jaxrs.lifecycle.ResourceProvider;
 import org.apache.cxf.jaxrs.lifecycle.SingletonResourceProvider;
 import org.apache.cxf.jaxrs.model.ApplicationInfo;
 import org.apache.cxf.jaxrs.model.ClassResourceInfo;
+import org.apache.cxf.jaxrs.model.OperationResourceInfo;
+import org.apache.cxf.jaxrs.model.ResourceMethodInvoker;
+import org.apache.cxf.jaxrs.provider.ProviderCacheMBean;
 import org.apache.cxf.jaxrs.provider.ServerProviderFactory;
 import org.apache.cxf.jaxrs.utils.AnnotationUtils;
 import org.apache.cxf.jaxrs.utils.InjectionUtils;
 import org.apache.cxf.jaxrs.utils.JAXRSUtils;
+import org.apache.cxf.management.InstrumentationManager;
 import org.apache.cxf.service.factory.FactoryBeanListener;
 import org.apache.cxf.service.factory.ServiceConstructionException;
 import org.apache.cxf.service.invoker.Invoker;
@@ -70,6 +84,7 @@ import org.apache.cxf.service.invoker.Invoker;
  * </pre>
  */
 public class JAXRSServerFactoryBean extends AbstractJAXRSFactoryBean {
+    private static final Logger LOG = LogUtils.getL7dLogger(JAXRSServerFactoryBean.class);
 
     protected Map<Class<?>, ResourceProvider> resourceProviders = new HashMap<>();
 
@@ -194,7 +209,15 @@ public class JAXRSServerFactoryBean extends AbstractJAXRSFactoryBean {
             updateClassResourceProviders(ep);
             injectContexts(factory, (ApplicationInfo)ep.get(Application.class.getName()));
             factory.applyDynamicFeatures(getServiceFactory().getClassResourceInfo());
-            
+            factory.indexMessageBodyProviders(ep, getServiceFactory().getClassResourceInfo());
+            registerProviderCache(ep, factory);
+            if (PropertyUtils.isTrue(ep.get(JAXRSUtils.METHOD_HANDLE_INVOKERS))
+                || PropertyUtils.isTrue(getBus().getProperty(JAXRSUtils.METHOD_HANDLE_INVOKERS))) {
+                createResourceMethodInvokers(getServiceFactory().getClassResourceInfo(), new HashSet<>());
+            }
+            if (ep.getService() instanceof JAXRSServiceImpl) {
+                ((JAXRSServiceImpl)ep.getService()).getClassResourceInfoIndex();
+            }
             
             getServiceFactory().sendEvent(FactoryBeanListener.Event.SERVER_CREATED,
                                           server,
@@ -230,6 +253,48 @@ public class JAXRSServerFactoryBean extends AbstractJAXRSFactoryBean {
         return server;
     }
 
+    private void registerProviderCache(Endpoint ep, ServerProviderFactory factory) {
+        final InstrumentationManager manager = getBus().getExtension(InstrumentationManager.class);
+        final ServerLifeCycleManager lifeCycleManager = getBus().getExtension(ServerLifeCycleManager.class);
+        if (manager == null || lifeCycleManager == null || factory.getProviderCache() == null) {
+            return;
+        }
+        final Server theServer = server;
+        try {
+            final ObjectName name = manager.register(new ProviderCacheMBean(getBus(),
+                ep.getEndpointInfo().getAddress(), factory.getProviderCache()));
+            lifeCycleManager.registerListener(new ServerLifeCycleListener() {
+                public void startServer(Server s) {
+                }
+
+                public void stopServer(Server s) {
+                    if (s == theServer) {
+                        lifeCycleManager.unRegisterListener(this);
+                        try {
+                            manager.unregister(name);
+                        } catch (JMException e) {
+                            LOG.log(Level.FINE, "Could not unregister the provider cache of " + name, e);
+                        }
+                    }
+                }
+            });
+        } catch (JMException e) {
+            LOG.log(Level.WARNING, "Could not register the provider cache", e);
+        }
+    }
+
+    private static void createResourceMethodInvokers(List<ClassResourceInfo> cris, Set<ClassResourceInfo> visited) {
+        for (ClassResourceInfo cri : cris) {
+            if (!visited.add(cri)) {
+                continue;
+            }
+            for (OperationResourceInfo ori : cri.getMethodDispatcher().getOperationResourceInfos()) {
+                ori.setResourceMethodInvoker(ResourceMethodInvoker.create(ori));
+            }
+            createResourceMethodInvokers(new ArrayList<>(cri.getSubResources()), visited);
+        }
+    }
+
     protected ServerProviderFactory setupFactory(Endpoint ep) {
         ServerProviderFactory factory = ServerProviderFactory.createInstance(getBus());
         setBeanInfo(factory);
@@ -40,6 +40,7 @@ import org.apache.cxf.jaxrs.model.ClassResourceInfo;
 import org.apache.cxf.jaxrs.model.OperationResourceInfo;
 import org.apache.cxf.jaxrs.model.Parameter;
 import org.apache.cxf.jaxrs.model.ParameterType;
+import org.apache.cxf.jaxrs.model.URITemplateIndex;
 import org.apache.cxf.jaxrs.utils.InjectionUtils;
 import org.apache.cxf.jaxrs.utils.JAXRSUtils;
 import org.apache.cxf.service.Service;
@@ -65,6 +66,7 @@ public class JAXRSServiceImpl extends AbstractAttributedInterceptorProvider impl
     private String address;
     private boolean createServiceModel;
     private QName serviceName;
+    private transient volatile URITemplateIndex<ClassResourceInfo> classResourceInfoIndex;
 
     public JAXRSServiceImpl(String address, QName qname) {
         this.address = address;
@@ -109,6 +111,38 @@ public class JAXRSServiceImpl extends AbstractAttributedInterceptorProvider impl
         return classResourceInfos;
     }
 
+    /**
+     * Returns the routing index of the root resources and the operations
+     * they dispatch to, building it if the resources have changed since
+     */
+    public URITemplateIndex<ClassResourceInfo> getClassResourceInfoIndex() {
+        URITemplateIndex<ClassResourceInfo> index = classResourceInfoIndex;
+        if (index == null || !isIndexed(index.getValues(), classResourceInfos)) {
+            index = new URITemplateIndex<>(classResourceInfos, ClassResourceInfo::getURITemplate);
+            for (ClassResourceInfo cri : classResourceInfos) {
+                if (cri.getMethodDispatcher() != null) {
+                    cri.getMethodDispatcher().buildRoutes();
+                }
+            }
+            classResourceInfoIndex = index;
+        }
+        return index;
+    }
+
+    // the resources are replaced in the list returned by getClassResourceInfos(), so the
+    // indexed ones are compared by identity rather than tracked by count
+    private static boolean isIndexed(List<ClassResourceInfo> indexed, List<ClassResourceInfo> current) {
+        if (indexed.size() != current.size()) {
+            return false;
+        }
+        for (int i = 0; i < indexed.size(); i++) {
+            if (indexed.get(i) != current.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public List<ServiceInfo> getServiceInfos() {
         if (!createServiceModel) {
             return Collections.emptyList();
@@ -19,11 +19,18 @@
 package org.apache.cxf.jaxrs.model;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
+import jakarta.ws.rs.HttpMethod;
+import org.apache.cxf.jaxrs.utils.JAXRSUtils;
+
 
 public class MethodDispatcher {
     private Map<OperationResourceInfo, Method> oriToMethod =
@@ -31,6 +38,7 @@ public class MethodDispatcher {
     private Map<Method, OperationResourceInfo> methodToOri =
         new LinkedHashMap<>();
     private ConcurrentHashMap<Method, Method> proxyMethodMap = new ConcurrentHashMap<>();
+    private volatile Routes routes;
 
     public MethodDispatcher() {
 
@@ -52,6 +60,7 @@ public class MethodDispatcher {
         }
 
         oriToMethod.put(o, primary);
+        routes = null;
     }
 
     public OperationResourceInfo getOperationResourceInfo(Method method) {
@@ -62,6 +71,46 @@ public class MethodDispatcher {
         return oriToMethod.keySet();
     }
 
+    /**
+     * Selects the operations whose URI templates may match the given path
+     *
+     * @param path the request path relative to the resource
+     * @return the candidate operations in the registration order
+     */
+    public List<OperationResourceInfo> getOperationResourceInfos(String path) {
+        return getRoutes().all.select(path);
+    }
+
+    /**
+     * Selects the subresource locators and the resource methods supporting the given
+     * HTTP method whose URI templates may match the given path
+     *
+     * @param httpMethod the request HTTP method
+     * @param path the request path relative to the resource
+     * @return the candidate operations in the registration order
+     */
+    public List<OperationResourceInfo> getOperationResourceInfos(String httpMethod, String path) {
+        Routes r = getRoutes();
+        URITemplateIndex<OperationResourceInfo> index = r.byMethod.get(httpMethod);
+        return (index != null ? index : r.all).select(path);
+    }
+
+    /**
+     * Builds the routing index of the current operations, it is otherwise built on the first request
+     */
+    public void buildRoutes() {
+        getRoutes();
+    }
+
+    private Routes getRoutes() {
+        Routes r = routes;
+        if (r == null) {
+            r = new Routes(oriToMethod.keySet());
+            routes = r;
+        }
+        return r;
+    }
+
     public Method getMethod(OperationResourceInfo op) {
         return oriToMethod.get(op);
     }
@@ -73,4 +122,30 @@ public class MethodDispatcher {
     public void addProxyMethod(Method m, Method proxyM) {
         proxyMethodMap.putIfAbsent(m, proxyM);
     }
+
+    private static final class Routes {
+        private final URITemplateIndex<OperationResourceInfo> all;
+        private final Map<String, URITemplateIndex<OperationResourceInfo>> byMethod = new HashMap<>();
+
+        Routes(Set<OperationResourceInfo> oris) {
+            all = new URITemplateIndex<>(oris, OperationResourceInfo::getURITemplate);
+            Set<String> httpMethods = new HashSet<>();
+            httpMethods.add(HttpMethod.HEAD);
+            httpMethods.add(HttpMethod.OPTIONS);
+            for (OperationResourceInfo ori : oris) {
+                if (ori.getHttpMethod() != null) {
+                    httpMethods.add(ori.getHttpMethod());
+                }
+            }
+            for (String httpMethod : httpMethods) {
+                List<OperationResourceInfo> supported = new ArrayList<>(oris.size());
+                for (OperationResourceInfo ori : oris) {
+                    if (ori.isSubResourceLocator() || JAXRSUtils.matchHttpMethod(ori.getHttpMethod(), httpMethod)) {
+                        supported.add(ori);
+                    }
+                }
+                byMethod.put(httpMethod, new URITemplateIndex<>(supported, OperationResourceInfo::getURITemplate));
+            }
+        }
+    }
 }
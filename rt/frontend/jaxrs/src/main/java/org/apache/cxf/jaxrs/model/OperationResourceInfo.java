@@ -55,6 +55,7 @@ public class OperationResourceInfo {
     private Type[] actualInGenericParamTypes;
     private Annotation[][] actualInParamAnnotations;
     private Annotation[] actualOutParamAnnotations;
+    private ResourceMethodInvoker resourceMethodInvoker;
 
     public OperationResourceInfo(Method mInvoke, ClassResourceInfo cri) {
         this(mInvoke, mInvoke, cri);
@@ -297,4 +298,16 @@ public class OperationResourceInfo {
         return actualOutParamAnnotations;
     }
 
+    /**
+     * Returns the invoker created for this operation at the endpoint creation time,
+     * null if the resource method is invoked reflectively
+     */
+    public ResourceMethodInvoker getResourceMethodInvoker() {
+        return resourceMethodInvoker;
+    }
+
+    public void setResourceMethodInvoker(ResourceMethodInvoker invoker) {
+        resourceMethodInvoker = invoker;
+    }
+
 }
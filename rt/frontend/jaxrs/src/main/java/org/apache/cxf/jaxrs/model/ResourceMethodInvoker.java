@@ -0,0 +1,156 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.jaxrs.model;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.cxf.common.logging.LogUtils;
+import org.apache.cxf.jaxrs.utils.InjectionUtils;
+import org.apache.cxf.message.Exchange;
+
+/**
+ * Invokes a resource method through a single {@link MethodHandle} which accepts the target
+ * object and the array of the converted request parameters, instead of {@link Method#invoke}.
+ * The parameter classes and generic types resolved against the resource class are kept too,
+ * so they do not have to be worked out again for every request.
+ */
+public final class ResourceMethodInvoker {
+    private static final Logger LOG = LogUtils.getL7dLogger(ResourceMethodInvoker.class);
+    private static final MethodType INVOKER_TYPE =
+        MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    private final Method method;
+    private final MethodHandle handle;
+    private final Class<?>[] argumentClasses;
+    private final boolean[] primitives;
+    private final Class<?>[] parameterClasses;
+    private final Type[] genericParameterTypes;
+
+    private ResourceMethodInvoker(Method method, MethodHandle handle,
+                                  Class<?>[] parameterClasses, Type[] genericParameterTypes) {
+        this.method = method;
+        this.handle = handle;
+        // the classes the handle casts the arguments to, primitives are unboxed
+        this.argumentClasses = method.getParameterTypes();
+        this.primitives = new boolean[argumentClasses.length];
+        for (int i = 0; i < argumentClasses.length; i++) {
+            primitives[i] = argumentClasses[i].isPrimitive();
+            argumentClasses[i] = MethodType.methodType(argumentClasses[i]).wrap().returnType();
+        }
+        this.parameterClasses = parameterClasses;
+        this.genericParameterTypes = genericParameterTypes;
+    }
+
+    /**
+     * Creates the invoker for the operation method or returns null if the method can only
+     * be invoked reflectively, for example, if it is not public or declared by a non-public class.
+     */
+    public static ResourceMethodInvoker create(OperationResourceInfo ori) {
+        Method m = ori.getMethodToInvoke();
+        if (Modifier.isStatic(m.getModifiers()) || Proxy.isProxyClass(m.getDeclaringClass())) {
+            return null;
+        }
+        Class<?>[] types = ori.getInParameterTypes();
+        if (types.length != m.getParameterCount()) {
+            return null;
+        }
+        for (Class<?> type : m.getParameterTypes()) {
+            if (type == Exchange.class) {
+                // the exchange is inserted by AbstractInvoker
+                return null;
+            }
+        }
+        final MethodHandle mh;
+        try {
+            mh = MethodHandles.publicLookup().unreflect(m)
+                .asType(MethodType.genericMethodType(types.length + 1))
+                .asSpreader(Object[].class, types.length)
+                .asType(INVOKER_TYPE);
+        } catch (IllegalAccessException ex) {
+            if (LOG.isLoggable(Level.FINE)) {
+                LOG.fine("Resource method " + m + " will be invoked reflectively: " + ex.getMessage());
+            }
+            return null;
+        }
+
+        Class<?> serviceClass = ori.getClassResourceInfo().getServiceClass();
+        Type[] genericTypes = ori.getInGenericParameterTypes();
+        Class<?>[] paramClasses = new Class<?>[types.length];
+        Type[] paramTypes = new Type[types.length];
+        for (int i = 0; i < types.length; i++) {
+            paramTypes[i] = InjectionUtils.processGenericTypeIfNeeded(serviceClass, types[i], genericTypes[i]);
+            paramClasses[i] = InjectionUtils.updateParamClassToTypeIfNeeded(types[i], paramTypes[i]);
+        }
+        return new ResourceMethodInvoker(m, mh, paramClasses, paramTypes);
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    /**
+     * Returns the parameter classes, with type variables resolved against the resource class
+     */
+    public Class<?>[] getParameterClasses() {
+        return parameterClasses;
+    }
+
+    /**
+     * Returns the generic parameter types, with type variables resolved against the resource class
+     */
+    public Type[] getGenericParameterTypes() {
+        return genericParameterTypes;
+    }
+
+    /**
+     * Checks if this invoker can be used instead of invoking the method reflectively, the target
+     * and every parameter must be accepted by the method, a null primitive is not. Otherwise the
+     * method is left to {@link Method#invoke} which reports such mismatches as
+     * {@link IllegalArgumentException}.
+     */
+    public boolean canInvoke(Method m, Object target, Object[] params) {
+        if (!method.equals(m) || params.length != argumentClasses.length
+            || !method.getDeclaringClass().isInstance(target)) {
+            return false;
+        }
+        for (int i = 0; i < params.length; i++) {
+            Object param = params[i];
+            if (param == null ? primitives[i] : !argumentClasses[i].isInstance(param)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Invokes the method, any exception thrown by the method is rethrown as is. The parameters
+     * are expected to have been checked with {@link #canInvoke(Method, Object, Object[])}.
+     */
+    public Object invoke(Object target, Object[] params) throws Throwable {
+        return handle.invokeExact(target, params);
+    }
+}
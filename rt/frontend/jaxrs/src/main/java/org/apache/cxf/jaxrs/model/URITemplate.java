@@ -44,6 +44,8 @@ public final class URITemplate {
     public static final String FINAL_MATCH_GROUP = "FINAL_MATCH_GROUP";
     private static final String DEFAULT_PATH_VARIABLE_REGEX = "([^/]+?)";
     private static final String CHARACTERS_TO_ESCAPE = ".*+$()";
+    private static final String REGEX_META_CHARACTERS = "\\^[]{}?|";
+    private static final String LINE_TERMINATORS = "\n\r\u0085\u2028\u2029";
     private static final String SLASH = "/";
     private static final String SLASH_QUOTE = "/;";
     private static final int MAX_URI_TEMPLATE_CACHE_SIZE = 
@@ -56,6 +58,9 @@ public final class URITemplate {
     private final Pattern templateRegexPattern;
     private final String literals;
     private final List<UriChunk> uriChunks;
+    // encoded literals around the variables of a template without custom regular expressions
+    // whose variables span whole path segments, null if the regular expression has to be used
+    private final String[] segmentLiterals;
 
     public URITemplate(String theTemplate) {
         template = theTemplate;
@@ -104,6 +109,35 @@ public final class URITemplate {
         patternBuilder.append(LIMITED_REGEX_SUFFIX);
 
         templateRegexPattern = Pattern.compile(patternBuilder.toString());
+        segmentLiterals = createSegmentLiterals(uriChunks);
+    }
+
+    private static String[] createSegmentLiterals(List<UriChunk> chunks) {
+        List<String> segmentLiterals = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        for (UriChunk chunk : chunks) {
+            if (chunk instanceof Variable) {
+                if (((Variable)chunk).getPattern() != null
+                    || literal.length() == 0 || literal.charAt(literal.length() - 1) != '/') {
+                    return null;
+                }
+                segmentLiterals.add(literal.toString());
+                literal.setLength(0);
+            } else {
+                String encodedValue = HttpUtils.encodePartiallyEncoded(chunk.getValue(), false);
+                if (!segmentLiterals.isEmpty() && literal.length() == 0 && !encodedValue.startsWith(SLASH)
+                    || !isLiteralSegment(encodedValue)) {
+                    return null;
+                }
+                literal.append(encodedValue);
+            }
+        }
+        // the trailing slash is not part of the pattern either
+        if (literal.length() > 0 && literal.charAt(literal.length() - 1) == '/') {
+            literal.setLength(literal.length() - 1);
+        }
+        segmentLiterals.add(literal.toString());
+        return segmentLiterals.toArray(new String[0]);
     }
 
     public String getLiteralChars() {
@@ -118,6 +152,47 @@ public final class URITemplate {
         return templateRegexPattern.toString();
     }
 
+    /**
+     * Leading path segments of this template which can only be matched literally, e.g. ["foo", "bar"]
+     * for "/foo/bar/{baz}". Any request path matched by this template starts with these segments.
+     *
+     * @return encoded literal segments or null if the template does not start with a slash
+     */
+    List<String> getLiteralPathSegments() {
+        StringBuilder sb = new StringBuilder();
+        boolean variable = false;
+        for (UriChunk chunk : uriChunks) {
+            if (chunk instanceof Variable) {
+                variable = true;
+                break;
+            }
+            sb.append(HttpUtils.encodePartiallyEncoded(chunk.getValue(), false));
+        }
+        if (sb.length() == 0 || sb.charAt(0) != '/') {
+            return null;
+        }
+        String[] parts = sb.substring(1).split(SLASH, -1);
+        // the last part is either followed by a variable or is a trailing slash dropped from the pattern
+        int count = variable || parts[parts.length - 1].isEmpty() ? parts.length - 1 : parts.length;
+        List<String> segments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            if (!isLiteralSegment(parts[i])) {
+                break;
+            }
+            segments.add(parts[i]);
+        }
+        return segments;
+    }
+
+    private static boolean isLiteralSegment(String segment) {
+        for (int i = 0; i < segment.length(); i++) {
+            if (REGEX_META_CHARACTERS.indexOf(segment.charAt(i)) != -1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * List of all variables in order of appearance in template.
      *
@@ -185,6 +260,22 @@ public final class URITemplate {
             return false;
         }
 
+        if (segmentLiterals != null && !(template.equals(SLASH) && uri.startsWith(SLASH_QUOTE))) {
+            int[] offsets = variables.isEmpty() ? null : new int[variables.size() * 2];
+            int end = matchSegments(uri, offsets);
+            if (end != -1) {
+                for (int i = 0; i < variables.size(); i++) {
+                    templateVariableToValue.add(variables.get(i), uri.substring(offsets[2 * i], offsets[2 * i + 1]));
+                }
+                String finalGroup = end == uri.length() || uri.startsWith(SLASH_QUOTE, end)
+                    ? SLASH : uri.substring(end);
+                templateVariableToValue.putSingle(FINAL_MATCH_GROUP, finalGroup);
+                return true;
+            } else if (uri.indexOf(';') == -1) {
+                return false;
+            }
+        }
+
         Matcher m = templateRegexPattern.matcher(uri);
         if (!m.matches() || template.equals(SLASH) && uri.startsWith(SLASH_QUOTE)) {
             if (uri.contains(";")) {
@@ -247,6 +338,58 @@ public final class URITemplate {
         return true;
     }
 
+    /**
+     * Checks if the uri may match this template without extracting the template variable values.
+     * Templates with custom regular expressions are only checked by {@link #match(String, MultivaluedMap)}.
+     *
+     * @param uri the uri to check
+     * @return false if the uri does not match this template
+     */
+    public boolean canMatch(String uri) {
+        return uri == null || segmentLiterals == null || uri.indexOf(';') != -1 || matchSegments(uri, null) != -1;
+    }
+
+    /**
+     * Matches the uri against the segment literals, the same way the template regular expression would.
+     *
+     * @return the start of the final match group or -1 if the uri does not match
+     */
+    private int matchSegments(String uri, int[] offsets) {
+        int pos = 0;
+        for (int i = 0; i < segmentLiterals.length; i++) {
+            if (i > 0) {
+                // a variable spans the whole segment but can not be empty
+                int end = uri.indexOf('/', pos);
+                if (end == -1) {
+                    end = uri.length();
+                }
+                if (end == pos) {
+                    return -1;
+                }
+                if (offsets != null) {
+                    offsets[2 * i - 2] = pos;
+                    offsets[2 * i - 1] = end;
+                }
+                pos = end;
+            }
+            String literal = segmentLiterals[i];
+            if (!uri.startsWith(literal, pos)) {
+                return -1;
+            }
+            pos += literal.length();
+        }
+        if (pos < uri.length() && uri.charAt(pos) != '/') {
+            return -1;
+        }
+        // '.' in the final group does not match line terminators
+        for (int i = pos; i < uri.length(); i++) {
+            if (LINE_TERMINATORS.indexOf(uri.charAt(i)) != -1) {
+                return -1;
+            }
+        }
+        return pos;
+    }
+
     /**
      * Substitutes template variables with listed values. List of values is counterpart for
      * {@link #getVariables() list of variables}. When list of value is shorter than variables substitution
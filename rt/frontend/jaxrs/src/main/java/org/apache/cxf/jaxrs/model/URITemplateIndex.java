@@ -0,0 +1,131 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.jaxrs.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Prefix trie over the leading literal path segments of a group of {@link URITemplate}s.
+ * Selecting the candidates for a request path only walks the literal segments of that path,
+ * templates which can not possibly match it are never evaluated. The selected candidates
+ * keep the registration order so matching and sorting them produces the same result as
+ * matching every template in turn.
+ *
+ * @param <T> resource or operation type owning the templates
+ */
+public final class URITemplateIndex<T> {
+    private final List<T> values;
+    private final Node root = new Node();
+
+    public URITemplateIndex(Collection<? extends T> values, Function<? super T, URITemplate> templates) {
+        this.values = Collections.unmodifiableList(new ArrayList<>(values));
+        for (int i = 0; i < this.values.size(); i++) {
+            URITemplate template = templates.apply(this.values.get(i));
+            if (template == null) {
+                continue;
+            }
+            Node node = root;
+            List<String> segments = template.getLiteralPathSegments();
+            if (segments != null) {
+                for (String segment : segments) {
+                    node = node.children.computeIfAbsent(segment, s -> new Node());
+                }
+            }
+            node.add(i);
+        }
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    public List<T> getValues() {
+        return values;
+    }
+
+    /**
+     * Selects the values whose templates may match the given path
+     *
+     * @param path the encoded request path, matrix parameters included
+     * @return the candidates in the registration order
+     */
+    public List<T> select(String path) {
+        // matrix parameters are stripped by URITemplate only when the literal match fails
+        if (path == null || !path.startsWith("/") || path.indexOf(';') != -1) {
+            return values;
+        }
+        int[] found = root.indexes;
+        int count = root.size;
+        boolean merged = false;
+        Node node = root;
+        int start = 1;
+        while (start <= path.length() && !node.children.isEmpty()) {
+            int end = path.indexOf('/', start);
+            if (end == -1) {
+                end = path.length();
+            }
+            node = node.children.get(path.substring(start, end));
+            if (node == null) {
+                break;
+            }
+            if (node.size > 0) {
+                if (count == 0) {
+                    found = node.indexes;
+                } else {
+                    found = Arrays.copyOf(found, count + node.size);
+                    System.arraycopy(node.indexes, 0, found, count, node.size);
+                    merged = true;
+                }
+                count += node.size;
+            }
+            start = end + 1;
+        }
+        if (count == 0) {
+            return Collections.emptyList();
+        }
+        if (merged) {
+            Arrays.sort(found, 0, count);
+        }
+        List<T> candidates = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            candidates.add(values.get(found[i]));
+        }
+        return candidates;
+    }
+
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private int[] indexes = new int[0];
+        private int size;
+
+        void add(int index) {
+            if (size == indexes.length) {
+                indexes = Arrays.copyOf(indexes, size + 4);
+            }
+            indexes[size++] = index;
+        }
+    }
+}
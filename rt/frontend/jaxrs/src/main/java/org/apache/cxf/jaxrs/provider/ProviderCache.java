@@ -21,10 +21,12 @@ package org.apache.cxf.jaxrs.provider;
 
 import java.security.AccessController;
 import java.security.PrivilegedAction;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.ext.MessageBodyReader;
@@ -32,6 +34,13 @@ import jakarta.ws.rs.ext.MessageBodyWriter;
 import org.apache.cxf.common.util.SystemPropertyAction;
 import org.apache.cxf.jaxrs.model.ProviderInfo;
 
+/**
+ * Candidate message body readers and writers indexed by the Java type and then the media type.
+ * The index is populated once with the entity types of the resource methods and is never evicted,
+ * the types only seen at runtime are cached up to {@code org.apache.cxf.jaxrs.max_provider_cache_size}
+ * Java types. The index is bypassed when all candidates are checked, they are then gathered
+ * for the request which first sees a type and media type, like for the types only seen at runtime.
+ */
 public class ProviderCache {
     private static final int MAX_PROVIDER_CACHE_SIZE =
         AccessController.doPrivileged(new PrivilegedAction<Integer>() {
@@ -39,12 +48,14 @@ public class ProviderCache {
             public Integer run() {
                 return SystemPropertyAction.getInteger("org.apache.cxf.jaxrs.max_provider_cache_size", 100);
             } }).intValue();
+    private static final int MAX_MEDIA_TYPES_PER_TYPE = 16;
 
-    private final Map<String, List<ProviderInfo<MessageBodyReader<?>>>>
-        readerProviderCache = new ConcurrentHashMap<>();
-
-    private final Map<String, List<ProviderInfo<MessageBodyWriter<?>>>>
-        writerProviderCache = new ConcurrentHashMap<>();
+    private final Map<Class<?>, MediaTypeEntry<?>[]> readerIndex = new ConcurrentHashMap<>();
+    private final Map<Class<?>, MediaTypeEntry<?>[]> writerIndex = new ConcurrentHashMap<>();
+    private final Map<Class<?>, MediaTypeEntry<?>[]> readerProviderCache = new ConcurrentHashMap<>();
+    private final Map<Class<?>, MediaTypeEntry<?>[]> writerProviderCache = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
 
     private boolean checkAllCandidates;
     public ProviderCache(boolean checkAllCandidates) {
@@ -52,62 +63,148 @@ public class ProviderCache {
     }
 
     public List<ProviderInfo<MessageBodyReader<?>>> getReaders(Class<?> type, MediaType mt) {
-        if (readerProviderCache.isEmpty()) {
-            return Collections.emptyList();
-        }
-        String key = getKey(type, mt);
-
-        List<ProviderInfo<MessageBodyReader<?>>> list = readerProviderCache.get(key);
-        return list != null ? list : Collections.emptyList();
+        return get(readerIndex, readerProviderCache, type, mt);
     }
-    public List<ProviderInfo<MessageBodyWriter<?>>> getWriters(Class<?> type, MediaType mt) {
-        if (writerProviderCache.isEmpty()) {
-            return Collections.emptyList();
-        }
-
-        String key = getKey(type, mt);
 
-        List<ProviderInfo<MessageBodyWriter<?>>> list = writerProviderCache.get(key);
-        return list != null ? list : Collections.emptyList();
+    public List<ProviderInfo<MessageBodyWriter<?>>> getWriters(Class<?> type, MediaType mt) {
+        return get(writerIndex, writerProviderCache, type, mt);
     }
 
     public void putReaders(Class<?> type, MediaType mt, List<ProviderInfo<MessageBodyReader<?>>> candidates) {
-        if (candidates == null || candidates.isEmpty()) {
-            return;
-        }
-        checkCacheSize(readerProviderCache);
-
-        String key = getKey(type, mt);
-        readerProviderCache.put(key, candidates);
+        put(readerProviderCache, type, mt, candidates, true);
     }
 
     public void putWriters(Class<?> type, MediaType mt, List<ProviderInfo<MessageBodyWriter<?>>> candidates) {
-        if (candidates == null || candidates.isEmpty()) {
-            return;
+        put(writerProviderCache, type, mt, candidates, true);
+    }
+
+    /**
+     * Adds the complete list of reader candidates of the type and media type to the index
+     */
+    public void indexReaders(Class<?> type, MediaType mt, List<ProviderInfo<MessageBodyReader<?>>> candidates) {
+        if (!checkAllCandidates) {
+            put(readerIndex, type, mt, candidates, false);
         }
-        checkCacheSize(writerProviderCache);
+    }
 
-        String key = getKey(type, mt);
-        writerProviderCache.put(key, candidates);
+    /**
+     * Adds the complete list of writer candidates of the type and media type to the index
+     */
+    public void indexWriters(Class<?> type, MediaType mt, List<ProviderInfo<MessageBodyWriter<?>>> candidates) {
+        if (!checkAllCandidates) {
+            put(writerIndex, type, mt, candidates, false);
+        }
     }
 
     public void destroy() {
+        this.readerIndex.clear();
+        this.writerIndex.clear();
         this.readerProviderCache.clear();
         this.writerProviderCache.clear();
     }
 
-    private String getKey(Class<?> type, MediaType mt) {
-        return type.getName() + "-" + mt.toString();
+    public boolean isCheckAllCandidates() {
+        return checkAllCandidates;
+    }
+
+    public long getHits() {
+        return hits.sum();
     }
 
-    private static void checkCacheSize(Map<?, ?> map) {
-        final int size = map.size();
-        if (size >= MAX_PROVIDER_CACHE_SIZE) {
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public int getIndexedTypes() {
+        return readerIndex.size() + writerIndex.size();
+    }
+
+    public int getCachedTypes() {
+        return readerProviderCache.size() + writerProviderCache.size();
+    }
+
+    public void resetStatistics() {
+        hits.reset();
+        misses.reset();
+    }
+
+    private <T> List<ProviderInfo<T>> get(Map<Class<?>, MediaTypeEntry<?>[]> index,
+                                          Map<Class<?>, MediaTypeEntry<?>[]> cache,
+                                          Class<?> type, MediaType mt) {
+        List<ProviderInfo<T>> list = find(index, type, mt);
+        if (list == null) {
+            list = find(cache, type, mt);
+        }
+        if (list == null) {
+            misses.increment();
+            return Collections.emptyList();
+        }
+        hits.increment();
+        return list;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<ProviderInfo<T>> find(Map<Class<?>, MediaTypeEntry<?>[]> map,
+                                                  Class<?> type, MediaType mt) {
+        if (map.isEmpty()) {
+            return null;
+        }
+        MediaTypeEntry<?>[] entries = map.get(type);
+        if (entries != null) {
+            for (MediaTypeEntry<?> entry : entries) {
+                if (entry.matches(mt)) {
+                    return (List<ProviderInfo<T>>)(List<?>)entry.providers;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static <T> void put(Map<Class<?>, MediaTypeEntry<?>[]> map, Class<?> type, MediaType mt,
+                                List<ProviderInfo<T>> candidates, boolean bounded) {
+        if (candidates == null || candidates.isEmpty()) {
+            return;
+        }
+        MediaTypeEntry<T> added = new MediaTypeEntry<>(mt, candidates);
+        map.compute(type, (t, entries) -> {
+            if (entries == null) {
+                return new MediaTypeEntry<?>[] {added};
+            }
+            for (int i = 0; i < entries.length; i++) {
+                if (entries[i].matches(mt)) {
+                    MediaTypeEntry<?>[] replaced = entries.clone();
+                    replaced[i] = added;
+                    return replaced;
+                }
+            }
+            // arbitrary parameters such as a multipart boundary must not make the list grow without limits
+            if (bounded && entries.length >= MAX_MEDIA_TYPES_PER_TYPE) {
+                return new MediaTypeEntry<?>[] {added};
+            }
+            MediaTypeEntry<?>[] extended = Arrays.copyOf(entries, entries.length + 1);
+            extended[entries.length] = added;
+            return extended;
+        });
+        if (bounded && map.size() > MAX_PROVIDER_CACHE_SIZE) {
             map.clear();
+            map.put(type, new MediaTypeEntry<?>[] {added});
         }
     }
 
-    public boolean isCheckAllCandidates() {
-        return checkAllCandidates;
+    private static final class MediaTypeEntry<T> {
+        private final MediaType mediaType;
+        private final List<ProviderInfo<T>> providers;
+
+        MediaTypeEntry(MediaType mediaType, List<ProviderInfo<T>> providers) {
+            this.mediaType = mediaType;
+            this.providers = providers;
+        }
+
+        boolean matches(MediaType mt) {
+            return mediaType == mt
+                || mediaType.getType().equalsIgnoreCase(mt.getType())
+                    && mediaType.getSubtype().equalsIgnoreCase(mt.getSubtype())
+                    && mediaType.getParameters().equals(mt.getParameters());
+        }
     }
 }
@@ -0,0 +1,94 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.jaxrs.provider;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import org.apache.cxf.Bus;
+import org.apache.cxf.management.ManagedComponent;
+import org.apache.cxf.management.ManagementConstants;
+import org.apache.cxf.management.annotation.ManagedAttribute;
+import org.apache.cxf.management.annotation.ManagedOperation;
+import org.apache.cxf.management.annotation.ManagedResource;
+
+@ManagedResource(componentName = "ProviderCache",
+                 description = "The message body reader and writer index of a JAX-RS endpoint",
+                 currencyTimeLimit = 15, persistPolicy = "OnUpdate", persistPeriod = 200)
+public class ProviderCacheMBean implements ManagedComponent {
+    private static final String TYPE_VALUE = "JAXRS.ProviderCache";
+
+    private final Bus bus;
+    private final String address;
+    private final ProviderCache cache;
+
+    public ProviderCacheMBean(Bus bus, String address, ProviderCache cache) {
+        this.bus = bus;
+        this.address = address;
+        this.cache = cache;
+    }
+
+    @ManagedAttribute(description = "The address of the endpoint")
+    public String getAddress() {
+        return address;
+    }
+
+    @ManagedAttribute(description = "The number of lookups which found candidate providers")
+    public long getHits() {
+        return cache.getHits();
+    }
+
+    @ManagedAttribute(description = "The number of lookups which had to check all the providers")
+    public long getMisses() {
+        return cache.getMisses();
+    }
+
+    @ManagedAttribute(description = "The number of Java types indexed for the resource methods")
+    public int getIndexedTypes() {
+        return cache.getIndexedTypes();
+    }
+
+    @ManagedAttribute(description = "The number of Java types cached at runtime")
+    public int getCachedTypes() {
+        return cache.getCachedTypes();
+    }
+
+    @ManagedAttribute(description = "Whether all the candidates or only the first one are cached at runtime")
+    public boolean isCheckAllCandidates() {
+        return cache.isCheckAllCandidates();
+    }
+
+    @ManagedOperation(description = "Resets the hit and miss counters")
+    public void resetStatistics() {
+        cache.resetStatistics();
+    }
+
+    @Override
+    public ObjectName getObjectName() throws JMException {
+        String busId = bus.getId();
+        StringBuilder buffer = new StringBuilder(ManagementConstants.DEFAULT_DOMAIN_NAME).append(':')
+            .append(ManagementConstants.BUS_ID_PROP).append('=').append(busId).append(',')
+            .append(ManagementConstants.TYPE_PROP).append('=').append(TYPE_VALUE).append(',')
+            .append(ManagementConstants.NAME_PROP).append('=').append(ObjectName.quote(String.valueOf(address)))
+            .append(',')
+            // Added the instance id to make the ObjectName unique
+            .append(ManagementConstants.INSTANCE_ID_PROP).append('=').append(cache.hashCode());
+        return new ObjectName(buffer.toString());
+    }
+}
@@ -504,11 +504,11 @@ public abstract class ProviderFactory {
                                                             Message m) {
         // Step1: check the cache
 
-        if (providerCache != null) {
-            for (ProviderInfo<MessageBodyReader<?>> ep : providerCache.getReaders(type, mediaType)) {
-                if (isReadable(ep, type, genericType, annotations, mediaType, m)) {
-                    return (MessageBodyReader<T>)ep.getProvider();
-                }
+        List<ProviderInfo<MessageBodyReader<?>>> cached = providerCache != null
+            ? providerCache.getReaders(type, mediaType) : Collections.emptyList();
+        for (ProviderInfo<MessageBodyReader<?>> ep : cached) {
+            if (isReadable(ep, type, genericType, annotations, mediaType, m)) {
+                return (MessageBodyReader<T>)ep.getProvider();
             }
         }
 
@@ -523,7 +523,7 @@ public abstract class ProviderFactory {
                 // This writer matches Media Type and Class
                 if (checkAll) {
                     allCandidates.add(ep);
-                } else if (providerCache != null && providerCache.getReaders(type, mediaType).isEmpty()) {
+                } else if (providerCache != null && cached.isEmpty()) {
                     providerCache.putReaders(type, mediaType, Collections.singletonList(ep));
                 }
                 if (selectedReader == null
@@ -551,11 +551,11 @@ public abstract class ProviderFactory {
                                                             Message m) {
 
         // Step1: check the cache.
-        if (providerCache != null) {
-            for (ProviderInfo<MessageBodyWriter<?>> ep : providerCache.getWriters(type, mediaType)) {
-                if (isWriteable(ep, type, genericType, annotations, mediaType, m)) {
-                    return (MessageBodyWriter<T>)ep.getProvider();
-                }
+        List<ProviderInfo<MessageBodyWriter<?>>> cached = providerCache != null
+            ? providerCache.getWriters(type, mediaType) : Collections.emptyList();
+        for (ProviderInfo<MessageBodyWriter<?>> ep : cached) {
+            if (isWriteable(ep, type, genericType, annotations, mediaType, m)) {
+                return (MessageBodyWriter<T>)ep.getProvider();
             }
         }
 
@@ -573,7 +573,7 @@ public abstract class ProviderFactory {
                 // This writer matches Media Type and Class
                 if (checkAll) {
                     allCandidates.add(ep);
-                } else if (providerCache != null && providerCache.getWriters(type, mediaType).isEmpty()) {
+                } else if (providerCache != null && cached.isEmpty()) {
                     providerCache.putWriters(type, mediaType, Collections.singletonList(ep));
                 }
                 if (selectedWriter == null
@@ -594,6 +594,46 @@ public abstract class ProviderFactory {
 
     }
 
+    public ProviderCache getProviderCache() {
+        return providerCache;
+    }
+
+    /**
+     * Adds the readers supporting the entity type and the concrete media types to the provider index
+     */
+    protected void indexMessageBodyReaders(Class<?> type, List<MediaType> mediaTypes) {
+        for (MediaType mt : mediaTypes) {
+            if (!mt.isWildcardType() && !mt.isWildcardSubtype()) {
+                List<ProviderInfo<MessageBodyReader<?>>> candidates = new ArrayList<>();
+                for (ProviderInfo<MessageBodyReader<?>> ep : messageReaders) {
+                    if (matchesReaderMediaTypes(ep, mt)
+                        && handleMapper(ep, type, null, MessageBodyReader.class, false)) {
+                        candidates.add(ep);
+                    }
+                }
+                providerCache.indexReaders(type, mt, candidates);
+            }
+        }
+    }
+
+    /**
+     * Adds the writers supporting the entity type and the concrete media types to the provider index
+     */
+    protected void indexMessageBodyWriters(Class<?> type, List<MediaType> mediaTypes) {
+        for (MediaType mt : mediaTypes) {
+            if (!mt.isWildcardType() && !mt.isWildcardSubtype()) {
+                List<ProviderInfo<MessageBodyWriter<?>>> candidates = new ArrayList<>();
+                for (ProviderInfo<MessageBodyWriter<?>> ep : messageWriters) {
+                    if (matchesWriterMediaTypes(ep, mt)
+                        && handleMapper(ep, type, null, MessageBodyWriter.class, false)) {
+                        candidates.add(ep);
+                    }
+                }
+                providerCache.indexWriters(type, mt, candidates);
+            }
+        }
+    }
+
     protected void setBusProviders() {
         List<Object> extensions = new LinkedList<>();
         addBusExtension(extensions,
@@ -669,6 +709,7 @@ public abstract class ProviderFactory {
         sortWriters();
         sortContextResolvers();
         sortParamConverterProviders();
+        clearProviderCache();
 
         mapInterceptorFilters(readerInterceptors, readInts, ReaderInterceptor.class, true);
         mapInterceptorFilters(writerInterceptors, writeInts, WriterInterceptor.class, true);
@@ -742,6 +783,12 @@ public abstract class ProviderFactory {
             doCustomSort(messageReaders);
         }
     }
+    private void clearProviderCache() {
+        if (providerCache != null) {
+            providerCache.destroy();
+        }
+    }
+
     private <T> void sortWriters() {
         if (!customComparatorAvailable(MessageBodyWriter.class)) {
             messageWriters.sort(new MessageBodyWriterComparator());
@@ -996,6 +1043,7 @@ public abstract class ProviderFactory {
     }
 
     public void clearProviders() {
+        clearProviderCache();
         messageReaders.clear();
         messageWriters.clear();
         contextResolvers.clear();
@@ -1519,6 +1567,7 @@ public abstract class ProviderFactory {
         sortReaders();
         sortWriters();
         sortParamConverterProviders();
+        clearProviderCache();
         
         NameKeyMap<ProviderInfo<ReaderInterceptor>> sortedReaderInterceptors =
             new NameKeyMap<>(
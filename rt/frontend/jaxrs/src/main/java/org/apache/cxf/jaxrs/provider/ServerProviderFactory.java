@@ -20,10 +20,12 @@ package org.apache.cxf.jaxrs.provider;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -43,12 +45,14 @@ import jakarta.ws.rs.core.Configurable;
 import jakarta.ws.rs.core.Configuration;
 import jakarta.ws.rs.core.Feature;
 import jakarta.ws.rs.core.FeatureContext;
+import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.ext.ExceptionMapper;
 import jakarta.ws.rs.ext.ReaderInterceptor;
 import jakarta.ws.rs.ext.WriterInterceptor;
 import org.apache.cxf.Bus;
 import org.apache.cxf.BusFactory;
 import org.apache.cxf.common.util.ClassHelper;
+import org.apache.cxf.common.util.PropertyUtils;
 import org.apache.cxf.endpoint.Endpoint;
 import org.apache.cxf.helpers.CastUtils;
 import org.apache.cxf.jaxrs.impl.ConfigurableImpl;
@@ -63,6 +67,8 @@ import org.apache.cxf.jaxrs.model.BeanParamInfo;
 import org.apache.cxf.jaxrs.model.ClassResourceInfo;
 import org.apache.cxf.jaxrs.model.FilterProviderInfo;
 import org.apache.cxf.jaxrs.model.OperationResourceInfo;
+import org.apache.cxf.jaxrs.model.Parameter;
+import org.apache.cxf.jaxrs.model.ParameterType;
 import org.apache.cxf.jaxrs.model.ProviderInfo;
 import org.apache.cxf.jaxrs.nio.NioMessageBodyWriter;
 import org.apache.cxf.jaxrs.utils.AnnotationUtils;
@@ -395,6 +401,52 @@ public final class ServerProviderFactory extends ProviderFactory {
         }
     }
 
+    /**
+     * Indexes the readers and writers of the request and response entity types of the resource methods
+     * so they only have to be checked with isReadable or isWriteable at runtime
+     */
+    public void indexMessageBodyProviders(Endpoint ep, List<ClassResourceInfo> list) {
+        if (getProviderCache() == null || getProviderCache().isCheckAllCandidates()
+            || PropertyUtils.isTrue(getBus().getProperty(IGNORE_TYPE_VARIABLES))
+            || ep != null && PropertyUtils.isTrue(ep.get(IGNORE_TYPE_VARIABLES))) {
+            return;
+        }
+        Set<ClassResourceInfo> visited = new HashSet<>();
+        for (ClassResourceInfo cri : list) {
+            doIndexMessageBodyProviders(cri, visited);
+        }
+    }
+
+    private void doIndexMessageBodyProviders(ClassResourceInfo cri, Set<ClassResourceInfo> visited) {
+        if (!visited.add(cri)) {
+            return;
+        }
+        for (OperationResourceInfo ori : cri.getMethodDispatcher().getOperationResourceInfos()) {
+            if (ori.isSubResourceLocator()) {
+                continue;
+            }
+            Class<?>[] types = ori.getInParameterTypes();
+            for (Parameter p : ori.getParameters()) {
+                if (p.getType() == ParameterType.REQUEST_BODY && p.getIndex() < types.length) {
+                    indexMessageBodyReaders(types[p.getIndex()], ori.getConsumeTypes());
+                }
+            }
+            Class<?> returnType = ori.getMethodToInvoke().getReturnType();
+            if (isConcreteEntityType(returnType)) {
+                indexMessageBodyWriters(returnType, ori.getProduceTypes());
+            }
+        }
+        for (ClassResourceInfo sub : cri.getSubResources()) {
+            doIndexMessageBodyProviders(sub, visited);
+        }
+    }
+
+    private static boolean isConcreteEntityType(Class<?> type) {
+        // the writers are selected by the runtime class of the entity
+        return type != void.class && type != Object.class && !Response.class.isAssignableFrom(type)
+            && !type.isInterface() && !Modifier.isAbstract(type.getModifiers());
+    }
+
     public Configuration getConfiguration(Message m) {
         return new ServerConfigurationImpl();
     }
@@ -152,6 +152,13 @@ public final class InjectionUtils {
 
     private static final String IGNORE_MATRIX_PARAMETERS = "ignore.matrix.parameters";
 
+    private static final ClassValue<StringFactories> STRING_FACTORIES = new ClassValue<StringFactories>() {
+        @Override
+        protected StringFactories computeValue(Class<?> cls) {
+            return new StringFactories(cls);
+        }
+    };
+
     private static ProxyClassLoaderCache proxyClassLoaderCache =
         new ProxyClassLoaderCache();
 
@@ -489,12 +496,12 @@ public final class InjectionUtils {
         if (pClass == String.class && !adapterHasToBeUsed) {
             return pClass.cast(value);
         }
+        final StringFactories factories = STRING_FACTORIES.get(cls);
         // check constructors accepting a single String value
         try {
-            Constructor<?> c = cls.getConstructor(new Class<?>[]{String.class});
-            result = c.newInstance(new Object[]{value});
-        } catch (NoSuchMethodException ex) {
-            // try valueOf
+            if (factories.constructor != null) {
+                result = factories.constructor.newInstance(new Object[]{value});
+            }
         } catch (WebApplicationException ex) {
             throw ex;
         } catch (Exception ex) {
@@ -507,10 +514,7 @@ public final class InjectionUtils {
         }
         if (result == null) {
             // check for valueOf(String) static methods
-            String[] methodNames = cls.isEnum()
-                ? new String[] {"fromString", "fromValue", "valueOf"}
-                : new String[] {"valueOf", "fromString"};
-            result = evaluateFactoryMethods(value, pType, result, cls, methodNames);
+            result = evaluateFactoryMethods(value, pType, result, cls, factories.methods);
         }
 
         if (adapterHasToBeUsed) {
@@ -590,11 +594,12 @@ public final class InjectionUtils {
     }
 
     private static Object evaluateFactoryMethods(String value, ParameterType pType, Object result,
-                                                 Class<?> cls, String[] methodNames) {
+                                                 Class<?> cls, Method[] methods) {
         Exception factoryMethodEx = null;
-        for (String mName : methodNames) {
+        for (Method m : methods) {
+            String mName = m.getName();
             try {
-                result = evaluateFactoryMethod(value, cls, mName);
+                result = evaluateFactoryMethod(value, cls, m);
                 if (result != null) {
                     factoryMethodEx = null;
                     break;
@@ -620,15 +625,10 @@ public final class InjectionUtils {
 
     private static <T> T evaluateFactoryMethod(String value,
                                                Class<T> pClass,
-                                               String methodName)
+                                               Method m)
         throws InvocationTargetException {
         try {
-            Method m = pClass.getMethod(methodName, new Class<?>[]{String.class});
-            if (Modifier.isStatic(m.getModifiers())) {
-                return pClass.cast(m.invoke(null, new Object[]{value}));
-            }
-        } catch (NoSuchMethodException ex) {
-            // no luck: try another factory methods
+            return pClass.cast(m.invoke(null, new Object[]{value}));
         } catch (IllegalAccessException ex) {
             // factory method is not accessible: try another
         }
@@ -636,6 +636,40 @@ public final class InjectionUtils {
         return null;
     }
 
+    /**
+     * The public String constructor and static factory methods of the parameter class,
+     * looked up once per class rather than on every conversion
+     */
+    private static final class StringFactories {
+        private final Constructor<?> constructor;
+        private final Method[] methods;
+
+        StringFactories(Class<?> cls) {
+            Constructor<?> c = null;
+            try {
+                c = cls.getConstructor(new Class<?>[]{String.class});
+            } catch (NoSuchMethodException ex) {
+                // try valueOf
+            }
+            constructor = c;
+            String[] methodNames = cls.isEnum()
+                ? new String[] {"fromString", "fromValue", "valueOf"}
+                : new String[] {"valueOf", "fromString"};
+            List<Method> list = new ArrayList<>(methodNames.length);
+            for (String mName : methodNames) {
+                try {
+                    Method m = cls.getMethod(mName, new Class<?>[]{String.class});
+                    if (Modifier.isStatic(m.getModifiers())) {
+                        list.add(m);
+                    }
+                } catch (NoSuchMethodException ex) {
+                    // no luck: try another factory methods
+                }
+            }
+            methods = list.toArray(new Method[0]);
+        }
+    }
+
     private static Throwable getOrThrowActualException(Throwable ex) {
         Throwable t = ex instanceof InvocationTargetException ? ((InvocationTargetException)ex).getCause() : ex;
         if (t instanceof WebApplicationException) {
@@ -32,6 +32,7 @@ import java.lang.reflect.Type;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
@@ -136,6 +137,7 @@ import org.apache.cxf.jaxrs.model.OperationResourceInfoStack;
 import org.apache.cxf.jaxrs.model.Parameter;
 import org.apache.cxf.jaxrs.model.ParameterType;
 import org.apache.cxf.jaxrs.model.ProviderInfo;
+import org.apache.cxf.jaxrs.model.ResourceMethodInvoker;
 import org.apache.cxf.jaxrs.model.URITemplate;
 import org.apache.cxf.jaxrs.provider.AbstractConfigurableProvider;
 import org.apache.cxf.jaxrs.provider.ProviderFactory;
@@ -161,6 +163,16 @@ public final class JAXRSUtils {
     public static final String DOC_LOCATION = "wadl.location";
     public static final String MEDIA_TYPE_Q_PARAM = "q";
     public static final String MEDIA_TYPE_QS_PARAM = "qs";
+    /**
+     * Contextual property, set it to false to match the request path against
+     * every resource and operation URI template instead of using the routing index
+     */
+    public static final String ROUTING_INDEX = "org.apache.cxf.jaxrs.routing.index";
+    /**
+     * Endpoint or bus property, set it to true to have the resource methods invoked
+     * with the method handles created for every operation when the endpoint is created
+     */
+    public static final String METHOD_HANDLE_INVOKERS = "org.apache.cxf.jaxrs.invoker.methodHandles";
     private static final String MEDIA_TYPE_DISTANCE_PARAM = "d";
     private static final String DEFAULT_CONTENT_TYPE = "default.content.type";
     private static final String KEEP_SUBRESOURCE_CANDIDATES = "keep.subresource.candidates";
@@ -465,9 +477,9 @@ public final class JAXRSUtils {
             new TreeMap<ClassResourceInfo, MultivaluedMap<String, String>>(
                 new ClassResourceInfoComparator(message));
 
-        for (ClassResourceInfo cri : resources) {
-            MultivaluedMap<String, String> map = new MetadataMap<>();
-            if (cri.getURITemplate().match(path, map)) {
+        for (ClassResourceInfo cri : selectResourceCandidates(resources, path, message)) {
+            MultivaluedMap<String, String> map = cri.getURITemplate().canMatch(path) ? new MetadataMap<>() : null;
+            if (map != null && cri.getURITemplate().match(path, map)) {
                 candidateList.put(cri, map);
                 LOG.fine(() -> new org.apache.cxf.common.i18n.Message("CRI_SELECTED_POSSIBLY",
                                                                 BUNDLE,
@@ -507,6 +519,25 @@ public final class JAXRSUtils {
 
         return null;
     }
+
+    private static List<ClassResourceInfo> selectResourceCandidates(List<ClassResourceInfo> resources,
+                                                                    String path, Message message) {
+        if (!isRoutingIndexEnabled(message)) {
+            return resources;
+        }
+        Service service = message.getExchange().getService();
+        if (service instanceof JAXRSServiceImpl
+            && ((JAXRSServiceImpl)service).getClassResourceInfos() == resources) {
+            return ((JAXRSServiceImpl)service).getClassResourceInfoIndex().select(path);
+        }
+        return resources;
+    }
+
+    private static boolean isRoutingIndexEnabled(Message message) {
+        return message != null && message.getExchange() != null
+            && MessageUtils.getContextualBoolean(message, ROUTING_INDEX, true);
+    }
+
     public static OperationResourceInfo findTargetMethod(
         Map<ClassResourceInfo, MultivaluedMap<String, String>> matchedResources,
         Message message,
@@ -547,6 +578,7 @@ public final class JAXRSUtils {
         int consumeMatched = 0;
         
         List<OperationResourceInfo> finalPathSubresources = null;
+        final boolean routingIndex = isRoutingIndexEnabled(message);
         for (Map.Entry<ClassResourceInfo, MultivaluedMap<String, String>> rEntry : matchedResources.entrySet()) {
             ClassResourceInfo resource = rEntry.getKey();
             MultivaluedMap<String, String> values = rEntry.getValue();
@@ -556,12 +588,18 @@ public final class JAXRSUtils {
                                                                   BUNDLE,
                                                                   resource.getServiceClass().getName()).toString());
 
-            for (OperationResourceInfo ori : resource.getMethodDispatcher().getOperationResourceInfos()) {
+            // the index only returns the operations supporting this HTTP method,
+            // the path match of the others is checked if no operation is found
+            Collection<OperationResourceInfo> operations = routingIndex
+                ? resource.getMethodDispatcher().getOperationResourceInfos(httpMethod, path)
+                : resource.getMethodDispatcher().getOperationResourceInfos();
+            for (OperationResourceInfo ori : operations) {
                 boolean added = false;
 
                 URITemplate uriTemplate = ori.getURITemplate();
-                MultivaluedMap<String, String> map = new MetadataMap<>(values);
-                if (uriTemplate != null && uriTemplate.match(path, map)) {
+                MultivaluedMap<String, String> map = uriTemplate != null && uriTemplate.canMatch(path)
+                    ? new MetadataMap<>(values) : null;
+                if (map != null && uriTemplate.match(path, map)) {
                     String finalGroup = map.getFirst(URITemplate.FINAL_MATCH_GROUP);
                     boolean finalPath = StringUtils.isEmpty(finalGroup) || PATH_SEGMENT_SEP.equals(finalGroup);
 
@@ -643,7 +681,7 @@ public final class JAXRSUtils {
 
         // criteria matched the least number of times will determine the error code;
         // priority : path, method, consumes, produces;
-        if (pathMatched == 0) {
+        if (pathMatched == 0 && (!routingIndex || !matchResourceMethodPath(matchedResources))) {
             status = 404;
         } else if (methodMatched == 0) {
             status = 405;
@@ -676,6 +714,24 @@ public final class JAXRSUtils {
 
 
 
+    private static boolean matchResourceMethodPath(
+        Map<ClassResourceInfo, MultivaluedMap<String, String>> matchedResources) {
+        for (Map.Entry<ClassResourceInfo, MultivaluedMap<String, String>> rEntry : matchedResources.entrySet()) {
+            String path = getCurrentPath(rEntry.getValue());
+            for (OperationResourceInfo ori : rEntry.getKey().getMethodDispatcher().getOperationResourceInfos(path)) {
+                MultivaluedMap<String, String> map = new MetadataMap<>(rEntry.getValue());
+                if (!ori.isSubResourceLocator() && ori.getURITemplate() != null
+                    && ori.getURITemplate().match(path, map)) {
+                    String finalGroup = map.getFirst(URITemplate.FINAL_MATCH_GROUP);
+                    if (StringUtils.isEmpty(finalGroup) || PATH_SEGMENT_SEP.equals(finalGroup)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
     public static Level getExceptionLogLevel(Message message, Class<? extends WebApplicationException> exClass) {
         Level logLevel = null;
         Object logLevelProp = message.get(exClass.getName() + ".log.level");
@@ -787,7 +843,7 @@ public final class JAXRSUtils {
         return rb.build();
     }
 
-    private static boolean matchHttpMethod(String expectedMethod, String httpMethod) {
+    public static boolean matchHttpMethod(String expectedMethod, String httpMethod) {
         return expectedMethod.equalsIgnoreCase(httpMethod)
             || headMethodPossible(expectedMethod, httpMethod)
             || expectedMethod.equals(DefaultMethod.class.getSimpleName());
@@ -969,11 +1025,17 @@ public final class JAXRSUtils {
         Annotation[][] anns = ori.getInParameterAnnotations();
         Object[] params = new Object[parameterTypesLength];
 
+        ResourceMethodInvoker invoker = preferModelParams ? null : ori.getResourceMethodInvoker();
+
         // Ensure we process all request-body parameters first, then all @*Params, etc.
         ParamTuple[] tuple = new ParamTuple[parameterTypesLength];
         for (int i = 0; i < parameterTypesLength; i++) {
             tuple[i] = new ParamTuple();
-            if (!preferModelParams) {
+            if (invoker != null) {
+                tuple[i].param = invoker.getParameterClasses()[i];
+                tuple[i].genericParam = invoker.getGenericParameterTypes()[i];
+                tuple[i].paramAnns = anns == null ? EMPTY_ANNOTATIONS : anns[i];
+            } else if (!preferModelParams) {
                 tuple[i].param = parameterTypes[i];
                 tuple[i].genericParam = InjectionUtils.processGenericTypeIfNeeded(
                     ori.getClassResourceInfo().getServiceClass(), tuple[i].param, genericParameterTypes[i]);
@@ -19,19 +19,25 @@
 package org.apache.cxf.jaxrs;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.ext.ExceptionMapper;
 import org.apache.cxf.endpoint.Server;
+import org.apache.cxf.jaxrs.model.ClassResourceInfo;
+import org.apache.cxf.jaxrs.model.OperationResourceInfo;
+import org.apache.cxf.jaxrs.model.ResourceMethodInvoker;
 import org.apache.cxf.jaxrs.provider.ServerProviderFactory;
 import org.apache.cxf.jaxrs.resources.BookStore;
+import org.apache.cxf.jaxrs.utils.JAXRSUtils;
 import org.apache.cxf.message.MessageImpl;
 
 import org.junit.Test;
 
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 
 public class JAXRSServerFactoryBeanTest {
@@ -67,6 +73,37 @@ public class JAXRSServerFactoryBeanTest {
     }
 
 
+    @Test
+    public void testMethodHandleInvokers() {
+        JAXRSServerFactoryBean bean = new JAXRSServerFactoryBean();
+        bean.setAddress("http://localhost:8080/rest");
+        bean.setStart(false);
+        bean.setResourceClasses(BookStore.class);
+        bean.setProperties(Collections.singletonMap(JAXRSUtils.METHOD_HANDLE_INVOKERS, "true"));
+        bean.create();
+
+        ClassResourceInfo cri = bean.getServiceFactory().getClassResourceInfo().get(0);
+        for (OperationResourceInfo ori : cri.getMethodDispatcher().getOperationResourceInfos()) {
+            ResourceMethodInvoker invoker = ori.getResourceMethodInvoker();
+            assertNotNull(invoker);
+            assertSame(ori.getMethodToInvoke(), invoker.getMethod());
+        }
+    }
+
+    @Test
+    public void testNoMethodHandleInvokersByDefault() {
+        JAXRSServerFactoryBean bean = new JAXRSServerFactoryBean();
+        bean.setAddress("http://localhost:8080/rest");
+        bean.setStart(false);
+        bean.setResourceClasses(BookStore.class);
+        bean.create();
+
+        ClassResourceInfo cri = bean.getServiceFactory().getClassResourceInfo().get(0);
+        for (OperationResourceInfo ori : cri.getMethodDispatcher().getOperationResourceInfos()) {
+            assertNull(ori.getResourceMethodInvoker());
+        }
+    }
+
     private static final class CustomExceptionMapper implements ExceptionMapper<Exception> {
 
         public Response toResponse(Exception exception) {
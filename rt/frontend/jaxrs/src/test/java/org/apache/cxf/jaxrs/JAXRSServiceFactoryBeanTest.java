@@ -74,6 +74,24 @@ public class JAXRSServiceFactoryBeanTest {
 
     }
 
+    @Test
+    public void testClassResourceInfoIndexRebuiltOnReplacement() throws Exception {
+        JAXRSServiceFactoryBean sf = new JAXRSServiceFactoryBean();
+        sf.setResourceClasses(org.apache.cxf.jaxrs.resources.BookStoreNoSubResource.class);
+        sf.create();
+
+        JAXRSServiceImpl service = (JAXRSServiceImpl)sf.getService();
+        List<ClassResourceInfo> resources = service.getClassResourceInfos();
+        assertEquals(resources, service.getClassResourceInfoIndex().select("/bookstore/books/123"));
+
+        ClassResourceInfo replacement = new ClassResourceInfo(org.apache.cxf.jaxrs.resources.BookStore.class);
+        replacement.setURITemplate(URITemplate.createTemplate("/store"));
+        replacement.setMethodDispatcher(new MethodDispatcher());
+        resources.set(0, replacement);
+        assertEquals(resources, service.getClassResourceInfoIndex().select("/store"));
+        assertTrue(service.getClassResourceInfoIndex().select("/bookstore/books/123").isEmpty());
+    }
+
     @Test
     public void testSubresourcesOnlyDynamicResolution() throws Exception {
         JAXRSServiceFactoryBean sf = new JAXRSServiceFactoryBean();
@@ -0,0 +1,137 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.jaxrs.model;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.QueryParam;
+import org.apache.cxf.jaxrs.utils.ResourceUtils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ResourceMethodInvokerTest {
+
+    @Test
+    public void testInvoke() throws Throwable {
+        ResourceMethodInvoker invoker = createInvoker(Resource.class, "get");
+        assertNotNull(invoker);
+        Resource resource = new Resource();
+        Object[] params = new Object[] {42L, "a"};
+        assertTrue(invoker.canInvoke(invoker.getMethod(), resource, params));
+        assertEquals("a42", invoker.invoke(resource, params));
+
+        assertFalse(invoker.canInvoke(invoker.getMethod(), new Object(), params));
+        assertFalse(invoker.canInvoke(invoker.getMethod(), resource, new Object[] {42L}));
+        assertFalse(invoker.canInvoke(Resource.class.getMethod("fail"), resource, params));
+    }
+
+    @Test
+    public void testCannotInvokeWithMismatchedParameters() {
+        ResourceMethodInvoker invoker = createInvoker(Resource.class, "get");
+        Resource resource = new Resource();
+        assertTrue(invoker.canInvoke(invoker.getMethod(), resource, new Object[] {42L, null}));
+        // left to Method.invoke which reports them as IllegalArgumentException
+        assertFalse(invoker.canInvoke(invoker.getMethod(), resource, new Object[] {null, "a"}));
+        assertFalse(invoker.canInvoke(invoker.getMethod(), resource, new Object[] {42, "a"}));
+        assertFalse(invoker.canInvoke(invoker.getMethod(), resource, new Object[] {42L, 1}));
+    }
+
+    @Test
+    public void testInvokeVoidMethodRethrowsException() {
+        ResourceMethodInvoker invoker = createInvoker(Resource.class, "fail");
+        try {
+            invoker.invoke(new Resource(), new Object[] {});
+            fail("IOException expected");
+        } catch (IOException ex) {
+            assertEquals("fail", ex.getMessage());
+        } catch (Throwable t) {
+            fail("IOException expected");
+        }
+    }
+
+    @Test
+    public void testGenericParameterTypes() throws Throwable {
+        ResourceMethodInvoker invoker = createInvoker(StringResource.class, "echo");
+        assertSame(String.class, invoker.getParameterClasses()[0]);
+        assertSame(String.class, invoker.getGenericParameterTypes()[0]);
+        assertEquals("b", invoker.invoke(new StringResource(), new Object[] {"b"}));
+    }
+
+    @Test
+    public void testNonPublicClass() {
+        assertNull(createInvoker(HiddenResource.class, "get"));
+    }
+
+    private static ResourceMethodInvoker createInvoker(Class<?> cls, String name) {
+        ClassResourceInfo cri = ResourceUtils.createClassResourceInfo(cls, cls, true, true);
+        for (OperationResourceInfo ori : cri.getMethodDispatcher().getOperationResourceInfos()) {
+            Method m = ori.getMethodToInvoke();
+            if (m.getName().equals(name)) {
+                return ResourceMethodInvoker.create(ori);
+            }
+        }
+        throw new IllegalArgumentException(name);
+    }
+
+    @Path("/")
+    public static class Resource {
+        @GET
+        @Path("{id}")
+        public String get(@PathParam("id") long id, @QueryParam("q") String q) {
+            return q + id;
+        }
+
+        @POST
+        public void fail() throws IOException {
+            throw new IOException("fail");
+        }
+    }
+
+    public static class GenericResource<T> {
+        @POST
+        public T echo(T value) {
+            return value;
+        }
+    }
+
+    @Path("/")
+    public static class StringResource extends GenericResource<String> {
+    }
+
+    @Path("/")
+    static class HiddenResource {
+        @GET
+        public String get() {
+            return "hidden";
+        }
+    }
+}
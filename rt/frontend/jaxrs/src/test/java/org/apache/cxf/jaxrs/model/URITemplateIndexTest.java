@@ -0,0 +1,104 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.jaxrs.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import org.apache.cxf.jaxrs.impl.MetadataMap;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class URITemplateIndexTest {
+    private static final List<URITemplate> TEMPLATES = Arrays.asList(
+        URITemplate.createTemplate("/"),
+        URITemplate.createTemplate("/{id}"),
+        URITemplate.createTemplate("/bookstore"),
+        URITemplate.createTemplate("/bookstore/{id}"),
+        URITemplate.createTemplate("/bookstore/books/{id: \\d+}"),
+        URITemplate.createTemplate("/bookstore/books/"),
+        URITemplate.createTemplate("/bookstore/books/{id}/chapters"),
+        URITemplate.createTemplate("/book{id}"),
+        URITemplate.createTemplate("/catalog/items"),
+        URITemplate.createTemplate("/catalog/{path: .*}"),
+        URITemplate.createTemplate("/a b/c"),
+        URITemplate.createTemplate("/x|y/z"),
+        URITemplate.createExactTemplate("{id}/foo"));
+
+    private static final List<String> PATHS = Arrays.asList(
+        "/", "/bookstore", "/bookstore/", "/bookstores", "/bookstore/books", "/bookstore/books/",
+        "/bookstore/books/123", "/bookstore/books/123/chapters", "/bookstore/books/abc/chapters/1",
+        "/bookstore;a=b/books", "/bookstore/books;c=d", "/book1", "//bookstore", "/catalog/items",
+        "/catalog/items/1", "/catalog/shelf/1/2", "/a%20b/c", "/x|y/z", "/x%7Cy/z", "/1/foo", "1/foo");
+
+    @Test
+    public void testLiteralPathSegments() {
+        assertEquals(Collections.emptyList(), URITemplate.createTemplate("/").getLiteralPathSegments());
+        assertEquals(Collections.emptyList(), URITemplate.createTemplate("/{id}").getLiteralPathSegments());
+        assertEquals(Arrays.asList("bookstore"),
+                     URITemplate.createTemplate("/bookstore/").getLiteralPathSegments());
+        assertEquals(Arrays.asList("bookstore", "books"),
+                     URITemplate.createTemplate("/bookstore/books/{id}/chapters").getLiteralPathSegments());
+        assertEquals(Arrays.asList("bookstore"),
+                     URITemplate.createTemplate("/bookstore/book{id}").getLiteralPathSegments());
+        assertEquals(Arrays.asList("a%20b", "c"), URITemplate.createTemplate("/a b/c").getLiteralPathSegments());
+        assertNull(URITemplate.createExactTemplate("{id}/foo").getLiteralPathSegments());
+    }
+
+    @Test
+    public void testSelectKeepsRegistrationOrder() {
+        URITemplateIndex<URITemplate> index = new URITemplateIndex<>(TEMPLATES, Function.identity());
+        assertEquals(Arrays.asList(TEMPLATES.get(0), TEMPLATES.get(1), TEMPLATES.get(2), TEMPLATES.get(3),
+                                   TEMPLATES.get(4), TEMPLATES.get(5), TEMPLATES.get(6), TEMPLATES.get(7),
+                                   TEMPLATES.get(12)),
+                     index.select("/bookstore/books/1"));
+        assertEquals(Arrays.asList(TEMPLATES.get(0), TEMPLATES.get(1), TEMPLATES.get(7), TEMPLATES.get(12)),
+                     index.select("/book1"));
+    }
+
+    @Test
+    public void testSelectAllForMatrixParameters() {
+        URITemplateIndex<URITemplate> index = new URITemplateIndex<>(TEMPLATES, Function.identity());
+        assertSame(index.getValues(), index.select("/bookstore;a=b/books"));
+        assertSame(index.getValues(), index.select(null));
+    }
+
+    @Test
+    public void testSelectIncludesAllMatchingTemplates() {
+        URITemplateIndex<URITemplate> index = new URITemplateIndex<>(TEMPLATES, Function.identity());
+        for (String path : PATHS) {
+            List<URITemplate> matching = new ArrayList<>();
+            for (URITemplate template : TEMPLATES) {
+                if (template.match(path, new MetadataMap<String, String>())) {
+                    matching.add(template);
+                }
+            }
+            List<URITemplate> candidates = index.select(path);
+            assertTrue(path + " : " + matching + " not in " + candidates, candidates.containsAll(matching));
+        }
+    }
+}
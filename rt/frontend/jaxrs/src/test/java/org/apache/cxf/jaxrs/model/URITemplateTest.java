@@ -22,6 +22,8 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import jakarta.ws.rs.core.MultivaluedMap;
 import org.apache.cxf.jaxrs.impl.MetadataMap;
@@ -799,4 +801,53 @@ public class URITemplateTest {
         assertTrue("should match '/cxf' url", t2.match("/cxf", values));
         Assert.assertEquals("cxf", values.get("project").get(0));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testSegmentMatch() {
+        URITemplate t = new URITemplate("/orders/{id}/items/{itemId}");
+        MultivaluedMap<String, String> values = new MetadataMap<>();
+        assertTrue(t.canMatch("/orders/1/items/2/details"));
+        assertTrue(t.match("/orders/1/items/2/details", values));
+        assertEquals("1", values.getFirst("id"));
+        assertEquals("2", values.getFirst("itemId"));
+        assertEquals("/details", values.getFirst(URITemplate.FINAL_MATCH_GROUP));
+
+        assertFalse(t.canMatch("/orders//items/2"));
+        assertFalse(t.canMatch("/orders/1/items"));
+        assertFalse(t.canMatch("/orders/1/itemsx/2"));
+        assertTrue(t.canMatch("/orders;a=b/1/items/2"));
+        values.clear();
+        assertTrue(t.match("/orders;a=b/1/items/2", values));
+        assertEquals("2", values.getFirst("itemId"));
+    }
+
+    @Test
+    public void testSegmentMatchSameAsPattern() {
+        List<String> templates = Arrays.asList("/", "/orders", "/orders/", "/orders/{id}", "/orders/{id}/",
+            "/{a}/{b}", "/orders/{id}/items/{itemId}", "/a b/{id}", "/a.b/{id}", "/book{id}", "/{id}.xml",
+            "/orders/{id: \\d+}");
+        List<String> uris = Arrays.asList("", "/", "/orders", "/orders/", "/ordersx", "/orders/1", "/orders/1/",
+            "/orders/1/2", "/orders/1/items/2", "/orders/1/items/2/", "/orders/1/items/2/x/y", "/a%20b/1",
+            "/a.b/1", "/axb/1", "/book1", "/1.xml", "//", "/orders//", "/orders/1/x\ny", "/orders/1\n");
+        for (String value : templates) {
+            URITemplate t = new URITemplate(value);
+            Pattern p = Pattern.compile(t.getPatternValue());
+            for (String uri : uris) {
+                Matcher m = p.matcher(uri);
+                MultivaluedMap<String, String> values = new MetadataMap<>();
+                boolean matches = m.matches();
+                assertEquals(value + " : " + uri, matches, t.match(uri, values));
+                assertTrue(value + " : " + uri, !matches || t.canMatch(uri));
+                if (matches) {
+                    for (int i = 0; i < t.getVariables().size(); i++) {
+                        assertEquals(value + " : " + uri, m.group(i + 1),
+                                     values.get(t.getVariables().get(i)).get(0));
+                    }
+                    String finalGroup = m.group(m.groupCount());
+                    assertEquals(value + " : " + uri, finalGroup == null ? "/" : finalGroup,
+                                 values.getFirst(URITemplate.FINAL_MATCH_GROUP));
+                }
+            }
+        }
+    }
+}
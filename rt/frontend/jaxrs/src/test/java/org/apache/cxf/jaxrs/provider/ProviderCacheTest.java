@@ -0,0 +1,81 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.jaxrs.provider;
+
+import java.util.Collections;
+import java.util.List;
+
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.ext.MessageBodyReader;
+import org.apache.cxf.jaxrs.model.ProviderInfo;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ProviderCacheTest {
+
+    @Test
+    public void testIndexedReaders() {
+        ProviderCache cache = new ProviderCache(false);
+        List<ProviderInfo<MessageBodyReader<?>>> candidates = readers();
+        cache.indexReaders(String.class, MediaType.APPLICATION_JSON_TYPE, candidates);
+
+        assertEquals(candidates, cache.getReaders(String.class, MediaType.valueOf("Application/JSON")));
+        assertTrue(cache.getReaders(String.class, MediaType.valueOf("application/json;charset=UTF-8")).isEmpty());
+        assertTrue(cache.getReaders(Integer.class, MediaType.APPLICATION_JSON_TYPE).isEmpty());
+        assertTrue(cache.getWriters(String.class, MediaType.APPLICATION_JSON_TYPE).isEmpty());
+        assertEquals(1, cache.getHits());
+        assertEquals(3, cache.getMisses());
+        assertEquals(1, cache.getIndexedTypes());
+        assertEquals(0, cache.getCachedTypes());
+
+        cache.resetStatistics();
+        assertEquals(0, cache.getHits());
+        assertEquals(0, cache.getMisses());
+    }
+
+    @Test
+    public void testNoIndexWhenCheckingAllCandidates() {
+        ProviderCache cache = new ProviderCache(true);
+        cache.indexReaders(String.class, MediaType.APPLICATION_JSON_TYPE, readers());
+        assertEquals(0, cache.getIndexedTypes());
+        assertTrue(cache.getReaders(String.class, MediaType.APPLICATION_JSON_TYPE).isEmpty());
+    }
+
+    @Test
+    public void testCachedMediaTypesAreBounded() {
+        ProviderCache cache = new ProviderCache(false);
+        List<ProviderInfo<MessageBodyReader<?>>> candidates = readers();
+        cache.indexReaders(String.class, MediaType.APPLICATION_JSON_TYPE, candidates);
+        for (int i = 0; i < 100; i++) {
+            cache.putReaders(String.class, MediaType.valueOf("multipart/form-data;boundary=" + i), candidates);
+        }
+        assertEquals(candidates, cache.getReaders(String.class, MediaType.valueOf("multipart/form-data;boundary=99")));
+        assertTrue(cache.getReaders(String.class, MediaType.valueOf("multipart/form-data;boundary=0")).isEmpty());
+        // the index is never evicted
+        assertEquals(candidates, cache.getReaders(String.class, MediaType.APPLICATION_JSON_TYPE));
+    }
+
+    private static List<ProviderInfo<MessageBodyReader<?>>> readers() {
+        return Collections.singletonList(
+            new ProviderInfo<MessageBodyReader<?>>(new StringTextProvider(), null, true));
+    }
+}
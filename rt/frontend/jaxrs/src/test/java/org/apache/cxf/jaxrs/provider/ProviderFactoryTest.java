@@ -70,12 +70,14 @@ import org.apache.cxf.jaxrs.Customer;
 import org.apache.cxf.jaxrs.CustomerParameterHandler;
 import org.apache.cxf.jaxrs.JAXBContextProvider;
 import org.apache.cxf.jaxrs.JAXBContextProvider2;
+import org.apache.cxf.jaxrs.JAXRSServiceFactoryBean;
 import org.apache.cxf.jaxrs.PriorityCustomerParameterHandler;
 import org.apache.cxf.jaxrs.impl.MetadataMap;
 import org.apache.cxf.jaxrs.impl.WebApplicationExceptionMapper;
 import org.apache.cxf.jaxrs.model.AbstractResourceInfo;
 import org.apache.cxf.jaxrs.model.ProviderInfo;
 import org.apache.cxf.jaxrs.resources.Book;
+import org.apache.cxf.jaxrs.resources.BookStoreNoSubResource;
 import org.apache.cxf.jaxrs.resources.SuperBook;
 import org.apache.cxf.message.Exchange;
 import org.apache.cxf.message.ExchangeImpl;
@@ -419,6 +421,53 @@ public class ProviderFactoryTest {
         assertSame(wc2, readers.get(8).getProvider());
     }
 
+    @Test
+    public void testIndexMessageBodyProviders() {
+        JAXRSServiceFactoryBean sf = new JAXRSServiceFactoryBean();
+        sf.setResourceClasses(BookStoreNoSubResource.class);
+        sf.create();
+        ServerProviderFactory pf = ServerProviderFactory.getInstance();
+        pf.indexMessageBodyProviders(null, sf.getClassResourceInfo());
+        ProviderCache cache = pf.getProviderCache();
+        assertEquals(2, cache.getIndexedTypes());
+
+        MessageBodyWriter<Book> writer = pf.createMessageBodyWriter(Book.class, Book.class, new Annotation[]{},
+                                                                    MediaType.APPLICATION_XML_TYPE, new MessageImpl());
+        assertTrue(writer instanceof JAXBElementProvider);
+        assertEquals(1, cache.getHits());
+        assertEquals(0, cache.getMisses());
+
+        // the index is rebuilt from scratch once the providers change
+        pf.registerUserProvider(new JAXBElementProvider<Book>());
+        assertEquals(0, cache.getIndexedTypes());
+    }
+
+    @Test
+    public void testIndexBypassedWhenCheckingAllCandidates() {
+        JAXRSServiceFactoryBean sf = new JAXRSServiceFactoryBean();
+        sf.setResourceClasses(BookStoreNoSubResource.class);
+        sf.create();
+        Bus bus = BusFactory.newInstance().createBus();
+        bus.setProperty("org.apache.cxf.jaxrs.provider.cache.checkAllCandidates", true);
+        ServerProviderFactory pf = ServerProviderFactory.createInstance(bus);
+        pf.indexMessageBodyProviders(null, sf.getClassResourceInfo());
+        ProviderCache cache = pf.getProviderCache();
+        assertEquals(0, cache.getIndexedTypes());
+
+        MessageBodyWriter<Book> writer = pf.createMessageBodyWriter(Book.class, Book.class, new Annotation[]{},
+                                                                    MediaType.APPLICATION_XML_TYPE, new MessageImpl());
+        assertTrue(writer instanceof JAXBElementProvider);
+        assertEquals(0, cache.getHits());
+        assertEquals(1, cache.getCachedTypes());
+        // all the candidates of the first request are cached, not only the selected one
+        List<ProviderInfo<MessageBodyWriter<?>>> candidates =
+            cache.getWriters(Book.class, MediaType.APPLICATION_XML_TYPE);
+        assertTrue(candidates.size() > 1);
+        assertSame(writer, pf.createMessageBodyWriter(Book.class, Book.class, new Annotation[]{},
+                                                      MediaType.APPLICATION_XML_TYPE, new MessageImpl()));
+        bus.shutdown(true);
+    }
+
     @Test
     public void testCustomJaxbProvider() {
         ProviderFactory pf = ServerProviderFactory.getInstance();
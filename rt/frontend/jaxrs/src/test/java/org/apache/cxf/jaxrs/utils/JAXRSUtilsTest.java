@@ -28,6 +28,7 @@ import java.lang.reflect.Type;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -103,6 +104,7 @@ import org.apache.cxf.message.Exchange;
 import org.apache.cxf.message.ExchangeImpl;
 import org.apache.cxf.message.Message;
 import org.apache.cxf.message.MessageImpl;
+import org.apache.cxf.service.Service;
 import org.apache.cxf.transport.http.AbstractHTTPDestination;
 
 import org.junit.After;
@@ -361,6 +363,50 @@ public class JAXRSUtilsTest {
 
     }
 
+    @Test
+    public void testFindTargetResourceClassWithRoutingIndex() throws Exception {
+        JAXRSServiceFactoryBean sf = new JAXRSServiceFactoryBean();
+        sf.setResourceClasses(org.apache.cxf.jaxrs.resources.BookStoreNoSubResource.class,
+                              org.apache.cxf.jaxrs.resources.TestResourceTemplate3.class,
+                              org.apache.cxf.jaxrs.resources.TestResourceTemplate4.class);
+        sf.create();
+        JAXRSServiceImpl service = (JAXRSServiceImpl)sf.getService();
+        List<ClassResourceInfo> resources = service.getClassResourceInfos();
+
+        for (String path : Arrays.asList("/", "/test", "/test/1", "/bookstore/1/books", "/bookstore/1/books/123",
+                                         "/bookstore;a=b/1/books", "/bookstores/1/books")) {
+            Message indexed = createMessage();
+            indexed.getExchange().put(Service.class, service);
+            Message linear = createMessage();
+            linear.getExchange().put(Service.class, service);
+            linear.put(JAXRSUtils.ROUTING_INDEX, false);
+            assertEquals(path, JAXRSUtils.selectResourceClass(resources, path, linear),
+                         JAXRSUtils.selectResourceClass(resources, path, indexed));
+        }
+
+        Message m = createMessage();
+        m.getExchange().put(Service.class, service);
+        Map<ClassResourceInfo, MultivaluedMap<String, String>> mResources =
+            JAXRSUtils.selectResourceClass(resources, "/bookstore/1/books/123", m);
+        assertEquals("deleteBook", JAXRSUtils.findTargetMethod(mResources, m, "DELETE",
+            new MetadataMap<String, String>(), "*/*", getTypes("application/xml")).getMethodToInvoke().getName());
+        try {
+            JAXRSUtils.findTargetMethod(mResources, m, "OPTIONS",
+                new MetadataMap<String, String>(), "*/*", getTypes("application/xml"));
+            fail("405 is expected");
+        } catch (WebApplicationException ex) {
+            assertEquals(405, ex.getResponse().getStatus());
+        }
+        mResources = JAXRSUtils.selectResourceClass(resources, "/bookstore/1/chapters/123", m);
+        try {
+            JAXRSUtils.findTargetMethod(mResources, m, "GET",
+                new MetadataMap<String, String>(), "*/*", getTypes("application/xml"));
+            fail("404 is expected");
+        } catch (WebApplicationException ex) {
+            assertEquals(404, ex.getResponse().getStatus());
+        }
+    }
+
     private List<MediaType> getTypes(String types) {
         return JAXRSUtils.parseMediaTypes(types);
     }
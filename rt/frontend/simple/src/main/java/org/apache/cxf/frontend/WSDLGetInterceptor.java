@@ -19,8 +19,18 @@
 
 package org.apache.cxf.frontend;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 
 import org.w3c.dom.Document;
 
@@ -28,6 +38,7 @@ import org.apache.cxf.binding.soap.interceptor.EndpointSelectionInterceptor;
 import org.apache.cxf.common.util.StringUtils;
 import org.apache.cxf.common.util.UrlUtils;
 import org.apache.cxf.endpoint.Endpoint;
+import org.apache.cxf.helpers.CastUtils;
 import org.apache.cxf.interceptor.Fault;
 import org.apache.cxf.interceptor.Interceptor;
 import org.apache.cxf.interceptor.MessageSenderInterceptor;
@@ -35,13 +46,33 @@ import org.apache.cxf.interceptor.OutgoingChainInterceptor;
 import org.apache.cxf.interceptor.StaxOutInterceptor;
 import org.apache.cxf.message.Message;
 import org.apache.cxf.message.MessageImpl;
+import org.apache.cxf.message.MessageUtils;
 import org.apache.cxf.phase.AbstractPhaseInterceptor;
 import org.apache.cxf.phase.Phase;
+import org.apache.cxf.service.model.EndpointInfo;
+import org.apache.cxf.staxutils.StaxUtils;
 import org.apache.cxf.transport.common.gzip.GZIPOutInterceptor;
+import org.apache.cxf.transport.common.gzip.PrecompressedContent;
 
 public class WSDLGetInterceptor extends AbstractPhaseInterceptor<Message> {
     public static final WSDLGetInterceptor INSTANCE = new WSDLGetInterceptor();
     public static final String DOCUMENT_HOLDER = WSDLGetInterceptor.class.getName() + ".documentHolder";
+    /**
+     * Holds the serialized document, possibly gzip encoded, on the outgoing message.
+     */
+    public static final String CONTENT_HOLDER = WSDLGetInterceptor.class.getName() + ".contentHolder";
+    /**
+     * Contextual property disabling the cache of the serialized WSDL and XSD documents,
+     * which are otherwise kept per endpoint, request URL and requested document until the
+     * address or the published URL of the endpoint changes.
+     */
+    public static final String CACHE_DOCUMENTS = "org.apache.cxf.wsdl.get.cache";
+    /**
+     * The number of documents cached per endpoint, there is one per schema and per
+     * address the endpoint is reached through.
+     */
+    public static final int MAX_CACHED_DOCUMENTS = 64;
+    private static final String DOCUMENT_CACHE = WSDLGetInterceptor.class.getName() + ".documentCache";
     private static final String TRANSFORM_SKIP = "transform.skip";
     private Interceptor<Message> wsdlGetOutInterceptor = WSDLGetOutInterceptor.INSTANCE;
 
@@ -74,7 +105,16 @@ public class WSDLGetInterceptor extends AbstractPhaseInterceptor<Message> {
         }
         Map<String, String> map = UrlUtils.parseQueryString(query);
         if (isRecognizedQuery(map)) {
-            Document doc = getDocument(utils, message, baseUri, map, ctx);
+            // a custom out interceptor gets the document itself
+            boolean cached = wsdlGetOutInterceptor instanceof WSDLGetOutInterceptor
+                && MessageUtils.getContextualBoolean(message, CACHE_DOCUMENTS, true);
+            PrecompressedContent content = null;
+            Document doc = null;
+            if (cached) {
+                content = getCachedDocument(utils, message, baseUri, map, ctx);
+            } else {
+                doc = getDocument(utils, message, baseUri, map, ctx);
+            }
 
             Endpoint e = message.getExchange().getEndpoint();
             Message mout = new MessageImpl();
@@ -83,12 +123,18 @@ public class WSDLGetInterceptor extends AbstractPhaseInterceptor<Message> {
             mout.setInterceptorChain(OutgoingChainInterceptor.getOutInterceptorChain(message.getExchange()));
             message.getExchange().setOutMessage(mout);
 
-            mout.put(DOCUMENT_HOLDER, doc);
             mout.put(Message.CONTENT_TYPE, "text/xml");
 
             // just remove the interceptor which should not be used
             cleanUpOutInterceptors(mout);
 
+            if (cached) {
+                mout.put(Message.ENCODING, StandardCharsets.UTF_8.name());
+                mout.put(CONTENT_HOLDER, selectContent(mout, content));
+            } else {
+                mout.put(DOCUMENT_HOLDER, doc);
+            }
+
             // notice this is being added after the purge above, don't swap the order!
             mout.getInterceptorChain().add(wsdlGetOutInterceptor);
 
@@ -116,6 +162,93 @@ public class WSDLGetInterceptor extends AbstractPhaseInterceptor<Message> {
 
     }
 
+    /**
+     * Picks the precompressed gzip content if the endpoint compresses its responses
+     * and the client accepts gzip, the content is written as is and the interceptors
+     * serializing and compressing the document are removed.
+     */
+    private byte[] selectContent(Message outMessage, PrecompressedContent content) {
+        GZIPOutInterceptor gzip = null;
+        Iterator<Interceptor<? extends Message>> iterator = outMessage.getInterceptorChain().iterator();
+        while (iterator.hasNext()) {
+            Interceptor<? extends Message> interceptor = iterator.next();
+            if (interceptor.getClass().equals(StaxOutInterceptor.class)) {
+                outMessage.getInterceptorChain().remove(interceptor);
+            } else if (interceptor instanceof GZIPOutInterceptor) {
+                gzip = (GZIPOutInterceptor)interceptor;
+            }
+        }
+        if (gzip == null || content.getContent().length < gzip.getThreshold()
+            || gzip.gzipPermitted(outMessage) == GZIPOutInterceptor.UseGzip.NO) {
+            return content.getContent();
+        }
+        String encoding = (String)outMessage.get(GZIPOutInterceptor.GZIP_ENCODING_KEY);
+        if (!"gzip".equals(encoding) && !"x-gzip".equals(encoding)) {
+            // another encoding was negotiated, the interceptor compresses the document
+            return content.getContent();
+        }
+        outMessage.getInterceptorChain().remove(gzip);
+        Map<String, List<String>> headers = CastUtils.cast((Map<?, ?>)outMessage.get(Message.PROTOCOL_HEADERS));
+        if (headers == null) {
+            headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            outMessage.put(Message.PROTOCOL_HEADERS, headers);
+        }
+        headers.computeIfAbsent("Content-Encoding", k -> new ArrayList<>()).add(encoding);
+        headers.computeIfAbsent("Vary", k -> new ArrayList<>()).add("Accept-Encoding");
+        return content.getGzipContent();
+    }
+
+    private PrecompressedContent getCachedDocument(WSDLGetUtils utils, Message message, String base,
+                                                   Map<String, String> params, String ctxUri) {
+        Endpoint endpoint = message.getExchange().getEndpoint();
+        EndpointInfo endpointInfo = endpoint.getEndpointInfo();
+        Object published = message.getContextualProperty(WSDLGetUtils.PUBLISHED_ENDPOINT_URL);
+        if (published == null) {
+            published = endpointInfo.getProperty(WSDLGetUtils.PUBLISHED_ENDPOINT_URL);
+        }
+        String publishedUrl = published != null ? String.valueOf(published) : null;
+        // the documents embed the endpoint address, drop them when it changes
+        DocumentCache cache = (DocumentCache)endpoint.get(DOCUMENT_CACHE);
+        if (cache == null || !cache.isFor(endpointInfo.getAddress(), publishedUrl)) {
+            cache = new DocumentCache(endpointInfo.getAddress(), publishedUrl);
+            endpoint.put(DOCUMENT_CACHE, cache);
+        }
+        // the addresses in the documents depend on the URL they were requested from
+        String key = new StringBuilder(base).append('#').append(ctxUri)
+            .append(params.containsKey("wsdl") ? "#wsdl=" + params.get("wsdl") : "#xsd=" + params.get("xsd"))
+            .append('#').append(MessageUtils.getContextualBoolean(message, WSDLGetUtils.AUTO_REWRITE_ADDRESS, true))
+            .append(MessageUtils.getContextualBoolean(message, WSDLGetUtils.AUTO_REWRITE_ADDRESS_ALL, false))
+            .toString();
+        PrecompressedContent content = cache.documents.get(key);
+        if (content != null) {
+            return content;
+        }
+        // only the generation itself is guarded, the serialization is done outside of the lock
+        content = new PrecompressedContent(serialize(getDocument(utils, message, base, params, ctxUri)));
+        // the request URL comes from the client, do not let it grow the cache forever
+        if (cache.documents.size() < MAX_CACHED_DOCUMENTS) {
+            PrecompressedContent existing = cache.documents.putIfAbsent(key, content);
+            if (existing != null) {
+                content = existing;
+            }
+        }
+        return content;
+    }
+
+    private static byte[] serialize(Document doc) {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(8192);
+        XMLStreamWriter writer = StaxUtils.createXMLStreamWriter(bos, StandardCharsets.UTF_8.name());
+        try {
+            StaxUtils.writeDocument(doc, writer, true, true);
+            writer.flush();
+        } catch (XMLStreamException e) {
+            throw new Fault(e);
+        } finally {
+            StaxUtils.close(writer);
+        }
+        return bos.toByteArray();
+    }
+
     private Document getDocument(WSDLGetUtils utils,
                                  Message message, String base,
                                  Map<String, String> params, String ctxUri) {
@@ -134,4 +267,23 @@ public class WSDLGetInterceptor extends AbstractPhaseInterceptor<Message> {
     private boolean isRecognizedQuery(Map<String, String> map) {
         return map.containsKey("wsdl") || map.containsKey("xsd");
     }
+
+    /**
+     * The serialized documents of an endpoint, valid for as long as its address and
+     * published URL stay the same.
+     */
+    private static final class DocumentCache {
+        final Map<String, PrecompressedContent> documents = new ConcurrentHashMap<>();
+        private final String address;
+        private final String publishedUrl;
+
+        DocumentCache(String address, String publishedUrl) {
+            this.address = address;
+            this.publishedUrl = publishedUrl;
+        }
+
+        boolean isFor(String endpointAddress, String endpointPublishedUrl) {
+            return Objects.equals(address, endpointAddress) && Objects.equals(publishedUrl, endpointPublishedUrl);
+        }
+    }
 }
\ No newline at end of file
@@ -19,6 +19,9 @@
 
 package org.apache.cxf.frontend;
 
+import java.io.IOException;
+import java.io.OutputStream;
+
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamWriter;
 
@@ -41,6 +44,12 @@ public class WSDLGetOutInterceptor extends AbstractPhaseInterceptor<Message> {
     }
 
     public void handleMessage(Message message) throws Fault {
+        byte[] content = (byte[])message.get(WSDLGetInterceptor.CONTENT_HOLDER);
+        if (content != null) {
+            message.remove(WSDLGetInterceptor.CONTENT_HOLDER);
+            writeContent(message, content);
+            return;
+        }
         Document doc = (Document)message.get(WSDLGetInterceptor.DOCUMENT_HOLDER);
         if (doc == null) {
             return;
@@ -62,4 +71,18 @@ public class WSDLGetOutInterceptor extends AbstractPhaseInterceptor<Message> {
             throw new Fault(e);
         }
     }
+
+    private void writeContent(Message message, byte[] content) {
+        OutputStream os = message.getContent(OutputStream.class);
+        if (os == null) {
+            return;
+        }
+        message.put(Message.CONTENT_TYPE, "text/xml");
+        try {
+            os.write(content);
+            os.flush();
+        } catch (IOException e) {
+            throw new Fault(e);
+        }
+    }
 }
@@ -18,7 +18,11 @@
  */
 package org.apache.cxf.jaxrs.openapi;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 import jakarta.servlet.ServletConfig;
 import jakarta.ws.rs.GET;
@@ -31,6 +35,7 @@ import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.UriInfo;
+import org.apache.cxf.transport.common.gzip.PrecompressedContent;
 
 import io.swagger.v3.jaxrs2.integration.ServletConfigContextUtils;
 import io.swagger.v3.jaxrs2.integration.resources.BaseOpenApiResource;
@@ -44,10 +49,20 @@ import io.swagger.v3.oas.models.OpenAPI;
 @Path("/openapi.{type:json|yaml}")
 public class OpenApiCustomizedResource extends BaseOpenApiResource {
 
+    // the documents are per request URL when the base path is dynamic
+    private static final int MAX_CACHED_DOCUMENTS = 32;
+
     private final OpenApiCustomizer customizer;
+    private final boolean cacheDocuments;
+    private final Map<String, CachedDocument> documents = new ConcurrentHashMap<>();
 
     public OpenApiCustomizedResource(final OpenApiCustomizer customizer) {
+        this(customizer, false);
+    }
+
+    public OpenApiCustomizedResource(final OpenApiCustomizer customizer, final boolean cacheDocuments) {
         this.customizer = customizer;
+        this.cacheDocuments = cacheDocuments;
     }
 
     @GET
@@ -56,6 +71,15 @@ public class OpenApiCustomizedResource extends BaseOpenApiResource {
     public Response getOpenApi(@Context Application app, @Context ServletConfig config, 
             @Context HttpHeaders headers, @Context UriInfo uriInfo, @PathParam("type") String type) throws Exception {
 
+        String key = null;
+        if (isCacheable()) {
+            key = type + '|' + uriInfo.getAbsolutePath();
+            final CachedDocument document = documents.get(key);
+            if (document != null) {
+                return document.toResponse(headers);
+            }
+        }
+
         if (customizer != null) {
             final OpenAPIConfiguration configuration = customizer.customize(getOpenApiConfiguration());
             setOpenApiConfiguration(configuration);
@@ -103,11 +127,55 @@ public class OpenApiCustomizedResource extends BaseOpenApiResource {
             }
         }
 
-        return super.getOpenApi(headers, config, app, uriInfo, type);
+        final Response response = super.getOpenApi(headers, config, app, uriInfo, type);
+        if (key != null && response.getStatus() == Response.Status.OK.getStatusCode()
+                && response.getEntity() instanceof String) {
+            final CachedDocument document = new CachedDocument(response.getMediaType(),
+                ((String) response.getEntity()).getBytes(StandardCharsets.UTF_8));
+            if (documents.size() < MAX_CACHED_DOCUMENTS) {
+                documents.put(key, document);
+            }
+            return document.toResponse(headers);
+        }
+        return response;
+    }
+
+    private boolean isCacheable() {
+        if (!cacheDocuments) {
+            return false;
+        }
+        // the specification filter and the expiring contexts produce documents per request
+        final OpenAPIConfiguration configuration = getOpenApiConfiguration();
+        return configuration == null
+            || (configuration.getFilterClass() == null
+                && (configuration.getCacheTTL() == null || configuration.getCacheTTL() < 0));
     }
 
     private OpenApiContext getOpenApiContext(ServletConfig config) {
         final String ctxId = ServletConfigContextUtils.getContextIdFromServletConfig(config);
         return OpenApiContextLocator.getInstance().getOpenApiContext(ctxId);
     }
+
+    private static final class CachedDocument {
+        private final MediaType mediaType;
+        private final PrecompressedContent content;
+
+        CachedDocument(final MediaType mediaType, final byte[] content) {
+            this.mediaType = mediaType;
+            this.content = new PrecompressedContent(content);
+        }
+
+        Response toResponse(final HttpHeaders headers) {
+            final List<String> acceptEncoding = headers.getRequestHeader(HttpHeaders.ACCEPT_ENCODING);
+            if (PrecompressedContent.isGzipAccepted(acceptEncoding)) {
+                return Response.ok(content.getGzipContent(), mediaType)
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+            }
+            return Response.ok(content.getContent(), mediaType)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .build();
+        }
+    }
 }
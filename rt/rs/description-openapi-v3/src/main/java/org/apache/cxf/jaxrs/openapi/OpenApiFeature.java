@@ -213,6 +213,14 @@ public class OpenApiFeature extends DelegatingFeature<OpenApiFeature.Portable>
         return delegate.isRunAsFilter();
     }
 
+    public boolean isCacheDocuments() {
+        return delegate.isCacheDocuments();
+    }
+
+    public void setCacheDocuments(boolean cacheDocuments) {
+        delegate.setCacheDocuments(cacheDocuments);
+    }
+
     @Override
     public Boolean isSupportSwaggerUi() {
         return delegate.isSupportSwaggerUi();
@@ -391,6 +399,8 @@ public class OpenApiFeature extends DelegatingFeature<OpenApiFeature.Portable>
         private boolean scan = true;
         private boolean prettyPrint = true;
         private boolean runAsFilter;
+        // Keep the serialized, and gzip encoded, documents instead of writing them per request
+        private boolean cacheDocuments = true;
         private Collection<String> ignoredRoutes;
         private Set<String> resourcePackages;
         private Set<String> resourceClasses;
@@ -655,6 +665,19 @@ public class OpenApiFeature extends DelegatingFeature<OpenApiFeature.Portable>
             return runAsFilter;
         }
 
+        public boolean isCacheDocuments() {
+            return cacheDocuments;
+        }
+
+        /**
+         * Serve the openapi.json and openapi.yaml documents from memory once generated, gzip
+         * encoded to the clients accepting it. Documents depending on the request through a
+         * filter class or a non negative cache TTL are never cached.
+         */
+        public void setCacheDocuments(boolean cacheDocuments) {
+            this.cacheDocuments = cacheDocuments;
+        }
+
         @Override
         public Boolean isSupportSwaggerUi() {
             return supportSwaggerUi;
@@ -913,7 +936,8 @@ public class OpenApiFeature extends DelegatingFeature<OpenApiFeature.Portable>
         }
 
         private BaseOpenApiResource createOpenApiResource() {
-            return (customizer == null) ? new OpenApiResource() : new OpenApiCustomizedResource(customizer);
+            return (customizer == null && !cacheDocuments) ? new OpenApiResource()
+                : new OpenApiCustomizedResource(customizer, cacheDocuments);
         }
 
         private BaseOpenApiResource createOpenApiRequestFilter(Application application) {
@@ -148,4 +148,12 @@ public class JsonMapObject implements Serializable {
     public Object removeProperty(String name) {
         return values.remove(name);
     }
+
+    /**
+     * Removes all the properties so that this object can be populated again
+     */
+    public void clear() {
+        values.clear();
+        updateCount = null;
+    }
 }
@@ -22,15 +22,15 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 
 import org.apache.cxf.common.util.StringUtils;
-import org.apache.cxf.helpers.IOUtils;
 
 
 
 public class JsonMapObjectReaderWriter {
-    private static final Set<Character> ESCAPED_CHARS;
+    private static final String ESCAPED_CHARS = "\"\\/bfnrt";
     private static final char DQUOTE = '"';
     private static final char COMMA = ',';
     private static final char COLON = ':';
@@ -40,21 +40,9 @@ public class JsonMapObjectReaderWriter {
     private static final char ARRAY_END = ']';
     private static final char ESCAPE = '\\';
     private static final String NULL_VALUE = "null";
+    private static final int BUFFER_SIZE = 8192;
     private boolean format;
 
-    static {
-        Set<Character> chars = new HashSet<>();
-        chars.add('"');
-        chars.add('\\');
-        chars.add('/');
-        chars.add('b');
-        chars.add('f');
-        chars.add('n');
-        chars.add('r');
-        chars.add('t');
-        ESCAPED_CHARS = Collections.unmodifiableSet(chars);
-    }
-
     public JsonMapObjectReaderWriter() {
 
     }
@@ -83,14 +71,18 @@ public class JsonMapObjectReaderWriter {
     }
 
     public void toJson(Map<String, Object> map, OutputStream os) {
-        toJsonInternal(new StreamOutput(os), map);
+        StreamOutput out = new StreamOutput(os);
+        toJsonInternal(out, map);
+        out.flush();
     }
 
     protected void toJsonInternal(Output out, Map<String, Object> map) {
         out.append(OBJECT_START);
         for (Iterator<Map.Entry<String, Object>> it = map.entrySet().iterator(); it.hasNext();) {
             Map.Entry<String, Object> entry = it.next();
-            out.append(DQUOTE).append(escapeJson(entry.getKey())).append(DQUOTE);
+            out.append(DQUOTE);
+            appendEscaped(out, entry.getKey());
+            out.append(DQUOTE);
             out.append(COLON);
             toJsonInternal(out, entry.getValue(), it.hasNext());
         }
@@ -116,7 +108,7 @@ public class JsonMapObjectReaderWriter {
         if (value == null) {
             out.append(null);
         } else if (JsonMapObject.class.isAssignableFrom(value.getClass())) {
-            out.append(toJson((JsonMapObject)value));
+            toJsonInternal(out, ((JsonMapObject)value).asMap());
         } else if (value.getClass().isArray()) {
             toJsonInternal(out, (Object[])value);
         } else if (Collection.class.isAssignableFrom(value.getClass())) {
@@ -128,12 +120,12 @@ public class JsonMapObjectReaderWriter {
             if (quotesNeeded) {
                 out.append(DQUOTE);
             }
-            String valueStr = value.toString();
             if (value instanceof String) {
                 // If the value is a String, make sure to escape quotes
-                valueStr = escapeJson(valueStr);
+                appendEscaped(out, (String)value);
+            } else {
+                out.append(value.toString());
             }
-            out.append(valueStr);
             if (quotesNeeded) {
                 out.append(DQUOTE);
             }
@@ -156,7 +148,9 @@ public class JsonMapObjectReaderWriter {
         }
     }
     public JsonMapObject fromJsonToJsonObject(InputStream is) throws IOException {
-        return fromJsonToJsonObject(IOUtils.toString(is));
+        JsonMapObject obj = new JsonMapObject();
+        fromJson(obj, is);
+        return obj;
     }
     public JsonMapObject fromJsonToJsonObject(String json) {
         JsonMapObject obj = new JsonMapObject();
@@ -164,87 +158,77 @@ public class JsonMapObjectReaderWriter {
         return obj;
     }
     public void fromJson(JsonMapObject obj, String json) {
-        String theJson = json.trim();
-        JsonObjectSettable settable = new JsonObjectSettable(obj);
-        readJsonObjectAsSettable(settable, theJson.substring(1, theJson.length() - 1));
+        fromJson(obj, StringUtils.toBytesUTF8(json));
+    }
+    /**
+     * Reads the UTF-8 encoded JSON object into the given JsonMapObject,
+     * which may be reused after {@link JsonMapObject#clear()}
+     */
+    public void fromJson(JsonMapObject obj, byte[] json) {
+        try {
+            new JsonParser(json).readObject(new JsonObjectSettable(obj));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+    public void fromJson(JsonMapObject obj, InputStream is) throws IOException {
+        new JsonParser(is).readObject(new JsonObjectSettable(obj));
     }
     public Map<String, Object> fromJson(InputStream is) throws IOException {
-        return fromJson(IOUtils.toString(is));
+        MapSettable nextMap = new MapSettable();
+        new JsonParser(is).readObject(nextMap);
+        return nextMap.map;
     }
     public Map<String, Object> fromJson(String json) {
-        String theJson = json.trim();
+        return fromJson(StringUtils.toBytesUTF8(json));
+    }
+    public Map<String, Object> fromJson(byte[] json) {
         MapSettable nextMap = new MapSettable();
-        readJsonObjectAsSettable(nextMap, theJson.substring(1, theJson.length() - 1));
+        try {
+            new JsonParser(json).readObject(nextMap);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
         return nextMap.map;
     }
     public List<Object> fromJsonAsList(String json) {
         return fromJsonAsList(null, json);
     }
     public List<Object> fromJsonAsList(String name, String json) {
-        String theJson = json.trim();
-        return internalFromJsonAsList(name, theJson.substring(1, theJson.length() - 1));
+        try {
+            return new JsonParser(StringUtils.toBytesUTF8(json)).readArray(name);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
     }
     protected void readJsonObjectAsSettable(Settable values, String json) {
-        for (int i = 0; i < json.length(); i++) {
-            if (Character.isWhitespace(json.charAt(i))) {
-                continue;
-            }
-
-            int closingQuote = json.indexOf(DQUOTE, i + 1);
-            int from = json.charAt(i) == DQUOTE ? i + 1 : i;
-            String name = json.substring(from, closingQuote);
-            int sepIndex = json.indexOf(COLON, closingQuote + 1);
-            if (sepIndex == -1) {
-                throw new UncheckedIOException(new IOException("Error in parsing json"));
-            }
-
-            int j = 1;
-            while (Character.isWhitespace(json.charAt(sepIndex + j))) {
-                j++;
-            }
-            if (json.charAt(sepIndex + j) == OBJECT_START) {
-                int closingIndex = getClosingIndex(json, OBJECT_START, OBJECT_END, sepIndex + j);
-                String newJson = json.substring(sepIndex + j + 1, closingIndex);
-                MapSettable nextMap = new MapSettable();
-                readJsonObjectAsSettable(nextMap, newJson);
-                values.put(name, nextMap.map);
-                i = closingIndex + 1;
-            } else if (json.charAt(sepIndex + j) == ARRAY_START) {
-                int closingIndex = getClosingIndex(json, ARRAY_START, ARRAY_END, sepIndex + j);
-                String newJson = json.substring(sepIndex + j + 1, closingIndex);
-                values.put(name, internalFromJsonAsList(name, newJson));
-                i = closingIndex + 1;
-            } else {
-                int commaIndex = getCommaIndex(json, sepIndex + j);
-                Object value = readPrimitiveValue(name, json, sepIndex + j, commaIndex);
-                values.put(name, value);
-                i = commaIndex + 1;
-            }
-
+        try {
+            new JsonParser(StringUtils.toBytesUTF8(OBJECT_START + json + OBJECT_END)).readObject(values);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
         }
     }
     protected List<Object> internalFromJsonAsList(String name, String json) {
-        List<Object> values = new LinkedList<>();
-        for (int i = 0; i < json.length(); i++) {
-            if (Character.isWhitespace(json.charAt(i))) {
-                continue;
-            }
-            if (json.charAt(i) == OBJECT_START) {
-                int closingIndex = getClosingIndex(json, OBJECT_START, OBJECT_END, i);
-                MapSettable nextMap = new MapSettable();
-                readJsonObjectAsSettable(nextMap, json.substring(i + 1, closingIndex));
-                values.add(nextMap.map);
-                i = closingIndex + 1;
-            } else {
-                int commaIndex = getCommaIndex(json, i);
-                Object value = readPrimitiveValue(name, json, i, commaIndex);
-                values.add(value);
-                i = commaIndex;
-            }
+        try {
+            return new JsonParser(StringUtils.toBytesUTF8(ARRAY_START + json + ARRAY_END)).readArray(name);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
         }
-
-        return values;
     }
+    /**
+     * Returns the value of the JSON string or literal read for the property, or the array,
+     * with the given name. The string is unquoted, the literals are read as Boolean, Long,
+     * Double or null. Subclasses may override it to convert the values.
+     */
+    protected Object readPrimitiveValue(String name, Object value) {
+        return value;
+    }
+
+    /**
+     * @deprecated the values are no longer read from the JSON text, this method is not called,
+     * override {@link #readPrimitiveValue(String, Object)} instead
+     */
+    @Deprecated
     protected Object readPrimitiveValue(String name, String json, int from, int to) {
         Object value = json.substring(from, to);
         String valueStr = value.toString().trim();
@@ -279,6 +263,10 @@ public class JsonMapObjectReaderWriter {
         return value;
     }
 
+    /**
+     * @deprecated not used by the parser anymore
+     */
+    @Deprecated
     protected static int getCommaIndex(String json, int from) {
         int commaIndex = getNextSepCharIndex(json, COMMA, from);
         if (commaIndex == -1) {
@@ -286,6 +274,10 @@ public class JsonMapObjectReaderWriter {
         }
         return commaIndex;
     }
+    /**
+     * @deprecated not used by the parser anymore
+     */
+    @Deprecated
     protected static int getClosingIndex(String json, char openChar, char closeChar, int from) {
         int nextOpenIndex = getNextSepCharIndex(json, openChar, from + 1);
         int closingIndex = getNextSepCharIndex(json, closeChar, from + 1);
@@ -296,6 +288,10 @@ public class JsonMapObjectReaderWriter {
         return closingIndex;
     }
 
+    /**
+     * @deprecated not used by the parser anymore
+     */
+    @Deprecated
     protected static int getNextSepCharIndex(String json, char curlyBracketChar, int from) {
         int nextCurlyBracketIndex = -1;
         boolean inString = false;
@@ -358,30 +354,306 @@ public class JsonMapObjectReaderWriter {
         }
 
     }
-    private class StreamOutput implements Output {
-        private OutputStream os;
+    /**
+     * Encodes the output as UTF-8 into a buffer which is written to the stream once full
+     */
+    private static final class StreamOutput implements Output {
+        private final OutputStream os;
+        private final byte[] buf = new byte[BUFFER_SIZE];
+        private int count;
         StreamOutput(OutputStream os) {
             this.os = os;
         }
         @Override
         public Output append(String str) {
-            try {
-                os.write(StringUtils.toBytesUTF8(str != null ? str : NULL_VALUE));
-            } catch (IOException ex) {
-                throw new UncheckedIOException(ex);
+            String s = str != null ? str : NULL_VALUE;
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                if (c < 0x80) {
+                    write(c);
+                } else if (c < 0x800) {
+                    write(0xC0 | c >> 6);
+                    write(0x80 | c & 0x3F);
+                } else if (Character.isHighSurrogate(c) && i + 1 < s.length()
+                    && Character.isLowSurrogate(s.charAt(i + 1))) {
+                    int cp = Character.toCodePoint(c, s.charAt(++i));
+                    write(0xF0 | cp >> 18);
+                    write(0x80 | cp >> 12 & 0x3F);
+                    write(0x80 | cp >> 6 & 0x3F);
+                    write(0x80 | cp & 0x3F);
+                } else if (Character.isSurrogate(c)) {
+                    // unpaired surrogate, replaced the same way String.getBytes does
+                    write('?');
+                } else {
+                    write(0xE0 | c >> 12);
+                    write(0x80 | c >> 6 & 0x3F);
+                    write(0x80 | c & 0x3F);
+                }
             }
             return this;
         }
         @Override
         public Output append(char ch) {
+            write(ch);
+            return this;
+        }
+        private void write(int b) {
+            if (count == buf.length) {
+                flush();
+            }
+            buf[count++] = (byte)b;
+        }
+        void flush() {
             try {
-                os.write(ch);
+                os.write(buf, 0, count);
+                count = 0;
             } catch (IOException ex) {
                 throw new UncheckedIOException(ex);
             }
-            return this;
+        }
+    }
+
+    /**
+     * Reads JSON directly from the UTF-8 encoded bytes, refilling the buffer from
+     * the stream if any as the parsing goes. String values keep the escape sequences
+     * other than the escaped quotation mark, backslash and forward slash as is,
+     * the same way the values are expected by {@link #toJson(Map)}. The strings and
+     * literals are passed to {@link #readPrimitiveValue(String, Object)}.
+     */
+    private final class JsonParser {
+        private final InputStream is;
+        private byte[] buf;
+        private int pos;
+        private int limit;
+        private byte[] scratch = new byte[64];
+
+        JsonParser(byte[] json) {
+            this.is = null;
+            this.buf = json;
+            this.limit = json.length;
+        }
+
+        JsonParser(InputStream is) {
+            this.is = is;
+            this.buf = new byte[BUFFER_SIZE];
+        }
+
+        void readObject(Settable values) throws IOException {
+            if (nextToken() != OBJECT_START) {
+                throw parsingError();
+            }
+            readObjectContent(values);
+        }
+
+        List<Object> readArray(String name) throws IOException {
+            if (nextToken() != ARRAY_START) {
+                throw parsingError();
+            }
+            return readArrayContent(name);
+        }
+
+        private void readObjectContent(Settable values) throws IOException {
+            int c = nextToken();
+            while (c != OBJECT_END) {
+                if (c != DQUOTE) {
+                    throw parsingError();
+                }
+                String name = readString();
+                if (nextToken() != COLON) {
+                    throw parsingError();
+                }
+                values.put(name, readValue(name, nextToken()));
+                c = nextToken();
+                if (c == COMMA) {
+                    c = nextToken();
+                } else if (c != OBJECT_END) {
+                    throw parsingError();
+                }
+            }
         }
 
+        private List<Object> readArrayContent(String name) throws IOException {
+            List<Object> list = new ArrayList<>();
+            int c = nextToken();
+            while (c != ARRAY_END) {
+                list.add(readValue(name, c));
+                c = nextToken();
+                if (c == COMMA) {
+                    c = nextToken();
+                } else if (c != ARRAY_END) {
+                    throw parsingError();
+                }
+            }
+            return list;
+        }
+
+        private Object readValue(String name, int c) throws IOException {
+            switch (c) {
+            case OBJECT_START:
+                MapSettable nextMap = new MapSettable();
+                readObjectContent(nextMap);
+                return nextMap.map;
+            case ARRAY_START:
+                return readArrayContent(name);
+            case DQUOTE:
+                return readPrimitiveValue(name, readString());
+            case -1:
+            case COMMA:
+            case COLON:
+            case OBJECT_END:
+            case ARRAY_END:
+                throw parsingError();
+            default:
+                return readPrimitiveValue(name, readLiteral(c));
+            }
+        }
+
+        private String readString() throws IOException {
+            // most of the strings have no escape sequences and fit in the buffer
+            for (int i = pos; i < limit; i++) {
+                if (buf[i] == DQUOTE) {
+                    String s = new String(buf, pos, i - pos, StandardCharsets.UTF_8);
+                    pos = i + 1;
+                    return s;
+                } else if (buf[i] == ESCAPE) {
+                    break;
+                }
+            }
+            int len = 0;
+            for (int b = read(); b != DQUOTE; b = read()) {
+                if (b == -1) {
+                    throw parsingError();
+                }
+                if (b == ESCAPE) {
+                    int escaped = read();
+                    if (escaped == -1) {
+                        throw parsingError();
+                    }
+                    if (escaped != DQUOTE && escaped != ESCAPE && escaped != '/') {
+                        len = put(len, ESCAPE);
+                    }
+                    b = escaped;
+                }
+                len = put(len, b);
+            }
+            return new String(scratch, 0, len, StandardCharsets.UTF_8);
+        }
+
+        private Object readLiteral(int first) throws IOException {
+            int len = put(0, first);
+            while (pos < limit || fill()) {
+                byte b = buf[pos];
+                if (b == COMMA || b == OBJECT_END || b == ARRAY_END || isWhitespace(b)) {
+                    break;
+                }
+                len = put(len, b);
+                pos++;
+            }
+            if (matches("true", len)) {
+                return Boolean.TRUE;
+            } else if (matches("false", len)) {
+                return Boolean.FALSE;
+            } else if (matches(NULL_VALUE, len)) {
+                return null;
+            }
+            long value = parseLong(len);
+            if (value != Long.MIN_VALUE) {
+                return value;
+            }
+            String valueStr = new String(scratch, 0, len, StandardCharsets.UTF_8);
+            try {
+                return Long.valueOf(valueStr);
+            } catch (NumberFormatException ex) {
+                return Double.valueOf(valueStr);
+            }
+        }
+
+        private boolean matches(String literal, int len) {
+            if (literal.length() != len) {
+                return false;
+            }
+            for (int i = 0; i < len; i++) {
+                if (scratch[i] != literal.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Parses up to 18 digits without creating a String, returns Long.MIN_VALUE
+         * if the literal needs to be parsed by Long or Double
+         */
+        private long parseLong(int len) {
+            int from = scratch[0] == '-' ? 1 : 0;
+            if (len == from || len - from > 18) {
+                return Long.MIN_VALUE;
+            }
+            long value = 0;
+            for (int i = from; i < len; i++) {
+                int digit = scratch[i] - '0';
+                if (digit < 0 || digit > 9) {
+                    return Long.MIN_VALUE;
+                }
+                value = value * 10 + digit;
+            }
+            return from == 1 ? -value : value;
+        }
+
+        private int put(int len, int b) {
+            if (len == scratch.length) {
+                scratch = Arrays.copyOf(scratch, len * 2);
+            }
+            scratch[len] = (byte)b;
+            return len + 1;
+        }
+
+        private int nextToken() throws IOException {
+            int b = read();
+            while (b != -1 && isWhitespace(b)) {
+                b = read();
+            }
+            return b;
+        }
+
+        private int read() throws IOException {
+            if (pos == limit && !fill()) {
+                return -1;
+            }
+            return buf[pos++] & 0xFF;
+        }
+
+        private boolean fill() throws IOException {
+            if (is == null) {
+                return false;
+            }
+            int n = is.read(buf, 0, buf.length);
+            while (n == 0) {
+                n = is.read(buf, 0, buf.length);
+            }
+            if (n == -1) {
+                return false;
+            }
+            pos = 0;
+            limit = n;
+            return true;
+        }
+
+        private static boolean isWhitespace(int b) {
+            return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+        }
+
+        private static UncheckedIOException parsingError() {
+            return new UncheckedIOException(new IOException("Error in parsing json"));
+        }
+    }
+
+    private void appendEscaped(Output out, String value) {
+        if (value.indexOf('"') == -1 && value.indexOf('\\') == -1) {
+            out.append(value);
+        } else {
+            out.append(escapeJson(value));
+        }
     }
 
     private String escapeJson(String value) {
@@ -403,7 +675,7 @@ public class JsonMapObjectReaderWriter {
     }
 
     private boolean isEscapedChar(char c) {
-        return ESCAPED_CHARS.contains(Character.valueOf(c));
+        return ESCAPED_CHARS.indexOf(c) != -1;
     }
 
 }
@@ -19,7 +19,11 @@
 
 package org.apache.cxf.jaxrs.json.basic;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
@@ -31,6 +35,7 @@ import org.apache.cxf.helpers.CastUtils;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
@@ -210,4 +215,100 @@ public class JsonMapObjectReaderWriterTest {
         assertEquals("a\\", entry.getValue());
     }
 
+    @Test
+    public void testReadFromStream() throws Exception {
+        String json = "{\"a\":\"aValue\",\"b\":-123,\"c\":[1.5,true,false,null,[\"x\"],{\"d\":{}}],\"e\":[]}";
+        Map<String, Object> map = new JsonMapObjectReaderWriter().fromJson(
+            new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+        assertEquals(4, map.size());
+        assertEquals("aValue", map.get("a"));
+        assertEquals(-123L, map.get("b"));
+        assertEquals(Arrays.asList(1.5d, true, false, null, Collections.singletonList("x"),
+                                   Collections.singletonMap("d", Collections.emptyMap())), map.get("c"));
+        assertEquals(Collections.emptyList(), map.get("e"));
+        assertEquals(map, new JsonMapObjectReaderWriter().fromJson(json));
+    }
+
+    @Test
+    public void testLargeNumbers() throws Exception {
+        String json = "{\"a\":9223372036854775807,\"b\":-9223372036854775808,\"c\":1e3,\"d\":123456789012345678}";
+        Map<String, Object> map = new JsonMapObjectReaderWriter().fromJson(json);
+        assertEquals(Long.MAX_VALUE, map.get("a"));
+        assertEquals(Long.MIN_VALUE, map.get("b"));
+        assertEquals(1000d, map.get("c"));
+        assertEquals(123456789012345678L, map.get("d"));
+    }
+
+    @Test
+    public void testEscapeSequencesArePreserved() throws Exception {
+        JsonMapObjectReaderWriter jsonMapObjectReaderWriter = new JsonMapObjectReaderWriter();
+        String json = "{\"a\":\"line1\\nline2\",\"b\":\"\\u00e9\"}";
+        Map<String, Object> map = jsonMapObjectReaderWriter.fromJson(json);
+        assertEquals("line1\\nline2", map.get("a"));
+        assertEquals("\\u00e9", map.get("b"));
+        assertEquals("{\"a\":\"line1\\nline2\"}",
+                     jsonMapObjectReaderWriter.toJson(Collections.singletonMap("a", map.get("a"))));
+    }
+
+    @Test
+    public void testWriteAndReadStreamUtf8() throws Exception {
+        JsonMapObjectReaderWriter jsonMapObjectReaderWriter = new JsonMapObjectReaderWriter();
+        Map<String, Object> content = new LinkedHashMap<>();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            sb.append("caf\u00e9 \u20ac \ud83d\ude00 \"q\" ");
+        }
+        content.put("text", sb.toString());
+        content.put("nested", new JsonMapObject(Collections.singletonMap("k", "v")));
+        content.put("list", Arrays.asList("a", 1L));
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        jsonMapObjectReaderWriter.toJson(content, bos);
+        String json = jsonMapObjectReaderWriter.toJson(content);
+        assertEquals(json, new String(bos.toByteArray(), StandardCharsets.UTF_8));
+
+        Map<String, Object> map = jsonMapObjectReaderWriter.fromJson(new ByteArrayInputStream(bos.toByteArray()));
+        assertEquals(sb.toString(), map.get("text"));
+        assertEquals(Collections.singletonMap("k", "v"), map.get("nested"));
+        assertEquals(Arrays.asList("a", 1L), map.get("list"));
+    }
+
+    @Test
+    public void testReuseJsonMapObject() throws Exception {
+        JsonMapObjectReaderWriter jsonMapObjectReaderWriter = new JsonMapObjectReaderWriter();
+        JsonMapObject obj = new JsonMapObject();
+        jsonMapObjectReaderWriter.fromJson(obj, "{\"a\":1,\"a\":2}".getBytes(StandardCharsets.UTF_8));
+        assertEquals(2L, obj.getProperty("a"));
+        assertNotNull(obj.getUpdateCount());
+
+        obj.clear();
+        jsonMapObjectReaderWriter.fromJson(obj, "{\"b\":\"c\"}".getBytes(StandardCharsets.UTF_8));
+        assertEquals(1, obj.size());
+        assertEquals("c", obj.getProperty("b"));
+        assertNull(obj.getUpdateCount());
+    }
+
+    @Test(expected = UncheckedIOException.class)
+    public void testTruncatedInput() throws Exception {
+        new JsonMapObjectReaderWriter().fromJson(
+            new ByteArrayInputStream("{\"a\":\"b".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void testReadPrimitiveValueOverride() throws Exception {
+        JsonMapObjectReaderWriter jsonMapReaderWriter = new JsonMapObjectReaderWriter() {
+            @Override
+            protected Object readPrimitiveValue(String name, Object value) {
+                return "exp".equals(name) ? new Date((Long)value * 1000) : value;
+            }
+        };
+        Map<String, Object> map = jsonMapReaderWriter.fromJson(
+            "{\"exp\":1500,\"sub\":\"a\",\"nested\":{\"exp\":2},\"list\":[{\"exp\":3},\"b\"]}");
+        assertEquals(new Date(1500000L), map.get("exp"));
+        assertEquals("a", map.get("sub"));
+        Map<String, Object> nested = CastUtils.cast((Map<?, ?>)map.get("nested"));
+        assertEquals(new Date(2000L), nested.get("exp"));
+        assertEquals(Arrays.asList(Collections.singletonMap("exp", new Date(3000L)), "b"), map.get("list"));
+    }
+
 }
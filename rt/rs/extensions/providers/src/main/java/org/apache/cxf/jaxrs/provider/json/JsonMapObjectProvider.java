@@ -32,7 +32,6 @@ import jakarta.ws.rs.core.MultivaluedMap;
 import jakarta.ws.rs.ext.MessageBodyReader;
 import jakarta.ws.rs.ext.MessageBodyWriter;
 import jakarta.ws.rs.ext.Provider;
-import org.apache.cxf.helpers.IOUtils;
 import org.apache.cxf.jaxrs.json.basic.JsonMapObject;
 import org.apache.cxf.jaxrs.json.basic.JsonMapObjectReaderWriter;
 
@@ -67,12 +66,11 @@ public class JsonMapObjectProvider implements MessageBodyReader<JsonMapObject>,
     public JsonMapObject readFrom(Class<JsonMapObject> cls, Type t, Annotation[] anns, MediaType mt,
                                   MultivaluedMap<String, String> headers, InputStream is) throws IOException,
         WebApplicationException {
-        String s = IOUtils.readStringFromStream(is);
         try {
             JsonMapObject obj = cls == JsonMapObject.class 
                 ? new JsonMapObject() 
                     : cls.getDeclaredConstructor().newInstance();
-            handler.fromJson(obj, s);
+            handler.fromJson(obj, is);
             return obj;
         } catch (Exception ex) {
             throw new IOException(ex);
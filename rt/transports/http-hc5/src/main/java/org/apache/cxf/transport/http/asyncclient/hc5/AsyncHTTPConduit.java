@@ -314,8 +314,8 @@ public class AsyncHTTPConduit extends HttpClientHTTPConduit {
             basicEntity.setChunked(isChunking);
             
             final int bufSize = csPolicy.getChunkLength() > 0 ? csPolicy.getChunkLength() : 16320;
-            inbuf = new SharedInputBuffer(bufSize);
-            outbuf = new SharedOutputBuffer(bufSize);
+            inbuf = new SharedInputBuffer(bufSize, factory.isDirectBuffers());
+            outbuf = new SharedOutputBuffer(bufSize, factory.isDirectBuffers());
             isAsync = outMessage != null && outMessage.getExchange() != null
                 && !outMessage.getExchange().isSynchronous();
         }
@@ -888,8 +888,8 @@ public class AsyncHTTPConduit extends HttpClientHTTPConduit {
 
             //reset the buffers
             int bufSize = csPolicy.getChunkLength() > 0 ? csPolicy.getChunkLength() : 16320;
-            inbuf = new SharedInputBuffer(bufSize);
-            outbuf = new SharedOutputBuffer(bufSize);
+            inbuf = new SharedInputBuffer(bufSize, factory.isDirectBuffers());
+            outbuf = new SharedOutputBuffer(bufSize, factory.isDirectBuffers());
             try {
                 if (defaultAddress.getString().equals(newURL)) {
                     setupConnection(outMessage, defaultAddress, csPolicy);
@@ -87,6 +87,8 @@ public class AsyncHTTPConduitFactory implements HTTPConduitFactory {
 
     //CXF specific
     public static final String USE_POLICY = "org.apache.cxf.transport.http.async.usePolicy";
+    // back the request/response content buffers with pooled direct memory
+    public static final String DIRECT_BUFFERS = "org.apache.cxf.transport.http.async.directBuffers";
 
     private static final Logger LOG = LogUtils.getL7dLogger(AsyncHTTPConduitFactory.class);
 
@@ -153,6 +155,7 @@ public class AsyncHTTPConduitFactory implements HTTPConduitFactory {
     private int soTimeout = IOReactorConfig.DEFAULT.getSoTimeout().toMillisecondsIntBound();
     private boolean soKeepalive = IOReactorConfig.DEFAULT.isSoKeepalive();
     private boolean tcpNoDelay = true;
+    private boolean directBuffers;
 
     AsyncHTTPConduitFactory() {
         super();
@@ -169,6 +172,10 @@ public class AsyncHTTPConduitFactory implements HTTPConduitFactory {
         setProperties(b.getProperties());
     }
 
+    public boolean isDirectBuffers() {
+        return directBuffers;
+    }
+
     public UseAsyncPolicy getUseAsyncPolicy() {
         return policy;
     }
@@ -200,6 +207,7 @@ public class AsyncHTTPConduitFactory implements HTTPConduitFactory {
         connectionTTL = getInt(s.get(CONNECTION_TTL), connectionTTL);
         connectionMaxIdle = getInt(s.get(CONNECTION_MAX_IDLE), connectionMaxIdle);
         maxPerRoute = getInt(s.get(MAX_PER_HOST_CONNECTIONS), maxPerRoute);
+        directBuffers = getBoolean(s.get(DIRECT_BUFFERS), false);
 
         if (!clients.isEmpty()) {
             for (Map.Entry<HTTPClientPolicy, AsyncClient> entry: clients.entrySet()) {
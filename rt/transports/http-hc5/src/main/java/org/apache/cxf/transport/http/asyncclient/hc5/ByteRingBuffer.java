@@ -0,0 +1,230 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.transport.http.asyncclient.hc5;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.hc.core5.http.nio.StreamChannel;
+
+/**
+ * Fixed size byte ring buffer for exactly one producer and one consumer thread. The read
+ * and write positions are only ever advanced by their owning side, so neither side takes
+ * a lock: the data is copied with the absolute get/put methods and published by the
+ * volatile position update.
+ * <p/>
+ * Direct buffers are taken from and given back to a small pool once the ring was
+ * {@link #release() released} and no operation is in progress any longer; the operations
+ * are bracketed by {@link #enter()} and {@link #exit()} for that purpose.
+ */
+final class ByteRingBuffer {
+    private static final int MAX_POOLED_BUFFERS = 64;
+    private static final Map<Integer, Queue<ByteBuffer>> DIRECT_POOL = new ConcurrentHashMap<>();
+
+    private final ByteBuffer buffer;
+    // only used by the consumer to hand the readable segments to a channel
+    private final ByteBuffer readView;
+    private final int capacity;
+    private final boolean direct;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    // the owner plus the operations in progress, the buffer is recycled once it drops to 0
+    private final AtomicInteger users = new AtomicInteger(1);
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    ByteRingBuffer(int capacity, boolean direct) {
+        this.capacity = capacity;
+        this.direct = direct;
+        this.buffer = direct ? acquireDirect(capacity) : ByteBuffer.allocate(capacity);
+        this.readView = buffer.duplicate();
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    boolean isDirect() {
+        return direct;
+    }
+
+    int readable() {
+        return (int)(tail.get() - head.get());
+    }
+
+    int writable() {
+        return capacity - readable();
+    }
+
+    /**
+     * Drops all the buffered bytes, only to be called when no transfer is in progress.
+     */
+    void discard() {
+        head.set(tail.get());
+    }
+
+    // producer side
+
+    int write(ByteBuffer src) {
+        final long t = tail.get();
+        final int n = Math.min(src.remaining(), capacity - (int)(t - head.get()));
+        if (n <= 0) {
+            return 0;
+        }
+        final int idx = (int)(t % capacity);
+        final int first = Math.min(n, capacity - idx);
+        final int pos = src.position();
+        buffer.put(idx, src, pos, first);
+        if (first < n) {
+            buffer.put(0, src, pos + first, n - first);
+        }
+        src.position(pos + n);
+        tail.set(t + n);
+        return n;
+    }
+
+    int write(byte[] b, int off, int len) {
+        final long t = tail.get();
+        final int n = Math.min(len, capacity - (int)(t - head.get()));
+        if (n <= 0) {
+            return 0;
+        }
+        final int idx = (int)(t % capacity);
+        final int first = Math.min(n, capacity - idx);
+        buffer.put(idx, b, off, first);
+        if (first < n) {
+            buffer.put(0, b, off + first, n - first);
+        }
+        tail.set(t + n);
+        return n;
+    }
+
+    boolean write(int b) {
+        final long t = tail.get();
+        if (t - head.get() >= capacity) {
+            return false;
+        }
+        buffer.put((int)(t % capacity), (byte)b);
+        tail.set(t + 1);
+        return true;
+    }
+
+    // consumer side
+
+    int read() {
+        final long h = head.get();
+        if (tail.get() == h) {
+            return -1;
+        }
+        final int b = buffer.get((int)(h % capacity)) & 0xff;
+        head.set(h + 1);
+        return b;
+    }
+
+    int read(byte[] b, int off, int len) {
+        final long h = head.get();
+        final int n = Math.min(len, (int)(tail.get() - h));
+        if (n <= 0) {
+            return 0;
+        }
+        final int idx = (int)(h % capacity);
+        final int first = Math.min(n, capacity - idx);
+        buffer.get(idx, b, off, first);
+        if (first < n) {
+            buffer.get(0, b, off + first, n - first);
+        }
+        head.set(h + n);
+        return n;
+    }
+
+    /**
+     * Writes the readable bytes to the channel, as far as it accepts them.
+     */
+    int drainTo(StreamChannel<ByteBuffer> channel) throws IOException {
+        int total = 0;
+        while (true) {
+            final long h = head.get();
+            final int n = (int)(tail.get() - h);
+            if (n <= 0) {
+                return total;
+            }
+            final int idx = (int)(h % capacity);
+            final int segment = Math.min(n, capacity - idx);
+            readView.limit(idx + segment).position(idx);
+            final int written = channel.write(readView);
+            if (written <= 0) {
+                return total;
+            }
+            head.set(h + written);
+            total += written;
+            if (written < segment) {
+                return total;
+            }
+        }
+    }
+
+    // life cycle
+
+    boolean enter() {
+        while (true) {
+            final int u = users.get();
+            if (u == 0 || released.get()) {
+                return false;
+            }
+            if (users.compareAndSet(u, u + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void exit() {
+        if (users.decrementAndGet() == 0) {
+            recycle();
+        }
+    }
+
+    void release() {
+        if (released.compareAndSet(false, true)) {
+            exit();
+        }
+    }
+
+    private void recycle() {
+        if (direct) {
+            final Queue<ByteBuffer> pool = DIRECT_POOL.computeIfAbsent(capacity,
+                c -> new ConcurrentLinkedQueue<>());
+            if (pool.size() < MAX_POOLED_BUFFERS) {
+                pool.offer(buffer);
+            }
+        }
+    }
+
+    private static ByteBuffer acquireDirect(int capacity) {
+        final Queue<ByteBuffer> pool = DIRECT_POOL.get(capacity);
+        final ByteBuffer pooled = pool == null ? null : pool.poll();
+        return pooled != null ? pooled : ByteBuffer.allocateDirect(capacity);
+    }
+}
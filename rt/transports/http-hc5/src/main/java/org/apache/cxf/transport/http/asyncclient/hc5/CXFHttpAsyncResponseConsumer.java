@@ -59,7 +59,7 @@ public class CXFHttpAsyncResponseConsumer implements AsyncResponseConsumer<Boole
     
     @Override
     public void updateCapacity(CapacityChannel capacityChannel) throws IOException {
-        capacityChannel.update(Integer.MAX_VALUE);
+        buf.updateCapacity(capacityChannel);
     }
     
     @Override
@@ -22,89 +22,95 @@ package org.apache.cxf.transport.http.asyncclient.hc5;
 import java.io.IOException;
 import java.io.InterruptedIOException;
 import java.nio.ByteBuffer;
-import java.util.concurrent.locks.Condition;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.LockSupport;
 
-import org.apache.hc.core5.http.impl.nio.ExpandableBuffer;
+import org.apache.hc.core5.http.nio.CapacityChannel;
 
 /**
  * Content buffer that can be shared by multiple threads, usually the I/O dispatch of
  * an I/O reactor and a worker thread.
  * <p/>
  * The I/O dispatch thread is expect to transfer data from {@link ByteBuffer} to the buffer
- *   by calling {@link #consumeContent(ByteBuffer)}.
+ *   by calling {@link #consumeContent(ByteBuffer, boolean)}.
  * <p/>
  * The worker thread is expected to read the data from the buffer by calling
  *   {@link #read()} or {@link #read(byte[], int, int)} methods.
  * <p/>
  * In case of an abnormal situation or when no longer needed the buffer must be shut down
  * using {@link #shutdown()} method.
+ * <p/>
+ * The content is handed over through a lock free single producer / single consumer ring,
+ * a worker which has to wait for data parks and is unparked by the I/O dispatch. The I/O
+ * dispatch never waits: the free room of the ring is announced through the
+ * {@link CapacityChannel} given to {@link #updateCapacity(CapacityChannel)} and handed
+ * back as the worker reads, and the content the I/O reactor delivers over that capacity
+ * is kept in an overflow buffer until the ring has room for it again.
  */
-public class SharedInputBuffer extends ExpandableBuffer {
+public class SharedInputBuffer {
+
+    private final ByteRingBuffer ring;
+
+    // content which did not fit into the ring, only touched while holding the lock
+    private final Object overflowLock = new Object();
+    private ByteBuffer overflow;
+    // while set the worker is the only one writing to the ring, it moves the overflow there
+    private volatile boolean overflowing;
 
-    private final ReentrantLock lock;
-    private final Condition condition;
-    private final Condition suspendInput;
+    private volatile CapacityChannel capacityChannel;
+    // bytes read by the worker which have not been handed back as capacity yet
+    private int credit;
 
     private volatile boolean shutdown;
     private volatile boolean endOfStream;
 
-    private volatile ByteBuffer waitingBuffer;
+    // the worker waiting for data
+    private volatile Thread reader;
 
     public SharedInputBuffer(int buffersize) {
-        super(buffersize);
-        this.lock = new ReentrantLock();
-        this.condition = this.lock.newCondition();
-        this.suspendInput = this.lock.newCondition();
+        this(buffersize, false);
+    }
+
+    public SharedInputBuffer(int buffersize, boolean direct) {
+        this.ring = new ByteRingBuffer(buffersize, direct);
     }
 
     public void reset() {
         if (this.shutdown) {
             return;
         }
-        this.lock.lock();
-        try {
-            clear();
-            this.endOfStream = false;
-        } finally {
-            this.lock.unlock();
-        }
+        this.ring.discard();
+        clearOverflow();
+        this.credit = 0;
+        this.endOfStream = false;
+    }
+
+    /**
+     * Announces the free room of the buffer as the initial capacity of the channel, the
+     * capacity is handed back through the channel as the worker reads the content.
+     */
+    public void updateCapacity(CapacityChannel channel) throws IOException {
+        this.capacityChannel = channel;
+        channel.update(this.ring.writable());
     }
 
     public int consumeContent(final ByteBuffer buffer, boolean last) throws IOException {
-        if (this.shutdown) {
+        if (this.shutdown || !this.ring.enter()) {
             return -1;
         }
-
-        this.lock.lock();
         try {
-            setInputMode();
-            int totalRead = 0;
-            int bytesRead;
-            if (waitingBuffer != null && buffer().position() == 0) {
-                while ((bytesRead = transfer(buffer, this.waitingBuffer)) > 0) {
-                    totalRead += bytesRead;
-                }
+            int totalRead = buffer.remaining();
+            if (!this.overflowing) {
+                this.ring.write(buffer);
             }
-
-            //read more
-            while ((bytesRead = transfer(buffer)) > 0) {
-                totalRead += bytesRead;
+            if (buffer.hasRemaining()) {
+                // more than the announced capacity, keep it aside instead of holding the I/O dispatch
+                keepOverflow(buffer);
             }
 
             if (last) {
                 this.endOfStream = true;
             }
-
-            if (!buffer().hasRemaining() && !this.endOfStream) {
-                try {
-                    suspendInput.await();
-                } catch (InterruptedException ex) {
-                    throw new IOException("Interrupted while waiting buffer to be drained ");
-                }
-            }
-
-            this.condition.signalAll();
+            LockSupport.unpark(this.reader);
 
             if (totalRead > 0) {
                 return totalRead;
@@ -114,66 +120,114 @@ public class SharedInputBuffer extends ExpandableBuffer {
             }
             return 0;
         } finally {
-            this.lock.unlock();
+            this.ring.exit();
         }
     }
 
-    @Override
-    public boolean hasData() {
-        this.lock.lock();
-        try {
-            return super.hasData();
-        } finally {
-            this.lock.unlock();
+    private void keepOverflow(ByteBuffer src) {
+        synchronized (this.overflowLock) {
+            ByteBuffer o = this.overflow;
+            if (o == null || o.remaining() < src.remaining()) {
+                int size = Math.max(this.ring.capacity(), (o == null ? 0 : o.position()) + src.remaining());
+                ByteBuffer grown = ByteBuffer.allocate(size);
+                if (o != null) {
+                    o.flip();
+                    grown.put(o);
+                }
+                o = grown;
+                this.overflow = o;
+            }
+            o.put(src);
+            this.overflowing = true;
         }
     }
 
-    @Override
-    public int capacity() {
-        this.lock.lock();
-        try {
-            return super.capacity();
-        } finally {
-            this.lock.unlock();
+    /**
+     * Moves as much of the overflow as fits into the ring, only called by the worker.
+     */
+    private void drainOverflow() {
+        if (!this.overflowing) {
+            return;
+        }
+        synchronized (this.overflowLock) {
+            ByteBuffer o = this.overflow;
+            if (o == null) {
+                return;
+            }
+            o.flip();
+            this.ring.write(o);
+            o.compact();
+            if (o.position() == 0) {
+                this.overflowing = false;
+            }
         }
     }
 
-    @Override
-    public int length() {
-        this.lock.lock();
-        try {
-            return super.length();
-        } finally {
-            this.lock.unlock();
+    private void clearOverflow() {
+        synchronized (this.overflowLock) {
+            this.overflow = null;
+            this.overflowing = false;
+        }
+    }
+
+    private void returnCapacity(int read) throws IOException {
+        CapacityChannel channel = this.capacityChannel;
+        if (channel == null || read <= 0) {
+            return;
+        }
+        this.credit += read;
+        if (this.credit >= this.ring.capacity() / 2) {
+            flushCapacity(channel);
+        }
+    }
+
+    private void flushCapacity(CapacityChannel channel) throws IOException {
+        if (channel != null && this.credit > 0) {
+            int increment = this.credit;
+            this.credit = 0;
+            channel.update(increment);
         }
     }
 
-    protected void waitForData(int waitPos) throws IOException {
-        this.lock.lock();
+    public boolean hasData() {
+        return this.ring.readable() > 0 || this.overflowing;
+    }
+
+    public int capacity() {
+        return this.ring.capacity();
+    }
+
+    public int length() {
+        return this.ring.readable();
+    }
+
+    public boolean isDirect() {
+        return this.ring.isDirect();
+    }
+
+    protected void waitForData() throws IOException {
+        this.reader = Thread.currentThread();
         try {
-            try {
-                while (true) {
-                    if (this.waitingBuffer != null && this.waitingBuffer.position() > waitPos) {
-                        return;
-                    }
-                    if (super.hasData()) {
-                        return;
-                    }
-                    if (this.endOfStream) {
-                        return;
-                    }
-                    if (this.shutdown) {
-                        throw new InterruptedIOException("Input operation aborted");
-                    }
-                    
-                    this.suspendInput.signalAll();
-                    this.condition.await();
+            while (true) {
+                drainOverflow();
+                if (this.ring.readable() > 0) {
+                    return;
+                }
+                if (this.endOfStream && !this.overflowing) {
+                    return;
+                }
+                if (this.shutdown) {
+                    throw new InterruptedIOException("Input operation aborted");
+                }
+                // the I/O reactor may be waiting for the capacity of what was read so far
+                flushCapacity(this.capacityChannel);
+                LockSupport.park(this);
+                if (Thread.interrupted()) {
+                    throw new IOException("Interrupted while waiting for more data");
                 }
-            } catch (InterruptedException ex) {
-                throw new IOException("Interrupted while waiting for more data");
             }
         } finally {
-            this.lock.unlock();
+            this.reader = null;
         }
     }
 
@@ -182,12 +236,7 @@ public class SharedInputBuffer extends ExpandableBuffer {
             return;
         }
         this.endOfStream = true;
-        this.lock.lock();
-        try {
-            this.condition.signalAll();
-        } finally {
-            this.lock.unlock();
-        }
+        LockSupport.unpark(this.reader);
     }
 
     public void shutdown() {
@@ -195,12 +244,9 @@ public class SharedInputBuffer extends ExpandableBuffer {
             return;
         }
         this.shutdown = true;
-        this.lock.lock();
-        try {
-            this.condition.signalAll();
-        } finally {
-            this.lock.unlock();
-        }
+        LockSupport.unpark(this.reader);
+        clearOverflow();
+        this.ring.release();
     }
 
     protected boolean isShutdown() {
@@ -212,21 +258,22 @@ public class SharedInputBuffer extends ExpandableBuffer {
     }
 
     public int read() throws IOException {
-        if (this.shutdown) {
+        if (this.shutdown || !this.ring.enter()) {
             return -1;
         }
-        this.lock.lock();
         try {
-            if (!super.hasData()) {
-                waitForData(0);
+            drainOverflow();
+            if (this.ring.readable() == 0) {
+                waitForData();
             }
             if (isEndOfStream()) {
                 return -1;
             }
-            setOutputMode();
-            return buffer().get() & 0xff;
+            int b = this.ring.read();
+            returnCapacity(1);
+            return b;
         } finally {
-            this.lock.unlock();
+            this.ring.exit();
         }
     }
 
@@ -237,30 +284,25 @@ public class SharedInputBuffer extends ExpandableBuffer {
         if (b == null) {
             return 0;
         }
-        this.lock.lock();
+        if (len == 0) {
+            return 0;
+        }
+        if (!this.ring.enter()) {
+            return -1;
+        }
         try {
-            if (!hasData()) {
-                this.waitingBuffer = ByteBuffer.wrap(b, off, len);
-                waitForData(off);
-                int i = waitingBuffer.position() - off;
-                waitingBuffer = null;
-                if (i > 0) {
-                    //++waitCnt;
-                    return i;
-                }
+            drainOverflow();
+            if (this.ring.readable() == 0) {
+                waitForData();
             }
             if (isEndOfStream()) {
                 return -1;
             }
-            setOutputMode();
-            int chunk = len;
-            if (chunk > buffer().remaining()) {
-                chunk = buffer().remaining();
-            }
-            buffer().get(b, off, chunk);
+            int chunk = this.ring.read(b, off, len);
+            returnCapacity(chunk);
             return chunk;
         } finally {
-            this.lock.unlock();
+            this.ring.exit();
         }
     }
 
@@ -273,40 +315,5 @@ public class SharedInputBuffer extends ExpandableBuffer {
         }
         return read(b, 0, b.length);
     }
-    
-    private int transfer(ByteBuffer from, ByteBuffer to) {
-        int transfer = Math.min(to.remaining(), from.remaining());
-
-        if (from.remaining() == 0) {
-            return -1;
-        }
-
-        if (transfer == 0) {
-            return transfer;
-        }
-
-        // use a duplicated buffer so we don't disrupt the limit of the original buffer
-        final ByteBuffer tmp = from.duplicate();
-        tmp.limit(tmp.position() + transfer);
-        to.put(tmp);
-
-        // now discard the data we've copied from the original source (optional)
-        from.position(from.position() + transfer);
-        return transfer;
-    }
-    
-    private int transfer(ByteBuffer from) {
-        ensureCapacity(from);
-        return transfer(from, buffer());
-    }
-
-    private void ensureCapacity(ByteBuffer source) {
-        if (buffer().remaining() >= source.remaining()) {
-            return;
-        } else {
-            final int adjustment = source.remaining() - buffer().remaining();
-            ensureCapacity(buffer().capacity() + adjustment);
-        }
-    }
 
 }
@@ -23,10 +23,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InterruptedIOException;
 import java.nio.ByteBuffer;
-import java.util.concurrent.locks.Condition;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.LockSupport;
 
-import org.apache.hc.core5.http.impl.nio.ExpandableBuffer;
 import org.apache.hc.core5.http.nio.DataStreamChannel;
 
 
@@ -42,95 +40,78 @@ import org.apache.hc.core5.http.nio.DataStreamChannel;
  * <p/>
  * In case of an abnormal situation or when no longer needed the buffer must be
  * shut down using {@link #shutdown()} method.
+ * <p/>
+ * The content is handed over through a lock free single producer / single consumer ring,
+ * the worker parks while the ring is full and is unparked by the I/O dispatch.
  */
-public class SharedOutputBuffer extends ExpandableBuffer {
+public class SharedOutputBuffer {
 
-    private final ReentrantLock lock;
-    private final Condition condition;
+    private final ByteRingBuffer ring;
 
     private volatile DataStreamChannel channel;
     private volatile boolean shutdown;
     private volatile boolean endOfStream;
 
+    // written by the I/O dispatch directly, bypassing the ring, cleared once drained
     private volatile ByteBuffer largeWrapper;
+    private volatile Thread writer;
 
     public SharedOutputBuffer(int buffersize) {
-        super(buffersize);
-        this.lock = new ReentrantLock();
-        this.condition = this.lock.newCondition();
+        this(buffersize, false);
+    }
+
+    public SharedOutputBuffer(int buffersize, boolean direct) {
+        this.ring = new ByteRingBuffer(buffersize, direct);
     }
 
     public void reset() {
         if (this.shutdown) {
             return;
         }
-        this.lock.lock();
-        try {
-            clear();
-            this.endOfStream = false;
-        } finally {
-            this.lock.unlock();
-        }
+        this.ring.discard();
+        this.endOfStream = false;
     }
 
-    @Override
     public boolean hasData() {
-        this.lock.lock();
-        try {
-            return super.hasData();
-        } finally {
-            this.lock.unlock();
-        }
+        return this.ring.readable() > 0;
     }
 
-    @Override
     public int capacity() {
-        this.lock.lock();
-        try {
-            return super.capacity();
-        } finally {
-            this.lock.unlock();
-        }
+        return this.ring.capacity();
     }
 
-    @Override
     public int length() {
-        this.lock.lock();
-        try {
-            return super.length();
-        } finally {
-            this.lock.unlock();
-        }
+        return this.ring.readable();
+    }
+
+    public boolean isDirect() {
+        return this.ring.isDirect();
     }
 
     public int produceContent(final DataStreamChannel stream) throws IOException {
-        if (this.shutdown) {
+        if (this.shutdown || !this.ring.enter()) {
             return -1;
         }
-        this.lock.lock();
         try {
             this.channel = stream;
-            setOutputMode();
-            int bytesWritten = 0;
-            if (largeWrapper != null || super.hasData()) {
-                if (!buffer().hasRemaining() && largeWrapper != null) {
-                    bytesWritten = channel.write(largeWrapper);
-                } else {
-                    bytesWritten = channel.write(buffer());
+            int bytesWritten = this.ring.drainTo(stream);
+            ByteBuffer large = this.largeWrapper;
+            if (large != null && !hasData()) {
+                bytesWritten += stream.write(large);
+                if (!large.hasRemaining()) {
+                    this.largeWrapper = null;
+                    large = null;
                 }
             }
-            if ((largeWrapper == null || !largeWrapper.hasRemaining()) && !super.hasData() && this.endOfStream) {
+            if (large == null && !hasData() && this.endOfStream) {
                 // No more buffered content
                 // If at the end of the stream, terminate
-                channel.endStream();
-            }
-            // no need to signal if the large wrapper is present and has data remaining
-            if (largeWrapper == null || !largeWrapper.hasRemaining()) {
-                this.condition.signalAll();
+                stream.endStream();
             }
+            LockSupport.unpark(this.writer);
             return bytesWritten;
         } finally {
-            this.lock.unlock();
+            this.ring.exit();
         }
     }
 
@@ -143,55 +124,30 @@ public class SharedOutputBuffer extends ExpandableBuffer {
             return;
         }
         this.shutdown = true;
-        this.lock.lock();
-        try {
-            this.condition.signalAll();
-        } finally {
-            this.lock.unlock();
-        }
+        LockSupport.unpark(this.writer);
+        this.ring.release();
     }
+
     public int copy(InputStream in) throws IOException {
-        this.lock.lock();
+        enter();
         int total = 0;
         try {
-            if (this.shutdown || this.endOfStream) {
-                throw new IllegalStateException("Buffer already closed for writing");
-            }
-            setInputMode();
-            int i = 0;
-            boolean yielded = false;
-            while (i != -1) {
-                if (!buffer().hasRemaining()) {
-                    flushContent();
-                    setInputMode();
-                }
-                i = in.available();
-                if (i == 0 && !yielded) {
+            final byte[] chunk = new byte[Math.min(this.ring.capacity(), 16 * 1024)];
+            while (true) {
+                if (in.available() == 0 && hasData()) {
                     //nothing avail right now, we'll attempt an
-                    //output, but not really force a flush.
-                    if (buffer().position() != 0 && this.channel != null) {
-                        this.channel.requestOutput();
-                    }
-                    try {
-                        condition.awaitNanos(1);
-                    } catch (InterruptedException e) {
-                        //ignore
-                    }
-                    setInputMode();
-                    yielded = true;
-                } else {
-                    int p = buffer().position();
-                    i = in.read(buffer().array(), buffer().position(), buffer().remaining());
-                    yielded = false;
-                    if (i != -1) {
-                        total += i;
-                        buffer().position(p + i);
-                    }
-
+                    //output before blocking on the stream
+                    requestOutput();
+                }
+                int i = in.read(chunk);
+                if (i == -1) {
+                    break;
                 }
+                total += i;
+                writeToRing(chunk, 0, i);
             }
         } finally {
-            this.lock.unlock();
+            this.ring.exit();
         }
         return total;
     }
@@ -200,34 +156,15 @@ public class SharedOutputBuffer extends ExpandableBuffer {
         if (b == null) {
             return;
         }
-        this.lock.lock();
+        enter();
         try {
-            if (this.shutdown || this.endOfStream) {
-                throw new IllegalStateException("Buffer already closed for writing");
-            }
-            setInputMode();
-            int remaining = len;
-            while (remaining > 0) {
-                if (!buffer().hasRemaining()) {
-                    flushContent();
-                    setInputMode();
-                }
-                if (buffer().position() == 0 && (buffer().remaining() * 2) < remaining) {
-                    largeWrapper = ByteBuffer.wrap(b, off, remaining);
-                    while (largeWrapper.hasRemaining()) {
-                        flushContent();
-                    }
-                    largeWrapper = null;
-                    remaining = 0;
-                } else {
-                    int chunk = Math.min(remaining, buffer().remaining());
-                    buffer().put(b, off, chunk);
-                    remaining -= chunk;
-                    off += chunk;
-                }
+            if (!hasData() && (this.ring.capacity() * 2) < len) {
+                writeLarge(ByteBuffer.wrap(b, off, len));
+            } else {
+                writeToRing(b, off, len);
             }
         } finally {
-            this.lock.unlock();
+            this.ring.exit();
         }
     }
 
@@ -235,26 +172,13 @@ public class SharedOutputBuffer extends ExpandableBuffer {
         if (b == null) {
             return 0;
         }
-        this.lock.lock();
+        enter();
         try {
-            if (this.shutdown || this.endOfStream) {
-                throw new IllegalStateException("Buffer already closed for writing");
-            }
-            setInputMode();
-
-            if (!buffer().hasRemaining()) {
-                flushContent();
-                setInputMode();
-            }
-            int c = b.limit() - b.position();
-            largeWrapper = b;
-            while (largeWrapper.hasRemaining()) {
-                flushContent();
-            }
-            largeWrapper = null;
+            int c = b.remaining();
+            writeLarge(b);
             return c;
         } finally {
-            this.lock.unlock();
+            this.ring.exit();
         }
     }
 
@@ -266,61 +190,85 @@ public class SharedOutputBuffer extends ExpandableBuffer {
     }
 
     public void write(int b) throws IOException {
-        this.lock.lock();
+        enter();
         try {
-            if (this.shutdown || this.endOfStream) {
-                throw new IllegalStateException("Buffer already closed for writing");
-            }
-            setInputMode();
-            if (!buffer().hasRemaining()) {
-                flushContent();
-                setInputMode();
+            while (!this.ring.write(b)) {
+                awaitOutput(false);
             }
-            buffer().put((byte)b);
         } finally {
-            this.lock.unlock();
+            this.ring.exit();
         }
     }
 
     public void flush() throws IOException {
     }
 
-    private void flushContent() throws IOException {
-        this.lock.lock();
-        try {
-            try {
-                while ((largeWrapper != null && largeWrapper.hasRemaining()) || super.hasData()) {
-                    if (this.shutdown) {
-                        throw new InterruptedIOException("Output operation aborted");
-                    }
-                    if (this.channel != null) {
-                        this.channel.requestOutput();
-                    }
-                    this.condition.await();
-                }
-            } catch (InterruptedException ex) {
-                throw new IOException("Interrupted while flushing the content buffer");
+    public void writeCompleted() throws IOException {
+        if (this.endOfStream) {
+            return;
+        }
+        this.endOfStream = true;
+        requestOutput();
+    }
+
+    private void enter() {
+        if (this.shutdown || this.endOfStream || !this.ring.enter()) {
+            throw new IllegalStateException("Buffer already closed for writing");
+        }
+    }
+
+    private void writeToRing(byte[] b, int off, int len) throws IOException {
+        int remaining = len;
+        while (remaining > 0) {
+            int chunk = this.ring.write(b, off, remaining);
+            if (chunk == 0) {
+                awaitOutput(false);
+            } else {
+                remaining -= chunk;
+                off += chunk;
             }
+        }
+    }
+
+    private void writeLarge(ByteBuffer b) throws IOException {
+        // the buffered content goes out first, the I/O dispatch only writes the
+        // wrapper once the ring is empty
+        this.largeWrapper = b;
+        try {
+            awaitOutput(true);
         } finally {
-            this.lock.unlock();
+            this.largeWrapper = null;
         }
     }
 
-    public void writeCompleted() throws IOException {
-        this.lock.lock();
+    /**
+     * Waits until the I/O dispatch drained half of the ring or, if {@code fully} is set,
+     * all of the ring and the large wrapper.
+     */
+    private void awaitOutput(boolean fully) throws IOException {
+        this.writer = Thread.currentThread();
         try {
-            if (this.endOfStream) {
-                return;
-            }
-            this.endOfStream = true;
-            if (this.channel != null) {
-                this.channel.requestOutput();
+            while (fully ? this.largeWrapper != null || hasData()
+                : this.ring.writable() < Math.max(1, this.ring.capacity() / 2)) {
+                if (this.shutdown) {
+                    throw new InterruptedIOException("Output operation aborted");
+                }
+                requestOutput();
+                LockSupport.park(this);
+                if (Thread.interrupted()) {
+                    throw new IOException("Interrupted while flushing the content buffer");
+                }
             }
         } finally {
-            this.lock.unlock();
+            this.writer = null;
         }
     }
 
-
+    private void requestOutput() {
+        DataStreamChannel c = this.channel;
+        if (c != null) {
+            c.requestOutput();
+        }
+    }
 
 }
@@ -47,6 +47,7 @@ import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 public class AsyncHTTPConduitLargeResponseTest extends AbstractBusClientServerTestBase {
     public static final String PORT = allocatePort(AsyncHTTPConduitLargeResponseTest.class);
@@ -61,11 +62,13 @@ public class AsyncHTTPConduitLargeResponseTest extends AbstractBusClientServerTe
         Bus b = createStaticBus();
         b.setProperty(AsyncHTTPConduit.USE_ASYNC, AsyncHTTPConduitFactory.UseAsyncPolicy.ALWAYS);
         b.setProperty("org.apache.cxf.transport.http.async.MAX_CONNECTIONS", 501);
+        b.setProperty(AsyncHTTPConduitFactory.DIRECT_BUFFERS, true);
 
         BusFactory.setThreadDefaultBus(b);
 
         AsyncHTTPConduitFactory hcf = (AsyncHTTPConduitFactory)b.getExtension(HTTPConduitFactory.class);
         assertEquals(501, hcf.getMaxConnections());
+        assertTrue(hcf.isDirectBuffers());
 
         ep = Endpoint.publish("http://localhost:" + PORT + "/SoapContext/SoapPort",
                               new org.apache.hello_world_soap_http.GreeterImpl() {
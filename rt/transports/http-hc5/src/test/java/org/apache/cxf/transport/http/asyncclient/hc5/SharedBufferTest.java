@@ -0,0 +1,220 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.transport.http.asyncclient.hc5;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.nio.DataStreamChannel;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SharedBufferTest {
+
+    @Test
+    public void testRingBufferWrapsAround() {
+        for (boolean direct : new boolean[] {false, true}) {
+            ByteRingBuffer ring = new ByteRingBuffer(8, direct);
+            byte[] out = new byte[8];
+            assertEquals(6, ring.write(new byte[] {1, 2, 3, 4, 5, 6}, 0, 6));
+            assertEquals(4, ring.read(out, 0, 4));
+            assertEquals(6, ring.write(ByteBuffer.wrap(new byte[] {7, 8, 9, 10, 11, 12, 13})));
+            assertEquals(8, ring.readable());
+            assertEquals(0, ring.writable());
+            assertFalse(ring.write(14));
+            assertEquals(5, ring.read());
+            assertEquals(7, ring.read(out, 0, 8));
+            assertArrayEquals(new byte[] {6, 7, 8, 9, 10, 11, 12, 0}, out);
+            assertEquals(-1, ring.read());
+            ring.release();
+            assertFalse(ring.enter());
+        }
+    }
+
+    @Test
+    public void testInputBufferHandOff() throws Exception {
+        for (boolean direct : new boolean[] {false, true}) {
+            byte[] data = randomBytes(1024 * 1024 + 17);
+            SharedInputBuffer buf = new SharedInputBuffer(4096, direct);
+            CompletableFuture<Void> producer = CompletableFuture.runAsync(() -> {
+                try {
+                    for (int off = 0; off < data.length; off += 1000) {
+                        int len = Math.min(1000, data.length - off);
+                        buf.consumeContent(ByteBuffer.wrap(data, off, len), off + len == data.length);
+                    }
+                    buf.close();
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            ByteArrayOutputStream received = new ByteArrayOutputStream();
+            byte[] chunk = new byte[777];
+            int n;
+            while ((n = buf.read(chunk)) != -1) {
+                received.write(chunk, 0, n);
+            }
+            producer.get(30, TimeUnit.SECONDS);
+            assertArrayEquals(data, received.toByteArray());
+            buf.shutdown();
+        }
+    }
+
+    @Test
+    public void testInputBufferNeverHoldsDispatcher() throws Exception {
+        SharedInputBuffer buf = new SharedInputBuffer(16, true);
+        List<Integer> updates = new ArrayList<>();
+        buf.updateCapacity(updates::add);
+        assertEquals(List.of(16), updates);
+
+        // over the announced capacity the rest is kept aside, the caller returns right away
+        byte[] data = randomBytes(64);
+        ByteBuffer src = ByteBuffer.wrap(data);
+        assertEquals(64, buf.consumeContent(src, false));
+        assertFalse(src.hasRemaining());
+        assertEquals(4, buf.consumeContent(ByteBuffer.wrap(data, 0, 4), false));
+        buf.close();
+
+        ByteArrayOutputStream received = new ByteArrayOutputStream();
+        byte[] chunk = new byte[10];
+        int n;
+        while ((n = buf.read(chunk)) != -1) {
+            received.write(chunk, 0, n);
+        }
+        byte[] expected = new byte[68];
+        System.arraycopy(data, 0, expected, 0, 64);
+        System.arraycopy(data, 0, expected, 64, 4);
+        assertArrayEquals(expected, received.toByteArray());
+        // the capacity is handed back as the content is read
+        assertEquals(68, updates.stream().skip(1).mapToInt(Integer::intValue).sum());
+        buf.shutdown();
+    }
+
+    @Test
+    public void testInputBufferShutdownReleasesReader() throws Exception {
+        SharedInputBuffer buf = new SharedInputBuffer(16, true);
+        CompletableFuture<Integer> reader = CompletableFuture.supplyAsync(() -> {
+            try {
+                return buf.read();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        buf.shutdown();
+        try {
+            assertEquals(-1, reader.get(30, TimeUnit.SECONDS).intValue());
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause().getCause() instanceof InterruptedIOException);
+        }
+        assertEquals(-1, buf.read());
+        assertEquals(-1, buf.consumeContent(ByteBuffer.wrap(new byte[4]), false));
+    }
+
+    @Test
+    public void testOutputBufferHandOff() throws Exception {
+        for (boolean direct : new boolean[] {false, true}) {
+            byte[] data = randomBytes(512 * 1024 + 3);
+            SharedOutputBuffer buf = new SharedOutputBuffer(4096, direct);
+            RecordingChannel channel = new RecordingChannel(1500);
+            CompletableFuture<Void> dispatcher = CompletableFuture.runAsync(() -> {
+                try {
+                    while (!channel.ended.get()) {
+                        buf.produceContent(channel);
+                        Thread.onSpinWait();
+                    }
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            buf.write(data, 0, 1000);
+            buf.write(ByteBuffer.wrap(data, 1000, 20000));
+            buf.copy(new ByteArrayInputStream(data, 21000, 200000));
+            for (int i = 221000; i < 221100; i++) {
+                buf.write(data[i]);
+            }
+            buf.write(data, 221100, data.length - 221100);
+            buf.writeCompleted();
+            dispatcher.get(30, TimeUnit.SECONDS);
+            assertArrayEquals(data, channel.out.toByteArray());
+            try {
+                buf.write(1);
+                fail("The buffer is closed for writing");
+            } catch (IllegalStateException ex) {
+                // expected
+            }
+            buf.shutdown();
+        }
+    }
+
+    private static byte[] randomBytes(int len) {
+        byte[] data = new byte[len];
+        new Random(len).nextBytes(data);
+        return data;
+    }
+
+    private static final class RecordingChannel implements DataStreamChannel {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final AtomicBoolean ended = new AtomicBoolean();
+        final int maxWrite;
+
+        RecordingChannel(int maxWrite) {
+            this.maxWrite = maxWrite;
+        }
+
+        @Override
+        public void requestOutput() {
+        }
+
+        @Override
+        public int write(ByteBuffer src) {
+            int n = Math.min(maxWrite, src.remaining());
+            for (int i = 0; i < n; i++) {
+                out.write(src.get());
+            }
+            return n;
+        }
+
+        @Override
+        public void endStream() {
+            ended.set(true);
+        }
+
+        @Override
+        public void endStream(List<? extends Header> trailers) {
+            ended.set(true);
+        }
+    }
+}
@@ -60,6 +60,9 @@ import org.apache.cxf.helpers.JavaUtils;
 import org.apache.cxf.interceptor.Fault;
 import org.apache.cxf.transport.HttpUriMapper;
 import org.apache.cxf.transport.http.HttpServerEngineSupport;
+import org.apache.cxf.transport.http.SocketOptions;
+import org.apache.cxf.transport.http.VirtualThreadPinningMonitor;
+import org.apache.cxf.workqueue.VirtualThreadWorkQueueImpl;
 import org.eclipse.jetty.alpn.server.ALPNServerConnectionFactory;
 import org.eclipse.jetty.ee10.servlet.ServletContextHandler;
 import org.eclipse.jetty.ee10.servlet.ServletHandler;
@@ -146,6 +149,8 @@ public class JettyHTTPServerEngine implements ServerEngine, HttpServerEngineSupp
     private Container.Listener mBeanContainer;
     private SessionHandler sessionHandler;
     private ThreadPool threadPool;
+    private VirtualThreadWorkQueueImpl virtualThreadsExecutor;
+    private VirtualThreadPinningMonitor pinningMonitor;
 
 
     /**
@@ -160,6 +165,8 @@ public class JettyHTTPServerEngine implements ServerEngine, HttpServerEngineSupp
      */
     private ThreadingParameters threadingParameters;
 
+    private SocketOptions socketOptions;
+
     /**
      * This boolean signfies that SpringConfig is over. finalizeConfig
      * has been called.
@@ -333,6 +340,15 @@ public class JettyHTTPServerEngine implements ServerEngine, HttpServerEngineSupp
         return maxIdleTime;
     }
 
+    public void setSocketOptions(SocketOptions options) {
+        socketOptions = options;
+    }
+
+    @Override
+    public SocketOptions getSocketOptions() {
+        return socketOptions;
+    }
+
     public void setMaxIdleTime(int maxIdle) {
         maxIdleTime = maxIdle;
     }
@@ -752,7 +768,7 @@ public class JettyHTTPServerEngine implements ServerEngine, HttpServerEngineSupp
                 result.setHost(hosto);
             }
             result.setReuseAddress(isReuseAddress());
-            
+            applySocketOptions(result);
         } catch (RuntimeException rex) {
             throw rex;
         } catch (Exception ex) {
@@ -780,7 +796,11 @@ public class JettyHTTPServerEngine implements ServerEngine, HttpServerEngineSupp
 
             Collection<ConnectionFactory> connectionFactories = new ArrayList<>();
 
-            result = new org.eclipse.jetty.server.ServerConnector(server);
+            if (socketOptions != null && socketOptions.isAcceptorsSet()) {
+                result = new org.eclipse.jetty.server.ServerConnector(server, socketOptions.getAcceptors(), -1);
+            } else {
+                result = new org.eclipse.jetty.server.ServerConnector(server);
+            }
 
             if (tlsServerParameters != null) {
                 httpConfig.addCustomizer(new SecureRequestCustomizer(tlsServerParameters.isSniHostCheck()));
@@ -969,6 +989,27 @@ public class JettyHTTPServerEngine implements ServerEngine, HttpServerEngineSupp
         }
     }
 
+    private void applySocketOptions(ServerConnector result) {
+        if (socketOptions == null) {
+            return;
+        }
+        if (socketOptions.getReusePort() != null) {
+            result.setReusePort(socketOptions.getReusePort());
+        }
+        if (socketOptions.getBacklog() != null) {
+            result.setAcceptQueueSize(socketOptions.getBacklog());
+        }
+        if (socketOptions.getTcpNoDelay() != null) {
+            result.setAcceptedTcpNoDelay(socketOptions.getTcpNoDelay());
+        }
+        if (socketOptions.getReceiveBufferSize() != null) {
+            result.setAcceptedReceiveBufferSize(socketOptions.getReceiveBufferSize());
+        }
+        if (socketOptions.getSendBufferSize() != null) {
+            result.setAcceptedSendBufferSize(socketOptions.getSendBufferSize());
+        }
+    }
+
     private static void logConnector(ServerConnector connector) {
         try {
             String h = connector.getHost();
@@ -1008,9 +1049,38 @@ public class JettyHTTPServerEngine implements ServerEngine, HttpServerEngineSupp
             if (getThreadingParameters().isSetMaxThreads()) {
                 ((QueuedThreadPool) pl).setMaxThreads(getThreadingParameters().getMaxThreads());
             }
+            if (getThreadingParameters().isVirtualThreads()) {
+                setupVirtualThreads((QueuedThreadPool) pl);
+            }
+        }
+    }
+
+    private void setupVirtualThreads(QueuedThreadPool pool) {
+        if (!VirtualThreadWorkQueueImpl.isVirtualThreadsSupported()) {
+            LOG.log(Level.WARNING, "VIRTUAL_THREADS_NOT_SUPPORTED_MSG", port);
+            return;
+        }
+        ThreadingParameters params = getThreadingParameters();
+        int max = params.isSetMaxVirtualThreads()
+            ? params.getMaxVirtualThreads() : VirtualThreadWorkQueueImpl.DEFAULT_MAX_CONCURRENCY;
+        // Jetty runs the blocking tasks, the servlet and thus the CXF handling, on this executor
+        // while the selectors and acceptors stay on the platform threads of the pool; as many
+        // requests as can run may wait for a virtual thread, the ones beyond are rejected
+        virtualThreadsExecutor = new VirtualThreadWorkQueueImpl(max, max, "jetty-" + port);
+        pool.setVirtualThreadsExecutor(virtualThreadsExecutor);
+        if (params.isPinningDiagnostics() && pinningMonitor == null) {
+            pinningMonitor = VirtualThreadPinningMonitor.acquire();
         }
     }
 
+    /**
+     * Returns the executor running the requests on virtual threads, or null if the
+     * engine handles them on the platform threads of its pool.
+     */
+    public VirtualThreadWorkQueueImpl getVirtualThreadsExecutor() {
+        return virtualThreadsExecutor;
+    }
+
     private ThreadPool getThreadPool() {
         ThreadPool pool = server.getThreadPool();
         if (pool == null) {
@@ -1262,10 +1332,22 @@ public class JettyHTTPServerEngine implements ServerEngine, HttpServerEngineSupp
                 // is not anymore (the factory should create new a container for each server engine).
                 server.destroy();
                 server = null;
+                stopVirtualThreads();
             }
         }
     }
 
+    private void stopVirtualThreads() {
+        if (virtualThreadsExecutor != null) {
+            virtualThreadsExecutor.shutdown(true);
+            virtualThreadsExecutor = null;
+        }
+        if (pinningMonitor != null) {
+            VirtualThreadPinningMonitor.release();
+            pinningMonitor = null;
+        }
+    }
+
     /**
      * This method is used to programmatically set the TLSServerParameters.
      * This method may only be called by the factory.
@@ -30,6 +30,10 @@ public class ThreadingParameters {
     private boolean minThreadsSet;
     private boolean maxThreadsSet;
     private boolean threadNamePrefixSet;
+    private boolean virtualThreads;
+    private int maxVirtualThreads;
+    private boolean maxVirtualThreadsSet;
+    private boolean pinningDiagnostics;
 
     public void setMinThreads(int number) {
         minThreadsSet = true;
@@ -70,4 +74,48 @@ public class ThreadingParameters {
         return threadNamePrefixSet;
     }
 
+    /**
+     * Run the blocking request handling on virtual threads instead of the
+     * threads of the pool, this needs a Java runtime with virtual threads.
+     */
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * The maximum number of requests handled on virtual threads at the same time,
+     * further requests wait for a running one to complete, up to as many again, and
+     * are rejected beyond that. -1 removes the limit.
+     */
+    public void setMaxVirtualThreads(int number) {
+        if (number <= 0 && number != -1) {
+            throw new IllegalArgumentException("maxVirtualThreads must be positive or -1, not " + number);
+        }
+        maxVirtualThreadsSet = true;
+        maxVirtualThreads = number;
+    }
+
+    public int getMaxVirtualThreads() {
+        return maxVirtualThreads;
+    }
+
+    public boolean isSetMaxVirtualThreads() {
+        return maxVirtualThreadsSet;
+    }
+
+    /**
+     * Log the virtual threads which pin their carrier thread inside CXF code.
+     */
+    public void setPinningDiagnostics(boolean pinningDiagnostics) {
+        this.pinningDiagnostics = pinningDiagnostics;
+    }
+
+    public boolean isPinningDiagnostics() {
+        return pinningDiagnostics;
+    }
+
 }
@@ -47,9 +47,11 @@ import org.apache.cxf.configuration.security.TLSServerParametersType;
 import org.apache.cxf.configuration.security.TrustManagersType;
 import org.apache.cxf.configuration.spring.AbstractBeanDefinitionParser;
 import org.apache.cxf.helpers.DOMUtils;
+import org.apache.cxf.transport.http.SocketOptions;
 import org.apache.cxf.transport.http_jetty.JettyHTTPServerEngine;
 import org.apache.cxf.transport.http_jetty.JettyHTTPServerEngineFactory;
 import org.apache.cxf.transport.http_jetty.ThreadingParameters;
+import org.apache.cxf.transports.http_jetty.configuration.SocketOptionsType;
 import org.apache.cxf.transports.http_jetty.configuration.TLSServerParametersIdentifiedType;
 import org.apache.cxf.transports.http_jetty.configuration.ThreadingParametersIdentifiedType;
 import org.apache.cxf.transports.http_jetty.configuration.ThreadingParametersType;
@@ -125,6 +127,13 @@ public class JettyHTTPServerEngineBeanDefinitionParser extends AbstractBeanDefin
                                                     JettyHTTPServerEngineBeanDefinitionParser.class,
                                                     "createThreadingParametersRef"
                                                     );
+                } else if ("socketOptions".equals(name)) {
+                    mapElementToJaxbPropertyFactory(elem,
+                                                    bean,
+                                                    "socketOptions",
+                                                    SocketOptionsType.class,
+                                                    JettyHTTPServerEngineBeanDefinitionParser.class,
+                                                    "createSocketOptions");
                 } else if ("connector".equals(name)) {
                     // only deal with the one connector here
                     List<?> list =
@@ -237,6 +246,15 @@ public class JettyHTTPServerEngineBeanDefinitionParser extends AbstractBeanDefin
         if (paramtype.getThreadNamePrefix() != null) {
             params.setThreadNamePrefix(paramtype.getThreadNamePrefix());
         }
+        if (paramtype.isVirtualThreads() != null) {
+            params.setVirtualThreads(paramtype.isVirtualThreads());
+        }
+        if (paramtype.getMaxVirtualThreads() != null) {
+            params.setMaxVirtualThreads(paramtype.getMaxVirtualThreads());
+        }
+        if (paramtype.isPinningDiagnostics() != null) {
+            params.setPinningDiagnostics(paramtype.isPinningDiagnostics());
+        }
         return params;
     }
 
@@ -348,6 +366,18 @@ public class JettyHTTPServerEngineBeanDefinitionParser extends AbstractBeanDefin
 
         return toThreadingParameters(parametersType);
     }
+    public static SocketOptions createSocketOptions(String s, JAXBContext context) {
+        SocketOptionsType optionsType = unmarshalFactoryString(s, context, SocketOptionsType.class);
+        SocketOptions options = new SocketOptions();
+        options.setReusePort(optionsType.isReusePort());
+        options.setTcpNoDelay(optionsType.isTcpNoDelay());
+        options.setBacklog(optionsType.getBacklog());
+        options.setReceiveBufferSize(optionsType.getReceiveBufferSize());
+        options.setSendBufferSize(optionsType.getSendBufferSize());
+        options.setAcceptors(optionsType.getAcceptors());
+        return options;
+    }
+
     public static String createThreadingParametersRef(String s, JAXBContext context) {
         ThreadingParametersIdentifiedType parametersType
             = unmarshalFactoryString(s, context, ThreadingParametersIdentifiedType.class);
@@ -63,6 +63,15 @@ public final class JettySpringTypesFactory {
         params.setMaxThreads(paramtype.getMaxThreads());
         params.setMinThreads(paramtype.getMinThreads());
         params.setThreadNamePrefix(paramtype.getThreadNamePrefix());
+        if (paramtype.isVirtualThreads() != null) {
+            params.setVirtualThreads(paramtype.isVirtualThreads());
+        }
+        if (paramtype.getMaxVirtualThreads() != null) {
+            params.setMaxVirtualThreads(paramtype.getMaxVirtualThreads());
+        }
+        if (paramtype.isPinningDiagnostics() != null) {
+            params.setPinningDiagnostics(paramtype.isPinningDiagnostics());
+        }
         return params;
     }
 
@@ -42,12 +42,15 @@ import org.apache.cxf.helpers.CastUtils;
 import org.apache.cxf.helpers.IOUtils;
 import org.apache.cxf.management.InstrumentationManager;
 import org.apache.cxf.testutil.common.TestUtil;
+import org.apache.cxf.transport.http.SocketOptions;
+import org.apache.cxf.workqueue.VirtualThreadWorkQueueImpl;
 import org.eclipse.jetty.ee10.servlet.ServletContextHandler;
 import org.eclipse.jetty.ee10.servlet.ServletHandler;
 import org.eclipse.jetty.ee10.servlet.ServletHandler.MappedServlet;
 import org.eclipse.jetty.ee10.servlet.ServletHolder;
 import org.eclipse.jetty.http.pathmap.MatchedResource;
 import org.eclipse.jetty.server.Connector;
+import org.eclipse.jetty.server.ServerConnector;
 import org.eclipse.jetty.server.handler.ContextHandler;
 import org.eclipse.jetty.util.thread.QueuedThreadPool;
 import org.eclipse.jetty.util.thread.ThreadPool;
@@ -56,6 +59,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
@@ -212,6 +216,70 @@ public class JettyHTTPServerEngineTest {
         return ((Long)connector.getClass().getMethod("getIdleTimeout").invoke(connector)).intValue();
     }
 
+    @Test
+    public void testSocketOptions() throws Exception {
+        String urlStr = "http://localhost:" + PORT1 + "/hello/test";
+        JettyHTTPServerEngine engine =
+            factory.createJettyHTTPServerEngine(PORT1, "http");
+        SocketOptions options = new SocketOptions();
+        options.setReusePort(true);
+        options.setTcpNoDelay(false);
+        options.setBacklog(256);
+        options.setReceiveBufferSize(32768);
+        options.setAcceptors(2);
+        engine.setSocketOptions(options);
+        engine.addServant(new URL(urlStr), new JettyHTTPTestHandler("string1", true));
+
+        ServerConnector connector = (ServerConnector)engine.getConnector();
+        assertEquals(2, connector.getAcceptors());
+        assertEquals(256, connector.getAcceptQueueSize());
+        assertTrue(connector.isReusePort());
+        assertFalse(connector.getAcceptedTcpNoDelay());
+        assertEquals(32768, connector.getAcceptedReceiveBufferSize());
+        assertEquals("string1", getResponse(urlStr));
+
+        engine.removeServant(new URL(urlStr));
+        JettyHTTPServerEngineFactory.destroyForPort(PORT1);
+    }
+
+    @Test
+    public void testVirtualThreads() throws Exception {
+        String urlStr = "http://localhost:" + PORT1 + "/hello/test";
+        JettyHTTPServerEngine engine =
+            factory.createJettyHTTPServerEngine(PORT1, "http");
+        ThreadingParameters parameters = new ThreadingParameters();
+        parameters.setVirtualThreads(true);
+        parameters.setMaxVirtualThreads(16);
+        engine.setThreadingParameters(parameters);
+        engine.addServant(new URL(urlStr), new JettyHTTPTestHandler("string1", true));
+
+        // without virtual threads the requests stay on the thread pool of the engine
+        assertEquals(VirtualThreadWorkQueueImpl.isVirtualThreadsSupported(),
+                     engine.getVirtualThreadsExecutor() != null);
+        if (engine.getVirtualThreadsExecutor() != null) {
+            // the requests waiting for a virtual thread are bounded as well
+            assertEquals(16, engine.getVirtualThreadsExecutor().getMaxSize());
+        }
+        assertEquals("string1", getResponse(urlStr));
+
+        engine.removeServant(new URL(urlStr));
+        JettyHTTPServerEngineFactory.destroyForPort(PORT1);
+        assertNull(engine.getVirtualThreadsExecutor());
+    }
+
+    @Test
+    public void testMaxVirtualThreadsValidated() {
+        ThreadingParameters parameters = new ThreadingParameters();
+        parameters.setMaxVirtualThreads(-1);
+        assertEquals(-1, parameters.getMaxVirtualThreads());
+        try {
+            parameters.setMaxVirtualThreads(0);
+            fail("0 would let no request run");
+        } catch (IllegalArgumentException ex) {
+            assertEquals(-1, parameters.getMaxVirtualThreads());
+        }
+    }
+
     @Test
     public void testaddServants() throws Exception {
         String urlStr = "http://localhost:" + PORT1 + "/hello/test";
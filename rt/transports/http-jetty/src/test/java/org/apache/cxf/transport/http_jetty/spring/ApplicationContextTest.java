@@ -46,6 +46,7 @@ import org.junit.Test;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -140,11 +141,20 @@ public class ApplicationContextTest {
         assertEquals(99, engine.getThreadingParameters().getMinThreads());
         assertEquals(777, engine.getThreadingParameters().getMaxThreads());
         assertEquals("AnotherPrefix", engine.getThreadingParameters().getThreadNamePrefix());
+        assertTrue(engine.getThreadingParameters().isVirtualThreads());
+        assertTrue(engine.getThreadingParameters().isSetMaxVirtualThreads());
+        assertEquals(64, engine.getThreadingParameters().getMaxVirtualThreads());
+        assertFalse(engine.getThreadingParameters().isPinningDiagnostics());
 
         assertEquals("session timeout should be 600 secs", 600, engine.getSessionTimeout());
         assertTrue("The engine should support session manager", engine.isSessionSupport());
         assertNotNull("The handlers should not be null", engine.getHandlers());
         assertEquals(1, engine.getHandlers().size());
+        assertTrue(engine.getSocketOptions().isReusePort());
+        assertTrue(engine.getSocketOptions().getTcpNoDelay());
+        assertEquals(Integer.valueOf(512), engine.getSocketOptions().getBacklog());
+        assertEquals(Integer.valueOf(2), engine.getSocketOptions().getAcceptors());
+        assertNull(engine.getSocketOptions().getReceiveBufferSize());
 
         JettyHTTPDestination jd3 =
             (JettyHTTPDestination)factory.getDestination(
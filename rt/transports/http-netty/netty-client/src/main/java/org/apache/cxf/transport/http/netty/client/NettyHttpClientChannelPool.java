@@ -0,0 +1,252 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.transport.http.netty.client;
+
+import java.io.Closeable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.pool.ChannelHealthChecker;
+import io.netty.channel.pool.ChannelPoolHandler;
+import io.netty.channel.pool.FixedChannelPool;
+import io.netty.channel.pool.FixedChannelPool.AcquireTimeoutAction;
+import io.netty.handler.timeout.IdleStateEvent;
+import io.netty.handler.timeout.IdleStateHandler;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import io.netty.util.AttributeKey;
+import io.netty.util.concurrent.Future;
+
+/**
+ * A bounded pool of keep-alive HTTP/1.1 channels to a single remote host. Channels are
+ * leased to one request at a time and handed back by the {@link NettyHttpClientHandler}
+ * once the last content of the response has been read. Idle channels are closed after
+ * the configured idle timeout, and every channel is checked to be active before it is
+ * leased again.
+ */
+public class NettyHttpClientChannelPool implements Closeable {
+    static final String READ_TIMEOUT_HANDLER = "readTimeoutHandler";
+    static final String IDLE_HANDLER = "idleEvictionHandler";
+    static final String CLIENT_HANDLER = "client";
+
+    private static final AttributeKey<NettyHttpClientChannelPool> POOL =
+        AttributeKey.valueOf("CXF-Netty-Channel-Pool");
+    private static final AttributeKey<Object> LEASE = AttributeKey.valueOf("CXF-Netty-Channel-Lease");
+
+    private final String name;
+    private final FixedChannelPool pool;
+    private final NettyHttpClientPipelineFactory pipelineFactory;
+    private final int maxConnections;
+    private final int maxPendingAcquires;
+    private final long idleTimeout;
+
+    private final AtomicInteger openConnections = new AtomicInteger();
+    private final AtomicInteger leasedConnections = new AtomicInteger();
+    private final AtomicInteger pendingAcquires = new AtomicInteger();
+    private final LongAdder createdConnections = new LongAdder();
+    private final LongAdder closedConnections = new LongAdder();
+    private final LongAdder acquireCount = new LongAdder();
+    private final LongAdder acquireFailures = new LongAdder();
+
+    public NettyHttpClientChannelPool(String name, Bootstrap bootstrap,
+                                      NettyHttpClientPipelineFactory pipelineFactory,
+                                      int maxConnections, int maxPendingAcquires,
+                                      long acquireTimeout, long idleTimeout) {
+        this.name = name;
+        this.pipelineFactory = pipelineFactory;
+        this.maxConnections = maxConnections;
+        this.maxPendingAcquires = maxPendingAcquires;
+        this.idleTimeout = idleTimeout;
+        this.pool = new FixedChannelPool(bootstrap, new PoolHandler(), ChannelHealthChecker.ACTIVE,
+                                         acquireTimeout > 0 ? AcquireTimeoutAction.FAIL : null,
+                                         acquireTimeout > 0 ? acquireTimeout : -1,
+                                         maxConnections, maxPendingAcquires, true, true);
+    }
+
+    /**
+     * Leases a channel for the given request. The read timeout only applies while the
+     * channel is leased, it is removed again once the channel is back in the pool.
+     */
+    public Future<Channel> acquire(final Object lease, final int readTimeout) {
+        pendingAcquires.incrementAndGet();
+        Future<Channel> future = pool.acquire();
+        future.addListener(f -> {
+            pendingAcquires.decrementAndGet();
+            if (f.isSuccess()) {
+                Channel ch = (Channel)f.getNow();
+                if (readTimeout > 0) {
+                    ch.pipeline().addBefore(CLIENT_HANDLER, READ_TIMEOUT_HANDLER,
+                                            new ReadTimeoutHandler(readTimeout, TimeUnit.MILLISECONDS));
+                }
+                ch.attr(LEASE).set(lease);
+                leasedConnections.incrementAndGet();
+                acquireCount.increment();
+            } else {
+                acquireFailures.increment();
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Returns true if the channel belongs to a pool, false if the caller owns the channel
+     * and is responsible for closing it.
+     */
+    public static boolean isPooled(Channel ch) {
+        return ch.attr(POOL).get() != null;
+    }
+
+    /**
+     * Hands a leased channel back to its pool. The channel is closed first if it cannot be
+     * reused. Releasing is a no-op if the channel is not (or no longer) leased by the
+     * given lease, so it is safe to call it more than once.
+     */
+    public static void release(Channel ch, Object lease, boolean reusable) {
+        NettyHttpClientChannelPool p = ch.attr(POOL).get();
+        if (p != null && lease != null && ch.attr(LEASE).compareAndSet(lease, null)) {
+            p.releaseLeased(ch, reusable);
+        }
+    }
+
+    /**
+     * Hands a channel back to its pool regardless of the request it was leased to.
+     */
+    public static void release(Channel ch, boolean reusable) {
+        NettyHttpClientChannelPool p = ch.attr(POOL).get();
+        if (p != null && ch.attr(LEASE).getAndSet(null) != null) {
+            p.releaseLeased(ch, reusable);
+        }
+    }
+
+    private void releaseLeased(Channel ch, boolean reusable) {
+        leasedConnections.decrementAndGet();
+        if (reusable && ch.isActive()) {
+            pool.release(ch);
+        } else {
+            ch.close().addListener(f -> pool.release(ch));
+        }
+    }
+
+    @Override
+    public void close() {
+        pool.close();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public int getMaxPendingAcquires() {
+        return maxPendingAcquires;
+    }
+
+    public long getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public int getOpenConnections() {
+        return openConnections.get();
+    }
+
+    public int getLeasedConnections() {
+        return leasedConnections.get();
+    }
+
+    public int getIdleConnections() {
+        return Math.max(0, openConnections.get() - leasedConnections.get());
+    }
+
+    public int getPendingAcquires() {
+        return pendingAcquires.get();
+    }
+
+    public long getCreatedConnections() {
+        return createdConnections.sum();
+    }
+
+    public long getClosedConnections() {
+        return closedConnections.sum();
+    }
+
+    public long getAcquireCount() {
+        return acquireCount.sum();
+    }
+
+    public long getAcquireFailures() {
+        return acquireFailures.sum();
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    private final class PoolHandler implements ChannelPoolHandler {
+        @Override
+        public void channelCreated(Channel ch) throws Exception {
+            ch.attr(POOL).set(NettyHttpClientChannelPool.this);
+            createdConnections.increment();
+            openConnections.incrementAndGet();
+            ch.closeFuture().addListener(f -> {
+                closedConnections.increment();
+                openConnections.decrementAndGet();
+            });
+            pipelineFactory.initChannel(ch);
+        }
+
+        @Override
+        public void channelAcquired(Channel ch) {
+            ChannelPipeline pipeline = ch.pipeline();
+            if (pipeline.get(IDLE_HANDLER) != null) {
+                pipeline.remove(IDLE_HANDLER);
+            }
+        }
+
+        @Override
+        public void channelReleased(Channel ch) {
+            ChannelPipeline pipeline = ch.pipeline();
+            if (pipeline.get(READ_TIMEOUT_HANDLER) != null) {
+                pipeline.remove(READ_TIMEOUT_HANDLER);
+            }
+            if (idleTimeout > 0 && ch.isActive() && pipeline.get(IDLE_HANDLER) == null) {
+                pipeline.addBefore(CLIENT_HANDLER, IDLE_HANDLER, new IdleEvictionHandler(idleTimeout));
+            }
+        }
+    }
+
+    private static final class IdleEvictionHandler extends IdleStateHandler {
+        IdleEvictionHandler(long idleTimeout) {
+            super(0, 0, idleTimeout, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        protected void channelIdle(ChannelHandlerContext ctx, IdleStateEvent evt) {
+            ctx.close();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.transport.http.netty.client;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import org.apache.cxf.Bus;
+import org.apache.cxf.management.ManagedComponent;
+import org.apache.cxf.management.ManagementConstants;
+import org.apache.cxf.management.annotation.ManagedAttribute;
+import org.apache.cxf.management.annotation.ManagedResource;
+
+@ManagedResource(componentName = "NettyHttpClientChannelPool",
+                 description = "The keep-alive channel pool of the Netty HTTP client to a single host",
+                 currencyTimeLimit = 15, persistPolicy = "OnUpdate", persistPeriod = 200)
+public class NettyHttpClientChannelPoolMBean implements ManagedComponent {
+    private static final String TYPE_VALUE = "NettyHttpClient.ChannelPool";
+
+    private final Bus bus;
+    private final NettyHttpClientChannelPool pool;
+
+    public NettyHttpClientChannelPoolMBean(Bus bus, NettyHttpClientChannelPool pool) {
+        this.bus = bus;
+        this.pool = pool;
+    }
+
+    @ManagedAttribute(description = "The host of the pool")
+    public String getName() {
+        return pool.getName();
+    }
+
+    @ManagedAttribute(description = "The maximum number of connections")
+    public int getMaxConnections() {
+        return pool.getMaxConnections();
+    }
+
+    @ManagedAttribute(description = "The maximum number of pending acquires")
+    public int getMaxPendingAcquires() {
+        return pool.getMaxPendingAcquires();
+    }
+
+    @ManagedAttribute(description = "The time in milliseconds after which idle connections are closed")
+    public long getIdleTimeout() {
+        return pool.getIdleTimeout();
+    }
+
+    @ManagedAttribute(description = "The number of open connections")
+    public int getOpenConnections() {
+        return pool.getOpenConnections();
+    }
+
+    @ManagedAttribute(description = "The number of connections leased to requests")
+    public int getLeasedConnections() {
+        return pool.getLeasedConnections();
+    }
+
+    @ManagedAttribute(description = "The number of idle connections")
+    public int getIdleConnections() {
+        return pool.getIdleConnections();
+    }
+
+    @ManagedAttribute(description = "The number of requests waiting for a connection")
+    public int getPendingAcquires() {
+        return pool.getPendingAcquires();
+    }
+
+    @ManagedAttribute(description = "The total number of connections created")
+    public long getCreatedConnections() {
+        return pool.getCreatedConnections();
+    }
+
+    @ManagedAttribute(description = "The total number of connections closed")
+    public long getClosedConnections() {
+        return pool.getClosedConnections();
+    }
+
+    @ManagedAttribute(description = "The total number of connections leased")
+    public long getAcquireCount() {
+        return pool.getAcquireCount();
+    }
+
+    @ManagedAttribute(description = "The total number of failed connection acquires")
+    public long getAcquireFailures() {
+        return pool.getAcquireFailures();
+    }
+
+    @Override
+    public ObjectName getObjectName() throws JMException {
+        String busId = bus.getId();
+        StringBuilder buffer = new StringBuilder(ManagementConstants.DEFAULT_DOMAIN_NAME).append(':')
+            .append(ManagementConstants.BUS_ID_PROP).append('=').append(busId).append(',')
+            .append(ManagementConstants.TYPE_PROP).append('=').append(TYPE_VALUE).append(',')
+            .append(ManagementConstants.NAME_PROP).append('=').append(ObjectName.quote(pool.getName())).append(',')
+            // Added the instance id to make the ObjectName unique
+            .append(ManagementConstants.INSTANCE_ID_PROP).append('=').append(pool.hashCode());
+        return new ObjectName(buffer.toString());
+    }
+}
@@ -0,0 +1,237 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.transport.http.netty.client;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import org.apache.cxf.Bus;
+import org.apache.cxf.common.logging.LogUtils;
+import org.apache.cxf.common.util.PropertyUtils;
+import org.apache.cxf.configuration.jsse.TLSClientParameters;
+import org.apache.cxf.management.InstrumentationManager;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+
+/**
+ * Bus wide registry of the {@link NettyHttpClientChannelPool}s, one per remote host and
+ * connection settings. The pools are configured through the following bus properties:
+ * <ul>
+ * <li>{@link #POOL_ENABLED} - whether HTTP/1.1 channels are pooled at all (default true)</li>
+ * <li>{@link #MAX_CONNECTIONS_PER_HOST} - the maximum number of connections per host (default 64)</li>
+ * <li>{@link #MAX_PENDING_ACQUIRES} - the maximum number of requests waiting for a connection
+ * (default 1024)</li>
+ * <li>{@link #ACQUIRE_TIMEOUT} - the time in milliseconds a request waits for a connection
+ * (default 30000)</li>
+ * <li>{@link #IDLE_TIMEOUT} - the time in milliseconds after which idle connections are closed
+ * (default 60000)</li>
+ * </ul>
+ */
+public class NettyHttpClientChannelPoolManager {
+    public static final String POOL_ENABLED = "org.apache.cxf.transport.http.netty.pool.enabled";
+    public static final String MAX_CONNECTIONS_PER_HOST =
+        "org.apache.cxf.transport.http.netty.pool.maxConnectionsPerHost";
+    public static final String MAX_PENDING_ACQUIRES =
+        "org.apache.cxf.transport.http.netty.pool.maxPendingAcquires";
+    public static final String ACQUIRE_TIMEOUT = "org.apache.cxf.transport.http.netty.pool.acquireTimeout";
+    public static final String IDLE_TIMEOUT = "org.apache.cxf.transport.http.netty.pool.idleTimeout";
+
+    static final int DEFAULT_MAX_CONNECTIONS_PER_HOST = 64;
+    static final int DEFAULT_MAX_PENDING_ACQUIRES = 1024;
+    static final long DEFAULT_ACQUIRE_TIMEOUT = 30000L;
+    static final long DEFAULT_IDLE_TIMEOUT = 60000L;
+
+    private static final Logger LOG = LogUtils.getLogger(NettyHttpClientChannelPoolManager.class);
+
+    private final Bus bus;
+    private final EventLoopGroup group;
+    private final Class<? extends SocketChannel> socketChannelClass;
+    private final boolean enabled;
+    private final int maxConnectionsPerHost;
+    private final int maxPendingAcquires;
+    private final long acquireTimeout;
+    private final long idleTimeout;
+    private final Map<PoolKey, NettyHttpClientChannelPool> pools = new ConcurrentHashMap<>();
+    private final Map<NettyHttpClientChannelPool, ObjectName> mbeans = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+
+    public NettyHttpClientChannelPoolManager(Bus bus, EventLoopGroup group) {
+        this.bus = bus;
+        this.group = group;
+        this.socketChannelClass = NettyTransportType.of(group).getSocketChannelClass();
+        Object o = bus.getProperty(POOL_ENABLED);
+        this.enabled = o == null || PropertyUtils.isTrue(o);
+        this.maxConnectionsPerHost = (int)getLong(MAX_CONNECTIONS_PER_HOST, DEFAULT_MAX_CONNECTIONS_PER_HOST);
+        this.maxPendingAcquires = (int)getLong(MAX_PENDING_ACQUIRES, DEFAULT_MAX_PENDING_ACQUIRES);
+        this.acquireTimeout = getLong(ACQUIRE_TIMEOUT, DEFAULT_ACQUIRE_TIMEOUT);
+        this.idleTimeout = getLong(IDLE_TIMEOUT, DEFAULT_IDLE_TIMEOUT);
+    }
+
+    public boolean isEnabled() {
+        return enabled && !closed;
+    }
+
+    /**
+     * Returns the pool for the given address, creating it on first use. The TLS parameters
+     * are compared by identity as they are not value objects; null means the defaults.
+     */
+    public NettyHttpClientChannelPool getPool(URI uri, TLSClientParameters tlsClientParameters,
+                                              int connectionTimeout, int maxResponseContentLength) {
+        final boolean https = "https".equals(uri.getScheme());
+        final int port = uri.getPort() != -1 ? uri.getPort() : https ? 443 : 80;
+        final PoolKey key = new PoolKey(uri.getScheme(), uri.getHost(), port,
+                                        https ? tlsClientParameters : null,
+                                        connectionTimeout, maxResponseContentLength);
+        NettyHttpClientChannelPool pool = pools.get(key);
+        if (pool == null) {
+            pool = pools.computeIfAbsent(key, k -> createPool(k, https));
+            if (closed) {
+                close();
+            }
+        }
+        return pool;
+    }
+
+    public Collection<NettyHttpClientChannelPool> getPools() {
+        return new ArrayList<>(pools.values());
+    }
+
+    private NettyHttpClientChannelPool createPool(PoolKey key, boolean https) {
+        TLSClientParameters tls = null;
+        if (https) {
+            tls = key.tlsClientParameters != null ? key.tlsClientParameters : new TLSClientParameters();
+        }
+        NettyHttpClientPipelineFactory pipelineFactory =
+            new NettyHttpClientPipelineFactory(tls, 0, key.maxResponseContentLength);
+        Bootstrap bootstrap = new Bootstrap()
+            .group(group)
+            .channel(socketChannelClass)
+            .remoteAddress(key.host, key.port);
+        if (key.connectionTimeout > 0) {
+            bootstrap.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, key.connectionTimeout);
+        }
+        NettyHttpClientChannelPool pool = new NettyHttpClientChannelPool(
+            key.scheme + "://" + key.host + ':' + key.port, bootstrap, pipelineFactory,
+            maxConnectionsPerHost, maxPendingAcquires, acquireTimeout, idleTimeout);
+        register(pool);
+        return pool;
+    }
+
+    private void register(NettyHttpClientChannelPool pool) {
+        InstrumentationManager manager = bus.getExtension(InstrumentationManager.class);
+        if (manager != null) {
+            try {
+                mbeans.put(pool, manager.register(new NettyHttpClientChannelPoolMBean(bus, pool)));
+            } catch (JMException e) {
+                LOG.log(Level.WARNING, "Could not register the channel pool " + pool, e);
+            }
+        }
+    }
+
+    private void unregister(NettyHttpClientChannelPool pool) {
+        ObjectName name = mbeans.remove(pool);
+        InstrumentationManager manager = bus.getExtension(InstrumentationManager.class);
+        if (name != null && manager != null) {
+            try {
+                manager.unregister(name);
+            } catch (JMException e) {
+                LOG.log(Level.FINE, "Could not unregister the channel pool " + pool, e);
+            }
+        }
+    }
+
+    /**
+     * Closes all the pools along with their idle channels, leased channels are closed once
+     * they are released.
+     */
+    public void close() {
+        closed = true;
+        for (NettyHttpClientChannelPool pool : getPools()) {
+            pools.values().remove(pool);
+            unregister(pool);
+            pool.close();
+        }
+    }
+
+    private long getLong(String name, long defaultValue) {
+        Object o = bus.getProperty(name);
+        if (o instanceof Number) {
+            return ((Number)o).longValue();
+        } else if (o != null) {
+            try {
+                return Long.parseLong(o.toString().trim());
+            } catch (NumberFormatException e) {
+                LOG.log(Level.WARNING, "Invalid value " + o + " of " + name + ", using " + defaultValue);
+            }
+        }
+        return defaultValue;
+    }
+
+    private static final class PoolKey {
+        final String scheme;
+        final String host;
+        final int port;
+        final TLSClientParameters tlsClientParameters;
+        final int connectionTimeout;
+        final int maxResponseContentLength;
+
+        PoolKey(String scheme, String host, int port, TLSClientParameters tlsClientParameters,
+                int connectionTimeout, int maxResponseContentLength) {
+            this.scheme = scheme;
+            this.host = host;
+            this.port = port;
+            this.tlsClientParameters = tlsClientParameters;
+            this.connectionTimeout = connectionTimeout;
+            this.maxResponseContentLength = maxResponseContentLength;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof PoolKey)) {
+                return false;
+            }
+            PoolKey other = (PoolKey)o;
+            return port == other.port
+                && connectionTimeout == other.connectionTimeout
+                && maxResponseContentLength == other.maxResponseContentLength
+                && tlsClientParameters == other.tlsClientParameters
+                && scheme.equals(other.scheme)
+                && host.equals(other.host);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(scheme, host, port, System.identityHashCode(tlsClientParameters),
+                                connectionTimeout, maxResponseContentLength);
+        }
+    }
+}
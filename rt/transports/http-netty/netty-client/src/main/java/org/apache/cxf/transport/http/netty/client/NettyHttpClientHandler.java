@@ -28,12 +28,15 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelPromise;
 import io.netty.handler.codec.http.HttpObject;
 import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpUtil;
 import io.netty.handler.codec.http.LastHttpContent;
 import io.netty.handler.timeout.ReadTimeoutException;
 
 public class NettyHttpClientHandler extends ChannelDuplexHandler {
     private final BlockingQueue<NettyHttpClientRequest> sendedQueue =
         new LinkedBlockingDeque<>();
+    private NettyHttpClientRequest current;
+    private boolean keepAlive;
 
     @Override
     public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
@@ -42,13 +45,23 @@ public class NettyHttpClientHandler extends ChannelDuplexHandler {
                 // just make sure we can combine the request and response together
                 HttpResponse response = (HttpResponse)msg;
                 NettyHttpClientRequest request = sendedQueue.poll();
-                request.setResponse(response);
-                // calling the callback here
-                request.getCxfResponseCallback().responseReceived(response);
+                current = request;
+                keepAlive = HttpUtil.isKeepAlive(response);
+                if (request != null) {
+                    request.setResponse(response);
+                    // calling the callback here
+                    request.getCxfResponseCallback().responseReceived(response);
+                }
             }
             
             if (msg instanceof LastHttpContent) {
-                ctx.close();
+                if (NettyHttpClientChannelPool.isPooled(ctx.channel())) {
+                    // hand the keep-alive channel back for the next request
+                    NettyHttpClientChannelPool.release(ctx.channel(), current, keepAlive);
+                } else {
+                    ctx.close();
+                }
+                current = null;
             }
         } else {
             super.channelRead(ctx, msg);
@@ -72,13 +85,31 @@ public class NettyHttpClientHandler extends ChannelDuplexHandler {
     public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) throws Exception {
         if (cause instanceof ReadTimeoutException) {
             final NettyHttpClientRequest request = sendedQueue.poll();
-            request.getCxfResponseCallback().error(new IOException(cause));
+            if (request != null) {
+                request.getCxfResponseCallback().error(new IOException(cause));
+            }
+            ctx.close();
         } else {
             cause.printStackTrace();
             ctx.close();
         }
     }
 
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        // fail the requests still waiting for a response rather than letting them time out
+        NettyHttpClientRequest request = sendedQueue.poll();
+        while (request != null) {
+            if (request.getCxfResponseCallback() != null) {
+                request.getCxfResponseCallback().error(
+                    new IOException("Connection closed before the response was received"));
+            }
+            request = sendedQueue.poll();
+        }
+        NettyHttpClientChannelPool.release(ctx.channel(), false);
+        super.channelInactive(ctx);
+    }
+
     @Override
     public void channelReadComplete(ChannelHandlerContext ctx) throws Exception {
         ctx.flush();
@@ -23,9 +23,13 @@ import java.net.URI;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.DefaultHttpRequest;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpUtil;
 import io.netty.handler.codec.http.HttpVersion;
 import io.netty.handler.codec.http2.HttpConversionUtil.ExtensionHeaderNames;
 
@@ -56,6 +60,32 @@ public class NettyHttpClientRequest {
             new DefaultFullHttpRequest(HttpVersion.HTTP_1_1,
                                        HttpMethod.valueOf(method),
                                        uri.getRawPath(), content);
+        setDefaultHeaders();
+    }
+
+    /**
+     * Replaces the request with one using the chunked transfer encoding, the body is then
+     * written as separate {@link io.netty.handler.codec.http.HttpContent} messages after
+     * the request itself. The headers set so far are kept, the content of a previously
+     * created request is left to the caller.
+     */
+    public void createStreamingRequest() {
+        HttpRequest streamingRequest =
+            new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.valueOf(method), uri.getRawPath());
+        if (request != null) {
+            streamingRequest.headers().set(request.headers());
+            streamingRequest.headers().remove(HttpHeaderNames.CONTENT_LENGTH);
+        }
+        this.request = streamingRequest;
+        setDefaultHeaders();
+        HttpUtil.setTransferEncodingChunked(request, true);
+    }
+
+    public boolean isStreaming() {
+        return request != null && !(request instanceof FullHttpRequest);
+    }
+
+    private void setDefaultHeaders() {
         // setup the default headers
         request.headers().set("Connection", "keep-alive");
         request.headers().set("Host", uri.getHost() + ":"
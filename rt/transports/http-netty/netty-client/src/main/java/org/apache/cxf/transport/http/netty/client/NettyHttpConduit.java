@@ -66,17 +66,24 @@ import org.apache.cxf.ws.addressing.EndpointReferenceType;
 
 import io.netty.bootstrap.Bootstrap;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.ByteBufInputStream;
 import io.netty.buffer.ByteBufOutputStream;
-import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.DefaultLastHttpContent;
 import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.LastHttpContent;
 import io.netty.handler.ssl.SslHandler;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.FutureListener;
 
 
 public class NettyHttpConduit extends HttpClientHTTPConduit implements BusLifeCycleListener {
@@ -93,6 +100,7 @@ public class NettyHttpConduit extends HttpClientHTTPConduit implements BusLifeCy
     
     final NettyHttpConduitFactory factory;
     private Bootstrap bootstrap;
+    private final NettyHttpClientChannelPoolManager channelPoolManager;
 
 
     public NettyHttpConduit(Bus b, EndpointInfo ei, EndpointReferenceType t, NettyHttpConduitFactory conduitFactory)
@@ -102,7 +110,8 @@ public class NettyHttpConduit extends HttpClientHTTPConduit implements BusLifeCy
         bootstrap = new Bootstrap();
         EventLoopGroup eventLoopGroup = bus.getExtension(EventLoopGroup.class);
         bootstrap.group(eventLoopGroup);
-        bootstrap.channel(NioSocketChannel.class);
+        bootstrap.channel(NettyTransportType.of(eventLoopGroup).getSocketChannelClass());
+        channelPoolManager = bus.getExtension(NettyHttpClientChannelPoolManager.class);
     }
 
     public NettyHttpConduitFactory getNettyHttpConduitFactory() {
@@ -238,9 +247,26 @@ public class NettyHttpConduit extends HttpClientHTTPConduit implements BusLifeCy
         volatile Throwable exception;
         volatile Channel channel;
         volatile SSLSession session;
+        Future<Channel> acquireFuture;
+        boolean abandoned;
         boolean isAsync;
         ByteBuf outBuffer;
+        boolean outBufferReleased;
         OutputStream outputStream;
+        final int bufSize;
+        boolean streaming;
+        boolean requestSent;
+        ByteBuf chunk;
+        ChannelFuture lastWrite;
+        HttpResponse releasedResponse;
+        final ChannelFutureListener writeFailureListener = new ChannelFutureListener() {
+            @Override
+            public void operationComplete(ChannelFuture future) throws Exception {
+                if (!future.isSuccess()) {
+                    setException(future.cause());
+                }
+            }
+        };
 
         final Lock syncLock = new ReentrantLock();
         final Condition connected = syncLock.newCondition();
@@ -251,8 +277,8 @@ public class NettyHttpConduit extends HttpClientHTTPConduit implements BusLifeCy
             super(message, possibleRetransmit, isChunking, chunkThreshold, conduitName, url);
             csPolicy = getClient(message);
             entity = message.get(NettyHttpClientRequest.class);
-            int bufSize = csPolicy.getChunkLength() > 0 ? csPolicy.getChunkLength() : 16320;
-            outBuffer = Unpooled.buffer(bufSize);
+            bufSize = csPolicy.getChunkLength() > 0 ? csPolicy.getChunkLength() : 16320;
+            outBuffer = ByteBufAllocator.DEFAULT.buffer(bufSize);
             outputStream = new ByteBufOutputStream(outBuffer);
             enableHttp2 = "2.0".equals(csPolicy.getVersion());
         }
@@ -311,6 +337,8 @@ public class NettyHttpConduit extends HttpClientHTTPConduit implements BusLifeCy
                         }
                     }
                     if (channel == null) {
+                        // a pooled channel leased from now on goes straight back to the pool
+                        abandoned = true;
     
                         if (exception != null) {
                             if (exception instanceof IOException) {
@@ -337,26 +365,35 @@ public class NettyHttpConduit extends HttpClientHTTPConduit implements BusLifeCy
             connect(true);
             wrappedStream = new OutputStream() {
                 public void write(byte[] b, int off, int len) throws IOException {
-                    outputStream.write(b, off, len);
+                    if (streaming) {
+                        writeChunked(b, off, len);
+                    } else {
+                        outputStream.write(b, off, len);
+                    }
                 }
                 public void write(int b) throws IOException {
-                    outputStream.write(b);
+                    if (streaming) {
+                        writeChunked(new byte[] {(byte)b}, 0, 1);
+                    } else {
+                        outputStream.write(b);
+                    }
                 }
                 public void close() throws IOException {
-                    // Setup the call back for sending the message
-                    ChannelFutureListener listener = new ChannelFutureListener() {
-                        @Override
-                        public void operationComplete(ChannelFuture future) throws Exception {
-                            if (!future.isSuccess()) {
-                                setException(future.cause());
-                            }
-                        }
-                    };
-                    
+                    if (streaming) {
+                        sendChunk(chunk == null ? LastHttpContent.EMPTY_LAST_CONTENT
+                            : new DefaultLastHttpContent(chunk));
+                        return;
+                    }
                     synchronized (entity) {
                         Channel syncChannel = getChannel();
+                        HttpRequest request = entity.getRequest();
+                        if (!HttpUtil.isContentLengthSet(request) && !HttpUtil.isTransferEncodingChunked(request)) {
+                            HttpUtil.setContentLength(request, outBuffer.readableBytes());
+                        }
+                        // the content buffer is released by Netty once written
+                        outBufferReleased = true;
                         ChannelFuture channelFuture = syncChannel.writeAndFlush(entity);
-                        channelFuture.addListener(listener);
+                        channelFuture.addListener(writeFailureListener);
                         outputStream.close();
                     }
                 }
@@ -372,9 +409,100 @@ public class NettyHttpConduit extends HttpClientHTTPConduit implements BusLifeCy
         
         @Override
         protected void handleNoOutput() throws IOException {
+            outBufferReleased = true;
             connect(false);
         }
 
+        /**
+         * Copies the body into pooled chunks of the channel's allocator, each full chunk is
+         * sent right away so that the request is never held in memory completely.
+         */
+        protected void writeChunked(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                if (chunk == null) {
+                    chunk = getChannel().alloc().buffer(bufSize, bufSize);
+                }
+                int n = Math.min(len, chunk.writableBytes());
+                chunk.writeBytes(b, off, n);
+                off += n;
+                len -= n;
+                if (!chunk.isWritable()) {
+                    sendChunk(new DefaultHttpContent(chunk));
+                }
+            }
+        }
+
+        protected void sendChunk(HttpContent content) throws IOException {
+            chunk = null;
+            try {
+                Channel ch = getChannel();
+                if (!requestSent) {
+                    requestSent = true;
+                    ch.write(entity).addListener(writeFailureListener);
+                }
+                if (!ch.isWritable() && lastWrite != null) {
+                    // back pressure, wait for the previous chunks to reach the socket
+                    awaitWrite(lastWrite);
+                }
+                checkException();
+            } catch (IOException | RuntimeException ex) {
+                content.release();
+                throw ex;
+            }
+            lastWrite = getChannel().writeAndFlush(content);
+            lastWrite.addListener(writeFailureListener);
+        }
+
+        private void awaitWrite(ChannelFuture future) throws IOException {
+            try {
+                int timeout = entity.getReceiveTimeout();
+                if (timeout > 0) {
+                    if (!future.await(timeout, TimeUnit.MILLISECONDS)) {
+                        throw new SocketTimeoutException("Write Timeout");
+                    }
+                } else {
+                    future.await();
+                }
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+        }
+
+        private void checkException() throws IOException {
+            Throwable ex = exception;
+            if (ex instanceof IOException) {
+                throw (IOException)ex;
+            } else if (ex instanceof RuntimeException) {
+                throw (RuntimeException)ex;
+            } else if (ex != null) {
+                throw new IOException(ex);
+            }
+        }
+
+        protected void releaseOutBuffer() {
+            if (!outBufferReleased) {
+                outBufferReleased = true;
+                outBuffer.release();
+            }
+        }
+
+        /**
+         * Gives the aggregated response content back to the allocator, done once the response
+         * stream is closed or the response is dropped for a retransmit.
+         */
+        protected void releaseResponse() {
+            syncLock.lock();
+            try {
+                HttpResponse r = httpResponse;
+                if (r != null && r != releasedResponse) {
+                    releasedResponse = r;
+                    ReferenceCountUtil.release(r);
+                }
+            } finally {
+                syncLock.unlock();
+            }
+        }
+
         protected TLSClientParameters findTLSClientParameters() {
             TLSClientParameters clientParameters = outMessage.get(TLSClientParameters.class);
             if (clientParameters == null) {
@@ -387,6 +515,30 @@ public class NettyHttpConduit extends HttpClientHTTPConduit implements BusLifeCy
         }
 
         protected void connect(boolean output) {
+            // setup the CxfResponseCallBack
+            CxfResponseCallBack callBack = new CxfResponseCallBack() {
+                @Override
+                public void responseReceived(HttpResponse response) {
+                    setHttpResponse(response);
+                }
+                
+                @Override
+                public void error(Throwable ex) {
+                    setException(ex);
+                }
+            };
+            entity.setCxfResponseCallback(callBack);
+
+            if (!output) {
+                entity.getRequest().headers().remove("Transfer-Encoding");
+                entity.getRequest().headers().remove("Content-Type");
+            }
+
+            if (channelPoolManager != null && channelPoolManager.isEnabled() && !enableHttp2) {
+                acquire(output);
+                return;
+            }
+
             final NettyHttpClientPipelineFactory handler; 
             if ("https".equals(url.getScheme())) {
                 TLSClientParameters clientParameters = findTLSClientParameters();
@@ -427,33 +579,7 @@ public class NettyHttpConduit extends HttpClientHTTPConduit implements BusLifeCy
 
             connFuture.addListener(listener);
 
-            // setup the CxfResponseCallBack
-            CxfResponseCallBack callBack = new CxfResponseCallBack() {
-                @Override
-                public void responseReceived(HttpResponse response) {
-                    setHttpResponse(response);
-                }
-                
-                @Override
-                public void error(Throwable ex) {
-                    setException(ex);
-                }
-            };
-            entity.setCxfResponseCallback(callBack);
-
             if (!output) {
-                entity.getRequest().headers().remove("Transfer-Encoding");
-                entity.getRequest().headers().remove("Content-Type");
-                
-                ChannelFutureListener writeFailureListener = new ChannelFutureListener() {
-                    @Override
-                    public void operationComplete(ChannelFuture future) throws Exception {
-                        if (!future.isSuccess()) {
-                            setException(future.cause());
-                        }
-                    }
-                };
-                
                 connFuture.addListener(new ChannelFutureListener() {
                         @Override
                         public void operationComplete(ChannelFuture future) throws Exception {
@@ -475,6 +601,59 @@ public class NettyHttpConduit extends HttpClientHTTPConduit implements BusLifeCy
             }
         }
 
+        /**
+         * Leases a keep-alive channel from the per host pool instead of connecting a new one,
+         * the channel goes back to the pool once the response has been read.
+         */
+        protected void acquire(boolean output) {
+            final NettyHttpClientRequest request = entity;
+            syncLock.lock();
+            try {
+                if (acquireFuture != null) {
+                    // already connected, e.g. by getHttpsURLConnectionInfo
+                    return;
+                }
+                TLSClientParameters clientParameters = outMessage.get(TLSClientParameters.class);
+                if (clientParameters == null) {
+                    clientParameters = getTlsClientParameters();
+                }
+                NettyHttpClientChannelPool pool = channelPoolManager.getPool(url, clientParameters,
+                    request.getConnectionTimeout(), request.getMaxResponseContentLength());
+                abandoned = false;
+                acquireFuture = pool.acquire(request, request.getReceiveTimeout());
+            } finally {
+                syncLock.unlock();
+            }
+
+            acquireFuture.addListener(new FutureListener<Channel>() {
+                @Override
+                public void operationComplete(Future<Channel> future) throws Exception {
+                    if (!future.isSuccess()) {
+                        setException(future.cause());
+                        return;
+                    }
+                    Channel ch = future.getNow();
+                    syncLock.lock();
+                    try {
+                        if (abandoned) {
+                            NettyHttpClientChannelPool.release(ch, request, true);
+                            return;
+                        }
+                        SslHandler sslHandler = ch.pipeline().get(SslHandler.class);
+                        if (sslHandler != null) {
+                            session = sslHandler.engine().getSession();
+                        }
+                        setChannel(ch);
+                    } finally {
+                        syncLock.unlock();
+                    }
+                    if (!output) {
+                        ch.writeAndFlush(request).addListener(writeFailureListener);
+                    }
+                }
+            });
+        }
+
         @Override
         protected HttpsURLConnectionInfo getHttpsURLConnectionInfo() throws IOException {
             if ("http".equals(outMessage.get("http.scheme"))) {
@@ -596,8 +775,8 @@ public class NettyHttpConduit extends HttpClientHTTPConduit implements BusLifeCy
 
         @Override
         protected void closeInputStream() throws IOException {
-            //We just clear the buffer
-            getHttpResponseContent().content().clear();
+            releaseOutBuffer();
+            releaseResponse();
         }
 
         @Override
@@ -608,7 +787,14 @@ public class NettyHttpConduit extends HttpClientHTTPConduit implements BusLifeCy
 
         @Override
         protected InputStream getInputStream() throws IOException {
-            return new ByteBufInputStream(getHttpResponseContent().content());
+            releaseOutBuffer();
+            return new ByteBufInputStream(getHttpResponseContent().content()) {
+                @Override
+                public void close() throws IOException {
+                    super.close();
+                    releaseResponse();
+                }
+            };
         }
 
         @Override
@@ -649,13 +835,21 @@ public class NettyHttpConduit extends HttpClientHTTPConduit implements BusLifeCy
 
         @Override
         protected void setupNewConnection(String newURL) throws IOException {
+            releaseResponse();
+            releaseOutBuffer();
             httpResponse = null;
             isAsync = false;
             exception = null;
             if (channel != null) {
-                channel.close();
+                if (NettyHttpClientChannelPool.isPooled(channel)) {
+                    // no-op if the channel went back to the pool with the response
+                    NettyHttpClientChannelPool.release(channel, entity, false);
+                } else {
+                    channel.close();
+                }
                 channel = null;
             }
+            acquireFuture = null;
 
             try {
                 Address address;
@@ -669,8 +863,13 @@ public class NettyHttpConduit extends HttpClientHTTPConduit implements BusLifeCy
                 setupConnection(outMessage, address, csPolicy);
                 entity = outMessage.get(NettyHttpClientRequest.class);
                 //reset the buffers
-                outBuffer.clear();
+                outBuffer = ByteBufAllocator.DEFAULT.buffer(bufSize);
+                outBufferReleased = false;
                 outputStream = new ByteBufOutputStream(outBuffer);
+                entity.createRequest(outBuffer);
+                streaming = false;
+                requestSent = false;
+                lastWrite = null;
 
             } catch (URISyntaxException e) {
                 throw new IOException(e);
@@ -695,8 +894,12 @@ public class NettyHttpConduit extends HttpClientHTTPConduit implements BusLifeCy
 
         @Override
         public void thresholdReached() throws IOException {
-            //TODO need to support the chunked version
-            //entity.getRequest().setChunked(true);
+            if (chunking && !enableHttp2) {
+                // send the rest of the body as chunks rather than buffering all of it
+                streaming = true;
+                entity.createStreamingRequest();
+                releaseOutBuffer();
+            }
         }
 
         protected void setHttpResponse(HttpResponse r) {
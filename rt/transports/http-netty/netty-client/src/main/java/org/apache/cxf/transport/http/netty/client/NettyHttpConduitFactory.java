@@ -20,10 +20,12 @@
 package org.apache.cxf.transport.http.netty.client;
 
 import java.io.IOException;
+import java.util.logging.Logger;
 
 import org.apache.cxf.Bus;
 import org.apache.cxf.buslifecycle.BusLifeCycleListener;
 import org.apache.cxf.buslifecycle.BusLifeCycleManager;
+import org.apache.cxf.common.logging.LogUtils;
 import org.apache.cxf.common.util.SystemPropertyAction;
 import org.apache.cxf.service.model.EndpointInfo;
 import org.apache.cxf.transport.http.HTTPConduit;
@@ -32,13 +34,19 @@ import org.apache.cxf.transport.http.HTTPTransportFactory;
 import org.apache.cxf.ws.addressing.EndpointReferenceType;
 
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
 
 
 public class NettyHttpConduitFactory implements HTTPConduitFactory {
 
     //CXF specific
     public static final String USE_POLICY = "org.apache.cxf.transport.http.netty.usePolicy";
+    /**
+     * The Netty I/O transport of the client event loop group: nio, epoll, io_uring or auto
+     * (the default), read from the bus or the system properties.
+     */
+    public static final String TRANSPORT = "org.apache.cxf.transport.http.netty.transport";
+
+    private static final Logger LOG = LogUtils.getL7dLogger(NettyHttpConduitFactory.class);
 
     public enum UseAsyncPolicy {
         ALWAYS, ASYNC_ONLY, NEVER;
@@ -86,11 +94,17 @@ public class NettyHttpConduitFactory implements HTTPConduitFactory {
         // if not create a new EventLoopGroup for it
         EventLoopGroup eventLoopGroup = bus.getExtension(EventLoopGroup.class);
         if (eventLoopGroup == null) {
-            final EventLoopGroup group = new NioEventLoopGroup();
+            final EventLoopGroup group = createEventLoopGroup(bus);
             // register a BusLifeCycleListener for it
             bus.setExtension(group, EventLoopGroup.class);
             registerBusLifeListener(bus, group);
         }
+        if (bus.getExtension(NettyHttpClientChannelPoolManager.class) == null) {
+            final NettyHttpClientChannelPoolManager poolManager =
+                new NettyHttpClientChannelPoolManager(bus, bus.getExtension(EventLoopGroup.class));
+            bus.setExtension(poolManager, NettyHttpClientChannelPoolManager.class);
+            registerBusLifeListener(bus, poolManager);
+        }
         return new NettyHttpConduit(bus, localInfo, target, this);
     }
 
@@ -102,6 +116,23 @@ public class NettyHttpConduitFactory implements HTTPConduitFactory {
         return createConduit(null, bus, localInfo, target);
     }
 
+    protected EventLoopGroup createEventLoopGroup(Bus bus) {
+        Object configured = bus.getProperty(TRANSPORT);
+        if (configured == null) {
+            configured = SystemPropertyAction.getPropertyOrNull(TRANSPORT);
+        }
+        NettyTransportType transport = NettyTransportType.select(configured);
+        LOG.info("Using the Netty " + transport + " transport for the HTTP client");
+        return transport.newEventLoopGroup();
+    }
+
+    /**
+     * Returns the Netty I/O transport the conduits of the given bus are running on.
+     */
+    public NettyTransportType getTransport(Bus bus) {
+        return NettyTransportType.of(bus.getExtension(EventLoopGroup.class));
+    }
+
     protected void registerBusLifeListener(Bus bus, final EventLoopGroup group) {
         BusLifeCycleManager lifeCycleManager = bus.getExtension(BusLifeCycleManager.class);
         if (null != lifeCycleManager) {
@@ -127,4 +158,29 @@ public class NettyHttpConduitFactory implements HTTPConduitFactory {
         }
     }
 
+    protected void registerBusLifeListener(Bus bus, final NettyHttpClientChannelPoolManager poolManager) {
+        BusLifeCycleManager lifeCycleManager = bus.getExtension(BusLifeCycleManager.class);
+        if (null != lifeCycleManager) {
+            lifeCycleManager.registerLifeCycleListener(new BusLifeCycleListener() {
+
+                @Override
+                public void initComplete() {
+                    // do nothing here
+                }
+
+                @Override
+                public void preShutdown() {
+                    // close the pooled channels before the EventLoopGroup goes away
+                    poolManager.close();
+                }
+
+                @Override
+                public void postShutdown() {
+                    // do nothing here
+                }
+
+            });
+        }
+    }
+
 }
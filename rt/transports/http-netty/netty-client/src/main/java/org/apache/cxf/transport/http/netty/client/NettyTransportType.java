@@ -0,0 +1,170 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.transport.http.netty.client;
+
+import java.lang.reflect.Method;
+import java.util.Locale;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.cxf.common.logging.LogUtils;
+import org.apache.cxf.common.util.StringUtils;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+
+/**
+ * The Netty I/O transports the HTTP client can run on. The native transports are looked up
+ * reflectively so they are only used when the matching netty native artifact (for example
+ * {@code netty-transport-native-epoll} or {@code netty-incubator-transport-native-io_uring})
+ * is on the classpath and its native library loads on the current platform.
+ */
+public enum NettyTransportType {
+    NIO(null,
+        "io.netty.channel.nio.NioEventLoopGroup",
+        "io.netty.channel.socket.nio.NioSocketChannel"),
+    EPOLL("io.netty.channel.epoll.Epoll",
+          "io.netty.channel.epoll.EpollEventLoopGroup",
+          "io.netty.channel.epoll.EpollSocketChannel"),
+    IO_URING("io.netty.incubator.channel.uring.IOUring",
+             "io.netty.incubator.channel.uring.IOUringEventLoopGroup",
+             "io.netty.incubator.channel.uring.IOUringSocketChannel");
+
+    public static final String AUTO = "auto";
+
+    private static final Logger LOG = LogUtils.getL7dLogger(NettyTransportType.class);
+
+    private final String availabilityClassName;
+    private final String eventLoopGroupClassName;
+    private final String socketChannelClassName;
+    private volatile Boolean available;
+
+    NettyTransportType(String availabilityClassName, String eventLoopGroupClassName,
+                       String socketChannelClassName) {
+        this.availabilityClassName = availabilityClassName;
+        this.eventLoopGroupClassName = eventLoopGroupClassName;
+        this.socketChannelClassName = socketChannelClassName;
+    }
+
+    /**
+     * Returns true if the classes of this transport are on the classpath and
+     * its native library (if any) could be loaded.
+     */
+    public boolean isAvailable() {
+        Boolean result = available;
+        if (result == null) {
+            result = checkAvailable();
+            available = result;
+        }
+        return result;
+    }
+
+    public EventLoopGroup newEventLoopGroup() {
+        try {
+            return (EventLoopGroup)loadClass(eventLoopGroupClassName).getConstructor().newInstance();
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException("Cannot create the " + this + " event loop group", ex);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public Class<? extends SocketChannel> getSocketChannelClass() {
+        try {
+            return (Class<? extends SocketChannel>)loadClass(socketChannelClassName);
+        } catch (ClassNotFoundException ex) {
+            throw new IllegalStateException("Cannot load the " + this + " socket channel", ex);
+        }
+    }
+
+    /**
+     * Resolves the configured transport name ({@code nio}, {@code epoll}, {@code io_uring} or
+     * {@code auto}) to a transport which is available. {@code auto}, an empty value and unknown
+     * names pick epoll, then io_uring, then NIO; a native transport which was asked for
+     * explicitly but cannot be loaded falls back to NIO.
+     */
+    public static NettyTransportType select(Object configured) {
+        String name = configured == null ? null : configured.toString().trim();
+        if (!StringUtils.isEmpty(name) && !AUTO.equalsIgnoreCase(name)) {
+            NettyTransportType requested = null;
+            try {
+                requested = valueOf(name.toUpperCase(Locale.ROOT).replace('-', '_'));
+            } catch (IllegalArgumentException ex) {
+                LOG.warning("Unknown Netty transport " + name + ", detecting the transport automatically");
+            }
+            if (requested != null) {
+                if (requested.isAvailable()) {
+                    return requested;
+                }
+                LOG.warning("Netty transport " + requested + " is not available on this platform, using NIO");
+                return NIO;
+            }
+        }
+        if (EPOLL.isAvailable()) {
+            return EPOLL;
+        }
+        if (IO_URING.isAvailable()) {
+            return IO_URING;
+        }
+        return NIO;
+    }
+
+    /**
+     * Returns the transport an existing event loop group belongs to, so that channels
+     * registered with a group which was provided externally use the matching channel type.
+     */
+    public static NettyTransportType of(EventLoopGroup group) {
+        if (group != null) {
+            for (NettyTransportType type : values()) {
+                if (type.isGroup(group)) {
+                    return type;
+                }
+            }
+        }
+        return NIO;
+    }
+
+    private boolean isGroup(EventLoopGroup group) {
+        for (Class<?> cls = group.getClass(); cls != null; cls = cls.getSuperclass()) {
+            if (eventLoopGroupClassName.equals(cls.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean checkAvailable() {
+        if (availabilityClassName == null) {
+            return true;
+        }
+        try {
+            Method m = loadClass(availabilityClassName).getMethod("isAvailable");
+            return (Boolean)m.invoke(null);
+        } catch (ClassNotFoundException ex) {
+            LOG.fine(this + " transport is not on the classpath");
+        } catch (ReflectiveOperationException | LinkageError ex) {
+            LOG.log(Level.FINE, this + " transport could not be loaded", ex);
+        }
+        return false;
+    }
+
+    private static Class<?> loadClass(String name) throws ClassNotFoundException {
+        return Class.forName(name, true, NettyTransportType.class.getClassLoader());
+    }
+}
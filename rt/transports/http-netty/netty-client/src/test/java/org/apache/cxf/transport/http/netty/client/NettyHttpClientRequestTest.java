@@ -23,7 +23,9 @@ import java.net.URISyntaxException;
 
 import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.EmptyByteBuf;
+import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpUtil;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -41,4 +43,24 @@ public class NettyHttpClientRequestTest {
         Assert.assertEquals("/my%20path", httpRequest.uri());
         Assert.assertEquals("/my path", uri.getPath());
     }
+
+    @Test
+    public void testCreateStreamingRequest() throws URISyntaxException {
+        URI uri = new URI("http://localhost:8080/path");
+        NettyHttpClientRequest nettyHttpClientRequest = new NettyHttpClientRequest(uri, "POST", false);
+        nettyHttpClientRequest.createRequest(new EmptyByteBuf(ByteBufAllocator.DEFAULT));
+        nettyHttpClientRequest.getRequest().headers().set("Content-Type", "text/xml");
+        nettyHttpClientRequest.getRequest().headers().set("Content-Length", 10);
+        Assert.assertFalse(nettyHttpClientRequest.isStreaming());
+
+        nettyHttpClientRequest.createStreamingRequest();
+
+        HttpRequest httpRequest = nettyHttpClientRequest.getRequest();
+        Assert.assertTrue(nettyHttpClientRequest.isStreaming());
+        Assert.assertFalse(httpRequest instanceof FullHttpRequest);
+        Assert.assertTrue(HttpUtil.isTransferEncodingChunked(httpRequest));
+        Assert.assertFalse(HttpUtil.isContentLengthSet(httpRequest));
+        Assert.assertEquals("text/xml", httpRequest.headers().get("Content-Type"));
+        Assert.assertEquals("localhost:8080", httpRequest.headers().get("Host"));
+    }
 }
\ No newline at end of file
@@ -27,12 +27,14 @@ import org.apache.cxf.service.model.ServiceInfo;
 import org.apache.cxf.transport.http.HTTPConduitFactory;
 
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
 
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
@@ -106,4 +108,40 @@ public class NettyHttpConduitFactoryTest {
         assertTrue("The eventLoopGroup should be shutdown.", eventLoopGroup.isShutdown());
 
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testSelectTransport() throws Exception {
+        bus = BusFactory.getDefaultBus(true);
+        bus.setProperty(NettyHttpConduitFactory.TRANSPORT, "nio");
+
+        NettyHttpTransportFactory factory =
+                bus.getExtension(NettyHttpTransportFactory.class);
+        ServiceInfo serviceInfo = new ServiceInfo();
+        serviceInfo.setName(new QName("bla", "Service"));
+        EndpointInfo ei = new EndpointInfo(serviceInfo, "");
+        ei.setName(new QName("bla", "Port"));
+        ei.setAddress("netty://foo");
+        factory.getConduit(ei, null, bus);
+
+        assertTrue(bus.getExtension(EventLoopGroup.class) instanceof NioEventLoopGroup);
+        NettyHttpConduitFactory conduitFactory =
+                (NettyHttpConduitFactory)bus.getExtension(HTTPConduitFactory.class);
+        assertEquals(NettyTransportType.NIO, conduitFactory.getTransport(bus));
+    }
+
+    @Test
+    public void testSelectTransportFallback() {
+        assertTrue(NettyTransportType.NIO.isAvailable());
+        NettyTransportType auto = NettyTransportType.select(null);
+        assertTrue(auto.isAvailable());
+        assertEquals(auto, NettyTransportType.select("auto"));
+        assertEquals(auto, NettyTransportType.select("unknown"));
+        assertEquals(NettyTransportType.NIO, NettyTransportType.select("NIO"));
+        if (!NettyTransportType.IO_URING.isAvailable()) {
+            assertEquals(NettyTransportType.NIO, NettyTransportType.select("io_uring"));
+        }
+        if (!NettyTransportType.EPOLL.isAvailable()) {
+            assertEquals(NettyTransportType.NIO, NettyTransportType.select("epoll"));
+        }
+    }
+}
@@ -22,12 +22,16 @@ import java.net.URL;
 import java.util.concurrent.ExecutionException;
 
 import jakarta.xml.ws.AsyncHandler;
+import jakarta.xml.ws.BindingProvider;
 import jakarta.xml.ws.Endpoint;
 import jakarta.xml.ws.Response;
 import org.apache.cxf.Bus;
 import org.apache.cxf.BusFactory;
 import org.apache.cxf.jaxws.JaxWsProxyFactoryBean;
 import org.apache.cxf.testutil.common.AbstractBusClientServerTestBase;
+import org.apache.cxf.transport.http.netty.client.NettyHttpClientChannelPool;
+import org.apache.cxf.transport.http.netty.client.NettyHttpClientChannelPoolManager;
+import org.apache.cxf.transport.http.netty.client.NettyHttpConduit;
 import org.apache.hello_world_soap_http.Greeter;
 import org.apache.hello_world_soap_http.SOAPService;
 import org.apache.hello_world_soap_http.types.GreetMeLaterResponse;
@@ -39,6 +43,7 @@ import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 public class NettyClientTest extends AbstractBusClientServerTestBase {
 
@@ -108,6 +113,56 @@ public class NettyClientTest extends AbstractBusClientServerTestBase {
         assertEquals("Get a wrong response", "Hello test", response);
     }
 
+    @Test
+    public void testKeepAliveChannelsArePooled() throws Exception {
+        String address = "http://localhost:" + PORT + "/SoapContext/SoapPort";
+        JaxWsProxyFactoryBean factory = new JaxWsProxyFactoryBean();
+        factory.setServiceClass(Greeter.class);
+        factory.setAddress(address);
+        factory.setTransportId("http://cxf.apache.org/transports/http/netty/client");
+        Greeter greeter = factory.create(Greeter.class);
+        ((BindingProvider)greeter).getRequestContext().put(NettyHttpConduit.USE_ASYNC, Boolean.TRUE);
+        for (int i = 0; i < 5; i++) {
+            assertEquals("Hello test" + i, greeter.greetMe("test" + i));
+        }
+
+        NettyHttpClientChannelPool pool = null;
+        for (NettyHttpClientChannelPool p
+            : getStaticBus().getExtension(NettyHttpClientChannelPoolManager.class).getPools()) {
+            if (p.getName().equals("http://localhost:" + PORT)) {
+                pool = p;
+            }
+        }
+        assertNotNull("No channel pool for the address", pool);
+        assertTrue(pool.getAcquireCount() >= 5);
+        assertTrue("Channels are not reused", pool.getCreatedConnections() < pool.getAcquireCount());
+        // the last channel goes back to the pool right after its response was handed over
+        for (int i = 0; i < 50 && pool.getLeasedConnections() > 0; i++) {
+            Thread.sleep(100);
+        }
+        assertEquals(0, pool.getLeasedConnections());
+    }
+
+    @Test
+    public void testLargeRequestIsStreamed() throws Exception {
+        String address = "http://localhost:" + PORT + "/SoapContext/SoapPort";
+        JaxWsProxyFactoryBean factory = new JaxWsProxyFactoryBean();
+        factory.setServiceClass(Greeter.class);
+        factory.setAddress(address);
+        factory.setTransportId("http://cxf.apache.org/transports/http/netty/client");
+        Greeter greeter = factory.create(Greeter.class);
+        ((BindingProvider)greeter).getRequestContext().put(NettyHttpConduit.USE_ASYNC, Boolean.TRUE);
+
+        // well above the chunking threshold and the chunk size
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            sb.append("large");
+        }
+        String request = sb.toString();
+        assertEquals("Hello " + request, greeter.greetMe(request));
+        assertEquals("Hello small", greeter.greetMe("small"));
+    }
+
     @Test
     public void testCallAsync() throws Exception {
         updateAddressPort(g, PORT);
@@ -31,21 +31,26 @@ import jakarta.annotation.PostConstruct;
 import org.apache.cxf.Bus;
 import org.apache.cxf.common.i18n.Message;
 import org.apache.cxf.common.logging.LogUtils;
+import org.apache.cxf.common.util.SystemPropertyAction;
 import org.apache.cxf.configuration.jsse.TLSServerParameters;
 import org.apache.cxf.interceptor.Fault;
 import org.apache.cxf.transport.HttpUriMapper;
 import org.apache.cxf.transport.http.HttpServerEngineSupport;
+import org.apache.cxf.transport.http.SocketOptions;
 
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.util.concurrent.DefaultEventExecutorGroup;
 import io.netty.util.concurrent.EventExecutorGroup;
 
 public class NettyHttpServerEngine implements ServerEngine, HttpServerEngineSupport {
+    /**
+     * The Netty I/O transport used when the threading parameters do not configure one:
+     * nio, epoll, io_uring or auto (the default), read from the bus or the system properties.
+     */
+    public static final String TRANSPORT = "org.apache.cxf.transport.http.netty.transport";
 
     private static final Logger LOG =
             LogUtils.getL7dLogger(NettyHttpServerEngine.class);
@@ -68,6 +73,9 @@ public class NettyHttpServerEngine implements ServerEngine, HttpServerEngineSupp
 
     private volatile Channel serverChannel;
 
+    // the server channels bound in addition to serverChannel when SO_REUSEPORT acceptors are used
+    private final List<Channel> acceptorChannels = new CopyOnWriteArrayList<>();
+
     private NettyHttpServletPipelineFactory servletPipeline;
 
     private Map<String, NettyHttpContextHandler> handlerMap = new ConcurrentHashMap<>();
@@ -92,6 +100,22 @@ public class NettyHttpServerEngine implements ServerEngine, HttpServerEngineSupp
 
     private boolean sessionSupport;
 
+    private boolean reuseAddress = true;
+
+    private SocketOptions socketOptions;
+
+    // HTTP/2 settings advertised to the clients, Netty's defaults are used when not set
+    private long http2MaxConcurrentStreams = -1;
+
+    private int http2InitialWindowSize = -1;
+
+    // stream the request bodies instead of aggregating them up to maxChunkContentSize
+    private boolean requestStreaming;
+
+    private int requestStreamingBufferSize = 65536;
+
+    private NettyTransportType transport;
+
     // TODO need to setup configuration about them
     private EventLoopGroup bossGroup;
     private EventLoopGroup workerGroup;
@@ -159,11 +183,14 @@ public class NettyHttpServerEngine implements ServerEngine, HttpServerEngineSupp
     }
 
     protected Channel startServer() {
+        transport = selectTransport();
+        final int acceptors = socketOptions != null && socketOptions.isAcceptorsSet()
+            ? socketOptions.getAcceptors() : 1;
         if (bossGroup == null) {
-            bossGroup = new NioEventLoopGroup();
+            bossGroup = acceptors > 1 ? transport.newEventLoopGroup(acceptors) : transport.newEventLoopGroup();
         }
         if (workerGroup == null) {
-            workerGroup = new NioEventLoopGroup();
+            workerGroup = transport.newEventLoopGroup();
         }
         if (applicationExecutor == null) {
             applicationExecutor = new DefaultEventExecutorGroup(threadingParameters.getThreadPoolSize());
@@ -171,8 +198,9 @@ public class NettyHttpServerEngine implements ServerEngine, HttpServerEngineSupp
 
         final ServerBootstrap bootstrap = new ServerBootstrap();
         bootstrap.group(bossGroup, workerGroup)
-            .channel(NioServerSocketChannel.class)
-            .option(ChannelOption.SO_REUSEADDR, true);
+            .channel(transport.getServerChannelClass())
+            .option(ChannelOption.SO_REUSEADDR, reuseAddress);
+        final int listeners = applySocketOptions(bootstrap, acceptors);
 
         // Set up the event pipeline factory.
         // Netty has issues with "UPGRADE" requests with payloads (POST/PUT)
@@ -193,13 +221,52 @@ public class NettyHttpServerEngine implements ServerEngine, HttpServerEngineSupp
         }
         // Bind and start to accept incoming connections.
         try {
-            return bootstrap.bind(address).sync().channel();
+            Channel channel = bootstrap.bind(address).sync().channel();
+            // with SO_REUSEPORT every acceptor gets its own listening socket on the same
+            // address and the kernel balances the incoming connections across them
+            for (int i = 1; i < listeners; i++) {
+                acceptorChannels.add(bootstrap.bind(channel.localAddress()).sync().channel());
+            }
+            return channel;
         } catch (InterruptedException ex) {
             // do nothing here
             return null;
         }
     }
 
+    private int applySocketOptions(ServerBootstrap bootstrap, int acceptors) {
+        if (socketOptions == null) {
+            return 1;
+        }
+        if (socketOptions.getBacklog() != null) {
+            bootstrap.option(ChannelOption.SO_BACKLOG, socketOptions.getBacklog());
+        }
+        if (socketOptions.getTcpNoDelay() != null) {
+            bootstrap.childOption(ChannelOption.TCP_NODELAY, socketOptions.getTcpNoDelay());
+        }
+        if (socketOptions.getReceiveBufferSize() != null) {
+            bootstrap.childOption(ChannelOption.SO_RCVBUF, socketOptions.getReceiveBufferSize());
+        }
+        if (socketOptions.getSendBufferSize() != null) {
+            bootstrap.childOption(ChannelOption.SO_SNDBUF, socketOptions.getSendBufferSize());
+        }
+        if (!socketOptions.isReusePort()) {
+            if (acceptors > 1) {
+                LOG.warning("Netty accepts the connections of a listening socket on a single thread, "
+                            + "enable reusePort to use " + acceptors + " acceptors on port " + port);
+            }
+            return 1;
+        }
+        ChannelOption<Boolean> reusePort = transport.getReusePortOption();
+        if (reusePort == null) {
+            LOG.warning("SO_REUSEPORT is not supported by the Netty " + transport
+                        + " transport, using a single listening socket on port " + port);
+            return 1;
+        }
+        bootstrap.option(reusePort, Boolean.TRUE);
+        return acceptors;
+    }
+
     protected void checkRegistedContext(URL url) {
         String path = url.getPath();
         for (String registedPath : registedPaths) {
@@ -270,6 +337,10 @@ public class NettyHttpServerEngine implements ServerEngine, HttpServerEngineSupp
         if (serverChannel != null) {
             serverChannel.close();
         }
+        for (Channel channel : acceptorChannels) {
+            channel.close();
+        }
+        acceptorChannels.clear();
 
         // shutdown executors
         if (bossGroup != null) {
@@ -304,6 +375,31 @@ public class NettyHttpServerEngine implements ServerEngine, HttpServerEngineSupp
         this.sessionSupport = session;
     }
 
+    public boolean isReuseAddress() {
+        return reuseAddress;
+    }
+
+    public void setReuseAddress(boolean reuseAddress) {
+        this.reuseAddress = reuseAddress;
+    }
+
+    public void setSocketOptions(SocketOptions socketOptions) {
+        this.socketOptions = socketOptions;
+    }
+
+    @Override
+    public SocketOptions getSocketOptions() {
+        return socketOptions;
+    }
+
+    /**
+     * Returns the number of listening sockets the engine is bound to, more than one
+     * when several SO_REUSEPORT acceptors are used.
+     */
+    public int getListenerCount() {
+        return serverChannel == null ? 0 : 1 + acceptorChannels.size();
+    }
+
     public int getMaxChunkContentSize() {
         return maxChunkContentSize;
     }
@@ -312,6 +408,56 @@ public class NettyHttpServerEngine implements ServerEngine, HttpServerEngineSupp
         this.maxChunkContentSize = maxChunkContentSize;
     }
 
+    public long getHttp2MaxConcurrentStreams() {
+        return http2MaxConcurrentStreams;
+    }
+
+    /**
+     * Sets the maximum number of concurrent streams (and so concurrent requests) of a single
+     * HTTP/2 connection.
+     */
+    public void setHttp2MaxConcurrentStreams(long http2MaxConcurrentStreams) {
+        this.http2MaxConcurrentStreams = http2MaxConcurrentStreams;
+    }
+
+    public int getHttp2InitialWindowSize() {
+        return http2InitialWindowSize;
+    }
+
+    /**
+     * Sets the initial HTTP/2 flow control window of each stream, i.e. how many bytes of a
+     * request body the client may send before the server has consumed them.
+     */
+    public void setHttp2InitialWindowSize(int http2InitialWindowSize) {
+        this.http2InitialWindowSize = http2InitialWindowSize;
+    }
+
+    public boolean isRequestStreaming() {
+        return requestStreaming;
+    }
+
+    /**
+     * Enables streaming of the request bodies: a request is dispatched as soon as its
+     * headers arrived and the body is read while it is received, instead of being
+     * aggregated in memory first. Note the request is then read on the application
+     * executor thread.
+     */
+    public void setRequestStreaming(boolean requestStreaming) {
+        this.requestStreaming = requestStreaming;
+    }
+
+    public int getRequestStreamingBufferSize() {
+        return requestStreamingBufferSize;
+    }
+
+    /**
+     * Sets the number of bytes of a streamed request body that are buffered before
+     * reading from the connection is suspended.
+     */
+    public void setRequestStreamingBufferSize(int requestStreamingBufferSize) {
+        this.requestStreamingBufferSize = requestStreamingBufferSize;
+    }
+
     public int getPort() {
         return port;
     }
@@ -336,6 +482,33 @@ public class NettyHttpServerEngine implements ServerEngine, HttpServerEngineSupp
         this.protocol = protocol;
     }
 
+    private NettyTransportType selectTransport() {
+        NettyTransportType type;
+        if (workerGroup != null) {
+            // the channels have to match the event loop group which was set up externally
+            type = NettyTransportType.of(workerGroup);
+        } else {
+            Object configured = threadingParameters.getTransport();
+            if (configured == null && bus != null) {
+                configured = bus.getProperty(TRANSPORT);
+            }
+            if (configured == null) {
+                configured = SystemPropertyAction.getPropertyOrNull(TRANSPORT);
+            }
+            type = NettyTransportType.select(configured);
+        }
+        LOG.info("Using the Netty " + type + " transport for " + protocol + "://"
+                 + (host == null ? "" : host) + ":" + port);
+        return type;
+    }
+
+    /**
+     * Returns the Netty I/O transport the engine is running on, or null if it was not started yet.
+     */
+    public NettyTransportType getTransport() {
+        return transport;
+    }
+
     public void setBossGroup(EventLoopGroup bossGroup) {
         if (this.bossGroup == null) {
             this.bossGroup = bossGroup;
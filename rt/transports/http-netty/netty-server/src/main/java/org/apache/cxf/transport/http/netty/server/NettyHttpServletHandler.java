@@ -29,7 +29,9 @@ import org.apache.cxf.common.logging.LogUtils;
 import org.apache.cxf.interceptor.Fault;
 import org.apache.cxf.transport.http.netty.server.interceptor.NettyInterceptor;
 import org.apache.cxf.transport.http.netty.server.servlet.NettyHttpServletRequest;
+import org.apache.cxf.transport.http.netty.server.servlet.NettyServletOutputStream;
 import org.apache.cxf.transport.http.netty.server.servlet.NettyServletResponse;
+import org.apache.cxf.transport.http.netty.server.servlet.NettyStreamingHttpRequest;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
@@ -38,18 +40,24 @@ import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelPipeline;
 import io.netty.channel.group.ChannelGroup;
 import io.netty.handler.codec.TooLongFrameException;
 import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.DefaultHttpContent;
 import io.netty.handler.codec.http.DefaultHttpResponse;
 import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpContentCompressor;
 import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpHeaderValues;
 import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpResponseEncoder;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpUtil;
 import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.handler.ssl.SslHandler;
 import io.netty.handler.timeout.IdleState;
 import io.netty.handler.timeout.IdleStateEvent;
 import io.netty.util.CharsetUtil;
@@ -131,16 +139,29 @@ public class NettyHttpServletHandler extends ChannelInboundHandlerAdapter {
         FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
 
         NettyServletResponse nettyServletResponse = buildHttpServletResponse(response);
+        NettyServletOutputStream outputStream = (NettyServletOutputStream)nettyServletResponse.getOutputStream();
+        outputStream.setFileRegionsAllowed(isFileRegionSupported(ctx, request));
         NettyHttpServletRequest nettyServletRequest =
             buildHttpServletRequest(request, nettyHttpContextHandler.getContextPath(), ctx);
 
         nettyHttpContextHandler.handle(nettyServletRequest.getRequestURI(), nettyServletRequest, nettyServletResponse);
         interceptOnRequestSuccessed(ctx, response);
 
+        if (request instanceof NettyStreamingHttpRequest) {
+            // discard whatever part of the body was not read so the connection can be reused
+            ((NettyStreamingHttpRequest)request).getInputStream().close();
+        }
+
         nettyServletResponse.getWriter().flush();
 
         boolean keepAlive = HttpUtil.isKeepAlive(request);
 
+        List<Object> trailingContent = outputStream.getTrailingContent();
+        if (trailingContent != null) {
+            writeResponse(ctx, response, outputStream, trailingContent, keepAlive);
+            return;
+        }
+
         if (keepAlive) {
             // Add 'Content-Length' header only for a keep-alive connection.
             response.headers().set(HttpHeaderNames.CONTENT_LENGTH, response.content().readableBytes());
@@ -160,6 +181,44 @@ public class NettyHttpServletHandler extends ChannelInboundHandlerAdapter {
     }
 
 
+    /**
+     * Writes a response whose body continues with FileRegions after the aggregated content.
+     */
+    private void writeResponse(ChannelHandlerContext ctx, FullHttpResponse response,
+                               NettyServletOutputStream outputStream, List<Object> trailingContent,
+                               boolean keepAlive) {
+        response.headers().set(HttpHeaderNames.CONTENT_LENGTH, outputStream.getContentLength());
+        if (keepAlive) {
+            response.headers().set(HttpHeaderNames.CONNECTION, HttpHeaderValues.KEEP_ALIVE);
+        }
+        ctx.write(new DefaultHttpResponse(response.protocolVersion(), response.status(), response.headers()));
+        ctx.write(new DefaultHttpContent(response.content()));
+        for (Object part : trailingContent) {
+            ctx.write(part instanceof ByteBuf ? new DefaultHttpContent((ByteBuf)part) : part);
+        }
+        ChannelFuture future = ctx.write(LastHttpContent.EMPTY_LAST_CONTENT);
+        if (!keepAlive) {
+            future.addListener(ChannelFutureListener.CLOSE);
+        }
+    }
+
+    /**
+     * FileRegions bypass every handler that needs to see the body bytes, so they are only
+     * used on plain HTTP/1.x connections and when the response is not going to be compressed.
+     */
+    private static boolean isFileRegionSupported(ChannelHandlerContext ctx, HttpRequest request) {
+        ChannelPipeline pipeline = ctx.pipeline();
+        if (pipeline.get(SslHandler.class) != null || pipeline.get(HttpResponseEncoder.class) == null) {
+            return false;
+        }
+        if (pipeline.get(HttpContentCompressor.class) != null) {
+            String acceptEncoding = request.headers().get(HttpHeaderNames.ACCEPT_ENCODING);
+            return acceptEncoding == null || acceptEncoding.isEmpty()
+                || HttpHeaderValues.IDENTITY.contentEqualsIgnoreCase(acceptEncoding.trim());
+        }
+        return true;
+    }
+
     @Override
     public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) throws Exception {
 
@@ -21,6 +21,7 @@ package org.apache.cxf.transport.http.netty.server;
 
 import java.util.Arrays;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -40,12 +41,14 @@ import org.apache.cxf.transport.https.SSLContextInitParameters;
 import org.apache.cxf.transport.https.SSLUtils;
 
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.channel.group.ChannelGroup;
 import io.netty.channel.group.DefaultChannelGroup;
+import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.HttpContentCompressor;
 import io.netty.handler.codec.http.HttpMessage;
 import io.netty.handler.codec.http.HttpObjectAggregator;
@@ -57,10 +60,12 @@ import io.netty.handler.codec.http.HttpServerUpgradeHandler.UpgradeCodec;
 import io.netty.handler.codec.http.HttpServerUpgradeHandler.UpgradeCodecFactory;
 import io.netty.handler.codec.http2.CleartextHttp2ServerUpgradeHandler;
 import io.netty.handler.codec.http2.Http2CodecUtil;
+import io.netty.handler.codec.http2.Http2FrameCodec;
 import io.netty.handler.codec.http2.Http2FrameCodecBuilder;
 import io.netty.handler.codec.http2.Http2MultiplexHandler;
 import io.netty.handler.codec.http2.Http2SecurityUtil;
 import io.netty.handler.codec.http2.Http2ServerUpgradeCodec;
+import io.netty.handler.codec.http2.Http2Settings;
 import io.netty.handler.codec.http2.Http2StreamFrameToHttpObjectCodec;
 import io.netty.handler.ssl.ApplicationProtocolConfig;
 import io.netty.handler.ssl.ApplicationProtocolConfig.Protocol;
@@ -74,6 +79,7 @@ import io.netty.handler.ssl.SslContextBuilder;
 import io.netty.handler.ssl.SslHandler;
 import io.netty.handler.ssl.SslProvider;
 import io.netty.handler.ssl.SupportedCipherSuiteFilter;
+import io.netty.handler.timeout.IdleStateEvent;
 import io.netty.handler.timeout.IdleStateHandler;
 import io.netty.util.AsciiString;
 import io.netty.util.ReferenceCountUtil;
@@ -204,14 +210,39 @@ public class NettyHttpServletPipelineFactory extends ChannelInitializer<Channel>
     
     protected void configureDefaultHttp2Pipeline(ChannelPipeline pipeline) {
         pipeline
-            .addLast(Http2FrameCodecBuilder.forServer().build())
+            .addLast("idle", createHttp2IdleStateHandler())
+            .addLast(createHttp2FrameCodec())
             .addLast(new Http2MultiplexHandler(createHttp2ChannelInitializer()));
     }
 
+    /**
+     * Creates the idle handler of a HTTP/2 connection, it sits in front of the frame codec
+     * so that the frames of all the streams count as activity.
+     */
+    private IdleStateHandler createHttp2IdleStateHandler() {
+        return new Http2IdleStateHandler(nettyHttpServerEngine.getReadIdleTime(),
+                                         nettyHttpServerEngine.getWriteIdleTime());
+    }
+
+    /**
+     * Creates the HTTP/2 connection codec, every stream of the connection becomes a child
+     * channel with its own pipeline and flow control window.
+     */
+    protected Http2FrameCodec createHttp2FrameCodec() {
+        final Http2Settings settings = Http2Settings.defaultSettings();
+        if (nettyHttpServerEngine.getHttp2MaxConcurrentStreams() > 0) {
+            settings.maxConcurrentStreams(nettyHttpServerEngine.getHttp2MaxConcurrentStreams());
+        }
+        if (nettyHttpServerEngine.getHttp2InitialWindowSize() > 0) {
+            settings.initialWindowSize(nettyHttpServerEngine.getHttp2InitialWindowSize());
+        }
+        return Http2FrameCodecBuilder.forServer().initialSettings(settings).build();
+    }
+
     protected void configureDefaultHttpPipeline(ChannelPipeline pipeline) {
         pipeline.addLast("decoder", new HttpRequestDecoder());
         pipeline.addLast("encoder", new HttpResponseEncoder());
-        pipeline.addLast("aggregator", new HttpObjectAggregator(maxChunkContentSize));
+        pipeline.addLast("aggregator", createRequestAggregator());
         
         // Remove the following line if you don't want automatic content
         // compression.
@@ -222,6 +253,18 @@ public class NettyHttpServletPipelineFactory extends ChannelInitializer<Channel>
                 nettyHttpServerEngine.getWriteIdleTime(), 0));
     }
 
+    /**
+     * Creates the handler collecting the request body, either aggregating it in memory or,
+     * with request streaming enabled, passing it on chunk by chunk.
+     */
+    protected ChannelHandler createRequestAggregator() {
+        if (nettyHttpServerEngine.isRequestStreaming()) {
+            return new NettyHttpStreamingRequestHandler(nettyHttpServerEngine.getRequestStreamingBufferSize(),
+                TimeUnit.SECONDS.toMillis(nettyHttpServerEngine.getReadIdleTime()));
+        }
+        return new HttpObjectAggregator(maxChunkContentSize);
+    }
+
     private SslHandler configureServerHttpSSLOnDemand() throws Exception {
         if (tlsServerParameters != null) {
             SSLEngine sslEngine = SSLUtils.createServerSSLEngine(tlsServerParameters);
@@ -368,8 +411,16 @@ public class NettyHttpServletPipelineFactory extends ChannelInitializer<Channel>
             public UpgradeCodec newUpgradeCodec(CharSequence protocol) {
                 if (AsciiString.contentEquals(Http2CodecUtil.HTTP_UPGRADE_PROTOCOL_NAME, protocol)) {
                     return new Http2ServerUpgradeCodec(
-                        Http2FrameCodecBuilder.forServer().build(),
-                        new Http2MultiplexHandler(createHttp2ChannelInitializer()));
+                        createHttp2FrameCodec(),
+                        new Http2MultiplexHandler(createHttp2ChannelInitializer())) {
+                        @Override
+                        public void upgradeTo(ChannelHandlerContext ctx, FullHttpRequest upgradeRequest) {
+                            super.upgradeTo(ctx, upgradeRequest);
+                            ChannelPipeline pipeline = ctx.pipeline();
+                            pipeline.addBefore(pipeline.context(Http2FrameCodec.class).name(), "idle",
+                                               createHttp2IdleStateHandler());
+                        }
+                    };
                 } else {
                     return null;
                 }
@@ -390,7 +441,7 @@ public class NettyHttpServletPipelineFactory extends ChannelInitializer<Channel>
                 final ChannelPipeline pipeline = ctx.pipeline();
                 
                 pipeline.addAfter(applicationExecutor, ctx.name(), "handler", getServletHandler());
-                pipeline.replace(this, "aggregator", new HttpObjectAggregator(maxChunkContentSize));
+                pipeline.replace(this, "aggregator", createRequestAggregator());
 
                 // Remove the following line if you don't want automatic content compression.
                 pipeline.addLast("deflater", new HttpContentCompressor());
@@ -412,12 +463,34 @@ public class NettyHttpServletPipelineFactory extends ChannelInitializer<Channel>
             protected void initChannel(Channel childChannel) throws Exception {
                 childChannel.pipeline()
                     .addLast(new Http2StreamFrameToHttpObjectCodec(true))
-                    .addLast("aggregator", new HttpObjectAggregator(maxChunkContentSize))
+                    .addLast("aggregator", createRequestAggregator())
                     .addLast(applicationExecutor, getServletHandler());
             }
         };
     }
     
+    /**
+     * Closes idle HTTP/2 connections, unlike HTTP/1.1 a connection is only idle when none
+     * of its streams is still being processed. The close goes through the frame codec
+     * which sends a GOAWAY to the client first.
+     */
+    private static final class Http2IdleStateHandler extends IdleStateHandler {
+        Http2IdleStateHandler(int readerIdleTimeSeconds, int writerIdleTimeSeconds) {
+            super(readerIdleTimeSeconds, writerIdleTimeSeconds, 0);
+        }
+
+        @Override
+        protected void channelIdle(ChannelHandlerContext ctx, IdleStateEvent evt) throws Exception {
+            Http2FrameCodec codec = ctx.pipeline().get(Http2FrameCodec.class);
+            if (codec != null && codec.connection().numActiveStreams() == 0) {
+                LOG.log(Level.FINE, "Closing idle HTTP/2 channel: {}", ctx.channel());
+                ctx.channel().close();
+            } else {
+                super.channelIdle(ctx, evt);
+            }
+        }
+    }
+
     private ChannelInitializer<Channel> createHttp2ChannelInitializerPriorKnowledge() {
         return new ChannelInitializer<Channel>() {
             @Override
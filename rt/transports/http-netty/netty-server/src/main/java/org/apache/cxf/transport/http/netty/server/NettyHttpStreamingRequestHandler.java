@@ -0,0 +1,104 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.transport.http.netty.server;
+
+import java.io.IOException;
+
+import org.apache.cxf.transport.http.netty.server.servlet.NettyStreamingHttpRequest;
+import org.apache.cxf.transport.http.netty.server.servlet.NettyStreamingServletInputStream;
+
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
+
+/**
+ * Used in place of the HttpObjectAggregator when request streaming is enabled. The request
+ * is passed on as soon as its headers have been received and the body chunks are fed to
+ * the request's {@link NettyStreamingServletInputStream} from the event loop, so the CXF
+ * chain starts to process the request while the body is still arriving.
+ */
+public class NettyHttpStreamingRequestHandler extends ChannelInboundHandlerAdapter {
+    private final int maxBufferedBytes;
+    private final long readTimeout;
+    private NettyStreamingServletInputStream current;
+
+    public NettyHttpStreamingRequestHandler(int maxBufferedBytes, long readTimeout) {
+        this.maxBufferedBytes = maxBufferedBytes;
+        this.readTimeout = readTimeout;
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        if (msg instanceof FullHttpRequest) {
+            // already aggregated, e.g. the request of a HTTP/2 upgrade
+            ctx.fireChannelRead(msg);
+            return;
+        }
+        if (msg instanceof HttpRequest) {
+            HttpRequest request = (HttpRequest)msg;
+            if (HttpUtil.is100ContinueExpected(request)) {
+                // the body is only sent after the 100 and the request handler blocks on the body
+                ctx.writeAndFlush(new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.CONTINUE))
+                    .addListener(ChannelFutureListener.FIRE_EXCEPTION_ON_FAILURE);
+                HttpUtil.set100ContinueExpected(request, false);
+            }
+            current = new NettyStreamingServletInputStream(ctx.channel(), maxBufferedBytes, readTimeout);
+            ctx.fireChannelRead(new NettyStreamingHttpRequest(request, current));
+        }
+        if (msg instanceof HttpContent) {
+            HttpContent content = (HttpContent)msg;
+            if (current != null) {
+                current.offer(content);
+            } else {
+                content.release();
+            }
+            if (msg instanceof LastHttpContent) {
+                current = null;
+            }
+        } else if (!(msg instanceof HttpRequest)) {
+            ctx.fireChannelRead(msg);
+        }
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        if (current != null) {
+            current.fail(new IOException("Connection closed before the request body was received"));
+            current = null;
+        }
+        super.channelInactive(ctx);
+    }
+
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) throws Exception {
+        if (current != null) {
+            current.fail(cause);
+        }
+        super.exceptionCaught(ctx, cause);
+    }
+}
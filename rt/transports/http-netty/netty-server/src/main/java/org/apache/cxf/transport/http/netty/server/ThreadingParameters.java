@@ -26,7 +26,7 @@ public class ThreadingParameters {
 
     private int threadPoolSize = 200;
     private boolean threadPoolSizeSet;
-
+    private String transport;
 
     public void setThreadPoolSize(int number) {
         threadPoolSizeSet = true;
@@ -41,4 +41,16 @@ public class ThreadingParameters {
         return threadPoolSizeSet;
     }
 
+    /**
+     * Sets the Netty I/O transport of the boss and worker event loop groups:
+     * nio, epoll, io_uring or auto (the default).
+     */
+    public void setTransport(String transport) {
+        this.transport = transport;
+    }
+
+    public String getTransport() {
+        return transport;
+    }
+
 }
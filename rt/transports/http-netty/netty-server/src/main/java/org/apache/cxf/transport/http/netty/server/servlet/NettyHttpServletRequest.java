@@ -54,6 +54,7 @@ import jakarta.servlet.http.HttpUpgradeHandler;
 import jakarta.servlet.http.Part;
 import org.apache.cxf.transport.http.netty.server.util.Utils;
 
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.http.HttpContent;
 import io.netty.handler.codec.http.HttpHeaderNames;
@@ -61,6 +62,7 @@ import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http.HttpUtil;
 import io.netty.handler.codec.http.QueryStringDecoder;
 import io.netty.handler.codec.http.cookie.ServerCookieDecoder;
+import io.netty.handler.codec.http2.Http2StreamChannel;
 import io.netty.handler.ssl.SslHandler;
 
 import static io.netty.handler.codec.http.HttpHeaderNames.COOKIE;
@@ -69,6 +71,7 @@ public class NettyHttpServletRequest implements HttpServletRequest {
 
     private static final String SSL_CIPHER_SUITE_ATTRIBUTE = "jakarta.servlet.request.cipher_suite";
     private static final String SSL_PEER_CERT_CHAIN_ATTRIBUTE = "jakarta.servlet.request.X509Certificate";
+    private static final String HTTP2_PROTOCOL = "HTTP/2.0";
 
     private static final Locale DEFAULT_LOCALE = Locale.getDefault();
 
@@ -76,7 +79,7 @@ public class NettyHttpServletRequest implements HttpServletRequest {
 
     private HttpRequest originalRequest;
 
-    private NettyServletInputStream inputStream;
+    private ServletInputStream inputStream;
 
     private BufferedReader reader;
 
@@ -95,12 +98,16 @@ public class NettyHttpServletRequest implements HttpServletRequest {
         this.contextPath = contextPath;
         this.uriParser = new URIParser(contextPath);
         uriParser.parse(request.uri());
-        this.inputStream = new NettyServletInputStream((HttpContent)request);
+        if (request instanceof NettyStreamingHttpRequest) {
+            this.inputStream = ((NettyStreamingHttpRequest)request).getInputStream();
+        } else {
+            this.inputStream = new NettyServletInputStream((HttpContent)request);
+        }
         this.reader = new BufferedReader(new InputStreamReader(inputStream));
         this.queryStringDecoder = new QueryStringDecoder(request.uri());
         // setup the SSL security attributes
         this.channelHandlerContext = ctx;
-        SslHandler sslHandler = channelHandlerContext.pipeline().get(SslHandler.class);
+        SslHandler sslHandler = getSslHandler(channelHandlerContext.channel());
         if (sslHandler != null) {
             SSLSession session = sslHandler.engine().getSession();
             if (session != null) {
@@ -267,6 +274,9 @@ public class NettyHttpServletRequest implements HttpServletRequest {
 
     @Override
     public String getProtocol() {
+        if (channelHandlerContext.channel() instanceof Http2StreamChannel) {
+            return HTTP2_PROTOCOL;
+        }
         return this.originalRequest.protocolVersion().toString();
     }
 
@@ -377,7 +387,19 @@ public class NettyHttpServletRequest implements HttpServletRequest {
 
     @Override
     public boolean isSecure() {
-        return ChannelThreadLocal.get().pipeline().get(SslHandler.class) != null;
+        return getSslHandler(ChannelThreadLocal.get()) != null;
+    }
+
+    /**
+     * The SslHandler of a HTTP/2 stream is found in the pipeline of the connection
+     * the stream belongs to.
+     */
+    private static SslHandler getSslHandler(Channel channel) {
+        SslHandler sslHandler = channel.pipeline().get(SslHandler.class);
+        if (sslHandler == null && channel instanceof Http2StreamChannel) {
+            sslHandler = channel.parent().pipeline().get(SslHandler.class);
+        }
+        return sslHandler;
     }
 
     @Override
@@ -20,21 +20,47 @@
 package org.apache.cxf.transport.http.netty.server.servlet;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
 
 import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.WriteListener;
+import org.apache.cxf.helpers.IOUtils;
+import org.apache.cxf.io.ChannelTransferable;
+import org.apache.cxf.io.CopyingOutputStream;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufOutputStream;
+import io.netty.channel.DefaultFileRegion;
+import io.netty.channel.FileRegion;
 import io.netty.handler.codec.http.HttpContent;
+import io.netty.util.ReferenceCountUtil;
 
-public class NettyServletOutputStream extends ServletOutputStream {
+public class NettyServletOutputStream extends ServletOutputStream implements CopyingOutputStream {
+
+    /**
+     * File backed bodies smaller than this are read into the response buffer rather than
+     * sent as a separate FileRegion.
+     */
+    static final long FILE_REGION_THRESHOLD = 64 * 1024;
+
+    private final ByteBuf content;
 
     private ByteBufOutputStream out;
 
+    private List<Object> trailingContent;
+
+    private boolean fileRegionsAllowed;
+
     private boolean flushed;
 
     public NettyServletOutputStream(HttpContent httpContent) {
-        this.out = new ByteBufOutputStream(httpContent.content());
+        this.content = httpContent.content();
+        this.out = new ByteBufOutputStream(content);
     }
 
     @Override
@@ -52,6 +78,69 @@ public class NettyServletOutputStream extends ServletOutputStream {
         this.out.write(b, offset, len);
     }
 
+    /**
+     * Cached bodies are written without an intermediate transfer buffer: file backed
+     * content is either read straight into the response buffer or, if
+     * {@link #setFileRegionsAllowed(boolean) allowed}, sent later on as a {@link FileRegion}
+     * so it never enters the JVM at all.
+     */
+    @Override
+    public int copyFrom(InputStream in) throws IOException {
+        if (!(in instanceof ChannelTransferable)) {
+            return IOUtils.copy(in, this, IOUtils.DEFAULT_BUFFER_SIZE);
+        }
+        ChannelTransferable cached = (ChannelTransferable)in;
+        long count = cached.remaining();
+        if (cached.isInMemory()) {
+            final ByteBuf buf = out.buffer();
+            return (int)cached.transferTo(new WritableByteChannel() {
+                public int write(ByteBuffer src) {
+                    int n = src.remaining();
+                    buf.writeBytes(src);
+                    return n;
+                }
+                public boolean isOpen() {
+                    return true;
+                }
+                public void close() {
+                }
+            });
+        }
+        FileChannel channel = cached.openFileChannel();
+        if (fileRegionsAllowed && count >= FILE_REGION_THRESHOLD) {
+            if (trailingContent == null) {
+                trailingContent = new ArrayList<>();
+            }
+            trailingContent.add(new DefaultFileRegion(channel, channel.position(), count));
+            out = new ByteBufOutputStream(content.alloc().buffer());
+            trailingContent.add(out.buffer());
+        } else {
+            try {
+                ByteBuf buf = out.buffer();
+                long position = channel.position();
+                long end = position + count;
+                while (position < end) {
+                    int n = buf.writeBytes(channel, position, (int)Math.min(end - position, Integer.MAX_VALUE));
+                    if (n <= 0) {
+                        break;
+                    }
+                    position += n;
+                }
+            } finally {
+                channel.close();
+            }
+        }
+        long left = count;
+        while (left > 0) {
+            long n = in.skip(left);
+            if (n <= 0) {
+                break;
+            }
+            left -= n;
+        }
+        return (int)count;
+    }
+
     @Override
     public void flush() throws IOException {
         out.flush();
@@ -59,7 +148,14 @@ public class NettyServletOutputStream extends ServletOutputStream {
     }
 
     public void resetBuffer() {
-        this.out.buffer().clear();
+        this.content.clear();
+        this.out = new ByteBufOutputStream(content);
+        if (trailingContent != null) {
+            for (Object o : trailingContent) {
+                ReferenceCountUtil.release(o);
+            }
+            trailingContent = null;
+        }
     }
 
     public boolean isFlushed() {
@@ -67,7 +163,36 @@ public class NettyServletOutputStream extends ServletOutputStream {
     }
 
     public int getBufferSize() {
-        return this.out.buffer().capacity();
+        return this.content.capacity();
+    }
+
+    /**
+     * Allows file backed bodies to be sent as {@link FileRegion}s.  Only safe if nothing
+     * between the handler and the socket needs to see the bytes, e.g. no TLS or compression.
+     */
+    public void setFileRegionsAllowed(boolean allowed) {
+        this.fileRegionsAllowed = allowed;
+    }
+
+    /**
+     * @return the FileRegions and buffers to write after the response content, or null if
+     * the whole body is held in the response content
+     */
+    public List<Object> getTrailingContent() {
+        return trailingContent;
+    }
+
+    /**
+     * @return the length of the body including the trailing content
+     */
+    public long getContentLength() {
+        long length = content.readableBytes();
+        if (trailingContent != null) {
+            for (Object o : trailingContent) {
+                length += o instanceof FileRegion ? ((FileRegion)o).count() : ((ByteBuf)o).readableBytes();
+            }
+        }
+        return length;
     }
 
     @Override
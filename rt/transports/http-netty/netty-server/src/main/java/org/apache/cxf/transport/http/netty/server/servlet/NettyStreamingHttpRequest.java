@@ -0,0 +1,41 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.transport.http.netty.server.servlet;
+
+import io.netty.handler.codec.http.DefaultHttpRequest;
+import io.netty.handler.codec.http.HttpRequest;
+
+/**
+ * A request whose body is not aggregated but streamed through a
+ * {@link NettyStreamingServletInputStream}.
+ */
+public class NettyStreamingHttpRequest extends DefaultHttpRequest {
+    private final NettyStreamingServletInputStream inputStream;
+
+    public NettyStreamingHttpRequest(HttpRequest request, NettyStreamingServletInputStream inputStream) {
+        super(request.protocolVersion(), request.method(), request.uri(), request.headers());
+        setDecoderResult(request.decoderResult());
+        this.inputStream = inputStream;
+    }
+
+    public NettyStreamingServletInputStream getInputStream() {
+        return inputStream;
+    }
+}
@@ -0,0 +1,239 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.transport.http.netty.server.servlet;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.LastHttpContent;
+
+/**
+ * A request body that is fed with the {@link HttpContent} chunks of the request while they
+ * arrive, so the request can be processed before it has been received completely. At most
+ * about {@code maxBufferedBytes} are held in memory; once that many bytes are waiting to be
+ * read, reading from the channel is suspended until the consumer has caught up.
+ */
+public class NettyStreamingServletInputStream extends ServletInputStream {
+
+    private final Channel channel;
+    private final int maxBufferedBytes;
+    private final long readTimeout;
+    private final Deque<ByteBuf> buffers = new ArrayDeque<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private int bufferedBytes;
+    private boolean finished;
+    private boolean closed;
+    private Throwable failure;
+
+    /**
+     * @param channel the channel the request is read from
+     * @param maxBufferedBytes the number of buffered bytes at which reading is suspended
+     * @param readTimeout the time in milliseconds a read waits for more content, 0 for no limit
+     */
+    public NettyStreamingServletInputStream(Channel channel, int maxBufferedBytes, long readTimeout) {
+        this.channel = channel;
+        this.maxBufferedBytes = maxBufferedBytes;
+        this.readTimeout = readTimeout;
+    }
+
+    /**
+     * Adds the next chunk of the request body, the stream takes over the content.
+     * Called from the event loop of the channel.
+     */
+    public void offer(HttpContent content) {
+        ByteBuf buf = content.content();
+        boolean last = content instanceof LastHttpContent;
+        lock.lock();
+        try {
+            if (closed || failure != null || !buf.isReadable()) {
+                buf.release();
+            } else {
+                buffers.add(buf);
+                bufferedBytes += buf.readableBytes();
+                if (!last && bufferedBytes >= maxBufferedBytes) {
+                    channel.config().setAutoRead(false);
+                }
+            }
+            if (last) {
+                finished = true;
+            }
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Fails the pending and future reads, e.g. when the connection was closed before the
+     * whole body was received.
+     */
+    public void fail(Throwable cause) {
+        lock.lock();
+        try {
+            if (!finished && failure == null) {
+                failure = cause;
+                available.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] b = new byte[1];
+        return read(b, 0, 1) == -1 ? -1 : b[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] buf) throws IOException {
+        return read(buf, 0, buf.length);
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        lock.lock();
+        try {
+            while (true) {
+                if (closed) {
+                    throw new IOException("Stream closed");
+                }
+                ByteBuf buf = buffers.peek();
+                if (buf != null) {
+                    int n = Math.min(len, buf.readableBytes());
+                    buf.readBytes(b, off, n);
+                    if (!buf.isReadable()) {
+                        buffers.poll();
+                        buf.release();
+                    }
+                    bufferedBytes -= n;
+                    if (!finished && bufferedBytes <= maxBufferedBytes / 2) {
+                        resume();
+                    }
+                    return n;
+                }
+                if (failure != null) {
+                    throw failure instanceof IOException ? (IOException)failure : new IOException(failure);
+                }
+                if (finished) {
+                    return -1;
+                }
+                awaitContent();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void awaitContent() throws IOException {
+        try {
+            if (readTimeout > 0) {
+                if (!available.await(readTimeout, TimeUnit.MILLISECONDS)) {
+                    throw new SocketTimeoutException("Timeout while reading the request body");
+                }
+            } else {
+                available.await();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+    }
+
+    private void resume() {
+        if (!channel.config().isAutoRead()) {
+            channel.config().setAutoRead(true);
+        }
+    }
+
+    @Override
+    public int available() throws IOException {
+        lock.lock();
+        try {
+            return bufferedBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Releases the buffered content, the rest of the body is read and discarded so the
+     * connection can be used for the next request.
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            for (ByteBuf buf : buffers) {
+                buf.release();
+            }
+            buffers.clear();
+            bufferedBytes = 0;
+            resume();
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isFinished() {
+        lock.lock();
+        try {
+            return finished && buffers.isEmpty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        lock.lock();
+        try {
+            return !buffers.isEmpty() || finished || failure != null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void setReadListener(ReadListener readListener) {
+        throw new IllegalStateException("Method 'readListener' not yet implemented!");
+    }
+}
@@ -44,9 +44,11 @@ import org.apache.cxf.configuration.security.TLSServerParametersType;
 import org.apache.cxf.configuration.security.TrustManagersType;
 import org.apache.cxf.configuration.spring.AbstractBeanDefinitionParser;
 import org.apache.cxf.helpers.DOMUtils;
+import org.apache.cxf.transport.http.SocketOptions;
 import org.apache.cxf.transport.http.netty.server.NettyHttpServerEngine;
 import org.apache.cxf.transport.http.netty.server.NettyHttpServerEngineFactory;
 import org.apache.cxf.transport.http.netty.server.ThreadingParameters;
+import org.apache.cxf.transports.http_netty_server.configuration.SocketOptionsType;
 import org.apache.cxf.transports.http_netty_server.configuration.TLSServerParametersIdentifiedType;
 import org.apache.cxf.transports.http_netty_server.configuration.ThreadingParametersIdentifiedType;
 import org.apache.cxf.transports.http_netty_server.configuration.ThreadingParametersType;
@@ -88,6 +90,26 @@ public class NettyHttpServerEngineBeanDefinitionParser extends AbstractBeanDefin
             bean.addPropertyValue("maxChunkContentSize", maxChunkContentSizeStr);
         }
 
+        String http2MaxConcurrentStreamsStr = element.getAttribute("http2MaxConcurrentStreams");
+        if (http2MaxConcurrentStreamsStr != null && !"".equals(http2MaxConcurrentStreamsStr.trim())) {
+            bean.addPropertyValue("http2MaxConcurrentStreams", http2MaxConcurrentStreamsStr);
+        }
+
+        String http2InitialWindowSizeStr = element.getAttribute("http2InitialWindowSize");
+        if (http2InitialWindowSizeStr != null && !"".equals(http2InitialWindowSizeStr.trim())) {
+            bean.addPropertyValue("http2InitialWindowSize", http2InitialWindowSizeStr);
+        }
+
+        String requestStreamingStr = element.getAttribute("requestStreaming");
+        if (requestStreamingStr != null && !"".equals(requestStreamingStr.trim())) {
+            bean.addPropertyValue("requestStreaming", requestStreamingStr);
+        }
+
+        String requestStreamingBufferSizeStr = element.getAttribute("requestStreamingBufferSize");
+        if (requestStreamingBufferSizeStr != null && !"".equals(requestStreamingBufferSizeStr.trim())) {
+            bean.addPropertyValue("requestStreamingBufferSize", requestStreamingBufferSizeStr);
+        }
+
 
         ValueHolder busValue = ctx.getContainingBeanDefinition()
             .getConstructorArgumentValues().getArgumentValue(0, Bus.class);
@@ -120,6 +142,13 @@ public class NettyHttpServerEngineBeanDefinitionParser extends AbstractBeanDefin
                                                     NettyHttpServerEngineBeanDefinitionParser.class,
                                                     "createThreadingParametersRef"
                                                     );
+                } else if ("socketOptions".equals(name)) {
+                    mapElementToJaxbPropertyFactory(elem,
+                                                    bean,
+                                                    "socketOptions",
+                                                    SocketOptionsType.class,
+                                                    NettyHttpServerEngineBeanDefinitionParser.class,
+                                                    "createSocketOptions");
                 } else if ("sessionSupport".equals(name) || "reuseAddress".equals(name)) {
                     String text = elem.getTextContent();
                     bean.addPropertyValue(name, text);
@@ -305,6 +334,9 @@ public class NettyHttpServerEngineBeanDefinitionParser extends AbstractBeanDefin
         if (paramtype.getThreadPoolSize() != null) {
             params.setThreadPoolSize(paramtype.getThreadPoolSize());
         }
+        if (paramtype.getTransport() != null) {
+            params.setTransport(paramtype.getTransport());
+        }
 
         return params;
     }
@@ -315,6 +347,18 @@ public class NettyHttpServerEngineBeanDefinitionParser extends AbstractBeanDefin
         return toThreadingParameters(parametersType);
     }
 
+    public static SocketOptions createSocketOptions(String s, JAXBContext context) {
+        SocketOptionsType optionsType = unmarshalFactoryString(s, context, SocketOptionsType.class);
+        SocketOptions options = new SocketOptions();
+        options.setReusePort(optionsType.isReusePort());
+        options.setTcpNoDelay(optionsType.isTcpNoDelay());
+        options.setBacklog(optionsType.getBacklog());
+        options.setReceiveBufferSize(optionsType.getReceiveBufferSize());
+        options.setSendBufferSize(optionsType.getSendBufferSize());
+        options.setAcceptors(optionsType.getAcceptors());
+        return options;
+    }
+
     public static String createThreadingParametersRef(String s, JAXBContext context) {
         ThreadingParametersIdentifiedType parametersType =
             unmarshalFactoryString(s, context, ThreadingParametersIdentifiedType.class);
@@ -64,6 +64,7 @@ public final class NettySpringTypesFactory {
     private static ThreadingParameters toThreadingParameters(ThreadingParametersType paramtype) {
         ThreadingParameters params = new ThreadingParameters();
         params.setThreadPoolSize(paramtype.getThreadPoolSize());
+        params.setTransport(paramtype.getTransport());
         return params;
     }
 
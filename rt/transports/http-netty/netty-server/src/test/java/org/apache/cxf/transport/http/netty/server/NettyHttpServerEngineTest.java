@@ -21,23 +21,40 @@ package org.apache.cxf.transport.http.netty.server;
 
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.HttpURLConnection;
+import java.net.URI;
 import java.net.URL;
 import java.net.URLConnection;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.apache.cxf.Bus;
 import org.apache.cxf.configuration.Configurer;
 import org.apache.cxf.configuration.jsse.TLSServerParameters;
 import org.apache.cxf.helpers.IOUtils;
 import org.apache.cxf.testutil.common.TestUtil;
+import org.apache.cxf.transport.http.HttpServerEngineSupport;
+import org.apache.cxf.transport.http.SocketOptions;
 
 import org.junit.Before;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
@@ -50,6 +67,12 @@ public class NettyHttpServerEngineTest {
         = Integer.valueOf(TestUtil.getPortNumber(NettyHttpServerEngineTest.class, 2));
     private static final int PORT3
         = Integer.valueOf(TestUtil.getPortNumber(NettyHttpServerEngineTest.class, 3));
+    private static final int PORT4
+        = Integer.valueOf(TestUtil.getPortNumber(NettyHttpServerEngineTest.class, 4));
+    private static final int PORT5
+        = Integer.valueOf(TestUtil.getPortNumber(NettyHttpServerEngineTest.class, 5));
+    private static final int PORT6
+        = Integer.valueOf(TestUtil.getPortNumber(NettyHttpServerEngineTest.class, 6));
 
 
     private Bus bus;
@@ -112,6 +135,44 @@ public class NettyHttpServerEngineTest {
 
     }
 
+    @Test
+    public void testTransportSelection() throws Exception {
+        String urlStr = "http://localhost:" + PORT1 + "/hello/transport";
+        when(bus.getProperty(NettyHttpServerEngine.TRANSPORT)).thenReturn("nio");
+        NettyHttpServerEngine engine =
+            factory.createNettyHttpServerEngine(PORT1, "http");
+        assertNull(engine.getTransport());
+
+        engine.addServant(new URL(urlStr), new NettyHttpTestHandler("string1", true));
+        assertEquals(NettyTransportType.NIO, engine.getTransport());
+        assertEquals("string1", getResponse(urlStr));
+
+        engine.shutdown();
+        NettyHttpServerEngineFactory.destroyForPort(PORT1);
+    }
+
+    @Test
+    public void testSocketOptions() throws Exception {
+        String urlStr = "http://localhost:" + PORT1 + "/hello/options";
+        NettyHttpServerEngine engine =
+            factory.createNettyHttpServerEngine(PORT1, "http");
+        SocketOptions options = new SocketOptions();
+        options.setReusePort(true);
+        options.setTcpNoDelay(true);
+        options.setBacklog(256);
+        options.setAcceptors(2);
+        engine.setSocketOptions(options);
+
+        engine.addServant(new URL(urlStr), new NettyHttpTestHandler("string1", true));
+        // NIO cannot bind the same address twice, the native transports use one socket per acceptor
+        int expected = engine.getTransport().getReusePortOption() == null ? 1 : 2;
+        assertEquals(expected, engine.getListenerCount());
+        assertEquals("string1", getResponse(urlStr));
+
+        engine.shutdown();
+        NettyHttpServerEngineFactory.destroyForPort(PORT1);
+    }
+
     @Test
     public void testNettyHttpHandler() throws Exception {
         String urlStr1 = "http://localhost:" + PORT3 + "/hello/test";
@@ -154,6 +215,132 @@ public class NettyHttpServerEngineTest {
         NettyHttpServerEngineFactory.destroyForPort(PORT2);
     }
 
+    @Test
+    public void testHttp2Streams() throws Exception {
+        when(bus.getProperty(HttpServerEngineSupport.ENABLE_HTTP2)).thenReturn("true");
+        String urlStr = "http://localhost:" + PORT4 + "/hello/test";
+        NettyHttpServerEngine engine =
+            factory.createNettyHttpServerEngine(PORT4, "http");
+        engine.setHttp2MaxConcurrentStreams(50);
+        engine.addServant(new URL(urlStr), new NettyHttpHandler(null, true) {
+            @Override
+            public void handle(String target, HttpServletRequest request, HttpServletResponse response)
+                throws IOException {
+                response.getOutputStream().write(request.getProtocol().getBytes());
+                response.flushBuffer();
+            }
+        });
+
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).build();
+        HttpRequest request = HttpRequest.newBuilder(new URI(urlStr)).GET().build();
+        // the first request upgrades the connection, the others are multiplexed over it
+        HttpResponse<String> response = client.send(request, BodyHandlers.ofString());
+        assertEquals(HttpClient.Version.HTTP_2, response.version());
+        assertEquals("HTTP/2.0", response.body());
+
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            responses.add(client.sendAsync(request, BodyHandlers.ofString()));
+        }
+        for (CompletableFuture<HttpResponse<String>> f : responses) {
+            response = f.get(30, TimeUnit.SECONDS);
+            assertEquals(200, response.statusCode());
+            assertEquals(HttpClient.Version.HTTP_2, response.version());
+            assertEquals("HTTP/2.0", response.body());
+        }
+
+        engine.shutdown();
+        NettyHttpServerEngineFactory.destroyForPort(PORT4);
+    }
+
+    @Test
+    public void testHttp2BusyConnectionStaysOpen() throws Exception {
+        when(bus.getProperty(HttpServerEngineSupport.ENABLE_HTTP2)).thenReturn("true");
+        String urlStr = "http://localhost:" + PORT6 + "/hello/test";
+        NettyHttpServerEngine engine =
+            factory.createNettyHttpServerEngine(PORT6, "http");
+        engine.setReadIdleTime(1);
+        engine.setWriteIdleTime(1);
+        engine.addServant(new URL(urlStr), new NettyHttpHandler(null, true) {
+            @Override
+            public void handle(String target, HttpServletRequest request, HttpServletResponse response)
+                throws IOException {
+                response.getOutputStream().write(Integer.toString(request.getRemotePort()).getBytes());
+                response.flushBuffer();
+            }
+        });
+
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).build();
+        HttpRequest request = HttpRequest.newBuilder(new URI(urlStr)).GET().build();
+        HttpResponse<String> response = client.send(request, BodyHandlers.ofString());
+        assertEquals(HttpClient.Version.HTTP_2, response.version());
+        String clientPort = response.body();
+
+        // no stream is active in between the requests, the connection is busy all the same
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(3);
+        while (System.nanoTime() < end) {
+            Thread.sleep(200);
+            response = client.send(request, BodyHandlers.ofString());
+            assertEquals(HttpClient.Version.HTTP_2, response.version());
+            assertEquals(clientPort, response.body());
+        }
+
+        // once idle for longer than the timeout the connection is closed
+        Thread.sleep(3000);
+        response = client.send(request, BodyHandlers.ofString());
+        assertEquals(200, response.statusCode());
+        assertNotEquals(clientPort, response.body());
+
+        engine.shutdown();
+        NettyHttpServerEngineFactory.destroyForPort(PORT6);
+    }
+
+    @Test
+    public void testRequestStreaming() throws Exception {
+        String urlStr = "http://localhost:" + PORT5 + "/hello/test";
+        NettyHttpServerEngine engine =
+            factory.createNettyHttpServerEngine(PORT5, "http");
+        engine.setRequestStreaming(true);
+        engine.setRequestStreamingBufferSize(8192);
+        engine.addServant(new URL(urlStr), new NettyHttpHandler(null, true) {
+            @Override
+            public void handle(String target, HttpServletRequest request, HttpServletResponse response)
+                throws IOException {
+                long count = 0;
+                byte[] buffer = new byte[4096];
+                try (InputStream in = request.getInputStream()) {
+                    for (int n = in.read(buffer); n != -1; n = in.read(buffer)) {
+                        count += n;
+                    }
+                }
+                response.getOutputStream().write(Long.toString(count).getBytes());
+                response.flushBuffer();
+            }
+        });
+
+        // larger than the maxChunkContentSize a request is aggregated up to
+        int size = 5 * 1024 * 1024;
+        for (int i = 0; i < 2; i++) {
+            HttpURLConnection connection = (HttpURLConnection)new URL(urlStr).openConnection();
+            connection.setRequestMethod("POST");
+            connection.setDoOutput(true);
+            connection.setChunkedStreamingMode(16384);
+            try (OutputStream out = connection.getOutputStream()) {
+                byte[] chunk = new byte[65536];
+                for (int written = 0; written < size; written += chunk.length) {
+                    out.write(chunk);
+                }
+            }
+            assertEquals(200, connection.getResponseCode());
+            try (InputStream in = connection.getInputStream()) {
+                assertEquals(Integer.toString(size), IOUtils.toString(in));
+            }
+        }
+
+        engine.shutdown();
+        NettyHttpServerEngineFactory.destroyForPort(PORT5);
+    }
+
     private static String getResponse(String target) throws Exception {
         URL url = new URL(target);
 
@@ -0,0 +1,115 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.transport.http.netty.server.servlet;
+
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.cxf.helpers.IOUtils;
+import org.apache.cxf.io.CachedOutputStream;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.FileRegion;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.util.ReferenceCountUtil;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class NettyServletOutputStreamTest {
+
+    private static CachedOutputStream cache(int size, long threshold) throws Exception {
+        byte[] bytes = new byte[size];
+        Arrays.fill(bytes, (byte)'x');
+        CachedOutputStream cos = new CachedOutputStream(threshold);
+        cos.write(bytes);
+        return cos;
+    }
+
+    private static byte[] bytes(ByteBuf buf) {
+        byte[] b = new byte[buf.readableBytes()];
+        buf.getBytes(buf.readerIndex(), b);
+        return b;
+    }
+
+    @Test
+    public void testCopyInMemoryContent() throws Exception {
+        FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+        NettyServletOutputStream out = new NettyServletOutputStream(response);
+        CachedOutputStream cos = cache(1000, 4096);
+        out.write('a');
+        try (InputStream in = cos.getInputStream()) {
+            assertEquals(1000, IOUtils.copy(in, out));
+        }
+        assertNull(out.getTrailingContent());
+        assertEquals(1001, response.content().readableBytes());
+        ReferenceCountUtil.release(response);
+    }
+
+    @Test
+    public void testCopyFileContentIntoBuffer() throws Exception {
+        FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+        NettyServletOutputStream out = new NettyServletOutputStream(response);
+        CachedOutputStream cos = cache(100_000, 1024);
+        byte[] expected = cos.getBytes();
+        try (InputStream in = cos.getInputStream()) {
+            assertEquals(100_000, IOUtils.copy(in, out));
+        }
+        cos.close();
+        assertNull(out.getTrailingContent());
+        assertArrayEquals(expected, bytes(response.content()));
+        ReferenceCountUtil.release(response);
+    }
+
+    @Test
+    public void testCopyFileContentAsFileRegion() throws Exception {
+        FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
+        NettyServletOutputStream out = new NettyServletOutputStream(response);
+        out.setFileRegionsAllowed(true);
+        CachedOutputStream cos = cache(100_000, 1024);
+        out.write(new byte[10]);
+        try (InputStream in = cos.getInputStream()) {
+            assertEquals(100_000, IOUtils.copy(in, out));
+            assertEquals(-1, in.read());
+        }
+        cos.close();
+        out.write(new byte[5]);
+
+        List<Object> trailing = out.getTrailingContent();
+        assertEquals(2, trailing.size());
+        assertTrue(trailing.get(0) instanceof FileRegion);
+        assertEquals(100_000, ((FileRegion)trailing.get(0)).count());
+        assertEquals(5, ((ByteBuf)trailing.get(1)).readableBytes());
+        assertEquals(100_015, out.getContentLength());
+
+        out.resetBuffer();
+        assertNull(out.getTrailingContent());
+        assertEquals(0, out.getContentLength());
+        ReferenceCountUtil.release(response);
+    }
+}
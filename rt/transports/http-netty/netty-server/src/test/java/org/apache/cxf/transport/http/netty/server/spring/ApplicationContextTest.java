@@ -118,6 +118,7 @@ public class ApplicationContextTest {
 
         NettyHttpServerEngine engine = (NettyHttpServerEngine)jd.getEngine();
         assertEquals(120, engine.getThreadingParameters().getThreadPoolSize());
+        assertEquals("nio", engine.getThreadingParameters().getTransport());
 
 
         ConduitInitiatorManager cim = bus.getExtension(ConduitInitiatorManager.class);
@@ -137,6 +138,10 @@ public class ApplicationContextTest {
         assertEquals(40000, engine.getReadIdleTime());
         assertEquals(10000, engine.getMaxChunkContentSize());
         assertTrue("The engine should support session manager", engine.isSessionSupport());
+        assertTrue(engine.isReuseAddress());
+        assertTrue(engine.getSocketOptions().isReusePort());
+        assertEquals(Integer.valueOf(1024), engine.getSocketOptions().getBacklog());
+        assertEquals(Integer.valueOf(4), engine.getSocketOptions().getAcceptors());
 
         NettyHttpDestination jd3 =
             (NettyHttpDestination)factory.getDestination(
@@ -42,6 +42,10 @@ public class ThreadingParameters {
     private boolean minThreadsSet;
     private boolean maxThreadsSet;
     private String workerIOName;
+    private boolean virtualThreads;
+    private int maxVirtualThreads;
+    private boolean maxVirtualThreadsSet;
+    private boolean pinningDiagnostics;
 
     public void setWorkerIOThreads(int number) {
         workerIOThreadsSet = true;
@@ -96,4 +100,48 @@ public class ThreadingParameters {
         return !StringUtils.isEmpty(this.workerIOName);
     }
 
+    /**
+     * Dispatch the blocking request handling to virtual threads instead of the
+     * worker task thread pool, this needs a Java runtime with virtual threads.
+     */
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * The maximum number of requests handled on virtual threads at the same time,
+     * further requests wait for a running one to complete, up to as many again, and
+     * are rejected beyond that. -1 removes the limit.
+     */
+    public void setMaxVirtualThreads(int number) {
+        if (number <= 0 && number != -1) {
+            throw new IllegalArgumentException("maxVirtualThreads must be positive or -1, not " + number);
+        }
+        maxVirtualThreadsSet = true;
+        maxVirtualThreads = number;
+    }
+
+    public int getMaxVirtualThreads() {
+        return maxVirtualThreads;
+    }
+
+    public boolean isMaxVirtualThreadsSet() {
+        return maxVirtualThreadsSet;
+    }
+
+    /**
+     * Log the virtual threads which pin their carrier thread inside CXF code.
+     */
+    public void setPinningDiagnostics(boolean pinningDiagnostics) {
+        this.pinningDiagnostics = pinningDiagnostics;
+    }
+
+    public boolean isPinningDiagnostics() {
+        return pinningDiagnostics;
+    }
+
 }
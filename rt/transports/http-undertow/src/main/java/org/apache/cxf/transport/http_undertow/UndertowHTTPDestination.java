@@ -20,8 +20,11 @@
 package org.apache.cxf.transport.http_undertow;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.channels.FileChannel;
 import java.security.GeneralSecurityException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -34,12 +37,15 @@ import org.apache.cxf.BusFactory;
 import org.apache.cxf.common.classloader.ClassLoaderUtils;
 import org.apache.cxf.common.classloader.ClassLoaderUtils.ClassLoaderHolder;
 import org.apache.cxf.common.logging.LogUtils;
+import org.apache.cxf.io.ChannelTransferable;
 import org.apache.cxf.message.Message;
 import org.apache.cxf.service.model.EndpointInfo;
 import org.apache.cxf.transport.http.DestinationRegistry;
 import org.apache.cxf.transport.servlet.ServletDestination;
 import org.apache.cxf.transports.http.configuration.HTTPServerPolicy;
 
+import io.undertow.servlet.spec.ServletOutputStreamImpl;
+
 
 
 public class UndertowHTTPDestination extends ServletDestination {
@@ -85,6 +91,32 @@ public class UndertowHTTPDestination extends ServletDestination {
         return LOG;
     }
 
+    /**
+     * File backed cached bodies are handed to Undertow, which sends them with
+     * FileChannel.transferTo (sendfile) rather than reading them into the JVM.
+     */
+    @Override
+    protected long transferCachedContent(InputStream in, OutputStream responseStream) throws IOException {
+        if (in instanceof ChannelTransferable && responseStream instanceof ServletOutputStreamImpl
+            && !((ChannelTransferable)in).isInMemory()) {
+            ChannelTransferable content = (ChannelTransferable)in;
+            long count = content.remaining();
+            try (FileChannel channel = content.openFileChannel()) {
+                ((ServletOutputStreamImpl)responseStream).transferFrom(channel);
+            }
+            long left = count;
+            while (left > 0) {
+                long n = in.skip(left);
+                if (n <= 0) {
+                    break;
+                }
+                left -= n;
+            }
+            return count;
+        }
+        return super.transferCachedContent(in, responseStream);
+    }
+
 
 
     /**
@@ -20,6 +20,8 @@
 package org.apache.cxf.transport.http_undertow;
 
 
+import java.util.concurrent.Executor;
+
 import jakarta.servlet.ServletContext;
 import jakarta.servlet.http.HttpServletResponse;
 import org.apache.cxf.Bus;
@@ -47,6 +49,7 @@ public class UndertowHTTPHandler implements HttpHandler {
     private boolean contextMatchExact;
     private String urlName;
     private Bus bus;
+    private Executor executor;
 
     public UndertowHTTPHandler(UndertowHTTPDestination uhd, boolean cmt) {
         undertowHTTPDestination = uhd;
@@ -80,6 +83,18 @@ public class UndertowHTTPHandler implements HttpHandler {
     }
 
 
+    /**
+     * Sets the executor the blocking request handling is dispatched to, the
+     * XNIO worker of the server is used when none is set.
+     */
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
     public Bus getBus() {
         return undertowHTTPDestination != null ? undertowHTTPDestination.getBus() : bus;
     }
@@ -89,7 +104,11 @@ public class UndertowHTTPHandler implements HttpHandler {
         try {
             // perform blocking operation on exchange
             if (undertowExchange.isInIoThread()) {
-                undertowExchange.dispatch(this);
+                if (executor != null) {
+                    undertowExchange.dispatch(executor, this);
+                } else {
+                    undertowExchange.dispatch(this);
+                }
                 return;
             }
 
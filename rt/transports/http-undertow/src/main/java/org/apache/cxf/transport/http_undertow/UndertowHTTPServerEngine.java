@@ -44,7 +44,10 @@ import org.apache.cxf.configuration.jsse.TLSServerParameters;
 import org.apache.cxf.interceptor.Fault;
 import org.apache.cxf.transport.HttpUriMapper;
 import org.apache.cxf.transport.http.HttpServerEngineSupport;
+import org.apache.cxf.transport.http.SocketOptions;
+import org.apache.cxf.transport.http.VirtualThreadPinningMonitor;
 import org.apache.cxf.transport.https.AliasedX509ExtendedKeyManager;
+import org.apache.cxf.workqueue.VirtualThreadWorkQueueImpl;
 import org.xnio.Options;
 import org.xnio.Sequence;
 import org.xnio.SslClientAuthMode;
@@ -128,8 +131,14 @@ public class UndertowHTTPServerEngine implements ServerEngine, HttpServerEngineS
 
     private org.apache.cxf.transport.http_undertow.ThreadingParameters threadingParameters;
 
+    private SocketOptions socketOptions;
+
     private List<CXFUndertowHttpHandler> handlers;
 
+    private VirtualThreadWorkQueueImpl virtualThreadsExecutor;
+
+    private VirtualThreadPinningMonitor pinningMonitor;
+
     public UndertowHTTPServerEngine(String host, int port) {
         this.host = host;
         this.port = port;
@@ -144,6 +153,7 @@ public class UndertowHTTPServerEngine implements ServerEngine, HttpServerEngineS
         if (shouldCheckUrl(handler.getBus())) {
             checkRegistedContext(url);
         }
+        handler.setExecutor(setupVirtualThreads());
 
         if (server == null) {
             try {
@@ -250,6 +260,7 @@ public class UndertowHTTPServerEngine implements ServerEngine, HttpServerEngineS
         result = decorateUndertowSocketConnection(result);
         result = disableSSLv3(result);
         result = configureThreads(result);
+        result = configureSocketOptions(result);
         return result.build();
     }
 
@@ -276,6 +287,62 @@ public class UndertowHTTPServerEngine implements ServerEngine, HttpServerEngineS
         return builder;
     }
 
+    private VirtualThreadWorkQueueImpl setupVirtualThreads() {
+        if (threadingParameters == null || !threadingParameters.isVirtualThreads()
+            || virtualThreadsExecutor != null) {
+            return virtualThreadsExecutor;
+        }
+        if (!VirtualThreadWorkQueueImpl.isVirtualThreadsSupported()) {
+            LOG.log(Level.WARNING, "VIRTUAL_THREADS_NOT_SUPPORTED_MSG", port);
+            return null;
+        }
+        int max = threadingParameters.isMaxVirtualThreadsSet()
+            ? threadingParameters.getMaxVirtualThreads() : VirtualThreadWorkQueueImpl.DEFAULT_MAX_CONCURRENCY;
+        // the handlers dispatch the blocking CXF handling from the XNIO I/O threads
+        // to this executor instead of the worker task pool; as many requests as can run
+        // may wait for a virtual thread, the ones beyond are rejected
+        virtualThreadsExecutor = new VirtualThreadWorkQueueImpl(max, max, "undertow-" + port);
+        if (threadingParameters.isPinningDiagnostics() && pinningMonitor == null) {
+            pinningMonitor = VirtualThreadPinningMonitor.acquire();
+        }
+        return virtualThreadsExecutor;
+    }
+
+    /**
+     * Returns the executor running the requests on virtual threads, or null if the
+     * engine handles them on the worker task threads.
+     */
+    public VirtualThreadWorkQueueImpl getVirtualThreadsExecutor() {
+        return virtualThreadsExecutor;
+    }
+
+    private Builder configureSocketOptions(Builder builder) {
+        if (socketOptions == null) {
+            return builder;
+        }
+        if (socketOptions.getTcpNoDelay() != null) {
+            builder = builder.setSocketOption(Options.TCP_NODELAY, socketOptions.getTcpNoDelay());
+        }
+        if (socketOptions.getBacklog() != null) {
+            builder = builder.setSocketOption(Options.BACKLOG, socketOptions.getBacklog());
+        }
+        if (socketOptions.getReceiveBufferSize() != null) {
+            builder = builder.setSocketOption(Options.RECEIVE_BUFFER, socketOptions.getReceiveBufferSize());
+        }
+        if (socketOptions.getSendBufferSize() != null) {
+            builder = builder.setSocketOption(Options.SEND_BUFFER, socketOptions.getSendBufferSize());
+        }
+        // XNIO has no SO_REUSEPORT option and accepts on its I/O threads,
+        // which are sized through the workerIOThreads threading parameter
+        if (socketOptions.isReusePort()) {
+            LOG.log(Level.WARNING, "SOCKET_OPTION_NOT_SUPPORTED_MSG", new Object[] {port, "reusePort"});
+        }
+        if (socketOptions.isAcceptorsSet()) {
+            LOG.log(Level.WARNING, "SOCKET_OPTION_NOT_SUPPORTED_MSG", new Object[] {port, "acceptors"});
+        }
+        return builder;
+    }
+
     private HttpHandler wrapHandler(HttpHandler handler) {
         HttpHandler nextHandler = handler;
         for (CXFUndertowHttpHandler h : getHandlers()) {
@@ -460,6 +527,18 @@ public class UndertowHTTPServerEngine implements ServerEngine, HttpServerEngineS
         if (this.server != null) {
             this.server.stop();
         }
+        stopVirtualThreads();
+    }
+
+    private void stopVirtualThreads() {
+        if (virtualThreadsExecutor != null) {
+            virtualThreadsExecutor.shutdown(true);
+            virtualThreadsExecutor = null;
+        }
+        if (pinningMonitor != null) {
+            VirtualThreadPinningMonitor.release();
+            pinningMonitor = null;
+        }
     }
 
     /**
@@ -554,6 +633,15 @@ public class UndertowHTTPServerEngine implements ServerEngine, HttpServerEngineS
         return threadingParameters;
     }
 
+    public void setSocketOptions(SocketOptions options) {
+        socketOptions = options;
+    }
+
+    @Override
+    public SocketOptions getSocketOptions() {
+        return socketOptions;
+    }
+
     public void setContinuationsEnabled(boolean enabled) {
         continuationsEnabled = enabled;
     }
@@ -47,9 +47,11 @@ import org.apache.cxf.configuration.security.TLSServerParametersType;
 import org.apache.cxf.configuration.security.TrustManagersType;
 import org.apache.cxf.configuration.spring.AbstractBeanDefinitionParser;
 import org.apache.cxf.helpers.DOMUtils;
+import org.apache.cxf.transport.http.SocketOptions;
 import org.apache.cxf.transport.http_undertow.ThreadingParameters;
 import org.apache.cxf.transport.http_undertow.UndertowHTTPServerEngine;
 import org.apache.cxf.transport.http_undertow.UndertowHTTPServerEngineFactory;
+import org.apache.cxf.transports.http_undertow.configuration.SocketOptionsType;
 import org.apache.cxf.transports.http_undertow.configuration.TLSServerParametersIdentifiedType;
 import org.apache.cxf.transports.http_undertow.configuration.ThreadingParametersIdentifiedType;
 import org.apache.cxf.transports.http_undertow.configuration.ThreadingParametersType;
@@ -121,6 +123,13 @@ public class UndertowHTTPServerEngineBeanDefinitionParser extends AbstractBeanDe
                                                     UndertowHTTPServerEngineBeanDefinitionParser.class,
                                                     "createThreadingParametersRef"
                                                     );
+                } else if ("socketOptions".equals(name)) {
+                    mapElementToJaxbPropertyFactory(elem,
+                                                    bean,
+                                                    "socketOptions",
+                                                    SocketOptionsType.class,
+                                                    UndertowHTTPServerEngineBeanDefinitionParser.class,
+                                                    "createSocketOptions");
                 } else if ("handlers".equals(name)) {
                     List<?> handlers =
                         ctx.getDelegate().parseListElement(elem, bean.getBeanDefinition());
@@ -226,6 +235,15 @@ public class UndertowHTTPServerEngineBeanDefinitionParser extends AbstractBeanDe
         if (paramtype.getWorkerIOName() != null) {
             params.setWorkerIOName(paramtype.getWorkerIOName());
         }
+        if (paramtype.isVirtualThreads() != null) {
+            params.setVirtualThreads(paramtype.isVirtualThreads());
+        }
+        if (paramtype.getMaxVirtualThreads() != null) {
+            params.setMaxVirtualThreads(paramtype.getMaxVirtualThreads());
+        }
+        if (paramtype.isPinningDiagnostics() != null) {
+            params.setPinningDiagnostics(paramtype.isPinningDiagnostics());
+        }
 
         return params;
     }
@@ -338,6 +356,18 @@ public class UndertowHTTPServerEngineBeanDefinitionParser extends AbstractBeanDe
 
         return toThreadingParameters(parametersType);
     }
+    public static SocketOptions createSocketOptions(String s, JAXBContext context) {
+        SocketOptionsType optionsType = unmarshalFactoryString(s, context, SocketOptionsType.class);
+        SocketOptions options = new SocketOptions();
+        options.setReusePort(optionsType.isReusePort());
+        options.setTcpNoDelay(optionsType.isTcpNoDelay());
+        options.setBacklog(optionsType.getBacklog());
+        options.setReceiveBufferSize(optionsType.getReceiveBufferSize());
+        options.setSendBufferSize(optionsType.getSendBufferSize());
+        options.setAcceptors(optionsType.getAcceptors());
+        return options;
+    }
+
     public static String createThreadingParametersRef(String s, JAXBContext context) {
         ThreadingParametersIdentifiedType parametersType
             = unmarshalFactoryString(s, context, ThreadingParametersIdentifiedType.class);
@@ -64,6 +64,15 @@ public final class UndertowSpringTypesFactory {
         params.setMinThreads(paramtype.getMinThreads());
         params.setWorkerIOName(paramtype.getWorkerIOName());
         params.setWorkerIOThreads(paramtype.getWorkerIOThreads());
+        if (paramtype.isVirtualThreads() != null) {
+            params.setVirtualThreads(paramtype.isVirtualThreads());
+        }
+        if (paramtype.getMaxVirtualThreads() != null) {
+            params.setMaxVirtualThreads(paramtype.getMaxVirtualThreads());
+        }
+        if (paramtype.isPinningDiagnostics() != null) {
+            params.setPinningDiagnostics(paramtype.isPinningDiagnostics());
+        }
         return params;
     }
 
@@ -138,9 +138,17 @@ public class ApplicationContextTest {
         assertEquals(40000, engine.getMaxIdleTime());
         assertEquals(99, engine.getThreadingParameters().getMinThreads());
         assertEquals(777, engine.getThreadingParameters().getMaxThreads());
+        assertTrue(engine.getThreadingParameters().isVirtualThreads());
+        assertTrue(engine.getThreadingParameters().isMaxVirtualThreadsSet());
+        assertEquals(64, engine.getThreadingParameters().getMaxVirtualThreads());
+        assertFalse(engine.getThreadingParameters().isPinningDiagnostics());
 
         assertNotNull("The handlers should not be null", engine.getHandlers());
         assertEquals(1, engine.getHandlers().size());
+        assertTrue(engine.getSocketOptions().getTcpNoDelay());
+        assertEquals(Integer.valueOf(512), engine.getSocketOptions().getBacklog());
+        assertEquals(Integer.valueOf(65536), engine.getSocketOptions().getReceiveBufferSize());
+        assertFalse(engine.getSocketOptions().isReusePort());
 
         UndertowHTTPDestination jd3 =
             (UndertowHTTPDestination)factory.getDestination(
@@ -24,6 +24,8 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.ServerSocket;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
 import java.security.Principal;
 import java.util.Arrays;
@@ -55,6 +57,7 @@ import org.apache.cxf.helpers.IOUtils;
 import org.apache.cxf.interceptor.Fault;
 import org.apache.cxf.interceptor.Interceptor;
 import org.apache.cxf.io.AbstractWrappedOutputStream;
+import org.apache.cxf.io.ChannelTransferable;
 import org.apache.cxf.io.CopyingOutputStream;
 import org.apache.cxf.io.DelegatingInputStream;
 import org.apache.cxf.message.Attachment;
@@ -772,6 +775,65 @@ public abstract class AbstractHTTPDestination
         }
     }
 
+    /**
+     * Writes a cached body (see {@link ChannelTransferable}) to the response stream without
+     * copying it through an intermediate transfer buffer.  In-memory content is written
+     * straight from its backing buffers; subclasses can hand file backed content to a
+     * container specific zero-copy API.
+     *
+     * @return the number of bytes written, or -1 if the body has to be copied as a regular stream
+     */
+    protected long transferCachedContent(InputStream in, OutputStream responseStream) throws IOException {
+        if (in instanceof ChannelTransferable && !(responseStream instanceof CopyingOutputStream)) {
+            ChannelTransferable content = (ChannelTransferable)in;
+            if (content.isInMemory()) {
+                return content.transferTo(new OutputStreamChannel(responseStream));
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Writes heap buffers straight from their backing array instead of copying them
+     * like the channel returned by {@link java.nio.channels.Channels#newChannel(OutputStream)}.
+     */
+    private static final class OutputStreamChannel implements WritableByteChannel {
+        private final OutputStream out;
+        private byte[] chunk;
+
+        OutputStreamChannel(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            int len = src.remaining();
+            if (src.hasArray()) {
+                out.write(src.array(), src.arrayOffset() + src.position(), len);
+                src.position(src.limit());
+                return len;
+            }
+            if (chunk == null) {
+                chunk = new byte[Math.min(len, IOUtils.DEFAULT_BUFFER_SIZE * 4)];
+            }
+            while (src.hasRemaining()) {
+                int n = Math.min(chunk.length, src.remaining());
+                src.get(chunk, 0, n);
+                out.write(chunk, 0, n);
+            }
+            return len;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
     /**
      * Wrapper stream responsible for flushing headers and committing outgoing
      * HTTP-level response.
@@ -793,6 +855,10 @@ public abstract class AbstractHTTPDestination
                 written = true;
             }
             if (wrappedStream != null) {
+                long count = transferCachedContent(in, wrappedStream);
+                if (count >= 0) {
+                    return (int)count;
+                }
                 return IOUtils.copy(in, wrappedStream);
             }
             return IOUtils.copy(in, this, IOUtils.DEFAULT_BUFFER_SIZE);
@@ -1231,23 +1231,31 @@ public abstract class HTTPConduit
         }
 
 
+        /**
+         * Aborts the outbound chain and hands the failure of an asynchronous response
+         * processing over to the fault observer.
+         */
+        protected void handleResponseFailure(Throwable e) {
+            ((PhaseInterceptorChain)outMessage.getInterceptorChain()).abort();
+            outMessage.setContent(Exception.class, e);
+            if (e instanceof Exception) {
+                outMessage.put(Exception.class, (Exception)e);
+            }
+            ((PhaseInterceptorChain)outMessage.getInterceptorChain()).unwind(outMessage);
+            MessageObserver mo = outMessage.getInterceptorChain().getFaultObserver();
+            if (mo == null) {
+                mo = outMessage.getExchange().get(MessageObserver.class);
+            }
+            mo.onMessage(outMessage);
+        }
+
         protected void handleResponseOnWorkqueue(boolean allowCurrentThread, boolean forceWQ) throws IOException {
             Runnable runnable = new Runnable() {
                 public void run() {
                     try {
                         handleResponseInternal();
                     } catch (Throwable e) {
-                        ((PhaseInterceptorChain)outMessage.getInterceptorChain()).abort();
-                        outMessage.setContent(Exception.class, e);
-                        if (e instanceof Exception) {
-                            outMessage.put(Exception.class, (Exception)e);
-                        }
-                        ((PhaseInterceptorChain)outMessage.getInterceptorChain()).unwind(outMessage);
-                        MessageObserver mo = outMessage.getInterceptorChain().getFaultObserver();
-                        if (mo == null) {
-                            mo = outMessage.getExchange().get(MessageObserver.class);
-                        }
-                        mo.onMessage(outMessage);
+                        handleResponseFailure(e);
                     }
                 }
             };
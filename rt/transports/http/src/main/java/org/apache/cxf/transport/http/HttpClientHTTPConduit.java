@@ -45,6 +45,8 @@ import java.net.http.HttpRequest.BodyPublishers;
 import java.net.http.HttpResponse;
 import java.net.http.HttpResponse.BodyHandler;
 import java.net.http.HttpResponse.BodyHandlers;
+import java.net.http.HttpResponse.BodySubscriber;
+import java.net.http.HttpResponse.BodySubscribers;
 import java.net.http.HttpTimeoutException;
 import java.nio.ByteBuffer;
 import java.nio.channels.UnresolvedAddressException;
@@ -56,21 +58,30 @@ import java.security.PrivilegedActionException;
 import java.security.PrivilegedExceptionAction;
 import java.security.cert.Certificate;
 import java.time.Duration;
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Flow;
 import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
@@ -89,14 +100,21 @@ import org.apache.cxf.io.CacheAndWriteOutputStream;
 import org.apache.cxf.message.Message;
 import org.apache.cxf.message.MessageUtils;
 import org.apache.cxf.service.model.EndpointInfo;
-import org.apache.cxf.transport.http.policy.impl.ClientPolicyCalculator;
 import org.apache.cxf.transport.https.HttpsURLConnectionInfo;
 import org.apache.cxf.transport.https.SSLUtils;
 import org.apache.cxf.transports.http.configuration.HTTPClientPolicy;
+import org.apache.cxf.workqueue.AutomaticWorkQueue;
+import org.apache.cxf.workqueue.WorkQueueManager;
 import org.apache.cxf.ws.addressing.EndpointReferenceType;
 
 
 public class HttpClientHTTPConduit extends URLConnectionHTTPConduit {
+    /**
+     * The maximum number of requests in flight to the same authority (scheme, host and port)
+     * over a shared HttpClient, the requests over it are queued without blocking the caller
+     * until a running exchange completes. Not capped if not set or not positive.
+     */
+    public static final String MAX_CONCURRENT_STREAMS = "org.apache.cxf.transport.http.httpclient.maxConcurrentStreams";
     private static final String FORCE_URLCONNECTION_HTTP_CONDUIT = "force.urlconnection.http.conduit";
     private static final String SHARE_HTTPCLIENT_CONDUIT = "share.httpclient.http.conduit";
 
@@ -107,27 +125,41 @@ public class HttpClientHTTPConduit extends URLConnectionHTTPConduit {
     volatile URI sslURL;
     private final ReentrantLock initializationLock = new ReentrantLock();
     
-    private static final class RefCount<T extends HttpClient> {
+    static final class RefCount<T extends HttpClient> {
+        // -1 once released for good, it cannot be acquired again then
         private final AtomicLong count = new AtomicLong();
-        private final TLSClientParameters clientParameters;
-        private final HTTPClientPolicy policy;
+        private final ClientKey key;
         private final T client;
         private final Runnable finalizer;
+        private final Map<String, StreamLimiter> limiters = new ConcurrentHashMap<>();
 
-        RefCount(T client, HTTPClientPolicy policy, TLSClientParameters clientParameters, Runnable finalizer) {
+        RefCount(T client, ClientKey key, Runnable finalizer) {
             this.client = client;
-            this.policy = policy;
-            this.clientParameters = clientParameters;
+            this.key = key;
             this.finalizer = finalizer;
         }
         
         RefCount<T> acquire() {
-            count.incrementAndGet();
+            if (!tryAcquire()) {
+                throw new IllegalStateException("HttpClient has already been released");
+            }
             return this;
         }
+
+        boolean tryAcquire() {
+            for (;;) {
+                long c = count.get();
+                if (c < 0) {
+                    return false;
+                }
+                if (count.compareAndSet(c, c + 1)) {
+                    return true;
+                }
+            }
+        }
         
         void release() {
-            if (count.decrementAndGet() == 0) {
+            if (count.decrementAndGet() == 0 && count.compareAndSet(0, -1)) {
                 finalizer.run();
 
                 if (client instanceof AutoCloseable) {
@@ -168,64 +200,194 @@ public class HttpClientHTTPConduit extends URLConnectionHTTPConduit {
             return client;
         }
 
-        HTTPClientPolicy policy() {
-            return policy;
+        ClientKey key() {
+            return key;
         }
 
-        public TLSClientParameters clientParameters() {
-            return clientParameters;
+        /**
+         * Returns the limiter of the concurrent streams to the authority of the given URI,
+         * or null if the number of streams is not capped.
+         */
+        StreamLimiter limiter(URI uri) {
+            if (key.maxConcurrentStreams <= 0) {
+                return null;
+            }
+            return limiters.computeIfAbsent(uri.getScheme() + "://" + uri.getAuthority(),
+                a -> new StreamLimiter(key.maxConcurrentStreams));
         }
     }
-    
-    private static final class HttpClientCache {
-        private static final int MAX_SIZE = 100; // Keeping at most 100 clients
 
-        private final List<RefCount<HttpClient>> clients = new ArrayList<>();
-        private final ClientPolicyCalculator cpc = new ClientPolicyCalculator();
-        private final ReentrantLock lock = new ReentrantLock();
+    /**
+     * Immutable fingerprint of the settings an {@link HttpClient} is built from, the parts of the
+     * {@link HTTPClientPolicy} which only affect individual requests (headers, receive timeout, ...)
+     * are left out so that conduits only differing in those share the same client.
+     */
+    static final class ClientKey {
+        final long connectionTimeout;
+        final String version;
+        final String proxyServer;
+        final Integer proxyServerPort;
+        final String proxyServerType;
+        final String nonProxyHosts;
+        final int maxConcurrentStreams;
+        final TLSClientParameters clientParameters;
+        private final int hash;
 
-        RefCount<HttpClient> computeIfAbsent(final boolean shareHttpClient, final HTTPClientPolicy policy, 
-                final TLSClientParameters clientParameters, final Supplier<HttpClient> supplier) {
-            
-            // Do not share if it is not allowed for the conduit or cache capacity is exceeded
-            if (!shareHttpClient || clients.size() >= MAX_SIZE) {
-                return new RefCount<HttpClient>(supplier.get(), policy, clientParameters, () -> { }).acquire();
+        ClientKey(HTTPClientPolicy policy, long connectionTimeout, String version, int maxConcurrentStreams,
+                  TLSClientParameters clientParameters) {
+            this.connectionTimeout = connectionTimeout;
+            this.version = version;
+            this.proxyServer = policy.getProxyServer();
+            this.proxyServerPort = policy.isSetProxyServerPort() ? policy.getProxyServerPort() : null;
+            this.proxyServerType = policy.getProxyServerType() == null ? null : policy.getProxyServerType().value();
+            this.nonProxyHosts = policy.getNonProxyHosts();
+            this.maxConcurrentStreams = maxConcurrentStreams;
+            this.clientParameters = clientParameters;
+            this.hash = Objects.hash(connectionTimeout, version, proxyServer, proxyServerPort, proxyServerType,
+                nonProxyHosts, maxConcurrentStreams, clientParameters);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
             }
+            if (!(o instanceof ClientKey)) {
+                return false;
+            }
+            ClientKey that = (ClientKey)o;
+            return hash == that.hash
+                && connectionTimeout == that.connectionTimeout
+                && maxConcurrentStreams == that.maxConcurrentStreams
+                && Objects.equals(version, that.version)
+                && Objects.equals(proxyServer, that.proxyServer)
+                && Objects.equals(proxyServerPort, that.proxyServerPort)
+                && Objects.equals(proxyServerType, that.proxyServerType)
+                && Objects.equals(nonProxyHosts, that.nonProxyHosts)
+                && Objects.equals(clientParameters, that.clientParameters);
+        }
+    }
 
-            lock.lock();
-            try {
-                for (final RefCount<HttpClient> p: clients) {
-                    if (cpc.equals(p.policy(), policy) && p.clientParameters().equals(clientParameters)) {
-                        return p.acquire();
-                    }
-                }
+    /**
+     * Caps the number of requests in flight to a single authority. The requests over the cap are
+     * queued and handed to their executor when one of the running exchanges completes, so no thread
+     * waits for a permit and the HttpClient thread completing an exchange never runs a queued send,
+     * which may block while the request body is written.
+     * <p>
+     * The request body is still piped to the HttpClient, which only reads it once the request is
+     * sent. The thread writing a body larger than the pipe buffer, the chunk length or 4096 bytes
+     * by default, thus blocks until the queued request gets a stream, while the requests with a
+     * smaller or no body never block on the cap.
+     */
+    static final class StreamLimiter {
+        private final int maxStreams;
+        private final AtomicInteger active = new AtomicInteger();
+        private final Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
 
-                final HttpClient client = supplier.get();
-                final RefCount<HttpClient> clientRef = new RefCount<HttpClient>(client, policy, clientParameters,
-                        () -> this.remove(policy, clientParameters));
-                clients.add(clientRef);
+        StreamLimiter(int maxStreams) {
+            this.maxStreams = maxStreams;
+        }
 
-                return clientRef.acquire();
-            } finally {
-                lock.unlock();
+        void execute(Runnable send, Executor executor) {
+            if (tryAcquire()) {
+                send.run();
+                return;
             }
+            pending.add(() -> dispatch(send, executor));
+            // a stream may have been released before the request was queued
+            drain();
         }
 
-        void remove(final HTTPClientPolicy policy, final TLSClientParameters clientParameters) {
-            lock.lock();
+        void release() {
+            active.decrementAndGet();
+            drain();
+        }
+
+        int getActiveStreams() {
+            return active.get();
+        }
+
+        int getPendingRequests() {
+            return pending.size();
+        }
+
+        private void drain() {
+            while (!pending.isEmpty() && tryAcquire()) {
+                Runnable send = pending.poll();
+                if (send == null) {
+                    active.decrementAndGet();
+                    return;
+                }
+                send.run();
+            }
+        }
+
+        private static void dispatch(Runnable send, Executor executor) {
             try {
-                final Iterator<RefCount<HttpClient>> iterator = clients.iterator();
-                while (iterator.hasNext()) {
-                    final RefCount<HttpClient> p = iterator.next();
-                    if (cpc.equals(p.policy(), policy) && p.clientParameters().equals(clientParameters)) {
-                        iterator.remove();
-                        break;
+                executor.execute(send);
+            } catch (RejectedExecutionException ex) {
+                // the permit is already taken, so the send must not be dropped
+                send.run();
+            }
+        }
+
+        private boolean tryAcquire() {
+            for (;;) {
+                int a = active.get();
+                if (a >= maxStreams) {
+                    return false;
+                }
+                if (active.compareAndSet(a, a + 1)) {
+                    return true;
+                }
+            }
+        }
+    }
+    
+    static final class HttpClientCache {
+        private static final int MAX_SIZE = 100; // Keeping at most 100 clients
+
+        private final Map<ClientKey, RefCount<HttpClient>> clients = new ConcurrentHashMap<>();
+
+        RefCount<HttpClient> computeIfAbsent(final boolean shareHttpClient, final ClientKey key,
+                final Supplier<HttpClient> supplier) {
+            // Do not share if it is not allowed for the conduit
+            if (!shareHttpClient) {
+                return new RefCount<HttpClient>(supplier.get(), key, () -> { }).acquire();
+            }
+            for (;;) {
+                RefCount<HttpClient> ref = clients.get(key);
+                if (ref == null) {
+                    // Do not share if the cache capacity is exceeded
+                    if (clients.size() >= MAX_SIZE) {
+                        return new RefCount<HttpClient>(supplier.get(), key, () -> { }).acquire();
                     }
+                    ref = clients.computeIfAbsent(key, k -> new RefCount<HttpClient>(supplier.get(), k, 
+                        () -> this.remove(k)));
                 }
-            } finally {
-                lock.unlock();
+                if (ref.tryAcquire()) {
+                    return ref;
+                }
+                // released concurrently, make room for a new client
+                clients.remove(key, ref);
             }
         }
+
+        void remove(final ClientKey key) {
+            RefCount<HttpClient> ref = clients.get(key);
+            if (ref != null && ref.count.get() < 0) {
+                clients.remove(key, ref);
+            }
+        }
+
+        int size() {
+            return clients.size();
+        }
     }
 
     public HttpClientHTTPConduit(Bus b, EndpointInfo ei, EndpointReferenceType t) throws IOException {
@@ -248,6 +410,7 @@ public class HttpClientHTTPConduit extends URLConnectionHTTPConduit {
     public void close(Message msg) throws IOException {
         super.close(msg);
         msg.remove(HttpClient.class);
+        msg.remove(StreamLimiter.class);
     }
     
     /**
@@ -412,7 +575,10 @@ public class HttpClientHTTPConduit extends URLConnectionHTTPConduit {
                 if (cl == null) {
                     final boolean shareHttpClient = MessageUtils.getContextualBoolean(message,
                         SHARE_HTTPCLIENT_CONDUIT, true);
-                    cl = CLIENTS_CACHE.computeIfAbsent(shareHttpClient, csPolicy, clientParameters, () -> cb.build());
+                    final ClientKey key = new ClientKey(csPolicy, ctimeout,
+                        "1.1".equals(HTTP_VERSION) ? "1.1" : verc,
+                        getMaxConcurrentStreams(message), clientParameters);
+                    cl = CLIENTS_CACHE.computeIfAbsent(shareHttpClient, key, () -> cb.build());
     
                     if (!"https".equals(uri.getScheme()) 
                         && !KNOWN_HTTP_VERBS_WITH_NO_CONTENT.contains(httpRequestMethod)
@@ -440,10 +606,25 @@ public class HttpClientHTTPConduit extends URLConnectionHTTPConduit {
             }
         }
         message.put(HttpClient.class, cl.client());
+        message.put(StreamLimiter.class, cl.limiter(uri));
         
         message.put(KEY_HTTP_CONNECTION_ADDRESS, address);
     }
 
+    private static int getMaxConcurrentStreams(Message message) {
+        Object o = message.getContextualProperty(MAX_CONCURRENT_STREAMS);
+        if (o instanceof Number) {
+            return ((Number)o).intValue();
+        } else if (o != null) {
+            try {
+                return Integer.parseInt(o.toString().trim());
+            } catch (NumberFormatException e) {
+                LOG.warning("Invalid value " + o + " of " + MAX_CONCURRENT_STREAMS + ", not capping the streams");
+            }
+        }
+        return 0;
+    }
+
     @Override
     protected OutputStream createOutputStream(Message message, boolean needToCacheRequest, boolean isChunking,
                                               int chunkThreshold)
@@ -582,6 +763,75 @@ public class HttpClientHTTPConduit extends URLConnectionHTTPConduit {
             }
         }
     }
+    /**
+     * Gives the stream of a capped authority back once, whichever of the body completion,
+     * the body stream closing or the exchange failure comes first.
+     */
+    private static final class StreamPermit implements Runnable {
+        private final AtomicBoolean released = new AtomicBoolean();
+        private final StreamLimiter limiter;
+
+        StreamPermit(StreamLimiter limiter) {
+            this.limiter = limiter;
+        }
+
+        @Override
+        public void run() {
+            if (released.compareAndSet(false, true)) {
+                limiter.release();
+            }
+        }
+    }
+    private static final class StreamPermitBodySubscriber implements BodySubscriber<InputStream> {
+        private final BodySubscriber<InputStream> delegate = BodySubscribers.ofInputStream();
+        private final StreamPermit permit;
+
+        StreamPermitBodySubscriber(StreamPermit permit) {
+            this.permit = permit;
+        }
+
+        @Override
+        public CompletionStage<InputStream> getBody() {
+            return delegate.getBody().thenApply(in -> new FilterInputStream(in) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        permit.run();
+                    }
+                }
+            });
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            delegate.onSubscribe(subscription);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> item) {
+            delegate.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            try {
+                delegate.onError(throwable);
+            } finally {
+                permit.run();
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            try {
+                delegate.onComplete();
+            } finally {
+                permit.run();
+            }
+        }
+    }
     private static final class InputStreamSupplier implements Supplier<InputStream> {
         final InputStream in;
         InputStreamSupplier(InputStream i) {
@@ -826,31 +1076,71 @@ public class HttpClientHTTPConduit extends URLConnectionHTTPConduit {
             request = rb.build();
             
             
-            final BodyHandler<InputStream> handler =  BodyHandlers.ofInputStream();
+            final StreamLimiter limiter = outMessage.get(StreamLimiter.class);
+            if (limiter == null) {
+                future = sendAsync(cl, request, BodyHandlers.ofInputStream());
+            } else {
+                future = sendLimited(cl, request, limiter);
+            }
+            future.exceptionally(ex -> {
+                if (pout != null) {
+                    synchronized (pout) {
+                        pout.notifyAll();
+                    }
+                }
+                return null;
+            });
+        }
+        private CompletableFuture<HttpResponse<InputStream>> sendAsync(HttpClient cl, HttpRequest req,
+                                                                     BodyHandler<InputStream> handler) {
             if (System.getSecurityManager() != null) {
                 try {
-                    future = AccessController.doPrivileged(
+                    return AccessController.doPrivileged(
                             new PrivilegedExceptionAction<CompletableFuture<HttpResponse<InputStream>>>() {
                                 @Override
                                 public CompletableFuture<HttpResponse<InputStream>> run() throws IOException {
-                                    return cl.sendAsync(request, handler);
+                                    return cl.sendAsync(req, handler);
                                 }
                             });
                 } catch (PrivilegedActionException e) {
                     throw new RuntimeException(e);
                 }
-            } else {
-                future = cl.sendAsync(request, handler);
             }
-            future.exceptionally(ex -> {
-                if (pout != null) {
-                    synchronized (pout) {
-                        pout.notifyAll();
-                    }
+            return cl.sendAsync(req, handler);
+        }
+
+        private CompletableFuture<HttpResponse<InputStream>> sendLimited(HttpClient cl, HttpRequest req,
+                                                                       StreamLimiter limiter) {
+            final CompletableFuture<HttpResponse<InputStream>> f = new CompletableFuture<>();
+            final StreamPermit permit = new StreamPermit(limiter);
+            limiter.execute(() -> {
+                try {
+                    sendAsync(cl, req, info -> new StreamPermitBodySubscriber(permit)).whenComplete((r, ex) -> {
+                        if (ex != null) {
+                            permit.run();
+                            f.completeExceptionally(ex instanceof CompletionException && ex.getCause() != null
+                                ? ex.getCause() : ex);
+                        } else {
+                            f.complete(r);
+                        }
+                    });
+                } catch (RuntimeException ex) {
+                    permit.run();
+                    f.completeExceptionally(ex);
                 }
-                return null;
-            });
+            }, getQueuedSendExecutor());
+            return f;
+        }
+
+        private Executor getQueuedSendExecutor() {
+            WorkQueueManager mgr = bus == null ? null : bus.getExtension(WorkQueueManager.class);
+            if (mgr == null) {
+                return ForkJoinPool.commonPool();
+            }
+            AutomaticWorkQueue qu = mgr.getNamedWorkQueue("http-conduit");
+            return qu != null ? qu : mgr.getAutomaticWorkQueue();
         }
+
         @Override
         protected void setupWrappedStream() throws IOException {
             if (cachingForRetransmission) {
@@ -976,7 +1266,46 @@ public class HttpClientHTTPConduit extends URLConnectionHTTPConduit {
 
         @Override
         protected void handleResponseAsync() throws IOException {
-            handleResponseOnWorkqueue(true, false);
+            final CompletableFuture<HttpResponse<InputStream>> f = future;
+            if (f == null || f.isDone()) {
+                handleResponseOnWorkqueue(true, false);
+                return;
+            }
+            // only hand the response over to the work queue once the headers arrived
+            // instead of parking one of its threads on them, and never handle it on the
+            // HttpClient thread completing the exchange
+            f.whenComplete((r, ex) -> dispatchResponse());
+        }
+
+        private void dispatchResponse() {
+            if (outMessage.getContent(Exception.class) != null) {
+                return;
+            }
+            Runnable handle = () -> {
+                try {
+                    handleResponseInternal();
+                } catch (Throwable t) {
+                    handleResponseFailure(t);
+                }
+            };
+            Executor executor = outMessage.getExchange().get(Executor.class);
+            if (executor != null) {
+                outMessage.getExchange().put(Executor.class.getName() + ".USING_SPECIFIED", Boolean.TRUE);
+            } else {
+                executor = getQueuedSendExecutor();
+            }
+            try {
+                executor.execute(handle);
+            } catch (RejectedExecutionException rex) {
+                HTTPClientPolicy policy = getClient(outMessage);
+                if (policy != null && policy.isSetAsyncExecuteTimeoutRejection()
+                    && policy.isAsyncExecuteTimeoutRejection()) {
+                    handleResponseFailure(rex);
+                    return;
+                }
+                LOG.fine("EXECUTOR_FULL");
+                handle.run();
+            }
         }
         @Override
         public void thresholdReached() throws IOException {
@@ -71,4 +71,12 @@ public interface HttpServerEngineSupport {
         
         return PropertyUtils.isTrue(value);
     }
+
+    /**
+     * The socket options of the listener of this engine, null if the defaults of
+     * the engine are used.
+     */
+    default SocketOptions getSocketOptions() {
+        return null;
+    }
 }
@@ -0,0 +1,117 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.transport.http;
+
+/**
+ * Socket level tuning of the listener of an HTTP server engine, shared by the Jetty,
+ * Undertow and Netty engines. Options which are left unset (null) keep the default
+ * of the engine; options an engine cannot apply are logged and ignored by that engine.
+ */
+public class SocketOptions {
+
+    private Boolean reusePort;
+    private Boolean tcpNoDelay;
+    private Integer backlog;
+    private Integer receiveBufferSize;
+    private Integer sendBufferSize;
+    private Integer acceptors;
+
+    /**
+     * Whether the listening socket is bound with SO_REUSEPORT, which lets several
+     * acceptors bind the same address and the kernel balance the connections across them.
+     */
+    public Boolean getReusePort() {
+        return reusePort;
+    }
+
+    public void setReusePort(Boolean reusePort) {
+        this.reusePort = reusePort;
+    }
+
+    /**
+     * Whether TCP_NODELAY is set on the accepted connections.
+     */
+    public Boolean getTcpNoDelay() {
+        return tcpNoDelay;
+    }
+
+    public void setTcpNoDelay(Boolean tcpNoDelay) {
+        this.tcpNoDelay = tcpNoDelay;
+    }
+
+    /**
+     * The maximum length of the queue of pending connections of the listening socket.
+     */
+    public Integer getBacklog() {
+        return backlog;
+    }
+
+    public void setBacklog(Integer backlog) {
+        this.backlog = backlog;
+    }
+
+    /**
+     * SO_RCVBUF of the accepted connections, in bytes.
+     */
+    public Integer getReceiveBufferSize() {
+        return receiveBufferSize;
+    }
+
+    public void setReceiveBufferSize(Integer receiveBufferSize) {
+        this.receiveBufferSize = receiveBufferSize;
+    }
+
+    /**
+     * SO_SNDBUF of the accepted connections, in bytes.
+     */
+    public Integer getSendBufferSize() {
+        return sendBufferSize;
+    }
+
+    public void setSendBufferSize(Integer sendBufferSize) {
+        this.sendBufferSize = sendBufferSize;
+    }
+
+    /**
+     * The number of threads accepting connections. Combined with {@link #getReusePort()}
+     * the engines which support it bind one listening socket per acceptor.
+     */
+    public Integer getAcceptors() {
+        return acceptors;
+    }
+
+    public void setAcceptors(Integer acceptors) {
+        this.acceptors = acceptors;
+    }
+
+    public boolean isReusePort() {
+        return Boolean.TRUE.equals(reusePort);
+    }
+
+    public boolean isAcceptorsSet() {
+        return acceptors != null && acceptors > 0;
+    }
+
+    @Override
+    public String toString() {
+        return "SocketOptions[reusePort=" + reusePort + ", tcpNoDelay=" + tcpNoDelay
+            + ", backlog=" + backlog + ", receiveBufferSize=" + receiveBufferSize
+            + ", sendBufferSize=" + sendBufferSize + ", acceptors=" + acceptors + "]";
+    }
+}
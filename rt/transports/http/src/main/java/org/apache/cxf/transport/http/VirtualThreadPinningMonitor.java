@@ -0,0 +1,132 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.transport.http;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.apache.cxf.common.logging.LogUtils;
+import org.apache.cxf.workqueue.VirtualThreadWorkQueueImpl;
+
+/**
+ * Watches the JFR {@code jdk.VirtualThreadPinned} events of the JVM and logs the ones
+ * raised while a virtual thread was running CXF code, typically a {@code synchronized}
+ * block around a blocking call which keeps the carrier thread busy. Every CXF frame is
+ * reported once as a warning, repeated pinning at the same place is logged at FINE.
+ * <p>
+ * The monitor is shared by all the server engines dispatching requests onto virtual
+ * threads; it is started by the first {@link #acquire()} and stopped by the last
+ * {@link #release()}.
+ */
+public final class VirtualThreadPinningMonitor {
+    public static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final Logger LOG = LogUtils.getL7dLogger(VirtualThreadPinningMonitor.class);
+    private static final String CXF_PACKAGE = "org.apache.cxf.";
+    private static final Duration THRESHOLD = Duration.ofMillis(20);
+
+    private static VirtualThreadPinningMonitor instance;
+    private static int users;
+
+    private final RecordingStream stream;
+    private final Set<String> reported = ConcurrentHashMap.newKeySet();
+    private final AtomicLong pinned = new AtomicLong();
+
+    private VirtualThreadPinningMonitor(RecordingStream stream) {
+        this.stream = stream;
+    }
+
+    /**
+     * Starts the shared monitor if needed. Returns null if the JVM has no virtual threads
+     * or JFR cannot be used, in which case nothing has to be released.
+     */
+    public static synchronized VirtualThreadPinningMonitor acquire() {
+        if (instance == null) {
+            if (!VirtualThreadWorkQueueImpl.isVirtualThreadsSupported()) {
+                return null;
+            }
+            RecordingStream stream;
+            try {
+                stream = new RecordingStream();
+                stream.enable(PINNED_EVENT).withThreshold(THRESHOLD).withStackTrace();
+            } catch (RuntimeException | LinkageError ex) {
+                LOG.log(Level.WARNING, "PINNING_MONITOR_UNAVAILABLE_MSG", ex.getMessage());
+                return null;
+            }
+            VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(stream);
+            stream.onEvent(PINNED_EVENT, monitor::onPinned);
+            stream.startAsync();
+            instance = monitor;
+        }
+        users++;
+        return instance;
+    }
+
+    public static synchronized void release() {
+        if (instance != null && --users == 0) {
+            instance.stream.close();
+            instance = null;
+        }
+    }
+
+    /**
+     * The number of pinning events which happened in CXF code since the monitor was started.
+     */
+    public long getPinnedCount() {
+        return pinned.get();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        String frame = findCxfFrame(event.getStackTrace());
+        if (frame == null) {
+            return;
+        }
+        pinned.incrementAndGet();
+        String thread = event.getThread() == null ? "?" : event.getThread().getJavaName();
+        Object[] params = {thread, event.getDuration().toMillis(), frame};
+        if (reported.add(frame)) {
+            LOG.log(Level.WARNING, "VIRTUAL_THREAD_PINNED_MSG", params);
+        } else if (LOG.isLoggable(Level.FINE)) {
+            LOG.log(Level.FINE, "VIRTUAL_THREAD_PINNED_MSG", params);
+        }
+    }
+
+    private static String findCxfFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return null;
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (frame.isJavaFrame() && frame.getMethod() != null) {
+                String type = frame.getMethod().getType().getName();
+                if (type.startsWith(CXF_PACKAGE)) {
+                    return type + '.' + frame.getMethod().getName() + ':' + frame.getLineNumber();
+                }
+            }
+        }
+        return null;
+    }
+}
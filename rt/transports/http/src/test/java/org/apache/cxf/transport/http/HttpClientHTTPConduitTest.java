@@ -0,0 +1,229 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.transport.http;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.sun.net.httpserver.HttpServer;
+
+import org.apache.cxf.Bus;
+import org.apache.cxf.BusFactory;
+import org.apache.cxf.configuration.jsse.TLSClientParameters;
+import org.apache.cxf.message.Exchange;
+import org.apache.cxf.message.ExchangeImpl;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.message.MessageImpl;
+import org.apache.cxf.service.model.EndpointInfo;
+import org.apache.cxf.transport.http.HttpClientHTTPConduit.ClientKey;
+import org.apache.cxf.transport.http.HttpClientHTTPConduit.HttpClientCache;
+import org.apache.cxf.transport.http.HttpClientHTTPConduit.RefCount;
+import org.apache.cxf.transport.http.HttpClientHTTPConduit.StreamLimiter;
+import org.apache.cxf.transports.http.configuration.HTTPClientPolicy;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class HttpClientHTTPConduitTest {
+
+    @Test
+    public void testClientKeyIgnoresRequestSettings() {
+        HTTPClientPolicy p1 = new HTTPClientPolicy();
+        p1.setReceiveTimeout(1000);
+        p1.setAccept("text/xml");
+        HTTPClientPolicy p2 = new HTTPClientPolicy();
+        p2.setReceiveTimeout(5000);
+        p2.setAllowChunking(false);
+
+        ClientKey k1 = new ClientKey(p1, 30000, "auto", 0, new TLSClientParameters());
+        ClientKey k2 = new ClientKey(p2, 30000, "auto", 0, new TLSClientParameters());
+        assertEquals(k1, k2);
+        assertEquals(k1.hashCode(), k2.hashCode());
+
+        assertNotEquals(k1, new ClientKey(p1, 10000, "auto", 0, new TLSClientParameters()));
+        assertNotEquals(k1, new ClientKey(p1, 30000, "1.1", 0, new TLSClientParameters()));
+        assertNotEquals(k1, new ClientKey(p1, 30000, "auto", 8, new TLSClientParameters()));
+        p2.setProxyServer("proxy.example.com");
+        assertNotEquals(k1, new ClientKey(p2, 30000, "auto", 0, new TLSClientParameters()));
+        TLSClientParameters tls = new TLSClientParameters();
+        tls.setCertAlias("alias");
+        assertNotEquals(k1, new ClientKey(p1, 30000, "auto", 0, tls));
+    }
+
+    @Test
+    public void testCacheSharesClients() {
+        HttpClientCache cache = new HttpClientCache();
+        AtomicInteger built = new AtomicInteger();
+        ClientKey key = new ClientKey(new HTTPClientPolicy(), 30000, "auto", 0, new TLSClientParameters());
+
+        RefCount<HttpClient> r1 = cache.computeIfAbsent(true, key, () -> newClient(built));
+        RefCount<HttpClient> r2 = cache.computeIfAbsent(true,
+            new ClientKey(new HTTPClientPolicy(), 30000, "auto", 0, new TLSClientParameters()),
+            () -> newClient(built));
+        assertSame(r1, r2);
+        assertEquals(1, built.get());
+        assertEquals(1, cache.size());
+
+        RefCount<HttpClient> unshared = cache.computeIfAbsent(false, key, () -> newClient(built));
+        assertNotSame(r1, unshared);
+        assertEquals(2, built.get());
+        unshared.release();
+        assertEquals(1, cache.size());
+
+        r1.release();
+        assertEquals(1, cache.size());
+        r2.release();
+        assertEquals(0, cache.size());
+
+        RefCount<HttpClient> r3 = cache.computeIfAbsent(true, key, () -> newClient(built));
+        assertNotSame(r1, r3);
+        assertEquals(3, built.get());
+        r3.release();
+    }
+
+    @Test
+    public void testStreamLimiterPerAuthority() {
+        HttpClientCache cache = new HttpClientCache();
+        RefCount<HttpClient> capped = cache.computeIfAbsent(true,
+            new ClientKey(new HTTPClientPolicy(), 30000, "auto", 2, new TLSClientParameters()),
+            HttpClient::newHttpClient);
+        RefCount<HttpClient> uncapped = cache.computeIfAbsent(true,
+            new ClientKey(new HTTPClientPolicy(), 30000, "auto", 0, new TLSClientParameters()),
+            HttpClient::newHttpClient);
+        try {
+            assertNull(uncapped.limiter(URI.create("http://localhost:8080/a")));
+            StreamLimiter limiter = capped.limiter(URI.create("http://localhost:8080/a"));
+            assertSame(limiter, capped.limiter(URI.create("http://localhost:8080/b")));
+            assertNotSame(limiter, capped.limiter(URI.create("http://localhost:9090/a")));
+            assertNotSame(limiter, capped.limiter(URI.create("https://localhost:8080/a")));
+        } finally {
+            capped.release();
+            uncapped.release();
+        }
+    }
+
+    @Test
+    public void testStreamLimiterQueuesOverCap() {
+        StreamLimiter limiter = new StreamLimiter(2);
+        List<Integer> sent = new ArrayList<>();
+        List<Runnable> dispatched = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            final int n = i;
+            limiter.execute(() -> sent.add(n), dispatched::add);
+        }
+        assertEquals(List.of(0, 1), sent);
+        assertEquals(2, limiter.getActiveStreams());
+        assertEquals(2, limiter.getPendingRequests());
+
+        // the releasing thread only hands the queued send over to the executor
+        limiter.release();
+        assertEquals(List.of(0, 1), sent);
+        assertEquals(1, dispatched.size());
+        assertEquals(2, limiter.getActiveStreams());
+        assertEquals(1, limiter.getPendingRequests());
+        dispatched.get(0).run();
+        assertEquals(List.of(0, 1, 2), sent);
+
+        limiter.release();
+        limiter.release();
+        assertEquals(2, dispatched.size());
+        dispatched.get(1).run();
+        assertEquals(List.of(0, 1, 2, 3), sent);
+        assertEquals(1, limiter.getActiveStreams());
+        assertEquals(0, limiter.getPendingRequests());
+    }
+
+    @Test
+    public void testStreamLimiterRejectedDispatchStillSends() {
+        StreamLimiter limiter = new StreamLimiter(1);
+        List<Integer> sent = new ArrayList<>();
+        Executor rejecting = r -> {
+            throw new RejectedExecutionException();
+        };
+        limiter.execute(() -> sent.add(0), rejecting);
+        limiter.execute(() -> sent.add(1), rejecting);
+        assertEquals(List.of(0), sent);
+        limiter.release();
+        assertEquals(List.of(0, 1), sent);
+        assertEquals(1, limiter.getActiveStreams());
+    }
+
+    @Test
+    public void testAsyncResponseHandledOnWorkQueue() throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+        Bus bus = BusFactory.newInstance().createBus();
+        try {
+            EndpointInfo ei = new EndpointInfo();
+            ei.setAddress("http://localhost:" + server.getAddress().getPort() + "/");
+            HttpClientHTTPConduit conduit = new HttpClientHTTPConduit(bus, ei, null);
+            conduit.finalizeConfig();
+            CountDownLatch handled = new CountDownLatch(1);
+            AtomicReference<String> thread = new AtomicReference<>();
+            conduit.setMessageObserver(m -> {
+                thread.set(Thread.currentThread().getName());
+                handled.countDown();
+            });
+
+            Message message = new MessageImpl();
+            Exchange exchange = new ExchangeImpl();
+            exchange.put(Bus.class, bus);
+            exchange.setOutMessage(message);
+            message.setExchange(exchange);
+            message.put(Message.HTTP_REQUEST_METHOD, "GET");
+            conduit.prepare(message);
+            message.getContent(OutputStream.class).close();
+
+            assertTrue(handled.await(10, TimeUnit.SECONDS));
+            // the response chain never runs on the thread of the HttpClient completing the exchange
+            assertFalse(thread.get(), thread.get().startsWith("HttpClient-"));
+            conduit.close();
+        } finally {
+            bus.shutdown(true);
+            server.stop(0);
+        }
+    }
+
+    private static HttpClient newClient(AtomicInteger built) {
+        built.incrementAndGet();
+        return HttpClient.newHttpClient();
+    }
+}
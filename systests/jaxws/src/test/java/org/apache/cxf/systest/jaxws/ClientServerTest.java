@@ -67,6 +67,7 @@ import org.apache.cxf.endpoint.dynamic.DynamicClientFactory;
 import org.apache.cxf.ext.logging.LoggingFeature;
 import org.apache.cxf.frontend.ClientProxy;
 import org.apache.cxf.helpers.FileUtils;
+import org.apache.cxf.helpers.IOUtils;
 import org.apache.cxf.io.CachedOutputStream;
 import org.apache.cxf.jaxws.DispatchImpl;
 import org.apache.cxf.message.Message;
@@ -89,6 +90,7 @@ import org.apache.hello_world_soap_http.types.GreetMeResponse;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
@@ -853,6 +855,31 @@ public class ClientServerTest extends AbstractBusClientServerTestBase {
         inputStream.close();
     }
 
+    @Test
+    public void testGetWSDLWithGzipCached() throws Exception {
+        String url = "http://localhost:" + PORT + "/SoapContext/SoapPortWithGzip?wsdl";
+        byte[] first = null;
+        for (int i = 0; i < 2; i++) {
+            HttpURLConnection httpConnection = getHttpConnection(url);
+            httpConnection.setRequestProperty("Accept-Encoding", "gzip");
+            httpConnection.connect();
+            assertEquals(200, httpConnection.getResponseCode());
+            assertEquals("gzip", httpConnection.getContentEncoding());
+            try (InputStream in = httpConnection.getInputStream()) {
+                byte[] body = IOUtils.readBytesFromStream(in);
+                if (first == null) {
+                    first = body;
+                } else {
+                    // the precompressed document is served again
+                    assertArrayEquals(first, body);
+                }
+            }
+        }
+        try (GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(first))) {
+            assertNotNull(StaxUtils.read(inputStream));
+        }
+    }
+
     @Test
     public void testBasicAuth() throws Exception {
         Service service = Service.create(serviceName);
@@ -0,0 +1,109 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.systest.http_jetty;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.namespace.QName;
+
+import jakarta.xml.ws.BindingProvider;
+import org.apache.cxf.testutil.common.AbstractClientServerTestBase;
+import org.apache.cxf.workqueue.VirtualThreadWorkQueueImpl;
+import org.apache.hello_world_soap_http.Greeter;
+import org.apache.hello_world_soap_http.SOAPService;
+
+import org.junit.AfterClass;
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Sends a burst of requests to a Jetty engine dispatching onto virtual threads and to one
+ * handling them on a small platform thread pool. On virtual threads every request of the
+ * burst is held until all of them are running at the same time, the pool never runs more
+ * requests than it has threads.
+ */
+public class VirtualThreadDispatchTest extends AbstractClientServerTestBase {
+    private static final QName SERVICE_NAME =
+        new QName("http://apache.org/hello_world_soap_http", "SOAPServiceAddressing");
+    private static final int REQUESTS = 40;
+
+    private static ExecutorService clients;
+    private static int poolThreads;
+
+    @BeforeClass
+    public static void startServers() throws Exception {
+        Assume.assumeTrue("Virtual threads need Java 21 or newer",
+                          VirtualThreadWorkQueueImpl.isVirtualThreadsSupported());
+        poolThreads = Math.max(1, (Runtime.getRuntime().availableProcessors() + 3) / 4) * 2 + 3;
+        System.setProperty("VirtualThreadDispatchTest.threads", Integer.toString(poolThreads));
+        assertTrue("server did not launch correctly",
+                   launchServer(VirtualThreadServer.class, true));
+        clients = Executors.newFixedThreadPool(REQUESTS);
+    }
+
+    @AfterClass
+    public static void stopClients() {
+        if (clients != null) {
+            clients.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testBurstOnVirtualThreads() throws Exception {
+        // every request waits until the whole burst is running, which would never happen
+        // if the requests were queued for a thread
+        VirtualThreadServer.VIRTUAL_GREETER.reset(new CountDownLatch(REQUESTS));
+        sendBurst(VirtualThreadServer.ADDRESS, 0);
+        assertEquals(REQUESTS, VirtualThreadServer.VIRTUAL_GREETER.getMaxRunning());
+    }
+
+    @Test
+    public void testBurstOnThreadPool() throws Exception {
+        VirtualThreadServer.POOLED_GREETER.reset(null);
+        sendBurst(VirtualThreadServer.POOLED_ADDRESS, 100);
+        int max = VirtualThreadServer.POOLED_GREETER.getMaxRunning();
+        assertTrue("The pool of " + poolThreads + " threads ran " + max + " requests", max <= poolThreads);
+    }
+
+    private void sendBurst(String address, long delay) throws Exception {
+        URL wsdl = getClass().getResource("/wsdl/hello_world.wsdl");
+        final Greeter greeter = new SOAPService(wsdl, SERVICE_NAME).getPort(Greeter.class);
+        ((BindingProvider)greeter).getRequestContext().put(BindingProvider.ENDPOINT_ADDRESS_PROPERTY,
+                                                          address);
+        List<Future<String>> results = new ArrayList<>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            results.add(clients.submit(() -> greeter.greetMeLater(delay)));
+        }
+        for (Future<String> result : results) {
+            assertEquals("Hello, finally", result.get(60, TimeUnit.SECONDS));
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.systest.http_jetty;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.jws.WebService;
+import jakarta.xml.ws.Endpoint;
+import org.apache.cxf.Bus;
+import org.apache.cxf.BusFactory;
+import org.apache.cxf.bus.spring.SpringBusFactory;
+import org.apache.cxf.testutil.common.AbstractBusTestServerBase;
+
+
+public class VirtualThreadServer extends AbstractBusTestServerBase  {
+    static final String PORT = allocatePort(VirtualThreadServer.class);
+    static final String POOLED_PORT = allocatePort(VirtualThreadServer.class, 1);
+    static final String ADDRESS = "http://localhost:" + PORT + "/SoapContext/SoapPort";
+    static final String POOLED_ADDRESS = "http://localhost:" + POOLED_PORT + "/SoapContext/SoapPort";
+
+    // the server runs in the process of the test which inspects the greeters
+    static final ConcurrencyGreeter VIRTUAL_GREETER = new ConcurrencyGreeter();
+    static final ConcurrencyGreeter POOLED_GREETER = new ConcurrencyGreeter();
+
+    Endpoint ep;
+    Endpoint pooledEp;
+
+
+    protected void run()  {
+
+        SpringBusFactory factory = new SpringBusFactory();
+        Bus bus = factory.createBus("org/apache/cxf/systest/http_jetty/virtual-threads-server.xml");
+        BusFactory.setDefaultBus(bus);
+        setBus(bus);
+
+        ep = Endpoint.publish(ADDRESS, VIRTUAL_GREETER);
+        pooledEp = Endpoint.publish(POOLED_ADDRESS, POOLED_GREETER);
+    }
+
+    @Override
+    public void tearDown() {
+        if (ep != null) {
+            ep.stop();
+        }
+        if (pooledEp != null) {
+            pooledEp.stop();
+        }
+    }
+
+    /**
+     * Records how many requests are handled at the same time and can hold them back
+     * until a given number of them is running.
+     */
+    @WebService(serviceName = "SOAPServiceAddressing",
+                portName = "SoapPort",
+                endpointInterface = "org.apache.hello_world_soap_http.Greeter",
+                targetNamespace = "http://apache.org/hello_world_soap_http",
+                wsdlLocation = "testutils/hello_world.wsdl")
+    static class ConcurrencyGreeter extends GreeterImpl {
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicInteger maxRunning = new AtomicInteger();
+        private volatile CountDownLatch barrier;
+
+        void reset(CountDownLatch newBarrier) {
+            maxRunning.set(0);
+            barrier = newBarrier;
+        }
+
+        int getMaxRunning() {
+            return maxRunning.get();
+        }
+
+        @Override
+        public String greetMeLater(long delay) {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                CountDownLatch b = barrier;
+                if (b != null) {
+                    b.countDown();
+                    if (!b.await(30, TimeUnit.SECONDS)) {
+                        return "Only " + maxRunning.get() + " requests ran at the same time";
+                    }
+                }
+                return super.greetMeLater(delay);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return "Interrupted";
+            } finally {
+                running.decrementAndGet();
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        try {
+            VirtualThreadServer s = new VirtualThreadServer();
+            s.start();
+        } catch (Exception ex) {
+            ex.printStackTrace();
+            System.exit(-1);
+        }
+    }
+}